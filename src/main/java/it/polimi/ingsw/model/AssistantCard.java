@@ -1,26 +1,53 @@
 package it.polimi.ingsw.model;
 
+import it.polimi.ingsw.model.constantFactory.GameConstants;
+
 import java.io.Serializable;
 
 /**
  * The AssistantCard class represent the card of the game.
+ * The cards never change, so there is only one card for each priority and card back: the cards are
+ * given by of() and shared by all the players of all the games.
  *
  * @author Luca Bresciani.
  */
-public class AssistantCard implements Serializable {
+public final class AssistantCard implements Serializable {
+    //cards indexed by the card back, starting with the cards without a back, and by the priority,
+    //starting with the card of priority 0 that shows only its back
+    private static final AssistantCard[][] CARDS = new AssistantCard[CardBack.values().length + 1][GameConstants.NUM_ASSISTANT_CARD + 1];
+
+    static {
+        for (int back = 0; back < CARDS.length; back++)
+            for (int priority = 0; priority < CARDS[back].length; priority++)
+                CARDS[back][priority] = new AssistantCard(priority, back == 0 ? null : CardBack.values()[back - 1]);
+    }
+
     private final int movement;
     private final int priority;
-    private CardBack back;
+    private final CardBack back;
 
     /**
-     * TConstructor of the class. It takes 2 parameter which are priority and
-     * movement necessary to identifies each card.
+     * Constructor of the class. The movement of a card grows by one every two priorities.
      * @param priority is the card's priority
-     * @param movement is the card's permitted maximum movement
+     * @param back is the card's back, null if it has not been chosen yet
      */
-    public AssistantCard(int priority, int movement) {
-        this.movement = movement;
+    private AssistantCard(int priority, CardBack back) {
+        this.movement = (priority + 1) / 2;
         this.priority = priority;
+        this.back = back;
+    }
+
+    /**
+     * This method gives the card with a priority and a back.
+     * @param priority is the card's priority, 0 for a card that shows only its back
+     * @param back is the card's back, null if it has not been chosen yet
+     * @return the card
+     * @throws IllegalArgumentException if there is no card with that priority
+     */
+    public static AssistantCard of(int priority, CardBack back) {
+        if (priority < 0 || priority > GameConstants.NUM_ASSISTANT_CARD)
+            throw new IllegalArgumentException("There is no card with priority " + priority);
+        return CARDS[back == null ? 0 : back.ordinal() + 1][priority];
     }
 
     /**
@@ -39,14 +66,6 @@ public class AssistantCard implements Serializable {
         return this.priority;
     }
 
-    /**
-     * This method set the card back.
-     * @param back is the chosen back
-     */
-    public void setCardBack(CardBack back) {
-        this.back = back;
-    }
-
     /**
      *
      * @return the card's back
@@ -54,4 +73,11 @@ public class AssistantCard implements Serializable {
     public CardBack getCardBack() {
         return this.back;
     }
+
+    /**
+     * A deserialized card is replaced by the shared one
+     */
+    private Object readResolve() {
+        return of(priority, back);
+    }
 }
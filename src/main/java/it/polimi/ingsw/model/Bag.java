@@ -1,6 +1,7 @@
 package it.polimi.ingsw.model;
 
 import java.io.Serializable;
+import java.util.Random;
 
 /**
  * This class represents the bag of the game: the two constructors initialize the bag with the specified number of tokens
@@ -8,6 +9,7 @@ import java.io.Serializable;
  */
 public class Bag implements Serializable {
     private StudentsHandler studentsHandlerToken;
+    private Random random; //source of the draws, shared with the game so that a game can be replayed from its seed
     //2 constructor: the first is very specific, the second is a generic one
     public Bag(int red, int blue, int green, int pink, int yellow){
         //token is the set of students inside the bag
@@ -17,6 +19,7 @@ public class Bag implements Serializable {
         studentsHandlerToken.add(Color.GREEN, green);
         studentsHandlerToken.add(Color.BLUE, blue);
         studentsHandlerToken.add(Color.PINK, pink);
+        random = new Random();
     }
 
     public Bag(int size){
@@ -27,6 +30,27 @@ public class Bag implements Serializable {
              ) {
             studentsHandlerToken.add(color, size);
         }
+        random = new Random();
+    }
+
+    /**
+     * Constructor of a bag whose draws depend on the given source
+     * @param size number of students of each color
+     * @param random source of the draws
+     */
+    public Bag(int size, Random random){
+        this(size);
+        this.random = random;
+    }
+
+    /**
+     * Copy constructor, used to copy a game
+     * @param other bag to be copied
+     * @param random source of the draws of the copy
+     */
+    public Bag(Bag other, Random random){
+        studentsHandlerToken = new StudentsHandler(other.studentsHandlerToken);
+        this.random = random;
     }
 
     /**
@@ -58,7 +82,7 @@ public class Bag implements Serializable {
         double green = blue + (double) studentsHandlerToken.numStudents(Color.GREEN)/ (double) studentsHandlerToken.numStudents();//removable
 
         //math.random() generates from 0<=x<1, I adjusted that to 0<x<=1
-        prob=Math.random();
+        prob=random.nextDouble();
         prob = Math.abs(prob-1);
 
 
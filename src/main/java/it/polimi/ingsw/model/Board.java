@@ -23,6 +23,7 @@ public class Board implements Serializable {
     private GameConstants gameConstants;
     private int coinReserve;
     private boolean[][] addCoinChecker;
+    private transient int revision; //incremented at each change of towers, professors and coins
 
     /**
      * Constructor of the class. It can handle games for 2 or 3 players
@@ -40,6 +41,23 @@ public class Board implements Serializable {
         coinReserve = 1; //one coin for each player at the starting
     }
 
+    /**
+     * Copy constructor, used to copy a game. The constants are shared because they never change
+     * @param other board to be copied
+     */
+    public Board(Board other) {
+        gameConstants = other.gameConstants;
+        towerColor = other.towerColor;
+        numTower = other.numTower;
+        entrance = new StudentsHandler(other.entrance);
+        hall = new StudentsHandler(other.hall);
+        professors = new HashSet<>(other.professors);
+        coinReserve = other.coinReserve;
+        addCoinChecker = new boolean[other.addCoinChecker.length][];
+        for(int i = 0; i < addCoinChecker.length; i++)
+            addCoinChecker[i] = other.addCoinChecker[i].clone();
+    }
+
     /**
      *This method is invoked by a player to choose his tower's color
      * @param color It is the color chosen by each individual player
@@ -47,6 +65,7 @@ public class Board implements Serializable {
     public void chooseTower(Tower color){
         if(color != null) {
             this.towerColor = color;
+            revision++;
         }
         else
             throw new NullPointerException();
@@ -72,6 +91,7 @@ public class Board implements Serializable {
     public void decNumTower(){
         if(this.numTower > 0)
             -- this.numTower;
+        revision++;
     }
 
     /**
@@ -83,6 +103,7 @@ public class Board implements Serializable {
     public void incNumTower(){
         if(numTower < gameConstants.getNumTowersOnBoard())
             ++ this.numTower;
+        revision++;
     }
 
     /**
@@ -156,8 +177,10 @@ public class Board implements Serializable {
      * @param color color of the professor to be added
      */
     public void addProfessor(Color color){
-        if(color != null)
+        if(color != null) {
             professors.add(color);
+            revision++;
+        }
         else
             throw new NullPointerException();
     }
@@ -168,8 +191,10 @@ public class Board implements Serializable {
      * @param color color of the professor to be removed
      */
     public void removeProfessor(Color color){
-        if(color != null)
+        if(color != null) {
             professors.remove(color);
+            revision++;
+        }
         else
             throw new NullPointerException();
     }
@@ -179,7 +204,7 @@ public class Board implements Serializable {
      * @return true if the set of professors contains that one of the specified color
      */
     public boolean hasProfessor( Color color){
-        return getProfessors().contains(color);
+        return professors.contains(color);
     }
 
     /**
@@ -217,6 +242,7 @@ public class Board implements Serializable {
                 if(!addCoinChecker[getRowFromColor(studentColor)][(hall.numStudents(studentColor) / 3) - 1]){
                     addCoinChecker[getRowFromColor(studentColor)][(hall.numStudents(studentColor) / 3) - 1] = true;
                     coinReserve++;
+                    revision++;
                 }
             }
         }
@@ -294,6 +320,24 @@ public class Board implements Serializable {
     public void removeCoin(int numCoins) {
         if(hasCoin(numCoins))
             coinReserve -= numCoins;
+        revision++;
+    }
+
+    /**
+     * The revision changes whenever something on the board changes: students, towers, professors or coins.
+     * It is never decremented, so an unchanged revision means an unchanged board
+     * @return the number of changes of the board
+     */
+    public int getRevision() {
+        return revision + entrance.getRevision() + hall.getRevision();
+    }
+
+    /**
+     * @return the fingerprint of the students, the towers, the professors and the coins of the board
+     * @see Fingerprint
+     */
+    public long getFingerprint() {
+        return Fingerprint.board(entrance.getFingerprint(), hall.getFingerprint(), towerColor, numTower, professors, coinReserve);
     }
 
     public StudentsHandler getEntrance() {
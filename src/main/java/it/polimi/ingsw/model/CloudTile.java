@@ -25,6 +25,15 @@ public class CloudTile implements Serializable {
         cloudStud = new StudentsHandler(gameConstants.getNumStudentsOnCloud());
     }
 
+    /**
+     * Copy constructor, used to copy a game. The constants are shared because they never change
+     * @param other cloud tile to be copied
+     */
+    public CloudTile(CloudTile other){
+        gameConstants = other.gameConstants;
+        cloudStud = new StudentsHandler(other.cloudStud);
+    }
+
     /**
      *Getter method for the number of students on this tile
      *@return Total number of students on the tile
@@ -91,4 +100,18 @@ public class CloudTile implements Serializable {
         return temp;
     }
 
+    /**
+     * @return the number of changes of the students on the tile, never decremented
+     */
+    public int getRevision() {
+        return cloudStud.getRevision();
+    }
+
+    /**
+     * @return the fingerprint of the students on the tile
+     */
+    public long getFingerprint() {
+        return cloudStud.getFingerprint();
+    }
+
 }
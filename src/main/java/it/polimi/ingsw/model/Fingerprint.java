@@ -0,0 +1,150 @@
+package it.polimi.ingsw.model;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This class gives the keys of the fingerprint of a game, a 64 bit value that changes with the students, the towers,
+ * the professors, the coins, the cards and mother nature. As in a Zobrist hash, each feature of the game has
+ * a pseudo-random key and a group of features is the xor of their keys, so that the fingerprint of the students
+ * is updated with two keys at each move instead of being computed again.
+ * The keys are derived from the features instead of being drawn, so that the server computes the fingerprint from the model
+ * and a client computes the same fingerprint from its beans
+ *
+ * @author Dario d'Abate
+ */
+public final class Fingerprint {
+    //parts of the game, the same group of features in two parts has two different fingerprints
+    public static final int BOARD = 1;
+    public static final int PLAYER = 2;
+    public static final int ISLAND = 3;
+    public static final int CLOUD = 4;
+    public static final int CARD = 5;
+    public static final int ENTRANCE = 6;
+    public static final int HALL = 7;
+    private static final int SNAPSHOT = 8;
+
+    //features of the game
+    private static final int STUDENTS = 16;
+    private static final int TOWER_COLOR = 17;
+    private static final int TOWERS = 18;
+    private static final int PROFESSOR = 19;
+    private static final int COINS = 20;
+    private static final int BAN_TILES = 21;
+    private static final int PRICE = 22;
+    private static final int PLAYED = 23;
+    private static final int HAND_SIZE = 24;
+    private static final int PLAYED_CARD = 25;
+    private static final int MOTHER_NATURE = 26;
+
+    private static final int MAX_STUDENTS = 26;
+    private static final long[][] STUDENT_KEYS = new long[Color.values().length][MAX_STUDENTS + 1];
+
+    static {
+        for(Color color : Color.values())
+            for(int count = 1; count <= MAX_STUDENTS; count++)
+                STUDENT_KEYS[color.ordinal()][count] = key(STUDENTS, color.ordinal() << 8 | count);
+    }
+
+    private Fingerprint(){}
+
+    /**
+     * @param feature feature of the game
+     * @param value value of the feature
+     * @return the key of the feature with that value
+     */
+    private static long key(int feature, int value){
+        return mix((long) feature << 32 | value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param color color of the students
+     * @param count number of students of that color
+     * @return the key of that number of students, 0 when there are none
+     */
+    public static long students(Color color, int count){
+        if(count == 0)
+            return 0;
+        return count <= MAX_STUDENTS ? STUDENT_KEYS[color.ordinal()][count] : key(STUDENTS, color.ordinal() << 8 | count);
+    }
+
+    /**
+     * @param students number of students of each color, as sent in the beans
+     * @return the fingerprint of the students
+     */
+    public static long students(Map<Color, Integer> students){
+        long fingerprint = 0;
+        for(Map.Entry<Color, Integer> entry : students.entrySet())
+            fingerprint ^= students(entry.getKey(), entry.getValue());
+        return fingerprint;
+    }
+
+    /**
+     * This method binds the fingerprint of a group of features to its place in the game, so that two islands
+     * with the same students do not cancel each other
+     * @param part part of the game
+     * @param index index of the group in its part
+     * @param fingerprint fingerprint of the group
+     * @return the fingerprint of the group in that place
+     */
+    public static long place(int part, int index, long fingerprint){
+        return mix(fingerprint ^ key(part, index));
+    }
+
+    public static long board(long entrance, long hall, Tower towerColor, int towers, Collection<Color> professors, int coins){
+        long fingerprint = place(ENTRANCE, 0, entrance) ^ place(HALL, 0, hall) ^ tower(towerColor, towers) ^ key(COINS, coins);
+        for(Color professor : professors)
+            fingerprint ^= key(PROFESSOR, professor.ordinal());
+        return fingerprint;
+    }
+
+    public static long island(long students, Tower towerColor, int towers, int banTiles){
+        return students ^ tower(towerColor, towers) ^ key(BAN_TILES, banTiles);
+    }
+
+    /**
+     * @param students fingerprint of the students on the card, 0 if the card has none
+     * @param banTiles ban tiles on the card, 0 if the card has none
+     */
+    public static long card(int price, boolean played, long students, int banTiles){
+        return students ^ key(PRICE, price) ^ key(PLAYED, played ? 1 : 0) ^ key(BAN_TILES, banTiles);
+    }
+
+    /**
+     * The fingerprint of a player counts the cards in the hand and not their priorities, that the spectators do not see
+     */
+    public static long player(int handSize, AssistantCard playedCard){
+        return key(HAND_SIZE, handSize) ^ key(PLAYED_CARD, playedCard == null ? -1 : playedCard.getPriority());
+    }
+
+    public static long motherNature(int island){
+        return key(MOTHER_NATURE, island);
+    }
+
+    /**
+     * This method gives the key of a value that is saved with the game but not seen by the players
+     * @param index index of the value among the values saved
+     * @param value the value
+     * @return the key of the value
+     */
+    public static long snapshot(int index, long value){
+        return place(SNAPSHOT, index, value);
+    }
+
+    /**
+     * Helper method that gives the key of the towers of a board or of an island
+     */
+    private static long tower(Tower towerColor, int towers){
+        return key(TOWER_COLOR, towerColor == null ? -1 : towerColor.ordinal()) ^ key(TOWERS, towers);
+    }
+
+    /**
+     * Helper method that spreads the bits of a value over the whole key (the finalizer of SplitMix64)
+     */
+    private static long mix(long value){
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+}
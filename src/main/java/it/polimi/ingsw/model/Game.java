@@ -4,13 +4,14 @@ import it.polimi.ingsw.model.constantFactory.GameConstants;
 import it.polimi.ingsw.model.constantFactory.GameConstantsCreator;
 import it.polimi.ingsw.model.constantFactory.GameConstantsCreatorThreePlayers;
 import it.polimi.ingsw.model.constantFactory.GameConstantsCreatorTwoPlayers;
+import it.polimi.ingsw.model.events.*;
 import it.polimi.ingsw.model.expertGame.ExpertCard;
 import it.polimi.ingsw.model.statePattern.InfluenceCalculator;
+import it.polimi.ingsw.model.statePattern.InfluenceContext;
 import it.polimi.ingsw.model.statePattern.StandardCalculator;
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -24,7 +25,7 @@ import java.util.Random;
  * @author Dario d'Abate
  * @author Lorenzo Corrado
  */
-public class Game implements RoundObserver, RefillInterface, Serializable {
+public class Game implements RoundObserver, RefillInterface, InfluenceContext, Serializable {
     protected GameConstants gameConstants;//contains all the game's constants
     protected ArrayList<Player> players;
     protected final int numGamePlayers; //number of players for a particular game
@@ -42,10 +43,13 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
     protected final int maxNumStudMoves; //maximum number of student movements
     protected int actualNumStudMoves; //number of movements of students that has done
 
-    protected InfluenceCalculator calc; //calculator for the influence
+    protected InfluenceCalculator calc; //calculator for the influence, shared by all the games
     protected boolean notAbsoluteMax; //flag used to implement an expertCard
 
-    protected final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this); //with this object we will fire the property change event
+    protected final long seed; //seed of all the random choices of this game
+    protected Random random; //source of all the random choices of this game, its state is saved with the game
+
+    protected transient EventBus events = new EventBus(); //with this object we will fire the events of the game, it is not saved
 
     /*
     Game creation rules, as indicated by specifications:
@@ -64,6 +68,20 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
      * @throws IllegalArgumentException if it is passed a number of player that's neither 2 nor 3, or nickname's player is an empty string
      */
     public Game(String nickPlayer, int numGamePlayers){
+        this(nickPlayer, numGamePlayers, new Random().nextLong());
+    }
+
+    /**
+     * Constructor of the class whose random choices depend only on the given seed, so that the game can be
+     * replayed from its seed and its moves
+     * @param nickPlayer nickname of the first player that connects to the server
+     * @param numGamePlayers Number of players for a game
+     * @param seed seed of the random choices
+     * @throws IllegalArgumentException if it is passed a number of player that's neither 2 nor 3, or nickname's player is an empty string
+     */
+    public Game(String nickPlayer, int numGamePlayers, long seed){
+        this.seed = seed;
+        random = new Random(seed);
         if (numGamePlayers == 2 || numGamePlayers == 3 && !nickPlayer.equals("")) {
             initGameConstants(numGamePlayers);
             this.numGamePlayers = numGamePlayers;
@@ -86,11 +104,104 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
     }
 
     /**
-     * This method is used to register a GameHandler object as a listener of this Game object
-     * @param pcl GameHandler object
+     * Copy constructor, used by copy(). The archipelago is copied later by copyArchipelago(),
+     * because in an expert game the islands give back their ban tiles to the copy
+     * @param other game to be copied
+     */
+    protected Game(Game other){
+        gameConstants = other.gameConstants; //constants never change, so they are shared
+        numGamePlayers = other.numGamePlayers;
+        maxNumStudMoves = other.maxNumStudMoves;
+        actualNumStudMoves = other.actualNumStudMoves;
+        gameState = other.gameState;
+        motherNature = other.motherNature;
+        maxMovement = other.maxMovement;
+        notAbsoluteMax = other.notAbsoluteMax;
+        calc = other.calc; //calculators have no state, so they are shared
+        seed = other.seed;
+        random = new Random(); //the copies are used for simulations, so their draws are independent
+        availableTowerColor = new ArrayList<>(other.availableTowerColor);
+        availableCardsBack = new ArrayList<>(other.availableCardsBack);
+
+        players = new ArrayList<>(other.players.size());
+        for(Player player : other.players)
+            players.add(new Player(player));
+
+        if(other.round != null){
+            round = new Round(other.round, players);
+            round.setRefillInterface(this);
+        }
+        if(other.startBag != null)
+            startBag = new Bag(other.startBag, random);
+        if(other.actionBag != null)
+            actionBag = new Bag(other.actionBag, random);
+        if(other.cloudTiles != null){
+            cloudTiles = new ArrayList<>(other.cloudTiles.size());
+            for(CloudTile cloudTile : other.cloudTiles)
+                cloudTiles.add(new CloudTile(cloudTile));
+        }
+    }
+
+    /**
+     * This method creates an independent copy of this game, that can be modified without changing this game.
+     * It is much faster than a serialization of the game, so it is used to simulate games.
+     * The listeners of this game are not copied
+     * @return the copy of this game
+     */
+    public Game copy(){
+        Game copy = new Game(this);
+        copy.copyArchipelago(this);
+        return copy;
+    }
+
+    /**
+     * Helper method used by copy() to copy the archipelago of the original game
+     * @param original the game that has been copied
+     */
+    protected void copyArchipelago(Game original){
+        if(original.archipelago != null){
+            archipelago = new ArrayList<>(original.archipelago.size());
+            for(IslandTile island : original.archipelago)
+                archipelago.add(copyIsland(island, original));
+        }
+    }
+
+    /**
+     * Helper method used to copy an island of the original game
+     * @param island island of the original game
+     * @param original the game that has been copied
+     * @return the island of the copy
+     */
+    protected IslandTile copyIsland(IslandTile island, Game original){
+        return new IslandTile(island, null);
+    }
+
+    /**
+     * This method gives the event bus of this game, to subscribe to its events
+     * @return the event bus of this game
      */
-    public void addListener(PropertyChangeListener pcl){
-        propertyChangeSupport.addPropertyChangeListener(pcl);
+    public EventBus getEvents(){
+        return events;
+    }
+
+    /**
+     * A restored game has a new event bus without subscribers
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        events = new EventBus();
+    }
+
+    /**
+     * Helper method that fires the movement of a student of the current player, if someone listens to it
+     * @param color color of the student
+     * @param from place the student comes from
+     * @param to place the student goes to
+     * @param index index of the island or of the cloud involved, -1 if there is none
+     */
+    protected void studentMoved(Color color, StudentMovedEvent.Place from, StudentMovedEvent.Place to, int index){
+        if(events.wants(GameEventType.STUDENT_MOVED))
+            events.publish(new StudentMovedEvent(getCurrentPlayer().getNickname(), color, from, to, index));
     }
 
     //helper method for initializing game constants with a factory pattern
@@ -132,6 +243,13 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
      */
     public int getNumPlayers(){ return players.size();}
 
+    /**
+     * @return seed of the random choices of this game
+     */
+    public long getSeed() {
+        return seed;
+    }
+
     /**
      * If all players have joined, this method sets up the
      * playing field and initializes each player's game items.
@@ -171,29 +289,26 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
     }
     //initialize  a round through which the current player can be selected
     protected void initRound(){
-        round = new Round(players);
+        round = new Round(players, random);
         round.setRefillInterface(this);
     }
 
 
 
-    //initialize an archipelago with a standard influence's calculator for each islandTile
+    //initialize an archipelago, whose influence is calculated by the standard calculator
     protected void initArchipelago(){
         archipelago = new ArrayList<>();
         for(int i = 0; i < gameConstants.INITIAL_ARCHIPELAGO_SIZE ; i++) {
-            //standard calculator for influence
-            StandardCalculator influenceCalculator = new StandardCalculator();
-            archipelago.add(new IslandTile(influenceCalculator));
-            influenceCalculator.setContext(archipelago.get(i));
+            archipelago.add(new IslandTile());
         }
-        calc = new StandardCalculator();
+        calc = StandardCalculator.INSTANCE;
     }
 
     //initializes two bags, one for filling the archipelago and another one
     //for playing
     public void initBags(){
-        startBag = new Bag(2); // see game rule
-        actionBag = new Bag(gameConstants.MAX_SIZE_STUDENT_FOR_COLOR - 2);
+        startBag = new Bag(2, random); // see game rule
+        actionBag = new Bag(gameConstants.MAX_SIZE_STUDENT_FOR_COLOR - 2, random);
     }
 
     //returns a pseudorandom, uniformly distributed int value between min (inclusive)
@@ -202,7 +317,6 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
     protected int randomNumber(){
         int min = 0;
         int max = 11;
-        Random random = new Random();
         return random.nextInt(max - min + 1) + min;
     }
     public void setMotherNature(int i){motherNature = i; }
@@ -265,7 +379,7 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
                 Color colorDrawn = actionBag.draw();
 
                 if(colorDrawn == null){//last round to play
-                    propertyChangeSupport.firePropertyChange("emptyBagWinning", "", "notEmpty");
+                    events.publish(new LastRoundEvent(LastRoundEvent.Reason.EMPTY_BAG));
                     return;
                 }
                 cloudTile.fill(colorDrawn);
@@ -298,6 +412,7 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
                 while(tempCloud.numStudents(color) > 0){
                     currentPlayerBoard.fillEntrance(color);
                     tempCloud.remove(color);
+                    studentMoved(color, StudentMovedEvent.Place.CLOUD, StudentMovedEvent.Place.ENTRANCE, idxChosenCloud);
                 }
             }
         }
@@ -324,15 +439,32 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
             throw new IllegalStateException("The hall cannot accept a student of the specified color");
         //controlMovementStudents();//one movement of student has done
         currentPlayerBoard.entranceToHall(colorStudentToBeMoved);
+        studentMoved(colorStudentToBeMoved, StudentMovedEvent.Place.ENTRANCE, StudentMovedEvent.Place.HALL, -1);
 
         //assignment of the professor
-        if(!currentPlayerBoard.hasProfessor(colorStudentToBeMoved) && hasMaxStudents(colorStudentToBeMoved)){
-            takeBackProfessor(colorStudentToBeMoved);
-            currentPlayerBoard.addProfessor(colorStudentToBeMoved);
-        }
+        if(!currentPlayerBoard.hasProfessor(colorStudentToBeMoved) && hasMaxStudents(colorStudentToBeMoved))
+            assignProfessor(colorStudentToBeMoved);
 
     }
 
+    /**
+     * Helper method used to give the professor of the specified color to the current player
+     * @param color color of the professor
+     */
+    protected void assignProfessor(Color color){
+        String previousOwner = null;
+        if(events.wants(GameEventType.PROFESSOR_CHANGED)){
+            for(Player player : players){
+                if(player.getBoard().hasProfessor(color))
+                    previousOwner = player.getNickname();
+            }
+        }
+        takeBackProfessor(color);
+        getCurrentPlayer().getBoard().addProfessor(color);
+        if(events.wants(GameEventType.PROFESSOR_CHANGED))
+            events.publish(new ProfessorChangedEvent(color, previousOwner, getCurrentPlayer().getNickname()));
+    }
+
     /**
      * Helper method used to determine if the current player has the maximum number of students,
      * of the specified color, in the hall
@@ -394,6 +526,7 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
         //controlMovementStudents();//one movement of student has done
         currentPlayerBoard.removeStudentFromEntrance(colorStudentToBeMoved);
         archipelago.get(idxChosenIsland).add(colorStudentToBeMoved);
+        studentMoved(colorStudentToBeMoved, StudentMovedEvent.Place.ENTRANCE, StudentMovedEvent.Place.ISLAND, idxChosenIsland);
     }
 
 
@@ -406,8 +539,10 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
     public void playCard(int idxCard){
         try{
             getCurrentPlayer().playCard(idxCard);
-            if(getCurrentPlayer().getHand().size() == 0){
-                propertyChangeSupport.firePropertyChange("endRoundWinning", "", "notEmpty");
+            if(events.wants(GameEventType.CARD_PLAYED))
+                events.publish(new CardPlayedEvent(getCurrentPlayer().getNickname(), getCurrentPlayer().viewLastCard().getPriority(), getCurrentPlayer().getHandSize()));
+            if(getCurrentPlayer().getHandSize() == 0){
+                events.publish(new LastRoundEvent(LastRoundEvent.Reason.NO_CARDS));
             }
             nextTurn();
         }catch (IllegalArgumentException e){
@@ -450,8 +585,7 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
         if(moves <= 0 || moves > maxMovement)
             throw  new IllegalArgumentException("Illegal moves for mother nature");
         motherNature = (motherNature + moves) % archipelago.size();
-        archipelago.get(motherNature).changeCalculator(calc);
-        archipelago.get(motherNature).conquer(players); //this is the only method that calls conquer()
+        conquerCurrentIsland(calc);
         checkInstantWinner();//no tower remaining
 
 
@@ -463,6 +597,18 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
     }
 
 
+    /**
+     * Helper method that tries to conquer the island with mother nature, and fires the conquest if the towers change
+     * @param calc calculator of the influence
+     */
+    protected void conquerCurrentIsland(InfluenceCalculator calc){
+        IslandTile island = getCurrentIsland();
+        Tower previousTower = island.getTowerColor();
+        island.conquer(players, calc, this);
+        if(island.getTowerColor() != previousTower && events.wants(GameEventType.ISLAND_CONQUERED))
+            events.publish(new IslandConqueredEvent(motherNature, previousTower, island.getTowerColor()));
+    }
+
     /**
      * This method notify GameHandler whenever a player win because he ran out of tower or because
      * remains 3 groups of island.
@@ -473,13 +619,13 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
         for(Player player: getPlayers()){
             playerBoard = player.getBoard();
             if(playerBoard.getNumTower() <= 0){
-                propertyChangeSupport.firePropertyChange(new PropertyChangeEvent(this, "instantWinning","", player.getNickname()));
+                events.publish(new GameWonEvent(player.getNickname()));
                 return;
             }
         }
 
         if(archipelago.size() <= 3)
-            propertyChangeSupport.firePropertyChange(new PropertyChangeEvent(this, "instantWinning", "", alternativeWinner()));
+            events.publish(new GameWonEvent(alternativeWinner()));
     }
 
     /**
@@ -526,6 +672,8 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
             }
             motherNature = newArchipelago.indexOf(newIsland);
             this.archipelago = newArchipelago;
+            if(events.wants(GameEventType.ISLANDS_MERGED))
+                events.publish(new IslandsMergedEvent(motherNature, archipelago.size()));
         }
     }
 
@@ -537,7 +685,7 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
      * @return The island as a result of the sum
      */
     protected IslandTile sumOfTwoIsland(IslandTile islandOne, IslandTile islandTwo){
-        IslandTile newIsland = new IslandTile(new StandardCalculator());
+        IslandTile newIsland = new IslandTile();
         //The new Island has the sum of the towers of the previous two islands
         for (int i=0; i< islandTwo.getNumTowers()+ islandOne.getNumTowers(); i++){
             newIsland.addTower();
@@ -622,6 +770,16 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
      */
     public Player getCurrentPlayer(){ return round.getCurrentPlayer();}
 
+    /**
+     * @return the round, that contains the order of the players in the current phase
+     */
+    public Round getRound(){ return round;}
+
+    /**
+     * @return true if there are no students left in the bag used during the game
+     */
+    public boolean isActionBagEmpty(){ return actionBag.isEmpty();}
+
     /**
      * @return the maximum number of island mother nature can travel
      */
@@ -673,6 +831,14 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
         return round.getCurrentPlayer();
     }
 
+    /**
+     * @return null, because in a game that is not an expert game every color gives influence
+     */
+    @Override
+    public Color getIgnoredColor() {
+        return null;
+    }
+
     public GameState getGameState() {
         return gameState;
     }
@@ -687,7 +853,14 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
 
     @Override
     public void resetCalc() {
-        this.calc = new StandardCalculator();
+        this.calc = StandardCalculator.INSTANCE;
+    }
+
+    /**
+     * @return the number of students that a player moves in a turn
+     */
+    public int getMaxNumStudMoves() {
+        return maxNumStudMoves;
     }
 
     public int getActualNumStudMoves() {
@@ -706,6 +879,48 @@ public class Game implements RoundObserver, RefillInterface, Serializable {
         this.actualNumStudMoves = actualNumStudMoves;
     }
 
+    /**
+     * This method gives the fingerprint of what the players see of the game: the students, the towers, the professors,
+     * the coins of the boards, the cards and mother nature. A client computes the same fingerprint from its beans
+     * @return the fingerprint of the game
+     * @see Fingerprint
+     */
+    public long getFingerprint(){
+        long fingerprint = Fingerprint.motherNature(motherNature);
+        for(int i = 0; i < players.size(); i++){
+            Player player = players.get(i);
+            fingerprint ^= Fingerprint.place(Fingerprint.BOARD, i, player.getBoard().getFingerprint());
+            fingerprint ^= Fingerprint.place(Fingerprint.PLAYER, i, Fingerprint.player(player.getHandSize(), player.viewLastCard()));
+        }
+        for(int i = 0; i < archipelago.size(); i++)
+            fingerprint ^= Fingerprint.place(Fingerprint.ISLAND, i, archipelago.get(i).getFingerprint());
+        for(int i = 0; i < cloudTiles.size(); i++)
+            fingerprint ^= Fingerprint.place(Fingerprint.CLOUD, i, cloudTiles.get(i).getFingerprint());
+        return fingerprint;
+    }
+
+    /**
+     * This method gives the fingerprint of everything that is saved with the game: besides the fingerprint of the game,
+     * the state of the turn, the hands of the players and the effects of the expert cards. When it does not change,
+     * a saved game does not need to be saved again
+     * @return the fingerprint of the saved game
+     */
+    public long getSnapshotFingerprint(){
+        long fingerprint = getFingerprint()
+                ^ Fingerprint.snapshot(0, gameState == null ? -1 : gameState.ordinal())
+                ^ Fingerprint.snapshot(1, round == null ? -1 : players.indexOf(round.getCurrentPlayer()))
+                ^ Fingerprint.snapshot(2, round == null ? -1 : round.getRoundNumber())
+                ^ Fingerprint.snapshot(3, actualNumStudMoves)
+                ^ Fingerprint.snapshot(4, maxMovement)
+                ^ Fingerprint.snapshot(5, notAbsoluteMax ? 1 : 0)
+                ^ Fingerprint.snapshot(6, calc.getClass().getName().hashCode());
+        for(int i = 0; i < players.size(); i++){
+            Player player = players.get(i);
+            long hand = (long) player.getPriorities() << 8 | (player.getCardBack() == null ? 0 : player.getCardBack().ordinal() + 1);
+            fingerprint ^= Fingerprint.place(Fingerprint.PLAYER, i, Fingerprint.snapshot(7, hand));
+        }
+        return fingerprint;
+    }
 
     //expertCard methods
     public ArrayList<ExpertCard> getExpertCards(){return new ArrayList<>();}
@@ -2,6 +2,8 @@ package it.polimi.ingsw.model;
 
 import it.polimi.ingsw.model.expertGame.BanTile;
 import it.polimi.ingsw.model.statePattern.InfluenceCalculator;
+import it.polimi.ingsw.model.statePattern.InfluenceContext;
+import it.polimi.ingsw.model.statePattern.StandardCalculator;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -10,7 +12,8 @@ import java.util.ArrayList;
  * This class represents the single Islands in the game, with methods that can control their state and handle the conquest
  * of an island after the movement of mother nature.
  *
- * The influence calculator has been handled with a state pattern
+ * The influence calculator has been handled with a state pattern: the calculator is chosen by the game
+ * at each conquest, so the island does not keep one
  *
  * @author Lorenzo Corrado
  */
@@ -18,20 +21,31 @@ public class IslandTile implements Serializable {
     private StudentsHandler islandStudents;
     private int numTowers;
     private Tower towerColor;
-    private InfluenceCalculator calc;
     private boolean isBanned = false;
     private int banTile = 0;
     public BanTile banTileAdder;
+    private transient int revision; //incremented at each change of towers and ban tiles
 
 
     /**
      * Constructor of the class, the island starts with 0 towers, and a maximum size students
-     * @param calc Specify the calculator
-     *
      */
-    public IslandTile(InfluenceCalculator calc){
+    public IslandTile(){
         islandStudents = new StudentsHandler();
-        this.calc = calc;
+    }
+
+    /**
+     * Copy constructor, used to copy a game. The copy is bound to the ban tiles of the copied game
+     * @param other island to be copied
+     * @param banTileAdder the copied game, that gets back the ban tile of the island
+     */
+    public IslandTile(IslandTile other, BanTile banTileAdder){
+        islandStudents = new StudentsHandler(other.islandStudents);
+        numTowers = other.numTowers;
+        towerColor = other.towerColor;
+        isBanned = other.isBanned;
+        banTile = other.banTile;
+        this.banTileAdder = other.banTileAdder == null ? null : banTileAdder;
     }
 
     public int getNumTowers() {
@@ -66,6 +80,7 @@ public class IslandTile implements Serializable {
      */
     public void addTower(){
         numTowers +=1;
+        revision++;
     }
 
     /**
@@ -78,6 +93,7 @@ public class IslandTile implements Serializable {
             throw new IllegalStateException("Need to be at least one tower to call this method");
         }
         towerColor = color;
+        revision++;
     }
 
     public int getInfluenceTower(){
@@ -91,19 +107,28 @@ public class IslandTile implements Serializable {
     /**
      * Calling the state pattern
      * @param player check influence of that player on the island
+     * @param calc calculator of the influence
+     * @param context game of the island
      * @return influence as an int
      */
+    public int checkInfluence(Player player, InfluenceCalculator calc, InfluenceContext context){
+        return calc.checkInfluence(this, player, context);
+    }
+
+    /**
+     * @param player check influence of that player on the island
+     * @return the standard influence of the player, that counts towers and students
+     */
     public int checkInfluence(Player player){
-        return calc.checkInfluence(player);
+        return checkInfluence(player, StandardCalculator.INSTANCE, null);
     }
 
     /**
-     * Update state
-     * @param calc new state
+     * This method conquers the island with the standard influence
+     * @param players The players in Game
      */
-    public void changeCalculator(InfluenceCalculator calc){
-        calc.setContext(this);
-        this.calc = calc;
+    public void conquer(ArrayList<Player> players){
+        conquer(players, StandardCalculator.INSTANCE, null);
     }
 
     /**
@@ -111,11 +136,14 @@ public class IslandTile implements Serializable {
      * with the color of the player's tower with the maximum influence.
      * The add and removal of the tower from the board to the island is handled by the method
      * @param players The players in Game
+     * @param calc calculator of the influence
+     * @param context game of the island
      */
-    public void conquer(ArrayList<Player> players){
+    public void conquer(ArrayList<Player> players, InfluenceCalculator calc, InfluenceContext context){
         int max = 0;
         int currentindex = 0;
         int index = 0;
+        revision++;
         if (isBanned) {
             banTile -= 1;
             if (banTile == 0) {
@@ -137,14 +165,14 @@ public class IslandTile implements Serializable {
 
         //Check the maximum value for influence of that island
         for (Player player:players) {
-            if(checkInfluence(player)>max){
-                max = checkInfluence(player);
+            if(checkInfluence(player, calc, context)>max){
+                max = checkInfluence(player, calc, context);
                 index = players.indexOf(player);
             }
         }
         //Check if one or more players has the same influence
         for (Player player:players) {
-            if(index != players.indexOf(player) && checkInfluence(player)==max){
+            if(index != players.indexOf(player) && checkInfluence(player, calc, context)==max){
                 return;
             }
         }
@@ -171,6 +199,7 @@ public class IslandTile implements Serializable {
         this.isBanned = isBanned;
         this.banTileAdder = banTileAdder;
         banTile += 1;
+        revision++;
     }
 
     public BanTile getBanTileAdder() {
@@ -179,6 +208,24 @@ public class IslandTile implements Serializable {
 
     public void setBanTile(int banTile) {
         this.banTile = banTile;
+        revision++;
+    }
+
+    /**
+     * The revision changes whenever something on the island changes: students, towers or ban tiles.
+     * It is never decremented, so an unchanged revision means an unchanged island
+     * @return the number of changes of the island
+     */
+    public int getRevision() {
+        return revision + islandStudents.getRevision();
+    }
+
+    /**
+     * @return the fingerprint of the students, the towers and the ban tiles of the island
+     * @see Fingerprint
+     */
+    public long getFingerprint() {
+        return Fingerprint.island(islandStudents.getFingerprint(), towerColor, numTowers, banTile);
     }
 
     public boolean  getIsBanned() {
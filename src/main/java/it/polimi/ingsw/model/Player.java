@@ -12,16 +12,15 @@ import java.util.ArrayList;
 public class Player implements Serializable {
     private GameConstants gameConstants;
     private String nickname;
-    private ArrayList<AssistantCard> hand = new ArrayList<>();
+    private int hand; //priorities of the cards in the hand, bit 1 for priority 1
+    private CardBack back; //back of the cards of the player, null until it is chosen
     private AssistantCard discardCard;
     private Board board;
     private int id;
 
     /**
      * Constructor of the class. It initializes the player attributes and the
-     * 10 cards that each player have in their hand. The cards are initialized
-     * with a for loop where while the priority increases one by one the movement
-     * increases by one point every two cards.
+     * 10 cards that each player have in their hand, one for each priority.
      * @param nick nickname of the player
      * @param gameConstants is the object with all the constants in the game
      * @throws IllegalArgumentException if the number of player isn't 2 or 3
@@ -30,9 +29,22 @@ public class Player implements Serializable {
         this.gameConstants = gameConstants;
         this.board = new Board(gameConstants);
         this.nickname = nick;
-        for (int i = 0; i < gameConstants.NUM_ASSISTANT_CARD; i++) {
-            hand.add(i, new AssistantCard(i + 1, (i + 1) / 2 + (i + 1) % 2));
-        }
+        this.hand = fullHand();
+    }
+
+    /**
+     * Copy constructor, used to copy a game. The assistant cards are shared with the original player,
+     * because a card is never modified
+     * @param other player to be copied
+     */
+    public Player(Player other) {
+        gameConstants = other.gameConstants;
+        nickname = other.nickname;
+        id = other.id;
+        hand = other.hand;
+        back = other.back;
+        discardCard = other.discardCard;
+        board = new Board(other.board);
     }
 
     /**
@@ -45,10 +57,14 @@ public class Player implements Serializable {
     public Player(int id, GameConstants gameConstants) {
         this.board = new Board(gameConstants);
         this.id = id;
-        for (int i = 0; i < gameConstants.NUM_ASSISTANT_CARD; i++) {
-            hand.add(i, new AssistantCard(i + 1, (i + 1) / 2 + (i + 1) % 2));
-        }
+        this.hand = fullHand();
+    }
 
+    /**
+     * Helper method that gives the hand with all the cards, from priority 1 to the number of assistant cards
+     */
+    private static int fullHand() {
+        return (1 << GameConstants.NUM_ASSISTANT_CARD + 1) - 2;
     }
 
     /**
@@ -75,29 +91,29 @@ public class Player implements Serializable {
     public void chooseBack(CardBack back) {
         if (back == null)
             throw new NullPointerException();
-        else {
-            for (int i = 0; i < gameConstants.NUM_ASSISTANT_CARD; i++) {
-                hand.get(i).setCardBack(back);
-            }
-        }
+        else
+            this.back = back;
     }
 
     /**
      * This method is called when the player have to play a card. The player
      * should provide the index of the card he wants to play. Once played the card
      * is removed from the hand of the player and is added to the discarded cards.
+     * The cards of the hand are ordered by priority.
      * @param chosenCard is the index of the card chosen by the player
      * @return the played card
      */
     public AssistantCard playCard(int chosenCard) {
-        if (chosenCard < 0 || chosenCard > hand.size()-1) {
+        if (chosenCard < 0 || chosenCard > getHandSize()-1) {
             throw new IllegalArgumentException("The card index should be between 0 and the index of the last card");
         } else {
-            discardCard = hand.get(chosenCard);
-            AssistantCard playedCard = new AssistantCard(discardCard.getPriority(), discardCard.getMovement());
-            playedCard.setCardBack(discardCard.getCardBack());
-            hand.remove(chosenCard);
-            return playedCard;
+            int remaining = hand;
+            for (int i = 0; i < chosenCard; i++)
+                remaining &= remaining - 1; //removes the card with the lowest priority
+            int priority = Integer.numberOfTrailingZeros(remaining);
+            hand &= ~(1 << priority);
+            discardCard = AssistantCard.of(priority, back);
+            return discardCard;
         }
     }
 
@@ -106,18 +122,15 @@ public class Player implements Serializable {
      * @return the list of cards that the player haven't already played
      */
     public ArrayList<AssistantCard> getPlayableCard() {
-        return new ArrayList<>(hand);
+        return getHand();
     }
 
     /**
-     * Gets a copy of the last discarded card.
+     * Gets the last discarded card.
      * @return the last discarded card
      */
     public AssistantCard viewLastCard() {
-        if(discardCard == null)
-            return null;
-        else
-            return new AssistantCard(discardCard.getPriority(), discardCard.getMovement());
+        return discardCard;
     }
 
     /**
@@ -128,26 +141,50 @@ public class Player implements Serializable {
         return board;
     }
 
+    /**
+     * Gets the cards in the hand of the player, ordered by priority. The list is a copy of the hand.
+     * @return the cards in the hand of the player
+     */
     public ArrayList<AssistantCard> getHand() {
+        ArrayList<AssistantCard> cards = new ArrayList<>(getHandSize());
+        for (int remaining = hand; remaining != 0; remaining &= remaining - 1)
+            cards.add(AssistantCard.of(Integer.numberOfTrailingZeros(remaining), back));
+        return cards;
+    }
+
+    /**
+     * @return the priorities of the cards in the hand, as a mask with the bit of each priority set
+     */
+    public int getPriorities() {
         return hand;
     }
 
+    /**
+     * @return the number of cards in the hand
+     */
+    public int getHandSize() {
+        return Integer.bitCount(hand);
+    }
+
+    /**
+     * @return the back of the cards of the player, null if it has not been chosen yet
+     */
+    public CardBack getCardBack() {
+        return back;
+    }
+
     public boolean isPriorityAvailable(int priority){
-        boolean isAvailable = false;
-        for(AssistantCard card : hand){
-            if(card.getPriority() == priority)
-                isAvailable= true;
-        }
-        return isAvailable;
+        return priority > 0 && priority < Integer.SIZE && (hand & 1 << priority) != 0;
     }
+
+    /**
+     * @param priority priority of a card
+     * @return the index of the card in the hand, 0 if the card is not in the hand
+     */
     public int priorityToIndex(int priority){
-        int temp = 0;
-        for(AssistantCard card : hand){
-            if(card.getPriority() == priority){
-                temp = hand.indexOf(card);
-            }
-        }
-        return temp;
+        if(!isPriorityAvailable(priority))
+            return 0;
+        return Integer.bitCount(hand & (1 << priority) - 1);
     }
 }
 
@@ -32,12 +32,63 @@ public class Round implements Serializable {
      * @param players is the list of player that are actually playing the game
      */
     public Round(ArrayList<Player> players) {
+        this(players, new Random());
+    }
+
+    /**
+     * Constructor of the class whose first player depends on the given source
+     * @param players is the list of player that are actually playing the game
+     * @param random source used to choose the first player
+     */
+    public Round(ArrayList<Player> players, Random random) {
         roundNumber = 0;
         playersCopy = players;
         actionPhaseOrder = new ArrayList<>(players);
         planningPhaseOrder = new ArrayList<>(players);
         isPlanning = true;
-        setRandomStartPlayer();
+        setRandomStartPlayer(random);
+    }
+
+    /**
+     * Copy constructor, used to copy a game. Each player of the original round is replaced by the player
+     * in the same position of the given list
+     * @param other round to be copied
+     * @param players copies of the players, in the same order of the players of the original round
+     */
+    public Round(Round other, ArrayList<Player> players) {
+        playersCopy = players;
+        roundNumber = other.roundNumber;
+        planningPhaseOrder = other.copyOrder(other.planningPhaseOrder, players);
+        //at the start of the action phase the two orders are the same list
+        actionPhaseOrder = other.actionPhaseOrder == other.planningPhaseOrder ? planningPhaseOrder : other.copyOrder(other.actionPhaseOrder, players);
+        currentTurn = other.copyPlayer(other.currentTurn, players);
+        firstPlanningPlayer = other.copyPlayer(other.firstPlanningPlayer, players);
+        isPlanning = other.isPlanning;
+        isEnding = other.isEnding;
+        game = other.game;
+    }
+
+    /**
+     * Helper method used by the copy constructor to find the copy of a player
+     * @param player player of this round
+     * @param players copies of the players
+     * @return the copy of the player, null if the player is null
+     */
+    private Player copyPlayer(Player player, ArrayList<Player> players){
+        return player == null ? null : players.get(playersCopy.indexOf(player));
+    }
+
+    /**
+     * Helper method used by the copy constructor to copy an order of the players
+     * @param order order of the players of this round
+     * @param players copies of the players
+     * @return the same order made of the copies of the players
+     */
+    private ArrayList<Player> copyOrder(ArrayList<Player> order, ArrayList<Player> players){
+        ArrayList<Player> copy = new ArrayList<>(order.size());
+        for(Player player : order)
+            copy.add(copyPlayer(player, players));
+        return copy;
     }
 
     /**
@@ -84,9 +135,16 @@ public class Round implements Serializable {
      * This method sets the first random player and build the first planning phase order list
      */
     public void setRandomStartPlayer() {
+        setRandomStartPlayer(new Random());
+    }
+
+    /**
+     * This method sets the first random player and build the first planning phase order list
+     * @param rand source used to choose the first player
+     */
+    public void setRandomStartPlayer(Random rand) {
         Player firstPlayer;
         int randomNum;
-        Random rand = new Random();
         planningPhaseOrder.removeAll(playersCopy);
         if (playersCopy.size() == 3) {
             randomNum = rand.nextInt(3);
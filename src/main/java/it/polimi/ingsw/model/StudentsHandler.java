@@ -1,5 +1,7 @@
 package it.polimi.ingsw.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -15,6 +17,8 @@ public class StudentsHandler implements Serializable {
     private Map<Color, Integer> students;
     //maximum size that you can have for every single color, if not specified it is 26
     int sizeMax;
+    private transient int revision; //incremented at each change of the students
+    private transient long fingerprint; //xor of the keys of the number of students of each color
 
     /**
      * This constructor utilizes the default maximum size for EACH color
@@ -49,6 +53,36 @@ public class StudentsHandler implements Serializable {
     }
 
 
+    /**
+     * Copy constructor, used to copy a game
+     * @param other students to be copied
+     */
+    public StudentsHandler(StudentsHandler other){
+        students = new HashMap<>(other.students);
+        sizeMax = other.sizeMax;
+        fingerprint = other.fingerprint;
+    }
+
+    /**
+     * The fingerprint is not saved, it is computed again from the students
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        for(Map.Entry<Color, Integer> entry : students.entrySet())
+            fingerprint ^= Fingerprint.students(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * Helper method that sets the number of students of a color, replacing the key of the old number with the key of the new one
+     * @param color The color of the students
+     * @param before The number of students before the change
+     * @param after The number of students after the change
+     */
+    private void set(Color color, int before, int after){
+        students.put(color, after);
+        fingerprint ^= Fingerprint.students(color, before) ^ Fingerprint.students(color, after);
+    }
+
     /**
      * This method adds one single student for the specified color
      * @param color The color of the student
@@ -61,8 +95,9 @@ public class StudentsHandler implements Serializable {
             Integer temp;
             temp = students.get(color);
             if(temp+1<=sizeMax) {
-                students.put(color, temp + 1);
+                set(color, temp, temp + 1);
             }
+            revision++;
     }
 
     /**
@@ -81,7 +116,8 @@ public class StudentsHandler implements Serializable {
             if (num<0){
                 throw new IllegalArgumentException("Il numero non può essere negativo");
             }
-        students.put(color, Math.min(temp + num, sizeMax)); //Careful, you can lose some tokens in the exchange process!
+        set(color, temp, Math.min(temp + num, sizeMax)); //Careful, you can lose some tokens in the exchange process!
+        revision++;
     }
 
     /**
@@ -124,11 +160,12 @@ public class StudentsHandler implements Serializable {
             temp = students.get(color);
 
             if(temp>0){
-                students.put(color, temp-1);
+                set(color, temp, temp-1);
             }
             else{
-                students.put(color, 0);
+                set(color, temp, 0);
             }
+            revision++;
     }
 
     /**
@@ -148,7 +185,8 @@ public class StudentsHandler implements Serializable {
 
             Integer temp;
             temp = students.get(color);
-        students.put(color, Math.max(temp - num, 0));
+        set(color, temp, Math.max(temp - num, 0));
+        revision++;
 
     }
 
@@ -179,6 +217,24 @@ public class StudentsHandler implements Serializable {
         return students.get(color) - num >= 0;
     }
 
+    /**
+     * The revision starts from 0 in every copy of the students and it is never decremented, so that it can be
+     * used to reuse what has been computed from the students while they do not change
+     * @return the number of changes of the students
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * The fingerprint is updated at each change of the students, and it is the same for two handlers with the same students
+     * @return the fingerprint of the students
+     * @see Fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
     /**
      * @return the TOTAL number of students
      */
@@ -0,0 +1,44 @@
+package it.polimi.ingsw.model.ai;
+
+/**
+ * This enum contains the levels of a computer player. Each level sets how long the bot thinks before a move,
+ * how many search trees are built in parallel and how far each simulated game is played
+ *
+ * @author Dario d'Abate
+ */
+public enum BotDifficulty {
+    EASY(300, 1, 12),
+    MEDIUM(1000, 2, 36),
+    HARD(2500, 0, 72); //0 trees: one tree for each available core
+
+    private final long timeBudgetMillis;
+    private final int trees;
+    private final int rolloutDepth;
+
+    BotDifficulty(long timeBudgetMillis, int trees, int rolloutDepth){
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.trees = trees;
+        this.rolloutDepth = rolloutDepth;
+    }
+
+    /**
+     * @return time that the bot can spend for a single move, in milliseconds
+     */
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * @return number of search trees built in parallel for a single move
+     */
+    public int getTrees() {
+        return trees > 0 ? trees : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return maximum number of moves of a simulated game, after which the position is evaluated
+     */
+    public int getRolloutDepth() {
+        return rolloutDepth;
+    }
+}
@@ -0,0 +1,231 @@
+package it.polimi.ingsw.model.ai;
+
+import it.polimi.ingsw.model.*;
+import it.polimi.ingsw.model.events.GameWonEvent;
+import it.polimi.ingsw.model.events.LastRoundEvent;
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.model.moves.MoveGenerator;
+import it.polimi.ingsw.model.moves.MoveList;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * This class plays a private copy of a game, following the same turn structure of the GameHandler.
+ * It is used by the bots to simulate games: it lists the legal moves of the current player with the MoveGenerator, applies them,
+ * and detects the end of the game. Expert cards are never played by the simulator.
+ *
+ * @author Dario d'Abate
+ */
+public class GameSimulator {
+    private static final double TOWER_WEIGHT = 2;
+    private static final double SCORE_RANGE = 20; //score difference that corresponds to a sure win
+
+    private final Game game;
+    private final int maxStudentMoves;
+    private final MoveList playoutMoves = new MoveList();
+    private final MoveList cloudMoves = new MoveList();
+    private String winner;
+    private boolean over;
+    private boolean lastRound; //true if the game ends at the end of the current round
+    private boolean emptyBag; //true if the bag has been emptied during this round
+
+    /**
+     * Constructor of the class
+     * @param game copy of the game that will be modified by the simulation
+     */
+    public GameSimulator(Game game){
+        this.game = game;
+        game.getEvents().subscribe(GameWonEvent.class, this::gameWon);
+        game.getEvents().subscribe(LastRoundEvent.class, this::lastRound);
+        maxStudentMoves = game.getMaxNumStudMoves();
+
+        //the game is already in its last round if a player has no cards or the bag is empty
+        for(Player player : game.getPlayers()){
+            if(player.getHandSize() == 0)
+                lastRound = true;
+        }
+        if(game.isActionBagEmpty())
+            lastRound = true;
+    }
+
+    /**
+     * This method creates a simulator on a new copy of a game, the game is not modified
+     * @param game game to be copied
+     * @return simulator of the copy
+     */
+    public static GameSimulator of(Game game){
+        return new GameSimulator(game.copy());
+    }
+
+    /**
+     * This method receives the instant victory fired by the game
+     * @param event the victory
+     */
+    private void gameWon(GameWonEvent event) {
+        if(!over){
+            over = true;
+            winner = event.winner();
+        }
+    }
+
+    /**
+     * This method receives the end conditions that make the current round the last one
+     * @param event the end condition
+     */
+    private void lastRound(LastRoundEvent event) {
+        switch (event.reason()) {
+            case NO_CARDS -> lastRound = true;
+            case EMPTY_BAG -> emptyBag = true;
+        }
+    }
+
+    /**
+     * @return the game played by this simulator
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * @return true if the simulated game has ended
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * @return the fingerprint of the simulated position, including the state of the turn
+     * @see Game#getSnapshotFingerprint()
+     */
+    public long fingerprint(){
+        return game.getSnapshotFingerprint();
+    }
+
+    /**
+     * @return index of the player that has to move
+     */
+    public int currentPlayerIndex(){
+        return game.getPlayers().indexOf(game.getCurrentPlayer());
+    }
+
+    /**
+     * This method lists the moves that the current player can do. Expert cards are not listed
+     * @param moves list that is cleared and filled with the legal moves of the current player,
+     *              it is left empty if the game has ended
+     */
+    public void legalMoves(MoveList moves){
+        if(over)
+            moves.clear();
+        else
+            MoveGenerator.generate(game, moves, false);
+    }
+
+    /**
+     * This method applies a legal move of the current player
+     * @param move encoded move to be applied
+     */
+    public void apply(int move){
+        switch (Move.type(move)) {
+            case Move.PLAY_CARD -> {
+                Player player = game.getCurrentPlayer();
+                game.playCard(player.priorityToIndex(Move.value(move)));
+            }
+            case Move.TO_HALL -> {
+                game.entranceToHall(Move.color(move));
+                studentMoved();
+            }
+            case Move.TO_ISLAND -> {
+                game.entranceToIsland(Move.value(move), Move.color(move));
+                studentMoved();
+            }
+            case Move.MOVE_MOTHER -> {
+                game.motherMovement(Move.value(move));
+                if(over)
+                    return;
+                legalMoves(cloudMoves);
+                if(lastRound || cloudMoves.isEmpty()){ //in the last round the clouds are not taken
+                    game.nextTurn();
+                    checkEndOfRound();
+                }
+            }
+            case Move.TAKE_CLOUD -> {
+                game.cloudToBoard(Move.value(move));
+                checkEndOfRound();
+            }
+        }
+    }
+
+    /**
+     * Helper method used to count the students moved by the current player
+     */
+    private void studentMoved(){
+        game.addActualNumStudMoves();
+        if(game.getActualNumStudMoves() >= maxStudentMoves){
+            game.setActualNumStudMoves(0);
+            game.setGameState(GameState.MOTHER_MOVEMENT_STATE);
+        }
+    }
+
+    /**
+     * Helper method used to end the game at the end of its last round
+     */
+    private void checkEndOfRound(){
+        if(game.getGameState() != GameState.PLANNING_STATE)
+            return;
+        if(lastRound){
+            over = true;
+            winner = game.alternativeWinner();
+        } else if(emptyBag){
+            lastRound = true;
+        }
+    }
+
+    /**
+     * This method plays random moves until the game ends or the maximum number of moves is reached
+     * @param random source of randomness
+     * @param maxMoves maximum number of moves
+     */
+    public void playout(Random random, int maxMoves){
+        for(int i = 0; i < maxMoves && !over; i++){
+            legalMoves(playoutMoves);
+            if(playoutMoves.isEmpty())
+                return;
+            apply(playoutMoves.get(random.nextInt(playoutMoves.size())));
+        }
+    }
+
+    /**
+     * This method evaluates the current position. If the game has ended the winner gets 1 and the others 0,
+     * otherwise the score depends on the towers built and the professors owned by each player
+     * @return a value between 0 and 1 for each player
+     */
+    public double[] rewards(){
+        ArrayList<Player> players = game.getPlayers();
+        double[] rewards = new double[players.size()];
+        if(over){
+            for(int i = 0; i < players.size(); i++)
+                rewards[i] = players.get(i).getNickname().equals(winner) ? 1 : 0;
+            return rewards;
+        }
+
+        double[] scores = new double[players.size()];
+        for(int i = 0; i < players.size(); i++){
+            Board board = players.get(i).getBoard();
+            for(IslandTile island : game.getArchipelago()){
+                if(island.getTowerColor() != null && island.getTowerColor() == board.getTowerColor())
+                    scores[i] += TOWER_WEIGHT * island.getNumTowers();
+            }
+            scores[i] += board.getProfessors().size();
+        }
+        for(int i = 0; i < players.size(); i++){
+            double bestOther = Double.NEGATIVE_INFINITY;
+            for(int j = 0; j < players.size(); j++){
+                if(j != i)
+                    bestOther = Math.max(bestOther, scores[j]);
+            }
+            rewards[i] = Math.max(0, Math.min(1, 0.5 + (scores[i] - bestOther) / (2 * SCORE_RANGE)));
+        }
+        return rewards;
+    }
+}
@@ -0,0 +1,222 @@
+package it.polimi.ingsw.model.ai;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.model.moves.MoveList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class chooses the moves of a computer player with a Monte Carlo tree search.
+ * The search is root parallel: for each move several independent trees are built on a fork/join pool shared by all
+ * the bots of the server, then the visits of the moves at the root are summed and the most visited move is chosen.
+ * The trees share a transposition table keyed by the fingerprint of the positions: a position reached by another tree,
+ * or with the student moves in another order, starts from its known evaluation and tries its best move first.
+ *
+ * @author Dario d'Abate
+ */
+public class MctsEngine {
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final ForkJoinPool SEARCH_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private static final int TABLE_BITS = 16;
+    private static final int MAX_PRIOR_VISITS = 10; //visits of the table counted by a new node, so that its own visits soon prevail
+
+    private final BotDifficulty difficulty;
+    private final TranspositionTable table = new TranspositionTable(TABLE_BITS, TranspositionTable.Replacement.DEPTH_PREFERRED);
+    private long lastSimulations;
+    private double lastSimulationsPerSecond;
+    private long totalSimulations; //simulations done since the engine was created
+    private long totalSearchNanos; //time spent searching since the engine was created
+
+    /**
+     * Constructor of the class
+     * @param difficulty level of the bot
+     */
+    public MctsEngine(BotDifficulty difficulty){
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * This method chooses the move of the current player of a game. The game is not modified
+     * @param game game in which the current player has to move
+     * @return the chosen encoded move, Move.NONE if the current player cannot move
+     */
+    public int chooseMove(Game game){
+        Game position = game.copy(); //the trees only read this copy, so they can copy it at the same time
+        MoveList rootMoves = new MoveList();
+        GameSimulator.of(position).legalMoves(rootMoves);
+        if(rootMoves.size() <= 1){
+            lastSimulations = 0;
+            lastSimulationsPerSecond = 0;
+            return rootMoves.isEmpty() ? Move.NONE : rootMoves.get(0);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + difficulty.getTimeBudgetMillis() * 1_000_000;
+        List<Callable<TreeResult>> searches = new ArrayList<>();
+        for(int i = 0; i < difficulty.getTrees(); i++)
+            searches.add(() -> search(position, deadline));
+
+        Map<Integer, Integer> visits = new HashMap<>();
+        long simulations = 0;
+        for(Future<TreeResult> future : SEARCH_POOL.invokeAll(searches)){
+            try {
+                TreeResult result = future.get();
+                simulations += result.simulations;
+                result.rootVisits.forEach((move, n) -> visits.merge(move, n, Integer::sum));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        lastSimulations = simulations;
+        lastSimulationsPerSecond = simulations / (elapsed / 1e9);
+        totalSimulations += simulations;
+        totalSearchNanos += elapsed;
+
+        int best = rootMoves.get(0);
+        int bestVisits = -1;
+        for(int i = 0; i < rootMoves.size(); i++){
+            int n = visits.getOrDefault(rootMoves.get(i), 0);
+            if(n > bestVisits){
+                bestVisits = n;
+                best = rootMoves.get(i);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Helper method that builds a single search tree until the deadline
+     * @param position copy of the game, that is only read
+     * @param deadline time at which the search stops, as given by System.nanoTime()
+     * @return visits of the moves at the root and number of simulations
+     */
+    private TreeResult search(Game position, long deadline){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        MctsNode root = new MctsNode(null, Move.NONE, -1);
+        MoveList moves = new MoveList();
+        long simulations = 0;
+        long[] keys = new long[16]; //fingerprints of the positions of the nodes of a simulation, from the root
+
+        while(System.nanoTime() < deadline){
+            GameSimulator simulator = GameSimulator.of(position);
+            MctsNode node = root;
+            int depth = 0;
+            keys[0] = simulator.fingerprint();
+
+            //selection and expansion
+            while(!simulator.isOver()){
+                simulator.legalMoves(moves);
+                if(moves.isEmpty())
+                    break;
+                int move = node.randomUntriedMove(moves, random, TranspositionTable.bestMove(table.probe(keys[depth])));
+                int player = simulator.currentPlayerIndex();
+                if(++depth == keys.length)
+                    keys = Arrays.copyOf(keys, keys.length * 2);
+                if(move != Move.NONE){
+                    simulator.apply(move);
+                    node = node.addChild(move, player);
+                    keys[depth] = simulator.fingerprint();
+                    long known = table.probe(keys[depth]);
+                    node.warmStart(TranspositionTable.visits(known), TranspositionTable.eval(known), MAX_PRIOR_VISITS);
+                    break;
+                }
+                node = node.selectChild(moves, EXPLORATION);
+                simulator.apply(node.getMove());
+                keys[depth] = simulator.fingerprint();
+            }
+
+            //simulation
+            simulator.playout(random, difficulty.getRolloutDepth());
+
+            //backpropagation
+            double[] rewards = simulator.rewards();
+            for(MctsNode n = node; n != null; n = n.getParent(), depth--){
+                n.update(rewards);
+                if(n.getPlayer() >= 0)
+                    remember(keys[depth], n, rewards[n.getPlayer()]);
+            }
+            simulations++;
+        }
+
+        Map<Integer, Integer> rootVisits = new HashMap<>();
+        root.getChildren().forEach((move, child) -> rootVisits.put(move, child.getVisits()));
+        return new TreeResult(rootVisits, simulations);
+    }
+
+    /**
+     * Helper method that adds the result of a simulation to the entry of a position in the transposition table.
+     * The depth of an entry is the logarithm of its visits, so the positions searched the most are kept
+     * @param key fingerprint of the position
+     * @param node node of the position in the tree of the simulation
+     * @param reward reward of the player that made the move to the position
+     */
+    private void remember(long key, MctsNode node, double reward){
+        long known = table.probe(key);
+        int visits = Math.min(TranspositionTable.visits(known) + 1, TranspositionTable.MAX_VISITS);
+        double eval = TranspositionTable.eval(known);
+        eval += (reward - eval) / visits;
+        int bestMove = node.getBestMove() != Move.NONE ? node.getBestMove() : TranspositionTable.bestMove(known);
+        table.store(key, bestMove, eval, visits, Integer.SIZE - Integer.numberOfLeadingZeros(visits));
+    }
+
+    /**
+     * @return the transposition table shared by the trees of this engine
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return number of simulations done to choose the last move
+     */
+    public long getLastSimulations() {
+        return lastSimulations;
+    }
+
+    /**
+     * @return simulations per second done to choose the last move
+     */
+    public double getLastSimulationsPerSecond() {
+        return lastSimulationsPerSecond;
+    }
+
+    /**
+     * @return number of simulations done since the engine was created
+     */
+    public long getSimulations() {
+        return totalSimulations;
+    }
+
+    /**
+     * @return simulations per second done since the engine was created, 0 if it has never searched
+     */
+    public double getSimulationsPerSecond() {
+        return totalSearchNanos == 0 ? 0 : totalSimulations / (totalSearchNanos / 1e9);
+    }
+
+    /**
+     * Result of the search of a single tree
+     */
+    private static class TreeResult {
+        private final Map<Integer, Integer> rootVisits;
+        private final long simulations;
+
+        private TreeResult(Map<Integer, Integer> rootVisits, long simulations){
+            this.rootVisits = rootVisits;
+            this.simulations = simulations;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package it.polimi.ingsw.model.ai;
+
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.model.moves.MoveList;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class is a node of a Monte Carlo search tree. The tree is open loop: a node stores the move that leads to it,
+ * not the state of the game, because the draws from the bag change from one simulation to another
+ *
+ * @author Dario d'Abate
+ */
+class MctsNode {
+    private final MctsNode parent;
+    private final int move;
+    private final int player; //index of the player that made the move
+    private final Map<Integer, MctsNode> children = new HashMap<>();
+    private int visits;
+    private double totalReward;
+    private int priorVisits; //visits of the same position found in the transposition table when the node was created
+    private double priorReward;
+    private MctsNode bestChild; //most visited child
+
+    /**
+     * Constructor of the class
+     * @param parent parent node, null for the root
+     * @param move encoded move that leads to this node, Move.NONE for the root
+     * @param player index of the player that made the move, -1 for the root
+     */
+    MctsNode(MctsNode parent, int move, int player){
+        this.parent = parent;
+        this.move = move;
+        this.player = player;
+    }
+
+    MctsNode getParent() {
+        return parent;
+    }
+
+    int getMove() {
+        return move;
+    }
+
+    int getVisits() {
+        return visits;
+    }
+
+    Map<Integer, MctsNode> getChildren() {
+        return children;
+    }
+
+    /**
+     * @return the move of the most visited child, Move.NONE if the node has no children
+     */
+    int getBestMove() {
+        return bestChild == null ? Move.NONE : bestChild.move;
+    }
+
+    /**
+     * This method starts a new node from what is known of its position, so that a position reached with
+     * moves in a different order is not explored from scratch. The prior visits count only in the selection
+     * @param visits visits of the position, at most maxVisits are counted
+     * @param eval evaluation of the position for the player that made the move
+     * @param maxVisits maximum number of prior visits
+     */
+    void warmStart(int visits, double eval, int maxVisits){
+        priorVisits = Math.min(visits, maxVisits);
+        priorReward = eval * priorVisits;
+    }
+
+    /**
+     * This method chooses one of the legal moves that do not have a child yet: the suggested move if it is one of them,
+     * a random one otherwise
+     * @param legalMoves moves that can be done in the current simulation
+     * @param random source of randomness
+     * @param suggested best move of the position found in the transposition table, Move.NONE if there is none
+     * @return the chosen move, Move.NONE if all the legal moves have a child
+     */
+    int randomUntriedMove(MoveList legalMoves, Random random, int suggested){
+        if(suggested != Move.NONE && !children.containsKey(suggested)){
+            for(int i = 0; i < legalMoves.size(); i++){
+                if(legalMoves.get(i) == suggested)
+                    return suggested;
+            }
+        }
+        int untried = 0;
+        for(int i = 0; i < legalMoves.size(); i++){
+            if(!children.containsKey(legalMoves.get(i)))
+                untried++;
+        }
+        if(untried == 0)
+            return Move.NONE;
+
+        int chosen = random.nextInt(untried);
+        for(int i = 0; i < legalMoves.size(); i++){
+            if(!children.containsKey(legalMoves.get(i)) && chosen-- == 0)
+                return legalMoves.get(i);
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * This method adds a child to this node
+     * @param childMove move that leads to the child
+     * @param childPlayer index of the player that makes the move
+     * @return the new child
+     */
+    MctsNode addChild(int childMove, int childPlayer){
+        MctsNode child = new MctsNode(this, childMove, childPlayer);
+        children.put(childMove, child);
+        return child;
+    }
+
+    /**
+     * This method selects, among the children reachable with a legal move, the one with the best UCT value
+     * @param legalMoves moves that can be done in the current simulation
+     * @param exploration exploration constant
+     * @return the selected child
+     */
+    MctsNode selectChild(MoveList legalMoves, double exploration){
+        MctsNode best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(Math.max(1, visits));
+        for(int i = 0; i < legalMoves.size(); i++){
+            MctsNode child = children.get(legalMoves.get(i));
+            int childVisits = child.visits + child.priorVisits;
+            double value = (child.totalReward + child.priorReward) / childVisits + exploration * Math.sqrt(logVisits / childVisits);
+            if(value > bestValue){
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * This method adds the result of a simulation to this node, from the point of view of the player that made the move
+     * @param rewards reward of each player
+     */
+    void update(double[] rewards){
+        visits++;
+        if(player >= 0)
+            totalReward += rewards[player];
+        if(parent != null && (parent.bestChild == null || visits > parent.bestChild.visits))
+            parent.bestChild = this;
+    }
+
+    /**
+     * @return the player that made the move, -1 for the root
+     */
+    int getPlayer() {
+        return player;
+    }
+}
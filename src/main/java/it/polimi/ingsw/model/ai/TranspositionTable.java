@@ -0,0 +1,209 @@
+package it.polimi.ingsw.model.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a transposition table: a fixed-size cache of what the search knows about the positions it has already met,
+ * keyed by the fingerprint of the position, so that a position reached with moves in a different order is not searched from scratch.
+ * Each slot is made of two longs: the data of the entry packed in a long (best move, evaluation, visits and depth) and the key
+ * xor the data. The table has no locks: a slot written by two threads at the same time gives a key that does not match,
+ * and the entry is read as missing instead of being read with the data of another position.
+ *
+ * @author Dario d'Abate
+ */
+public class TranspositionTable {
+    /**
+     * This enum contains the ways an entry replaces the entry of another position in the same slot
+     */
+    public enum Replacement {
+        DEPTH_PREFERRED, //the entry of another position is replaced only by an entry with the same or a greater depth
+        ALWAYS_REPLACE
+    }
+
+    public static final long MISS = 0; //entry of a position that is not in the table, its visits are 0
+
+    private static final int MOVE_BITS = 20;
+    private static final int EVAL_BITS = 16;
+    private static final int VISITS_BITS = 20;
+    private static final int EVAL_SHIFT = MOVE_BITS;
+    private static final int VISITS_SHIFT = EVAL_SHIFT + EVAL_BITS;
+    private static final int DEPTH_SHIFT = VISITS_SHIFT + VISITS_BITS;
+    private static final int MAX_EVAL = (1 << EVAL_BITS) - 1;
+    public static final int MAX_VISITS = (1 << VISITS_BITS) - 1;
+    public static final int MAX_DEPTH = 0xFF;
+
+    private final AtomicLongArray slots; //for each slot the key xor the data, followed by the data
+    private final int mask;
+    private final Replacement replacement;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder replaced = new LongAdder();
+
+    /**
+     * Constructor of the class
+     * @param sizeBits the table has 2^sizeBits slots
+     * @param replacement what happens when the slot of an entry contains another position
+     */
+    public TranspositionTable(int sizeBits, Replacement replacement){
+        if(sizeBits < 1 || sizeBits > 26)
+            throw new IllegalArgumentException("The table must have from 2^1 to 2^26 slots");
+        slots = new AtomicLongArray(2 << sizeBits);
+        mask = (1 << sizeBits) - 1;
+        this.replacement = replacement;
+    }
+
+    /**
+     * Helper method that gives the index of the first long of the slot of a key. The high bits of the key choose the slot,
+     * because the low bits of a fingerprint are as random as the high ones
+     */
+    private int index(long key){
+        return (int) (key >>> 40 ^ key) & mask;
+    }
+
+    /**
+     * This method looks for the entry of a position
+     * @param key fingerprint of the position
+     * @return the packed entry of the position, MISS if the position is not in the table
+     */
+    public long probe(long key){
+        probes.increment();
+        int index = index(key) << 1;
+        long data = slots.getAcquire(index + 1);
+        long check = slots.getAcquire(index);
+        if(data == MISS)
+            return MISS;
+        if((check ^ data) != key){
+            collisions.increment();
+            return MISS;
+        }
+        hits.increment();
+        return data;
+    }
+
+    /**
+     * This method stores the entry of a position, unless the slot contains a position that the replacement keeps
+     * @param key fingerprint of the position
+     * @param bestMove best encoded move found in the position, Move.NONE if there is none
+     * @param eval evaluation of the position, from 0 to 1
+     * @param visits number of times the position has been visited, at least 1
+     * @param depth depth of the search of the position, from 0 to MAX_DEPTH
+     * @return true if the entry has been stored
+     */
+    public boolean store(long key, int bestMove, double eval, int visits, int depth){
+        long data = pack(bestMove, eval, visits, depth);
+        int index = index(key) << 1;
+        long stored = slots.getAcquire(index + 1);
+        boolean other = stored != MISS && (slots.getAcquire(index) ^ stored) != key;
+        if(other && replacement == Replacement.DEPTH_PREFERRED && depth(data) < depth(stored))
+            return false;
+
+        slots.setRelease(index + 1, data);
+        slots.setRelease(index, key ^ data);
+        stores.increment();
+        if(other)
+            replaced.increment();
+        return true;
+    }
+
+    /**
+     * This method removes all the entries and resets the statistics
+     */
+    public void clear(){
+        for(int i = 0; i < slots.length(); i++)
+            slots.setRelease(i, 0);
+        probes.reset();
+        hits.reset();
+        collisions.reset();
+        stores.reset();
+        replaced.reset();
+    }
+
+    /**
+     * Helper method that packs the fields of an entry in a long. The visits are at least 1, so an entry is never MISS
+     */
+    private static long pack(int bestMove, double eval, int visits, int depth){
+        long packedEval = Math.round(Math.max(0, Math.min(1, eval)) * MAX_EVAL);
+        long packedVisits = Math.max(1, Math.min(MAX_VISITS, visits));
+        long packedDepth = Math.max(0, Math.min(MAX_DEPTH, depth));
+        return bestMove & (1L << MOVE_BITS) - 1 | packedEval << EVAL_SHIFT | packedVisits << VISITS_SHIFT | packedDepth << DEPTH_SHIFT;
+    }
+
+    /**
+     * @param entry packed entry
+     * @return the best encoded move of the entry
+     */
+    public static int bestMove(long entry){
+        return (int) (entry & (1L << MOVE_BITS) - 1);
+    }
+
+    /**
+     * @param entry packed entry
+     * @return the evaluation of the entry, from 0 to 1
+     */
+    public static double eval(long entry){
+        return (double) (entry >>> EVAL_SHIFT & MAX_EVAL) / MAX_EVAL;
+    }
+
+    /**
+     * @param entry packed entry
+     * @return the visits of the entry, 0 for MISS
+     */
+    public static int visits(long entry){
+        return (int) (entry >>> VISITS_SHIFT & MAX_VISITS);
+    }
+
+    /**
+     * @param entry packed entry
+     * @return the depth of the entry
+     */
+    public static int depth(long entry){
+        return (int) (entry >>> DEPTH_SHIFT & MAX_DEPTH);
+    }
+
+    /**
+     * @return the number of probes since the table was created or cleared
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * @return the number of probes that found their position
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of probes that found another position in the slot, or a slot being written
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * @return the number of entries stored
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * @return the number of entries stored over the entry of another position
+     */
+    public long getReplaced() {
+        return replaced.sum();
+    }
+
+    /**
+     * @return the fraction of the probes that found their position, 0 if there are no probes
+     */
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0 : (double) hits.sum() / total;
+    }
+}
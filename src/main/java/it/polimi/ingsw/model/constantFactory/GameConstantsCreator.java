@@ -10,7 +10,7 @@ import java.io.Serializable;
  */
 public abstract class GameConstantsCreator implements Serializable {
     /**
-     * @return a new GameConstants objects
+     * @return the GameConstants object
      */
     public abstract GameConstants create();
 }
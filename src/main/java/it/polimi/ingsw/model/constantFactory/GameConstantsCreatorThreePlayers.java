@@ -11,10 +11,10 @@ import java.io.Serializable;
 public class GameConstantsCreatorThreePlayers extends GameConstantsCreator implements Serializable {
 
     /**
-     * @return a ThreePlayersConstants object
+     * @return the shared ThreePlayersConstants object
      */
     @Override
     public GameConstants create() {
-        return new ThreePlayersConstants();
+        return ThreePlayersConstants.INSTANCE;
     }
 }
@@ -11,10 +11,10 @@ import java.io.Serializable;
 public class GameConstantsCreatorTwoPlayers  extends GameConstantsCreator implements Serializable {
 
     /**
-     * @return a TwoPlayersConstants object
+     * @return the shared TwoPlayersConstants object
      */
     @Override
     public GameConstants create() {
-        return new TwoPlayersConstants();
+        return TwoPlayersConstants.INSTANCE;
     }
 }
@@ -4,7 +4,8 @@ import java.io.Serializable;
 
 /**
  * This class is a concrete implementation of the interface GameConstants.
- * The methods return constants for a 3-player game
+ * The methods return constants for a 3-player game. The constants never change, so there is only one instance,
+ * shared by all the games
  * @author Dario d'Abate
  */
 public class ThreePlayersConstants implements GameConstants, Serializable {
@@ -14,6 +15,11 @@ public class ThreePlayersConstants implements GameConstants, Serializable {
     private final static int NUM_STUDENTS_CLOUD = 4;
     private final static int MAX_COIN_SIZE = 17;
     private final static int MAX_NUM_STUD_MOVEMENTS = 4;
+    public static final ThreePlayersConstants INSTANCE = new ThreePlayersConstants();
+
+    private ThreePlayersConstants(){
+    }
+
     @Override
     public int getEntranceSize() {
         return ENTRANCE_SIZE;
@@ -39,4 +45,11 @@ public class ThreePlayersConstants implements GameConstants, Serializable {
     public int getMaxNumStudMovements() {
         return MAX_NUM_STUD_MOVEMENTS;
     }
+
+    /**
+     * A saved game gets back the shared constants
+     */
+    private Object readResolve() {
+        return INSTANCE;
+    }
 }
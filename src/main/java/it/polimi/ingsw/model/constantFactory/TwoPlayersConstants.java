@@ -4,7 +4,8 @@ import java.io.Serializable;
 
 /**
  * This class is a concrete implementation of the interface GameConstants.
- * The methods return constants for a 2-player game
+ * The methods return constants for a 2-player game. The constants never change, so there is only one instance,
+ * shared by all the games
  * @author Dario d'Abate
  */
 public class TwoPlayersConstants implements GameConstants, Serializable {
@@ -15,6 +16,11 @@ public class TwoPlayersConstants implements GameConstants, Serializable {
     private final static int MAX_COIN_SIZE = 18;
     private final static int MAX_NUM_STUD_MOVEMENTS = 3;
 
+    public static final TwoPlayersConstants INSTANCE = new TwoPlayersConstants();
+
+    private TwoPlayersConstants(){
+    }
+
     @Override
     public int getEntranceSize() {
         return ENTRANCE_SIZE;
@@ -40,4 +46,11 @@ public class TwoPlayersConstants implements GameConstants, Serializable {
     public int getMaxNumStudMovements() {
         return MAX_NUM_STUD_MOVEMENTS;
     }
+
+    /**
+     * A saved game gets back the shared constants
+     */
+    private Object readResolve() {
+        return INSTANCE;
+    }
 }
@@ -0,0 +1,17 @@
+package it.polimi.ingsw.model.events;
+
+/**
+ * This event is fired when a player plays an assistant card
+ * @param player nickname of the player
+ * @param priority priority of the card
+ * @param cardsLeft cards left in the hand of the player
+ *
+ * @author Dario d'Abate
+ */
+public record CardPlayedEvent(String player, int priority, int cardsLeft) implements GameEvent {
+
+    @Override
+    public GameEventType type() {
+        return GameEventType.CARD_PLAYED;
+    }
+}
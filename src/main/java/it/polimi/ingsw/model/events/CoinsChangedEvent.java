@@ -0,0 +1,17 @@
+package it.polimi.ingsw.model.events;
+
+/**
+ * This event is fired when the coins of a player change
+ * @param player nickname of the player
+ * @param coins coins of the player
+ * @param bank coins left in the bank
+ *
+ * @author Dario d'Abate
+ */
+public record CoinsChangedEvent(String player, int coins, int bank) implements GameEvent {
+
+    @Override
+    public GameEventType type() {
+        return GameEventType.COINS_CHANGED;
+    }
+}
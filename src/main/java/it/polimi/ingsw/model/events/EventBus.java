@@ -0,0 +1,91 @@
+package it.polimi.ingsw.model.events;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * This class dispatches the events of a game to the subscribers of their type.
+ * Events are dispatched synchronously, on the thread that modifies the game, in the order of subscription.
+ * The subscribers of each type are kept in an array that is replaced when a subscriber is added or removed,
+ * so a dispatch only reads an array and a subscriber can be added or removed during a dispatch, or from another thread.
+ * The game checks wants() before creating an event, so an event nobody listens to is never created.
+ * The events can also be copied in a ring buffer, read later on other threads; this is off unless mirrorTo is called.
+ *
+ * @author Dario d'Abate
+ */
+public class EventBus {
+    private static final Consumer<?>[] NONE = new Consumer<?>[0];
+
+    private final AtomicReferenceArray<Consumer<?>[]> subscribers = new AtomicReferenceArray<>(GameEventType.values().length);
+    private volatile EventRing mirror; //receives a copy of every event, null if there is none
+
+    /**
+     * Constructor of the class, with no subscribers
+     */
+    public EventBus(){
+        for(int type = 0; type < subscribers.length(); type++)
+            subscribers.set(type, NONE);
+    }
+
+    /**
+     * This method registers a subscriber for the events of a type
+     * @param eventClass class of the events
+     * @param subscriber receives the events of that class
+     */
+    public synchronized <E extends GameEvent> void subscribe(Class<E> eventClass, Consumer<? super E> subscriber){
+        int type = GameEventType.of(eventClass).ordinal();
+        Consumer<?>[] current = subscribers.get(type);
+        Consumer<?>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscriber;
+        subscribers.set(type, updated);
+    }
+
+    /**
+     * This method removes a subscriber. If the subscriber is not registered, nothing happens
+     * @param eventClass class of the events
+     * @param subscriber subscriber to be removed
+     */
+    public synchronized <E extends GameEvent> void unsubscribe(Class<E> eventClass, Consumer<? super E> subscriber){
+        int type = GameEventType.of(eventClass).ordinal();
+        Consumer<?>[] current = subscribers.get(type);
+        for(int i = 0; i < current.length; i++){
+            if(current[i] == subscriber){
+                Consumer<?>[] updated = new Consumer<?>[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscribers.set(type, updated);
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method copies every event in a ring buffer, from which other threads can read it later
+     * @param ring the ring buffer, null to stop copying the events
+     */
+    public void mirrorTo(EventRing ring){
+        mirror = ring;
+    }
+
+    /**
+     * @param type type of an event
+     * @return true if an event of that type would reach someone, so it is worth creating it
+     */
+    public boolean wants(GameEventType type){
+        return subscribers.get(type.ordinal()).length > 0 || mirror != null;
+    }
+
+    /**
+     * This method sends an event to the subscribers of its type and to the ring buffer, if any
+     * @param event the event
+     */
+    @SuppressWarnings("unchecked")
+    public void publish(GameEvent event){
+        for(Consumer<?> subscriber : subscribers.get(event.type().ordinal()))
+            ((Consumer<GameEvent>) subscriber).accept(event);
+        EventRing ring = mirror;
+        if(ring != null)
+            ring.offer(event);
+    }
+}
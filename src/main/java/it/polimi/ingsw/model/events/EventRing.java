@@ -0,0 +1,73 @@
+package it.polimi.ingsw.model.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * This class is a ring buffer that keeps the last events of a game, so that slow consumers like statistics or
+ * persistence can read them on their own thread without delaying the game.
+ * There is only one writer, the thread of the game, that never waits: when the ring is full the oldest event
+ * is overwritten. Each reader keeps its own cursor, and a reader that falls too far behind skips the events it has lost.
+ *
+ * @author Dario d'Abate
+ */
+public class EventRing {
+    private final AtomicReferenceArray<GameEvent> slots;
+    private final int mask;
+    private final AtomicLong published = new AtomicLong(); //number of events written
+
+    /**
+     * Constructor of the class
+     * @param capacity number of events kept, rounded up to a power of two
+     */
+    public EventRing(int capacity){
+        if(capacity <= 0)
+            throw new IllegalArgumentException("The capacity must be positive");
+        int size = Integer.highestOneBit(capacity);
+        if(size < capacity)
+            size <<= 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * This method adds an event, overwriting the oldest one if the ring is full. Only the game thread calls it
+     * @param event the event
+     */
+    void offer(GameEvent event){
+        long sequence = published.get();
+        slots.lazySet((int) (sequence & mask), event);
+        published.lazySet(sequence + 1);
+    }
+
+    /**
+     * @return number of events written since the ring has been created, the cursor of a reader that is up to date
+     */
+    public long head(){
+        return published.get();
+    }
+
+    /**
+     * This method reads the events written after a cursor. If some events have been overwritten before being read,
+     * they are skipped
+     * @param cursor number of events already read by the reader
+     * @param consumer receives the events, from the oldest one
+     * @return the new cursor of the reader
+     */
+    public long drain(long cursor, Consumer<? super GameEvent> consumer){
+        long head = published.get();
+        long next = Math.max(cursor, head - slots.length());
+        while(next < head){
+            GameEvent event = slots.get((int) (next & mask));
+            long written = published.get();
+            if(written - next >= slots.length()) //the slot has been overwritten, or is being overwritten
+                next = written - slots.length() + 1;
+            else {
+                consumer.accept(event);
+                next++;
+            }
+        }
+        return next;
+    }
+}
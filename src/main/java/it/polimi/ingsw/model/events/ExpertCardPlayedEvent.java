@@ -0,0 +1,18 @@
+package it.polimi.ingsw.model.events;
+
+import it.polimi.ingsw.model.expertGame.ExpertCard;
+
+/**
+ * This event is fired when a player pays for an expert card, before its effect
+ * @param player nickname of the player
+ * @param card the expert card
+ *
+ * @author Dario d'Abate
+ */
+public record ExpertCardPlayedEvent(String player, ExpertCard card) implements GameEvent {
+
+    @Override
+    public GameEventType type() {
+        return GameEventType.EXPERT_CARD_PLAYED;
+    }
+}
@@ -0,0 +1,16 @@
+package it.polimi.ingsw.model.events;
+
+/**
+ * This interface is implemented by the events fired by the game through its EventBus.
+ * Each event is an immutable record, so it can be kept by a subscriber after the game has changed
+ *
+ * @author Dario d'Abate
+ */
+public sealed interface GameEvent permits StudentMovedEvent, ProfessorChangedEvent, IslandConqueredEvent,
+        IslandsMergedEvent, CardPlayedEvent, ExpertCardPlayedEvent, CoinsChangedEvent, LastRoundEvent, GameWonEvent {
+
+    /**
+     * @return type of this event, used by the EventBus to find its subscribers
+     */
+    GameEventType type();
+}
@@ -0,0 +1,37 @@
+package it.polimi.ingsw.model.events;
+
+/**
+ * This enumeration lists the types of the events fired by the game. The EventBus keeps the subscribers
+ * of each type in an array indexed by the ordinal of the type, so an event is dispatched without any lookup
+ *
+ * @author Dario d'Abate
+ */
+public enum GameEventType {
+    STUDENT_MOVED(StudentMovedEvent.class),
+    PROFESSOR_CHANGED(ProfessorChangedEvent.class),
+    ISLAND_CONQUERED(IslandConqueredEvent.class),
+    ISLANDS_MERGED(IslandsMergedEvent.class),
+    CARD_PLAYED(CardPlayedEvent.class),
+    EXPERT_CARD_PLAYED(ExpertCardPlayedEvent.class),
+    COINS_CHANGED(CoinsChangedEvent.class),
+    LAST_ROUND(LastRoundEvent.class),
+    GAME_WON(GameWonEvent.class);
+
+    private final Class<? extends GameEvent> eventClass;
+
+    GameEventType(Class<? extends GameEvent> eventClass){
+        this.eventClass = eventClass;
+    }
+
+    /**
+     * @param eventClass class of an event
+     * @return the type of the events of that class
+     */
+    public static GameEventType of(Class<? extends GameEvent> eventClass){
+        for(GameEventType type : values()){
+            if(type.eventClass == eventClass)
+                return type;
+        }
+        throw new IllegalArgumentException("Unknown event " + eventClass.getSimpleName());
+    }
+}
@@ -0,0 +1,16 @@
+package it.polimi.ingsw.model.events;
+
+/**
+ * This event is fired when a player wins the game immediately, because he has built all his towers
+ * or because only three groups of islands are left
+ * @param winner nickname of the winner
+ *
+ * @author Dario d'Abate
+ */
+public record GameWonEvent(String winner) implements GameEvent {
+
+    @Override
+    public GameEventType type() {
+        return GameEventType.GAME_WON;
+    }
+}
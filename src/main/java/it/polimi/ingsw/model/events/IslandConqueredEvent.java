@@ -0,0 +1,19 @@
+package it.polimi.ingsw.model.events;
+
+import it.polimi.ingsw.model.Tower;
+
+/**
+ * This event is fired when the towers on an island change color
+ * @param island index of the island in the archipelago
+ * @param from color of the previous towers, null if the island had no towers
+ * @param to color of the new towers
+ *
+ * @author Dario d'Abate
+ */
+public record IslandConqueredEvent(int island, Tower from, Tower to) implements GameEvent {
+
+    @Override
+    public GameEventType type() {
+        return GameEventType.ISLAND_CONQUERED;
+    }
+}
@@ -0,0 +1,16 @@
+package it.polimi.ingsw.model.events;
+
+/**
+ * This event is fired when two adjacent islands with the same towers are merged
+ * @param island index of the merged island in the new archipelago
+ * @param archipelagoSize number of islands left
+ *
+ * @author Dario d'Abate
+ */
+public record IslandsMergedEvent(int island, int archipelagoSize) implements GameEvent {
+
+    @Override
+    public GameEventType type() {
+        return GameEventType.ISLANDS_MERGED;
+    }
+}
@@ -0,0 +1,23 @@
+package it.polimi.ingsw.model.events;
+
+/**
+ * This event is fired when the game will end at the end of the current round
+ * @param reason why the current round is the last one
+ *
+ * @author Dario d'Abate
+ */
+public record LastRoundEvent(Reason reason) implements GameEvent {
+
+    /**
+     * The conditions that make a round the last one
+     */
+    public enum Reason {
+        NO_CARDS, //a player has played his last assistant card
+        EMPTY_BAG //the last student has been drawn from the bag
+    }
+
+    @Override
+    public GameEventType type() {
+        return GameEventType.LAST_ROUND;
+    }
+}
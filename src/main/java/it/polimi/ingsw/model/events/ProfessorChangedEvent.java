@@ -0,0 +1,19 @@
+package it.polimi.ingsw.model.events;
+
+import it.polimi.ingsw.model.Color;
+
+/**
+ * This event is fired when a professor moves to the board of another player
+ * @param color color of the professor
+ * @param from nickname of the player that had the professor, null if nobody had it
+ * @param to nickname of the player that has taken the professor
+ *
+ * @author Dario d'Abate
+ */
+public record ProfessorChangedEvent(Color color, String from, String to) implements GameEvent {
+
+    @Override
+    public GameEventType type() {
+        return GameEventType.PROFESSOR_CHANGED;
+    }
+}
@@ -0,0 +1,26 @@
+package it.polimi.ingsw.model.events;
+
+import it.polimi.ingsw.model.Color;
+
+/**
+ * This event is fired when the current player moves a student
+ * @param player nickname of the player that moved the student
+ * @param color color of the student
+ * @param from place the student comes from
+ * @param to place the student goes to
+ * @param index index of the island or of the cloud involved, -1 if there is none
+ *
+ * @author Dario d'Abate
+ */
+public record StudentMovedEvent(String player, Color color, Place from, Place to, int index) implements GameEvent {
+
+    /**
+     * The places where a student can be
+     */
+    public enum Place { ENTRANCE, HALL, ISLAND, CLOUD }
+
+    @Override
+    public GameEventType type() {
+        return GameEventType.STUDENT_MOVED;
+    }
+}
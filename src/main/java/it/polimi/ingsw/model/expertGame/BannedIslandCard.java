@@ -7,7 +7,7 @@ public class BannedIslandCard extends ExpertCard implements Serializable {
     private int islandIndex;
 
     public BannedIslandCard (BannedIsland game) {
-        super(2);
+        super(ExpertCardType.HEALER.getCost());
         this.game = game;
     }
 
@@ -19,6 +19,18 @@ public class BannedIslandCard extends ExpertCard implements Serializable {
         return this.islandIndex;
     }
 
+    @Override
+    public ExpertCardType getType() {
+        return ExpertCardType.HEALER;
+    }
+
+    @Override
+    public BannedIslandCard copy(ExpertGame game) {
+        BannedIslandCard copy = new BannedIslandCard(game);
+        copy.islandIndex = islandIndex;
+        return copyUsageTo(copy);
+    }
+
     @Override
     public void effect() {
         if (!isPlayed()) {
@@ -0,0 +1,242 @@
+package it.polimi.ingsw.model.expertGame;
+
+import it.polimi.ingsw.model.Board;
+import it.polimi.ingsw.model.Color;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class contains the activation of an expert card with all its parameters, so that a card can be played at once.
+ * The activation is checked against the whole game before anything is changed: either the card is paid
+ * and its whole effect is applied, or the game is left as it was.
+ * Not every parameter is used by every card: the color is used by the cards that choose a color, the island by the
+ * cards that choose an island, and the swaps by the two cards that swap students.
+ *
+ * @author Dario d'Abate
+ */
+public class CardActivation implements Serializable {
+    private static final int MAX_BUFFER_SWAPS = 3; //swaps between the card and the entrance
+    private static final int MAX_HALL_SWAPS = 2; //swaps between the entrance and the hall
+
+    private final int card;
+    private final Color color;
+    private final int island;
+    private final List<Swap> swaps;
+
+    /**
+     * This class is a swap of two students
+     * @param first student on the card, or in the entrance for the card that swaps entrance and hall
+     * @param second student in the entrance, or in the hall for the card that swaps entrance and hall
+     */
+    public record Swap(Color first, Color second) implements Serializable {}
+
+    /**
+     * This enum contains the reasons why an activation cannot be played
+     */
+    public enum Reason {
+        CARD_NOT_VALID, //the argument is the number of cards
+        CARD_ALREADY_PLAYED,
+        NOT_ENOUGH_COINS,
+        COLOR_NOT_SELECTED,
+        COLOR_NOT_ON_CARD,
+        HALL_FULL, //the argument is the color
+        NO_BAN_TOKENS,
+        ISLAND_NOT_EXISTS,
+        SWAPS_NOT_VALID, //the argument is the maximum number of swaps
+        NO_STUDENT_ON_CARD, //the argument is the color
+        NO_STUDENT_IN_ENTRANCE, //the argument is the color
+        NO_STUDENT_IN_HALL //the argument is the color
+    }
+
+    /**
+     * This class is the reason why an activation cannot be played
+     * @param reason the reason
+     * @param argument number or ordinal of the color that completes the reason, 0 if the reason has none
+     */
+    public record Rejection(Reason reason, int argument) {
+        private Rejection(Reason reason) {
+            this(reason, 0);
+        }
+
+        private Rejection(Reason reason, Color color) {
+            this(reason, color.ordinal());
+        }
+    }
+
+    /**
+     * Constructor of the class
+     * @param card index of the expert card, from 0
+     * @param color color chosen for the card, null if the card does not need it
+     * @param island index of the island chosen for the card, from 0, -1 if the card does not need it
+     * @param swaps swaps of students, empty if the card does not swap students
+     */
+    public CardActivation(int card, Color color, int island, List<Swap> swaps) {
+        this.card = card;
+        this.color = color;
+        this.island = island;
+        this.swaps = Collections.unmodifiableList(new ArrayList<>(swaps));
+    }
+
+    public int getCard() {
+        return card;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public int getIsland() {
+        return island;
+    }
+
+    public List<Swap> getSwaps() {
+        return swaps;
+    }
+
+    /**
+     * This method checks if the current player of a game can play this activation
+     * @param game game in which the card is played
+     * @return null if the activation can be played, otherwise the reason why it cannot
+     */
+    public Rejection check(ExpertGame game) {
+        if(card < 0 || card >= game.getExpertCards().size())
+            return new Rejection(Reason.CARD_NOT_VALID, game.getExpertCards().size());
+        if(game.isCardHasBeenPlayed())
+            return new Rejection(Reason.CARD_ALREADY_PLAYED);
+        ExpertCard expertCard = game.getExpertCards().get(card);
+        Board board = game.getCurrentPlayer().getBoard();
+        if(board.getNumCoin() < expertCard.getPrice())
+            return new Rejection(Reason.NOT_ENOUGH_COINS);
+
+        ExpertCardType type = expertCard.getType();
+        if(type == ExpertCardType.JOKER)
+            return checkBufferSwaps((StudentsBufferCardsCluster) expertCard, board);
+        if(type == ExpertCardType.BARD)
+            return checkHallSwaps(board);
+        if(type.needs(ExpertCardType.Parameters.COLOR)){
+            if(color == null)
+                return new Rejection(Reason.COLOR_NOT_SELECTED);
+            if(expertCard instanceof StudentsBufferCardsCluster bufferCard && bufferCard.getStudBuffer().numStudents(color) == 0)
+                return new Rejection(Reason.COLOR_NOT_ON_CARD);
+            if(type == ExpertCardType.PRINCESS && !board.getHall().isAddable(color))
+                return new Rejection(Reason.HALL_FULL, color);
+        }
+        if(type == ExpertCardType.HEALER && game.getBanTile() <= 0)
+            return new Rejection(Reason.NO_BAN_TOKENS);
+        if(type.needs(ExpertCardType.Parameters.ISLAND))
+            return checkIsland(game);
+        return null;
+    }
+
+    /**
+     * Helper method that checks the island of the activation
+     */
+    private Rejection checkIsland(ExpertGame game){
+        if(island < 0 || island >= game.getArchipelago().size())
+            return new Rejection(Reason.ISLAND_NOT_EXISTS);
+        return null;
+    }
+
+    /**
+     * Helper method that checks the swaps between the card and the entrance, one after the other
+     */
+    private Rejection checkBufferSwaps(StudentsBufferCardsCluster bufferCard, Board board){
+        if(swaps.isEmpty() || swaps.size() > MAX_BUFFER_SWAPS)
+            return new Rejection(Reason.SWAPS_NOT_VALID, MAX_BUFFER_SWAPS);
+        int[] onCard = new int[Color.values().length];
+        int[] inEntrance = new int[Color.values().length];
+        for(Color c : Color.values()){
+            onCard[c.ordinal()] = bufferCard.getStudBuffer().numStudents(c);
+            inEntrance[c.ordinal()] = board.entranceSize(c);
+        }
+        for(Swap swap : swaps){
+            if(swap.first() == null || swap.second() == null)
+                return new Rejection(Reason.COLOR_NOT_SELECTED);
+            if(onCard[swap.first().ordinal()] == 0)
+                return new Rejection(Reason.NO_STUDENT_ON_CARD, swap.first());
+            if(inEntrance[swap.second().ordinal()] == 0)
+                return new Rejection(Reason.NO_STUDENT_IN_ENTRANCE, swap.second());
+            onCard[swap.first().ordinal()]--;
+            inEntrance[swap.first().ordinal()]++;
+            inEntrance[swap.second().ordinal()]--;
+            onCard[swap.second().ordinal()]++;
+        }
+        return null;
+    }
+
+    /**
+     * Helper method that checks the swaps between the entrance and the hall, one after the other
+     */
+    private Rejection checkHallSwaps(Board board){
+        if(swaps.isEmpty() || swaps.size() > MAX_HALL_SWAPS)
+            return new Rejection(Reason.SWAPS_NOT_VALID, MAX_HALL_SWAPS);
+        int[] inEntrance = new int[Color.values().length];
+        int[] inHall = new int[Color.values().length];
+        for(Color c : Color.values()){
+            inEntrance[c.ordinal()] = board.entranceSize(c);
+            inHall[c.ordinal()] = board.hallSize(c);
+        }
+        for(Swap swap : swaps){
+            if(swap.first() == null || swap.second() == null)
+                return new Rejection(Reason.COLOR_NOT_SELECTED);
+            if(inEntrance[swap.first().ordinal()] == 0)
+                return new Rejection(Reason.NO_STUDENT_IN_ENTRANCE, swap.first());
+            if(inHall[swap.second().ordinal()] == 0)
+                return new Rejection(Reason.NO_STUDENT_IN_HALL, swap.second());
+            //the student enters the hall before the other one leaves it
+            if(!board.getHall().isAddable(swap.first(), inHall[swap.first().ordinal()] - board.hallSize(swap.first()) + 1))
+                return new Rejection(Reason.HALL_FULL, swap.first());
+            inEntrance[swap.first().ordinal()]--;
+            inHall[swap.first().ordinal()]++;
+            inHall[swap.second().ordinal()]--;
+            inEntrance[swap.second().ordinal()]++;
+        }
+        return null;
+    }
+
+    /**
+     * This method plays the activation for the current player of a game: the card is paid and its whole effect is applied
+     * @param game game in which the card is played
+     * @throws IllegalArgumentException if the activation cannot be played, with the reason, and the game is not changed
+     */
+    public void apply(ExpertGame game) {
+        Rejection rejection = check(game);
+        if(rejection != null)
+            throw new IllegalArgumentException(rejection.reason().name());
+
+        ExpertCard expertCard = game.getExpertCards().get(card);
+        switch (expertCard.getType()) {
+            case JOKER -> {
+                game.playVoidEffects(expertCard);
+                for(Swap swap : swaps){
+                    expertCard.setStudentColorToBeMoved(swap.first());
+                    expertCard.setStudentColorInEntrance(swap.second());
+                    expertCard.effect();
+                }
+                return;
+            }
+            case BARD -> {
+                SwapStudentsCard swapCard = (SwapStudentsCard) expertCard;
+                game.playVoidEffects(swapCard);
+                for(Swap swap : swaps){
+                    swapCard.setStudentInEntranceColor(swap.first());
+                    swapCard.setStudentInHallColor(swap.second());
+                    swapCard.effect();
+                }
+                return;
+            }
+            case MONEYLENDER -> ((PutThreeStudentsInTheBagCard) expertCard).setStudentColor(color);
+            case HEALER -> ((BannedIslandCard) expertCard).setIslandIndex(island);
+            case POISONER -> expertCard.changeColor(color);
+            case HERALD -> expertCard.changeIslandIndex(island);
+            case MONK, PRINCESS -> {
+                expertCard.setStudentColorToBeMoved(color);
+                expertCard.setIdxChosenIsland(island);
+            }
+        }
+        game.playEffect(card);
+    }
+}
@@ -23,11 +23,34 @@ public abstract class ExpertCard implements Serializable {
         return price;
     }
 
+    /**
+     * @return the type of the card in the registry of the expert cards
+     */
+    public abstract ExpertCardType getType();
+
     /**
      * Play the effect of the card
      */
     public void effect(){}
 
+    /**
+     * This method creates a copy of this card that belongs to a copy of the game
+     * @param game the copy of the game
+     * @return the copy of this card
+     */
+    public abstract ExpertCard copy(ExpertGame game);
+
+    /**
+     * Helper method used by copy() to give to the copy the price and the usage of this card
+     * @param copy the copy of this card
+     * @return the copy of this card
+     */
+    protected <T extends ExpertCard> T copyUsageTo(T copy){
+        copy.price = price;
+        copy.played = played;
+        return copy;
+    }
+
     /**
      *
      * @return true if the card has been played at least one time, false otherwise
@@ -36,6 +59,15 @@ public abstract class ExpertCard implements Serializable {
         return played;
     }
 
+    /**
+     * The revision of a card changes whenever what the players see of the card changes, so that it can be
+     * used to reuse what has been computed from the card while it does not change
+     * @return the revision of the card
+     */
+    public long getRevision(){
+        return (long) price << 1 | (played ? 1 : 0);
+    }
+
    //this methods are just for static type purpose
     public void changeIslandIndex(int index){}
 
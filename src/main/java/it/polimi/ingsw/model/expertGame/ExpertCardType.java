@@ -0,0 +1,117 @@
+package it.polimi.ingsw.model.expertGame;
+
+import java.util.function.Function;
+
+/**
+ * This enum is the registry of the expert cards. Each type declares its cost, the parameters chosen by the player
+ * when the card is activated, how the card is created and which parts of the game its effect changes, so that
+ * the cards are created, checked and refreshed with a lookup instead of testing the class of each card.
+ * The order of the types is the order in which the cards are drawn, so it must not change: saved games
+ * and recorded seeds depend on it.
+ *
+ * @author Dario d'Abate
+ */
+public enum ExpertCardType {
+    HEALER(2, Parameters.ISLAND, Region.ARCHIPELAGO, BannedIslandCard::new),
+    CENTAUR(3, 0, 0, game -> new InfluenceCardsCluster(0, game)),
+    KNIGHT(2, 0, 0, game -> new InfluenceCardsCluster(1, game)),
+    POISONER(3, Parameters.COLOR, 0, game -> new InfluenceCardsCluster(2, game)),
+    HERALD(3, Parameters.ISLAND, Region.BOARDS | Region.ARCHIPELAGO,
+            game -> new PseudoMotherNatureCard(game.getMotherNature(), game)),
+    DELIVERYMAN(1, 0, 0, IncrementMaxMovementCard::new),
+    MONEYLENDER(3, Parameters.COLOR, Region.BOARDS, PutThreeStudentsInTheBagCard::new),
+    MONK(1, Parameters.COLOR | Parameters.ISLAND, Region.ARCHIPELAGO, game -> new StudentsBufferCardsCluster(0, game)),
+    JOKER(1, Parameters.COLOR | Parameters.SECOND_COLOR, Region.BOARDS, game -> new StudentsBufferCardsCluster(1, game)),
+    PRINCESS(2, Parameters.COLOR, Region.BOARDS, game -> new StudentsBufferCardsCluster(2, game)),
+    BARD(1, Parameters.COLOR | Parameters.SECOND_COLOR, Region.BOARDS, SwapStudentsCard::new),
+    HOST(2, 0, 0, TakeProfessorEqualStudentsCard::new);
+
+    /**
+     * This class contains the parameters that a player can choose when a card is activated
+     */
+    public static final class Parameters {
+        public static final int COLOR = 1;
+        public static final int SECOND_COLOR = 1 << 1;
+        public static final int ISLAND = 1 << 2;
+
+        private Parameters(){}
+    }
+
+    /**
+     * This class contains the parts of the game that the effect of a card can change, besides the cards themselves
+     */
+    public static final class Region {
+        public static final int BOARDS = 1;
+        public static final int ARCHIPELAGO = 1 << 1;
+
+        private Region(){}
+    }
+
+    private static final ExpertCardType[] TYPES = values();
+
+    private final int cost;
+    private final int parameters;
+    private final int dirtyRegions;
+    private final Function<ExpertGame, ExpertCard> factory;
+
+    ExpertCardType(int cost, int parameters, int dirtyRegions, Function<ExpertGame, ExpertCard> factory) {
+        this.cost = cost;
+        this.parameters = parameters;
+        this.dirtyRegions = dirtyRegions;
+        this.factory = factory;
+    }
+
+    /**
+     * @return the initial price of the card
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * @return a mask of the Parameters chosen by the player
+     */
+    public int getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @param parameter one of the Parameters
+     * @return true if the player chooses that parameter
+     */
+    public boolean needs(int parameter) {
+        return (parameters & parameter) != 0;
+    }
+
+    /**
+     * @param region one of the Regions
+     * @return true if the effect of the card changes that region
+     */
+    public boolean changes(int region) {
+        return (dirtyRegions & region) != 0;
+    }
+
+    /**
+     * This method creates a card of this type
+     * @param game game of the card
+     * @return the new card
+     */
+    public ExpertCard create(ExpertGame game) {
+        return factory.apply(game);
+    }
+
+    /**
+     * @param index position of the type in the registry, from 0
+     * @return the type at that position
+     */
+    public static ExpertCardType of(int index) {
+        return TYPES[index];
+    }
+
+    /**
+     * @return the number of types of expert cards
+     */
+    public static int count() {
+        return TYPES.length;
+    }
+}
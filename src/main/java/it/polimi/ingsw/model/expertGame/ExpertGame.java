@@ -1,12 +1,13 @@
 package it.polimi.ingsw.model.expertGame;
 
 import it.polimi.ingsw.model.*;
+import it.polimi.ingsw.model.events.*;
 import it.polimi.ingsw.model.statePattern.InfluenceCalculator;
 import it.polimi.ingsw.model.statePattern.StandardCalculator;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
 
 /**
  * This subclass of game is instantiated when selecting Expert Mode, it adds the coin and expert cards system
@@ -19,6 +20,7 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
     private ArrayList<ExpertCard> expertCards;
     private int banTile = 4;
     private boolean cardHasBeenPlayed;//one player can play only one card in this turn
+    private Color ignoredColor;//color that does not give influence when the calculator ignores a color
 
     /**
      * This constructor adds coins and expert Cards
@@ -30,6 +32,53 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
         cardHasBeenPlayed = false;
     }
 
+    /**
+     * This constructor adds coins and expert Cards, the random choices depend only on the given seed
+     * @param nickPlayer Name of the first player to create the lobby
+     * @param numGamePlayers Number of players
+     * @param seed seed of the random choices
+     */
+    public ExpertGame(String nickPlayer, int numGamePlayers, long seed){
+        super(nickPlayer, numGamePlayers, seed);
+        cardHasBeenPlayed = false;
+    }
+
+    /**
+     * Copy constructor, used by copy(). The expert cards of the copy act on the copy
+     * @param other game to be copied
+     */
+    protected ExpertGame(ExpertGame other){
+        super(other);
+        coinBank = other.coinBank;
+        banTile = other.banTile;
+        cardHasBeenPlayed = other.cardHasBeenPlayed;
+        ignoredColor = other.ignoredColor;
+        if(other.expertCards != null){
+            expertCards = new ArrayList<>(other.expertCards.size());
+            for(ExpertCard card : other.expertCards)
+                expertCards.add(card.copy(this));
+        }
+    }
+
+    /**
+     * This method creates an independent copy of this game, expert cards included
+     * @return the copy of this game
+     */
+    @Override
+    public ExpertGame copy(){
+        ExpertGame copy = new ExpertGame(this);
+        copy.copyArchipelago(this);
+        return copy;
+    }
+
+    /**
+     * The islands of the copy give back their ban tiles to the copy
+     */
+    @Override
+    protected IslandTile copyIsland(IslandTile island, Game original){
+        return new IslandTile(island, this);
+    }
+
     @Override
     public void startGame(){
         if(getNumPlayers() < numGamePlayers)
@@ -89,29 +138,10 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
      */
     private void pickCards() {
         expertCards = new ArrayList<>();
-        ArrayList<Integer> cardsPlaceHolder = new ArrayList<>();
-        Random rand = new Random();
-        int temp;
-        for (int j = 1; j <= 12; j++) {
-            cardsPlaceHolder.add(j);
-        }
+        ArrayList<ExpertCardType> cardsPlaceHolder = new ArrayList<>(List.of(ExpertCardType.values()));
         for(int i=0; i<NUMBER_OF_EXPERT_CARDS; i++){
-            temp = rand.nextInt((cardsPlaceHolder.size()));
-            switch (cardsPlaceHolder.get(temp)) {
-                case 1 -> expertCards.add(new BannedIslandCard(this));
-                case 2 -> expertCards.add(new InfluenceCardsCluster(0, this));
-                case 3 -> expertCards.add(new InfluenceCardsCluster(1, this));
-                case 4 -> expertCards.add(new InfluenceCardsCluster(2, this));
-                case 5 -> expertCards.add(new PseudoMotherNatureCard(motherNature, this));
-                case 6 -> expertCards.add(new IncrementMaxMovementCard(this));
-                case 7 -> expertCards.add(new PutThreeStudentsInTheBagCard(this));
-                case 8 -> expertCards.add(new StudentsBufferCardsCluster(0, this));
-                case 9 -> expertCards.add(new StudentsBufferCardsCluster(1, this));
-                case 10 -> expertCards.add(new StudentsBufferCardsCluster(2, this));
-                case 11 -> expertCards.add(new SwapStudentsCard(this));
-                case 12 -> expertCards.add(new TakeProfessorEqualStudentsCard(this));
-            }
-            cardsPlaceHolder.remove(temp);
+            int temp = random.nextInt(cardsPlaceHolder.size());
+            expertCards.add(cardsPlaceHolder.remove(temp).create(this));
         }
     }
 
@@ -138,6 +168,7 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
         int oldNumCoin = currentPlayerBoard.getNumCoin();
         currentPlayerBoard.entranceToHall(colorStudentToBeMoved);
         int newNumCoin = currentPlayerBoard.getNumCoin();
+        studentMoved(colorStudentToBeMoved, StudentMovedEvent.Place.ENTRANCE, StudentMovedEvent.Place.HALL, -1);
 
         //coin management
         if(newNumCoin - oldNumCoin > 0){
@@ -145,13 +176,12 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
                 --coinBank;
             else
                 currentPlayerBoard.removeCoin(1);
+            coinsChanged();
         }
 
         //assignment of the professor
-        if(!currentPlayerBoard.hasProfessor(colorStudentToBeMoved) && hasMaxStudents(colorStudentToBeMoved)){
-            takeBackProfessor(colorStudentToBeMoved);
-            currentPlayerBoard.addProfessor(colorStudentToBeMoved);
-        }
+        if(!currentPlayerBoard.hasProfessor(colorStudentToBeMoved) && hasMaxStudents(colorStudentToBeMoved))
+            assignProfessor(colorStudentToBeMoved);
 
     }
 
@@ -173,6 +203,7 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
                 getCurrentPlayer().getBoard().removeCoin(cardCost);
                 coinBank += cardCost;
                 cardHasBeenPlayed = true;
+                expertCardPlayed(expertCards.get(indexCard));
                 expertCards.get(indexCard).effect();
             }
             else
@@ -184,10 +215,29 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
             getCurrentPlayer().getBoard().removeCoin(card.getPrice());
             coinBank += card.getPrice();
             cardHasBeenPlayed = true;
+            expertCardPlayed(card);
         }
         else
             throw new IllegalCallerException("Current player does not have enough coin to activate this card");
     }
+
+    /**
+     * Helper method that fires the payment of an expert card by the current player
+     * @param card the expert card
+     */
+    private void expertCardPlayed(ExpertCard card){
+        coinsChanged();
+        if(events.wants(GameEventType.EXPERT_CARD_PLAYED))
+            events.publish(new ExpertCardPlayedEvent(getCurrentPlayer().getNickname(), card));
+    }
+
+    /**
+     * Helper method that fires the coins of the current player, if someone listens to them
+     */
+    private void coinsChanged(){
+        if(events.wants(GameEventType.COINS_CHANGED))
+            events.publish(new CoinsChangedEvent(getCurrentPlayer().getNickname(), getCurrentPlayer().getBoard().getNumCoin(), coinBank));
+    }
     /**
      * This method is used every time a player ends his turn. When the turn is an action, it sets the maximum number
      * of island mother nature can travel and sets cardHasBeenPlayed to false. After this method, motherMovement() can be invoked
@@ -223,8 +273,7 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
         int tempMotherNature = motherNature;//store the initial motherNature
         IslandTile tempIsland = getCurrentIsland();
         motherNature = i;
-        getCurrentIsland().changeCalculator(new StandardCalculator());
-        getCurrentIsland().conquer(players);
+        conquerCurrentIsland(StandardCalculator.INSTANCE);
         mergeIslandTile();
         if(archipelago.contains(tempIsland)){
             motherNature = archipelago.indexOf(tempIsland);
@@ -236,10 +285,20 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
     /**
      * This method implements the changeCalculator of game
      * @param calc the calculator
+     * @param ignoredColor color that does not give influence, used only by the calculator that ignores a color
      */
     @Override
-    public void changeCalculator(InfluenceCalculator calc) {
+    public void changeCalculator(InfluenceCalculator calc, Color ignoredColor) {
         this.calc = calc;
+        this.ignoredColor = ignoredColor;
+    }
+
+    /**
+     * @return the color chosen with the card that ignores a color
+     */
+    @Override
+    public Color getIgnoredColor() {
+        return ignoredColor;
     }
 
     /**
@@ -249,7 +308,7 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
     public Color draw(){
         Color colorDrawn = actionBag.draw();
         if(colorDrawn == null)
-            propertyChangeSupport.firePropertyChange("emptyBagWinning", "", "notEmpty");
+            events.publish(new LastRoundEvent(LastRoundEvent.Reason.EMPTY_BAG));
         return colorDrawn;
     }
 
@@ -349,6 +408,31 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
         return banTile;
     }
 
+    /**
+     * The fingerprint of an expert game adds the price, the usage and what is on each expert card
+     * @return the fingerprint of the game
+     */
+    @Override
+    public long getFingerprint() {
+        long fingerprint = super.getFingerprint();
+        for(int i = 0; i < expertCards.size(); i++){
+            ExpertCard card = expertCards.get(i);
+            long students = card instanceof StudentsBufferCardsCluster ? ((StudentsBufferCardsCluster) card).getStudBuffer().getFingerprint() : 0;
+            int banTiles = card.getType() == ExpertCardType.HEALER ? banTile : 0;
+            fingerprint ^= Fingerprint.place(Fingerprint.CARD, i, Fingerprint.card(card.getPrice(), card.isPlayed(), students, banTiles));
+        }
+        return fingerprint;
+    }
+
+    @Override
+    public long getSnapshotFingerprint() {
+        return super.getSnapshotFingerprint()
+                ^ Fingerprint.snapshot(8, coinBank)
+                ^ Fingerprint.snapshot(9, banTile)
+                ^ Fingerprint.snapshot(10, cardHasBeenPlayed ? 1 : 0)
+                ^ Fingerprint.snapshot(11, ignoredColor == null ? -1 : ignoredColor.ordinal());
+    }
+
     /**
      * This method represent the card that allows the players to put three students of the specified
      * color from the hall of their board to the bag. If the players doesn't have enough student of the
@@ -375,7 +459,7 @@ public class ExpertGame extends Game implements Serializable, PseudoMotherNature
     }
     @Override
     protected IslandTile sumOfTwoIsland(IslandTile islandOne, IslandTile islandTwo){
-        IslandTile newIsland = new IslandTile(new StandardCalculator());
+        IslandTile newIsland = new IslandTile();
         //The new Island has the sum of the towers of the previous two islands
         for (int i=0; i< islandTwo.getNumTowers()+ islandOne.getNumTowers(); i++){
             newIsland.addTower();
@@ -14,10 +14,20 @@ public class IncrementMaxMovementCard extends ExpertCard implements Serializable
      * @param game reference to game
      */
     public IncrementMaxMovementCard(ExpertGame game){
-        super(1);
+        super(ExpertCardType.DELIVERYMAN.getCost());
         this.game = game;
     }
 
+    @Override
+    public ExpertCardType getType() {
+        return ExpertCardType.DELIVERYMAN;
+    }
+
+    @Override
+    public IncrementMaxMovementCard copy(ExpertGame game) {
+        return copyUsageTo(new IncrementMaxMovementCard(game));
+    }
+
     /**
      * This effect increments the maxMovement of the player by 2
      * It also increments its price by 1 if this card is never be played in this game
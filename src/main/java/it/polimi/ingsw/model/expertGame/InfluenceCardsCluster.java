@@ -1,7 +1,6 @@
 package it.polimi.ingsw.model.expertGame;
 
 import it.polimi.ingsw.model.Color;
-import it.polimi.ingsw.model.Player;
 import it.polimi.ingsw.model.RoundObserver;
 import it.polimi.ingsw.model.statePattern.ExceptOneColorCalculator;
 import it.polimi.ingsw.model.statePattern.InfluenceCalculator;
@@ -15,34 +14,45 @@ import java.io.Serializable;
  * @author Lorenzo Corrado
  */
 public class InfluenceCardsCluster extends ExpertCard implements Serializable {
-    private final int INDEX_TWO_MORE = 1;
-    private final int INDEX_COLOR_EXCEPTION = 2;
-    private InfluenceCalculator[] cards = new InfluenceCalculator[]{
-            new NoTowerCalculator(),
-            new TwoMoreCalculator(this),
-            new ExceptOneColorCalculator(this)
+    private static final ExpertCardType[] TYPES = {ExpertCardType.CENTAUR, ExpertCardType.KNIGHT, ExpertCardType.POISONER};
+    private static final InfluenceCalculator[] CALCULATORS = {
+            NoTowerCalculator.INSTANCE,
+            TwoMoreCalculator.INSTANCE,
+            ExceptOneColorCalculator.INSTANCE
     };
     private int index;
     private InfluenceCluster game;
     private RoundObserver round;
     private Color color; //this serves only for EXCEPT_ONE_COLOR_CALCULATOR
-    private Player player;
     public InfluenceCardsCluster(int cardIndex, ExpertGame game){
-        super(3);
+        super(typeOf(cardIndex).getCost());
         this.game = game;
         this.round = game;
         this.index = cardIndex;
-        if (cardIndex != 0) {
-            if(cardIndex == INDEX_TWO_MORE){
-                this.price = 2;
-            }
-            else if (cardIndex== INDEX_COLOR_EXCEPTION){
-                this.price = 3;
-            }
-            else{
-                throw new IllegalArgumentException("L'indice della carta non è valido!");
-            }
-        }
+    }
+
+    /**
+     * Helper method that finds the type of a card of the cluster
+     */
+    private static ExpertCardType typeOf(int cardIndex){
+        if(cardIndex < 0 || cardIndex >= TYPES.length)
+            throw new IllegalArgumentException("L'indice della carta non è valido!");
+        return TYPES[cardIndex];
+    }
+
+    @Override
+    public ExpertCardType getType() {
+        return TYPES[index];
+    }
+
+    /**
+     * The copy acts on the copy of the game
+     */
+    @Override
+    public InfluenceCardsCluster copy(ExpertGame game) {
+        InfluenceCardsCluster copy = new InfluenceCardsCluster(index, game);
+        copy.color = color;
+        return copyUsageTo(copy);
     }
 
     @Override
@@ -51,13 +61,13 @@ public class InfluenceCardsCluster extends ExpertCard implements Serializable {
             played = true;
             price += 1;
         }
-        if(index== INDEX_COLOR_EXCEPTION && color == null){
+        if(getType() == ExpertCardType.POISONER && color == null){
             throw new IllegalStateException("Devi scegliere un colore prima di attivare questo effetto!");
         }
-        game.changeCalculator(cards[index]);
+        game.changeCalculator(CALCULATORS[index], color);
     }
     public void changeColor(Color color){
-        if(index== INDEX_COLOR_EXCEPTION){
+        if(getType() == ExpertCardType.POISONER){
             this.color = color;
         }
     }
@@ -70,6 +80,10 @@ public class InfluenceCardsCluster extends ExpertCard implements Serializable {
         return round;
     }
 
+    public InfluenceCalculator getCalculator() {
+        return CALCULATORS[index];
+    }
+
     public int getIndex() {
         return index;
     }
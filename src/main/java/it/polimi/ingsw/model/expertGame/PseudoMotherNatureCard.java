@@ -17,7 +17,7 @@ public class PseudoMotherNatureCard extends ExpertCard implements Serializable {
      * @param game reference to the instance of game
      */
     public PseudoMotherNatureCard(int islandIndex, PseudoMotherNature game){
-        super(3);
+        super(ExpertCardType.HERALD.getCost());
         this.islandIndex = islandIndex;
         this.game = game;
     }
@@ -31,6 +31,16 @@ public class PseudoMotherNatureCard extends ExpertCard implements Serializable {
         this.islandIndex = index;
     }
 
+    @Override
+    public ExpertCardType getType() {
+        return ExpertCardType.HERALD;
+    }
+
+    @Override
+    public PseudoMotherNatureCard copy(ExpertGame game) {
+        return copyUsageTo(new PseudoMotherNatureCard(islandIndex, game));
+    }
+
     /**
      * This effect simulates the merging and conquer as if mother nature is on the island selected by the player
      * It also increments its price by 1 if this card is never be played in this game
@@ -9,7 +9,7 @@ public class PutThreeStudentsInTheBagCard extends ExpertCard implements Serializ
     private Color studentColor;
 
     public PutThreeStudentsInTheBagCard(PutThreeStudentsInTheBag game) {
-        super(3);
+        super(ExpertCardType.MONEYLENDER.getCost());
         this.game = game;
     }
 
@@ -21,6 +21,18 @@ public class PutThreeStudentsInTheBagCard extends ExpertCard implements Serializ
         return studentColor;
     }
 
+    @Override
+    public ExpertCardType getType() {
+        return ExpertCardType.MONEYLENDER;
+    }
+
+    @Override
+    public PutThreeStudentsInTheBagCard copy(ExpertGame game) {
+        PutThreeStudentsInTheBagCard copy = new PutThreeStudentsInTheBagCard(game);
+        copy.studentColor = studentColor;
+        return copyUsageTo(copy);
+    }
+
     @Override
     public void effect() {
         if (!isPlayed()) {
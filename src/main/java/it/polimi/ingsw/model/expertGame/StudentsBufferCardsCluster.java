@@ -10,15 +10,8 @@ import java.io.Serializable;
  * @author Dario d'Abate
  */
 public class StudentsBufferCardsCluster extends ExpertCard implements Serializable {
-    private static final int MAN_CARD_INDEX = 0;
-    private static final int MAN_CARD_COST = 1;
-    private static final int MAN_CARD_BUFFER_SIZE = 4;
-    private static final int CLOWN_CARD_INDEX = 1;
-    private static final int CLOWN_CARD_COST = 1;
-    private static final int CLOWN_CARD_BUFFER_SIZE = 6;
-    private static final int WOMAN_CARD_INDEX = 2;
-    private static final int WOMAN_CARD_COST = 2;
-    private static final int WOMAN_CARD_BUFFER_SIZE = 4;
+    private static final ExpertCardType[] TYPES = {ExpertCardType.MONK, ExpertCardType.JOKER, ExpertCardType.PRINCESS};
+    private static final int[] BUFFER_SIZES = {4, 6, 4};
 
     private final StudentsHandler studBuffer;
     private final StudentsBufferCluster game;
@@ -35,26 +28,43 @@ public class StudentsBufferCardsCluster extends ExpertCard implements Serializab
      * @param game interface of ExpertGame class that exposes only certain method
      */
     public StudentsBufferCardsCluster(int index, ExpertGame game) {
-        super(0); //temporary value
+        super(typeOf(index).getCost());
         this.game = game;
         this.index = index;
+        cardBufferSize = BUFFER_SIZES[index];
+        studBuffer = new StudentsHandler(cardBufferSize);
 
-        if(index == MAN_CARD_INDEX){
-            this.price = MAN_CARD_COST;
-            studBuffer = new StudentsHandler(MAN_CARD_BUFFER_SIZE);
-            cardBufferSize = MAN_CARD_BUFFER_SIZE;
-        }else if(index == CLOWN_CARD_INDEX){
-            this.price = CLOWN_CARD_COST;
-            studBuffer = new StudentsHandler(CLOWN_CARD_BUFFER_SIZE);
-            cardBufferSize = CLOWN_CARD_BUFFER_SIZE;
-        }else if(index == WOMAN_CARD_INDEX){
-            this.price = WOMAN_CARD_COST;
-            studBuffer = new StudentsHandler(WOMAN_CARD_BUFFER_SIZE);
-            cardBufferSize = WOMAN_CARD_BUFFER_SIZE;
-        }else
+        refillStudBuffer();
+    }
+
+    /**
+     * Helper method that finds the type of a card of the cluster
+     */
+    private static ExpertCardType typeOf(int index){
+        if(index < 0 || index >= TYPES.length)
             throw new IllegalArgumentException("L'indice della carta non è valido!");
+        return TYPES[index];
+    }
 
-        refillStudBuffer();
+    @Override
+    public ExpertCardType getType() {
+        return TYPES[index];
+    }
+
+    /**
+     * Copy constructor, used by copy()
+     * @param other card to be copied
+     * @param game the copy of the game
+     */
+    private StudentsBufferCardsCluster(StudentsBufferCardsCluster other, ExpertGame game) {
+        super(other.price);
+        this.game = game;
+        index = other.index;
+        cardBufferSize = other.cardBufferSize;
+        studBuffer = new StudentsHandler(other.studBuffer);
+        studentColorToBeMoved = other.studentColorToBeMoved;
+        idxChosenIsland = other.idxChosenIsland;
+        studentColorInEntrance = other.studentColorInEntrance;
     }
 
     //helper method to refill student tokens on a card
@@ -124,6 +134,14 @@ public class StudentsBufferCardsCluster extends ExpertCard implements Serializab
         return studentColorInEntrance;
     }
 
+    /**
+     * The students on the copy are the same of this card, no student is drawn from the bag
+     */
+    @Override
+    public StudentsBufferCardsCluster copy(ExpertGame game) {
+        return copyUsageTo(new StudentsBufferCardsCluster(this, game));
+    }
+
     /**
      * This method simulate the effect of a card. Having gathered 3 cards in a cluster there are 3 effects.<br/>
      * - Man's card: removes a student of the specified color on the card and moves it on a specified island tile,
@@ -139,14 +157,14 @@ public class StudentsBufferCardsCluster extends ExpertCard implements Serializab
     public void effect(){
         //Do not increase the cost and do not play the card if the parameters are incorrect
         if(studBuffer.numStudents(studentColorToBeMoved) > 0) {
-            if (index == MAN_CARD_INDEX) {
+            if (getType() == ExpertCardType.MONK) {
                 try {
                     game.fromManCardToIsland(idxChosenIsland, studentColorToBeMoved);
                     studBuffer.remove(studentColorToBeMoved);
                     usingCard();
                     refillStudBuffer();
                 }catch (IndexOutOfBoundsException e){throw new IndexOutOfBoundsException("The specified island tile does not exist!");}
-            } else if (index == CLOWN_CARD_INDEX) {
+            } else if (getType() == ExpertCardType.JOKER) {
                 try {
                     game.fromClownCardToEntrance(studentColorToBeMoved, studentColorInEntrance);
                     studBuffer.remove(studentColorToBeMoved);
@@ -180,6 +198,14 @@ public class StudentsBufferCardsCluster extends ExpertCard implements Serializab
         return studBuffer;
     }
 
+    /**
+     * @return the revision of the card, that changes also with the students on the card
+     */
+    @Override
+    public long getRevision() {
+        return super.getRevision() | (long) studBuffer.getRevision() << Integer.SIZE;
+    }
+
     public int getIndex() {
         return index;
     }
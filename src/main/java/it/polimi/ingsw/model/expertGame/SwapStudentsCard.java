@@ -21,10 +21,15 @@ public class SwapStudentsCard extends ExpertCard implements Serializable {
      * @param board is the reference to game used for accessing the current player board
      */
     public SwapStudentsCard(SwapStudents board ){
-        super(1);
+        super(ExpertCardType.BARD.getCost());
         this.board = board;
     }
 
+    @Override
+    public ExpertCardType getType() {
+        return ExpertCardType.BARD;
+    }
+
     public void setNumOfStudentsToMove(int numOfStudentToMove){
         if (numOfStudentToMove > 2)
             throw new IllegalArgumentException("You can move maximum 2 students");
@@ -51,6 +56,15 @@ public class SwapStudentsCard extends ExpertCard implements Serializable {
         return studentInHallColor;
     }
 
+    @Override
+    public SwapStudentsCard copy(ExpertGame game) {
+        SwapStudentsCard copy = new SwapStudentsCard(game);
+        copy.numOfStudentsToMove = numOfStudentsToMove;
+        copy.studentInEntranceColor = studentInEntranceColor;
+        copy.studentInHallColor = studentInHallColor;
+        return copyUsageTo(copy);
+    }
+
     /**
      * This effect swap one or two students depending on the choice of the player.
      * It also increments the price of the card the first time this one is used.
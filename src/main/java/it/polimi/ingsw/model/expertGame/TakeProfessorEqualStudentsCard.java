@@ -14,10 +14,20 @@ public class TakeProfessorEqualStudentsCard  extends ExpertCard implements Seria
      * @param game interface of ExpertGame class that exposes only certain method
      */
     public TakeProfessorEqualStudentsCard(ExpertGame game) {
-        super(2);
+        super(ExpertCardType.HOST.getCost());
         this.game = game;
     }
 
+    @Override
+    public ExpertCardType getType() {
+        return ExpertCardType.HOST;
+    }
+
+    @Override
+    public TakeProfessorEqualStudentsCard copy(ExpertGame game) {
+        return copyUsageTo(new TakeProfessorEqualStudentsCard(game));
+    }
+
     /**
      * This method simulate the effect of a card, by setting a flag in Game class as true.
      * The current player can take control of the professors even if it has the same number of students in his hall as the
@@ -0,0 +1,60 @@
+package it.polimi.ingsw.model.history;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This class computes the statistics of all the games of an archive.
+ * Each segment is read by its own task on a fork/join pool, streaming its summaries into its own statistics,
+ * then the statistics of the segments are merged. A task only keeps counters in memory, however big its segment is.
+ *
+ * @author Dario d'Abate
+ */
+public class ArchiveAnalytics {
+    private static final ForkJoinPool SCAN_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private ArchiveAnalytics(){}
+
+    /**
+     * This method computes the statistics of an archive
+     * @param directory directory of the segments of the archive
+     * @return the statistics of all the games of the archive
+     */
+    public static GameStatistics analyze(File directory){
+        List<Callable<GameStatistics>> scans = new ArrayList<>();
+        for(File segment : GameArchive.segments(directory)){
+            scans.add(() -> {
+                GameStatistics statistics = new GameStatistics();
+                GameArchive.scan(segment, statistics::add);
+                return statistics;
+            });
+        }
+
+        GameStatistics total = new GameStatistics();
+        for(Future<GameStatistics> future : SCAN_POOL.invokeAll(scans)){
+            try {
+                total.merge(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+                System.out.println("A segment of the archive cannot be read");
+            }
+        }
+        return total;
+    }
+
+    /**
+     * This method prints the statistics of the archive of the server
+     * @param args directory of the archive, GameArchive if missing
+     */
+    public static void main(String[] args){
+        File directory = new File(args.length > 0 ? args[0] : GameArchive.DIRECTORY);
+        System.out.print(analyze(directory));
+    }
+}
@@ -0,0 +1,128 @@
+package it.polimi.ingsw.model.history;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class keeps the summaries of the completed games in compressed segment files.
+ * The summaries are appended to the current segment, a new segment is started when the current one is full
+ * and each time the archive is opened, so a segment that is complete is never written again.
+ * Each summary is flushed as soon as it is appended: if the server crashes, only the last summary can be lost.
+ *
+ * @author Dario d'Abate
+ */
+public class GameArchive implements Closeable {
+    public static final String DIRECTORY = "GameArchive";
+    private static final String PREFIX = "segment-";
+    private static final String EXTENSION = ".gz";
+    private static final long SEGMENT_SIZE = 256 * 1024; //compressed bytes of a full segment
+
+    private final File directory;
+    private final long segmentSize;
+    private DataOutputStream out;
+    private FileOutputStream file; //file of the current segment, to know its size
+    private int nextSegment;
+
+    /**
+     * Constructor of the class
+     * @param directory directory of the segments
+     */
+    public GameArchive(File directory){
+        this(directory, SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructor of the class
+     * @param directory directory of the segments
+     * @param segmentSize compressed size after which a new segment is started
+     */
+    public GameArchive(File directory, long segmentSize){
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        List<File> segments = segments(directory);
+        if(!segments.isEmpty()){
+            String last = segments.get(segments.size() - 1).getName();
+            nextSegment = Integer.parseInt(last.substring(PREFIX.length(), last.length() - EXTENSION.length())) + 1;
+        }
+    }
+
+    /**
+     * This method adds the summary of a completed game to the archive
+     * @param summary summary of the game
+     */
+    public synchronized void append(GameSummary summary){
+        try {
+            if(out == null || file.getChannel().size() >= segmentSize)
+                nextSegment();
+            summary.write(out);
+            out.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("The game of " + String.join(", ", summary.getPlayers()) + " has not been archived");
+        }
+    }
+
+    /**
+     * Helper method that closes the current segment and starts the next one
+     */
+    private void nextSegment() throws IOException {
+        if(out != null)
+            out.close();
+        out = null;
+        if(!directory.exists() && !directory.mkdirs())
+            throw new IOException("Cannot create " + directory);
+        file = new FileOutputStream(new File(directory, String.format("%s%06d%s", PREFIX, nextSegment++, EXTENSION)));
+        out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(file), true));
+    }
+
+    @Override
+    public synchronized void close(){
+        try {
+            if(out != null)
+                out.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        out = null;
+    }
+
+    /**
+     * @param directory directory of the segments
+     * @return the segments of the archive, from the oldest one
+     */
+    public static List<File> segments(File directory){
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(EXTENSION));
+        if(files == null)
+            return new ArrayList<>();
+        Arrays.sort(files);
+        return new ArrayList<>(Arrays.asList(files));
+    }
+
+    /**
+     * This method reads the summaries of a segment one at a time, so the segment is never kept in memory.
+     * A segment that is still open, or that was cut by a crash, is read up to its last complete summary
+     * @param segment segment file
+     * @param consumer receives each summary
+     * @return number of summaries read
+     */
+    public static int scan(File segment, Consumer<GameSummary> consumer) throws IOException {
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(segment))))) {
+            while(true){
+                GameSummary summary;
+                try {
+                    summary = GameSummary.read(in);
+                } catch (EOFException e) {
+                    return count;
+                }
+                consumer.accept(summary);
+                count++;
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package it.polimi.ingsw.model.history;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.Tower;
+import it.polimi.ingsw.model.events.ExpertCardPlayedEvent;
+import it.polimi.ingsw.model.events.GameWonEvent;
+import it.polimi.ingsw.model.events.LastRoundEvent;
+import it.polimi.ingsw.model.expertGame.ExpertCard;
+import it.polimi.ingsw.model.expertGame.InfluenceCardsCluster;
+import it.polimi.ingsw.model.expertGame.StudentsBufferCardsCluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class follows a game through the events fired by the model and builds its summary when the game is over.
+ * The reason why the game ended is the first of these: "instantWinning" (no towers left or three islands left),
+ * "endRoundWinning" (no assistant cards left) or "emptyBagWinning" (no students left in the bag).
+ * The expert card events tell which player has played which card.
+ *
+ * @author Dario d'Abate
+ */
+public class GameHistory {
+    public static final String UNFINISHED = "unfinished";
+    public static final String INSTANT_WINNING = "instantWinning";
+    public static final String END_ROUND_WINNING = "endRoundWinning";
+    public static final String EMPTY_BAG_WINNING = "emptyBagWinning";
+
+    private final Game game;
+    private final int firstPlayer;
+    private final int[] cardsPlayed;
+    private String endReason;
+    private String instantWinner; //winner of an instant victory
+
+    /**
+     * Constructor of the class, it starts listening to the game
+     * @param game game to be followed, already set up
+     * @param resumed true if the game has been restarted from a save, so its first player is not known
+     */
+    public GameHistory(Game game, boolean resumed){
+        this.game = game;
+        firstPlayer = resumed ? -1 : game.getPlayers().indexOf(game.getCurrentPlayer());
+        cardsPlayed = new int[game.getPlayers().size()];
+        endReason = UNFINISHED;
+        game.getEvents().subscribe(GameWonEvent.class, this::gameWon);
+        game.getEvents().subscribe(LastRoundEvent.class, this::lastRound);
+        game.getEvents().subscribe(ExpertCardPlayedEvent.class, this::expertCardPlayed);
+    }
+
+    private void gameWon(GameWonEvent event) {
+        if(instantWinner == null){
+            endReason = INSTANT_WINNING;
+            instantWinner = event.winner();
+        }
+    }
+
+    private void lastRound(LastRoundEvent event) {
+        if(endReason.equals(UNFINISHED))
+            endReason = event.reason() == LastRoundEvent.Reason.NO_CARDS ? END_ROUND_WINNING : EMPTY_BAG_WINNING;
+    }
+
+    private void expertCardPlayed(ExpertCardPlayedEvent event) {
+        int card = game.getExpertCards().indexOf(event.card());
+        for(int player = 0; player < cardsPlayed.length && card >= 0; player++){
+            if(game.getPlayers().get(player).getNickname().equals(event.player()))
+                cardsPlayed[player] |= 1 << card;
+        }
+    }
+
+    /**
+     * This method builds the summary of the game
+     * @return the summary of the game, with its winner if the game is over
+     */
+    public GameSummary summarize(){
+        ArrayList<Player> players = game.getPlayers();
+        List<String> nicknames = new ArrayList<>();
+        List<Tower> towers = new ArrayList<>();
+        for(Player player : players){
+            nicknames.add(player.getNickname());
+            towers.add(player.getBoard().getTowerColor());
+        }
+
+        String winnerName = null;
+        if(instantWinner != null)
+            winnerName = instantWinner;
+        else if(!endReason.equals(UNFINISHED))
+            winnerName = game.alternativeWinner();
+
+        List<String> cards = new ArrayList<>();
+        if(game.getExpertCards() != null){
+            for(ExpertCard card : game.getExpertCards())
+                cards.add(cardName(card));
+        }
+        return new GameSummary(game.getSeed(), game.getRound().getRoundNumber(), endReason, nicknames, towers,
+                firstPlayer, nicknames.indexOf(winnerName), cards, cardsPlayed);
+    }
+
+    /**
+     * Helper method that names an expert card. The cards that share a class are told apart by their index
+     * @param card expert card
+     * @return name of the card
+     */
+    static String cardName(ExpertCard card){
+        if(card instanceof InfluenceCardsCluster)
+            return card.getClass().getSimpleName() + "-" + ((InfluenceCardsCluster) card).getIndex();
+        if(card instanceof StudentsBufferCardsCluster)
+            return card.getClass().getSimpleName() + "-" + ((StudentsBufferCardsCluster) card).getIndex();
+        return card.getClass().getSimpleName();
+    }
+}
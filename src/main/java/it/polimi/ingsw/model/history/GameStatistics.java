@@ -0,0 +1,132 @@
+package it.polimi.ingsw.model.history;
+
+import it.polimi.ingsw.model.Tower;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class collects the statistics of a set of games. Only counters are kept, so its size does not depend
+ * on the number of games, and two statistics of different games can be merged into one
+ *
+ * @author Dario d'Abate
+ */
+public class GameStatistics {
+    private long games;
+    private long rounds;
+    private final Map<String, Long> endReasons = new TreeMap<>();
+    private final Map<Tower, long[]> towers = new EnumMap<>(Tower.class); //games and wins of each tower
+    private final Map<String, long[]> expertCards = new TreeMap<>(); //players that played the card and their wins
+    private final long[] firstPlayer = new long[2]; //games with a known first player and wins of the first player
+
+    /**
+     * This method adds a game to the statistics
+     * @param summary summary of the game
+     */
+    public void add(GameSummary summary){
+        games++;
+        rounds += summary.getRounds();
+        endReasons.merge(summary.getEndReason(), 1L, Long::sum);
+
+        int winner = summary.getWinner();
+        for(int player = 0; player < summary.getPlayers().size(); player++){
+            boolean won = player == winner;
+            Tower tower = summary.getTowers().get(player);
+            if(tower != null)
+                count(towers.computeIfAbsent(tower, t -> new long[2]), won);
+            for(int card = 0; card < summary.getExpertCards().size(); card++){
+                if(summary.hasPlayed(player, card))
+                    count(expertCards.computeIfAbsent(summary.getExpertCards().get(card), c -> new long[2]), won);
+            }
+        }
+        if(summary.getFirstPlayer() >= 0)
+            count(firstPlayer, summary.getFirstPlayer() == winner);
+    }
+
+    /**
+     * Helper method that counts a game and, if it was won, a win
+     */
+    private static void count(long[] counter, boolean won){
+        counter[0]++;
+        if(won)
+            counter[1]++;
+    }
+
+    /**
+     * This method adds the games of other statistics to these statistics
+     * @param other statistics to be added
+     */
+    public void merge(GameStatistics other){
+        games += other.games;
+        rounds += other.rounds;
+        other.endReasons.forEach((reason, count) -> endReasons.merge(reason, count, Long::sum));
+        other.towers.forEach((tower, counter) -> merge(towers.computeIfAbsent(tower, t -> new long[2]), counter));
+        other.expertCards.forEach((card, counter) -> merge(expertCards.computeIfAbsent(card, c -> new long[2]), counter));
+        merge(firstPlayer, other.firstPlayer);
+    }
+
+    private static void merge(long[] counter, long[] other){
+        counter[0] += other[0];
+        counter[1] += other[1];
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return average number of rounds of a game, 0 if there are no games
+     */
+    public double getAverageRounds() {
+        return games == 0 ? 0 : (double) rounds / games;
+    }
+
+    /**
+     * @param reason name of the event that ended the game, like "emptyBagWinning" or "instantWinning"
+     * @return number of games ended by that event
+     */
+    public long getEndReasonCount(String reason) {
+        return endReasons.getOrDefault(reason, 0L);
+    }
+
+    /**
+     * @param tower tower color
+     * @return fraction of the players with that tower that won their game, 0 if there are none
+     */
+    public double getWinRate(Tower tower) {
+        return rate(towers.get(tower));
+    }
+
+    /**
+     * @param expertCard name of an expert card
+     * @return fraction of the players that played that card and won their game, 0 if there are none
+     */
+    public double getWinRate(String expertCard) {
+        return rate(expertCards.get(expertCard));
+    }
+
+    /**
+     * @return fraction of the games won by the first player, 0 if there are none
+     */
+    public double getFirstPlayerWinRate() {
+        return rate(firstPlayer);
+    }
+
+    private static double rate(long[] counter){
+        return counter == null || counter[0] == 0 ? 0 : (double) counter[1] / counter[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Games: %d, average length: %.1f rounds%n", games, getAverageRounds()));
+        endReasons.forEach((reason, count) -> report.append(String.format("  %s: %d%n", reason, count)));
+        report.append(String.format("First player: %.1f%% wins in %d games%n", 100 * rate(firstPlayer), firstPlayer[0]));
+        report.append("Towers:\n");
+        towers.forEach((tower, counter) -> report.append(String.format("  %s: %.1f%% wins in %d games%n", tower, 100 * rate(counter), counter[0])));
+        report.append("Expert cards:\n");
+        expertCards.forEach((card, counter) -> report.append(String.format("  %s: %.1f%% wins in %d games%n", card, 100 * rate(counter), counter[0])));
+        return report.toString();
+    }
+}
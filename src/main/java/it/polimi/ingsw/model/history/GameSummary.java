@@ -0,0 +1,143 @@
+package it.polimi.ingsw.model.history;
+
+import it.polimi.ingsw.model.Tower;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class contains what the statistics need to know about a completed game: its players with their towers,
+ * the first player, the expert cards and who played them, the length of the game, how it ended and the winner
+ *
+ * @author Dario d'Abate
+ */
+public class GameSummary {
+    private final long seed;
+    private final int rounds;
+    private final String endReason; //name of the event that ended the game
+    private final List<String> players;
+    private final List<Tower> towers; //tower of each player
+    private final int firstPlayer; //index of the first player, -1 if not known
+    private final int winner; //index of the winner, -1 if there is no winner
+    private final List<String> expertCards; //empty in a normal game
+    private final int[] cardsPlayed; //for each player, a bit for each expert card played at least once
+
+    /**
+     * Constructor of the class
+     * @param seed seed of the game
+     * @param rounds number of rounds played
+     * @param endReason name of the event that ended the game
+     * @param players nicknames of the players
+     * @param towers tower of each player
+     * @param firstPlayer index of the first player, -1 if not known
+     * @param winner index of the winner, -1 if there is no winner
+     * @param expertCards names of the expert cards of the game
+     * @param cardsPlayed for each player, a bit for each expert card played at least once
+     */
+    public GameSummary(long seed, int rounds, String endReason, List<String> players, List<Tower> towers,
+                       int firstPlayer, int winner, List<String> expertCards, int[] cardsPlayed) {
+        this.seed = seed;
+        this.rounds = rounds;
+        this.endReason = endReason;
+        this.players = Collections.unmodifiableList(new ArrayList<>(players));
+        this.towers = Collections.unmodifiableList(new ArrayList<>(towers));
+        this.firstPlayer = firstPlayer;
+        this.winner = winner;
+        this.expertCards = Collections.unmodifiableList(new ArrayList<>(expertCards));
+        this.cardsPlayed = cardsPlayed.clone();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public String getEndReason() {
+        return endReason;
+    }
+
+    public List<String> getPlayers() {
+        return players;
+    }
+
+    public List<Tower> getTowers() {
+        return towers;
+    }
+
+    public int getFirstPlayer() {
+        return firstPlayer;
+    }
+
+    public int getWinner() {
+        return winner;
+    }
+
+    public List<String> getExpertCards() {
+        return expertCards;
+    }
+
+    /**
+     * @param player index of a player
+     * @param card index of an expert card
+     * @return true if the player has played that card at least once
+     */
+    public boolean hasPlayed(int player, int card) {
+        return (cardsPlayed[player] & (1 << card)) != 0;
+    }
+
+    /**
+     * This method writes the summary in a compact binary form
+     * @param out destination of the summary
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(seed);
+        out.writeShort(rounds);
+        out.writeUTF(endReason);
+        out.writeByte(players.size());
+        for(int i = 0; i < players.size(); i++){
+            out.writeUTF(players.get(i));
+            out.writeByte(towers.get(i) == null ? -1 : towers.get(i).ordinal());
+            out.writeByte(cardsPlayed[i]);
+        }
+        out.writeByte(firstPlayer);
+        out.writeByte(winner);
+        out.writeByte(expertCards.size());
+        for(String card : expertCards)
+            out.writeUTF(card);
+    }
+
+    /**
+     * This method reads a summary written by write()
+     * @param in source of the summary
+     * @return the summary
+     */
+    public static GameSummary read(DataInput in) throws IOException {
+        long seed = in.readLong();
+        int rounds = in.readShort();
+        String endReason = in.readUTF();
+        int numPlayers = in.readByte();
+        List<String> players = new ArrayList<>(numPlayers);
+        List<Tower> towers = new ArrayList<>(numPlayers);
+        int[] cardsPlayed = new int[numPlayers];
+        for(int i = 0; i < numPlayers; i++){
+            players.add(in.readUTF());
+            int tower = in.readByte();
+            towers.add(tower < 0 ? null : Tower.values()[tower]);
+            cardsPlayed[i] = in.readByte();
+        }
+        int firstPlayer = in.readByte();
+        int winner = in.readByte();
+        int numCards = in.readByte();
+        List<String> expertCards = new ArrayList<>(numCards);
+        for(int i = 0; i < numCards; i++)
+            expertCards.add(in.readUTF());
+        return new GameSummary(seed, rounds, endReason, players, towers, firstPlayer, winner, expertCards, cardsPlayed);
+    }
+}
@@ -0,0 +1,99 @@
+package it.polimi.ingsw.model.moves;
+
+import it.polimi.ingsw.model.Color;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameState;
+
+import java.io.Serializable;
+
+/**
+ * This class contains the legal actions of the current player in a compact form, so that they can be sent with a prompt
+ * and a client can refuse locally an input that the server would refuse.
+ * The sets are bit masks: a priority, a color, a cloud or an expert card is legal when its bit is set
+ *
+ * @param state state of the game when the actions were computed
+ * @param priorities priorities of the assistant cards that can be played, bit 1 for priority 1
+ * @param hallColors colors of the students that can be moved to the hall, by ordinal
+ * @param islandColors colors of the students that can be moved to an island, by ordinal
+ * @param islands number of islands where a student can be moved
+ * @param maxSteps maximum steps of mother nature
+ * @param clouds clouds that can be taken, bit 0 for the first cloud
+ * @param expertCards expert cards that can be played, bit 0 for the first card
+ * @author Dario d'Abate
+ */
+public record LegalActions(GameState state, int priorities, int hallColors, int islandColors, int islands,
+                           int maxSteps, int clouds, int expertCards) implements Serializable {
+
+    /**
+     * This method computes the legal actions of the current player
+     * @param game game in which the current player has to move
+     * @return the legal actions of the current player
+     */
+    public static LegalActions of(Game game) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(game, moves, true);
+        int priorities = 0, hallColors = 0, islandColors = 0, islands = 0, maxSteps = 0, clouds = 0, expertCards = 0;
+        for(int i = 0; i < moves.size(); i++){
+            int move = moves.get(i);
+            switch (Move.type(move)) {
+                case Move.PLAY_CARD -> priorities |= 1 << Move.value(move);
+                case Move.TO_HALL -> hallColors |= 1 << Move.color(move).ordinal();
+                case Move.TO_ISLAND -> {
+                    islandColors |= 1 << Move.color(move).ordinal();
+                    islands = Math.max(islands, Move.value(move) + 1);
+                }
+                case Move.MOVE_MOTHER -> maxSteps = Math.max(maxSteps, Move.value(move));
+                case Move.TAKE_CLOUD -> clouds |= 1 << Move.value(move);
+                case Move.EXPERT_CARD -> expertCards |= 1 << Move.card(move);
+            }
+        }
+        return new LegalActions(game.getGameState(), priorities, hallColors, islandColors, islands, maxSteps, clouds, expertCards);
+    }
+
+    /**
+     * Helper method that checks a bit of a mask
+     */
+    private static boolean has(int mask, int bit){
+        return bit >= 0 && bit < Integer.SIZE && (mask & 1 << bit) != 0;
+    }
+
+    public boolean canPlayPriority(int priority) {
+        return has(priorities, priority);
+    }
+
+    public boolean canMoveToHall(Color color) {
+        return color != null && has(hallColors, color.ordinal());
+    }
+
+    public boolean canMoveToIsland(Color color) {
+        return color != null && has(islandColors, color.ordinal());
+    }
+
+    /**
+     * @param island index of an island, from 0
+     * @return true if a student can be moved to that island
+     */
+    public boolean isIsland(int island) {
+        return island >= 0 && island < islands;
+    }
+
+    public boolean canMoveMother(int steps) {
+        return steps > 0 && steps <= maxSteps;
+    }
+
+    /**
+     * @param cloud index of a cloud, from 0
+     * @return true if the cloud can be taken
+     */
+    public boolean canTakeCloud(int cloud) {
+        return has(clouds, cloud);
+    }
+
+    /**
+     * @param card index of an expert card, from 0
+     * @return true if the card can be played
+     */
+    public boolean canPlayExpertCard(int card) {
+        return has(expertCards, card);
+    }
+}
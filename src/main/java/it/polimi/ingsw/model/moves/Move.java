@@ -0,0 +1,143 @@
+package it.polimi.ingsw.model.moves;
+
+import it.polimi.ingsw.model.Color;
+
+/**
+ * This class encodes the moves of a player in a single int, so that the legal moves can be listed without
+ * creating an object for each of them.
+ * The bits of a move are, from the lowest: the value (8 bits: priority of a card, index of an island or of a cloud,
+ * steps of mother nature), the first color (3 bits, 0 for no color), the second color (3 bits, 0 for no color),
+ * the index of the expert card (2 bits) and the type of the move (4 bits).
+ * The value of a move that does not use it is 0. A move is never 0: NONE stands for a move whose value is out of range,
+ * so that the numbers received from a client can be encoded and checked without further controls.
+ *
+ * @author Dario d'Abate
+ */
+public final class Move {
+    public static final int NONE = 0;
+    public static final int PLAY_CARD = 1;
+    public static final int TO_HALL = 2;
+    public static final int TO_ISLAND = 3;
+    public static final int MOVE_MOTHER = 4;
+    public static final int TAKE_CLOUD = 5;
+    public static final int EXPERT_CARD = 6;
+
+    private static final Color[] COLORS = Color.values();
+    private static final int COLOR_SHIFT = 8;
+    private static final int SECOND_COLOR_SHIFT = 11;
+    private static final int CARD_SHIFT = 14;
+    private static final int TYPE_SHIFT = 16;
+
+    private Move(){}
+
+    /**
+     * Helper method that puts together the fields of a move
+     */
+    private static int encode(int type, int card, Color color, Color secondColor, int value){
+        if(value < 0 || value > 0xFF || card < 0 || card > 0x3)
+            return NONE;
+        return type << TYPE_SHIFT | card << CARD_SHIFT | colorBits(secondColor) << SECOND_COLOR_SHIFT
+                | colorBits(color) << COLOR_SHIFT | value;
+    }
+
+    private static int colorBits(Color color){
+        return color == null ? 0 : color.ordinal() + 1;
+    }
+
+    /**
+     * @param priority priority of the assistant card to be played
+     * @return the move that plays that card
+     */
+    public static int playCard(int priority){ return encode(PLAY_CARD, 0, null, null, priority);}
+
+    /**
+     * @param color color of the student
+     * @return the move that puts a student from the entrance to the hall
+     */
+    public static int toHall(Color color){ return encode(TO_HALL, 0, color, null, 0);}
+
+    /**
+     * @param color color of the student
+     * @param idxIsland index of the island
+     * @return the move that puts a student from the entrance to an island
+     */
+    public static int toIsland(Color color, int idxIsland){ return encode(TO_ISLAND, 0, color, null, idxIsland);}
+
+    /**
+     * @param steps number of islands mother nature travels
+     * @return the move of mother nature
+     */
+    public static int moveMother(int steps){ return encode(MOVE_MOTHER, 0, null, null, steps);}
+
+    /**
+     * @param idxCloud index of the cloud
+     * @return the move that takes the students of a cloud
+     */
+    public static int takeCloud(int idxCloud){ return encode(TAKE_CLOUD, 0, null, null, idxCloud);}
+
+    /**
+     * This method encodes the activation of an expert card. The parameters that are not used by the card are null or 0:
+     * the colors are the color taken from the card, the hall or the bag, followed by the color given from the entrance,
+     * and the value is the index of the chosen island
+     * @param idxCard index of the expert card, between 0 and 2
+     * @param color first color chosen for the effect
+     * @param secondColor second color chosen for the effect
+     * @param idxIsland island chosen for the effect
+     * @return the move that plays the card
+     */
+    public static int expertCard(int idxCard, Color color, Color secondColor, int idxIsland){
+        return encode(EXPERT_CARD, idxCard, color, secondColor, idxIsland);
+    }
+
+    /**
+     * @param move an encoded move
+     * @return the type of the move
+     */
+    public static int type(int move){ return move >>> TYPE_SHIFT;}
+
+    /**
+     * @param move an encoded move
+     * @return the value of the move: priority, index of an island or a cloud, steps of mother nature
+     */
+    public static int value(int move){ return move & 0xFF;}
+
+    /**
+     * @param move an encoded move
+     * @return the first color of the move, null if the move has no color
+     */
+    public static Color color(int move){ return toColor(move >>> COLOR_SHIFT);}
+
+    /**
+     * @param move an encoded move
+     * @return the second color of the move, null if the move has no second color
+     */
+    public static Color secondColor(int move){ return toColor(move >>> SECOND_COLOR_SHIFT);}
+
+    /**
+     * @param move an encoded move
+     * @return the index of the expert card played by the move
+     */
+    public static int card(int move){ return move >>> CARD_SHIFT & 0x3;}
+
+    private static Color toColor(int bits){
+        int color = bits & 0x7;
+        return color == 0 || color > COLORS.length ? null : COLORS[color - 1];
+    }
+
+    /**
+     * @param move an encoded move
+     * @return a readable description of the move
+     */
+    public static String toString(int move){
+        return switch (type(move)) {
+            case PLAY_CARD -> "play card " + value(move);
+            case TO_HALL -> color(move) + " student to hall";
+            case TO_ISLAND -> color(move) + " student to island " + (value(move) + 1);
+            case MOVE_MOTHER -> "mother nature moves " + value(move);
+            case TAKE_CLOUD -> "take cloud " + (value(move) + 1);
+            case EXPERT_CARD -> "expert card " + (card(move) + 1) + " (" + color(move) + ", " + secondColor(move)
+                    + ", island " + (value(move) + 1) + ")";
+            default -> "no move";
+        };
+    }
+}
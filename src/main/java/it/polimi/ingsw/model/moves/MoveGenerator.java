@@ -0,0 +1,226 @@
+package it.polimi.ingsw.model.moves;
+
+import it.polimi.ingsw.model.*;
+import it.polimi.ingsw.model.expertGame.*;
+
+import java.util.ArrayList;
+
+/**
+ * This class lists the legal moves of the current player of a game, according to the state of the game.
+ * The same rules are used to check a single move, so that the server, the bots and the user interfaces
+ * share them. Moves are encoded as described in Move and no object is created for each move.
+ * An expert card with more than one exchange (the clown and the swap card) is encoded with its first exchange
+ * only: the following exchanges are chosen after the card has been activated.
+ *
+ * @author Dario d'Abate
+ */
+public final class MoveGenerator {
+    private static final Color[] COLORS = Color.values();
+
+    private MoveGenerator(){}
+
+    /**
+     * This method lists the legal moves of the current player, including the activations of the expert cards
+     * @param game game in which the current player has to move
+     * @param moves list that is cleared and filled with the legal moves
+     */
+    public static void generate(Game game, MoveList moves){
+        generate(game, moves, true);
+    }
+
+    /**
+     * This method lists the legal moves of the current player
+     * @param game game in which the current player has to move
+     * @param moves list that is cleared and filled with the legal moves
+     * @param withExpertCards true if the activations of the expert cards have to be listed
+     */
+    public static void generate(Game game, MoveList moves, boolean withExpertCards){
+        moves.clear();
+        Board board = game.getCurrentPlayer().getBoard();
+        switch (game.getGameState()) {
+            case PLANNING_STATE -> {
+                int hand = game.getCurrentPlayer().getPriorities();
+                int played = playedPriorities(game);
+                for(int priority = 1; priority < Integer.SIZE; priority++){
+                    if(canPlayCard(hand, played, priority))
+                        moves.add(Move.playCard(priority));
+                }
+            }
+            case MOVING_STUDENT_STATE -> {
+                for(Color color : COLORS){
+                    if(board.entranceSize(color) == 0)
+                        continue;
+                    if(board.hallIsFillable(color))
+                        moves.add(Move.toHall(color));
+                    for(int i = 0; i < game.getArchipelago().size(); i++)
+                        moves.add(Move.toIsland(color, i));
+                }
+            }
+            case MOTHER_MOVEMENT_STATE -> {
+                //mother nature may go round the archipelago, but a longer movement ends where a shorter one does
+                int maxSteps = Math.min(game.getMaxMovement(), game.getArchipelago().size());
+                for(int steps = 1; steps <= maxSteps; steps++)
+                    moves.add(Move.moveMother(steps));
+            }
+            case CLOUD_TO_ENTRANCE_STATE -> {
+                for(int i = 0; i < game.getCloudTiles().size(); i++){
+                    if(!game.getCloudTiles().get(i).isEmpty())
+                        moves.add(Move.takeCloud(i));
+                }
+            }
+        }
+
+        if(withExpertCards && game instanceof ExpertGame expertGame && canActivateCards(expertGame)){
+            ArrayList<ExpertCard> cards = expertGame.getExpertCards();
+            for(int i = 0; i < cards.size(); i++){
+                if(board.hasCoin(cards.get(i).getPrice()))
+                    addExpertCardMoves(expertGame, i, moves);
+            }
+        }
+    }
+
+    /**
+     * This method checks a single move of the current player
+     * @param game game in which the current player has to move
+     * @param move encoded move
+     * @return true if the current player can do the move
+     */
+    public static boolean isLegal(Game game, int move){
+        GameState state = game.getGameState();
+        Board board = game.getCurrentPlayer().getBoard();
+        Color color = Move.color(move);
+        int value = Move.value(move);
+
+        return switch (Move.type(move)) {
+            case Move.PLAY_CARD -> state == GameState.PLANNING_STATE
+                    && canPlayCard(game.getCurrentPlayer().getPriorities(), playedPriorities(game), value);
+            case Move.TO_HALL -> state == GameState.MOVING_STUDENT_STATE && color != null
+                    && board.entranceSize(color) > 0 && board.hallIsFillable(color);
+            case Move.TO_ISLAND -> state == GameState.MOVING_STUDENT_STATE && color != null
+                    && board.entranceSize(color) > 0 && value < game.getArchipelago().size();
+            case Move.MOVE_MOTHER -> state == GameState.MOTHER_MOVEMENT_STATE && value > 0
+                    && value <= game.getMaxMovement();
+            case Move.TAKE_CLOUD -> state == GameState.CLOUD_TO_ENTRANCE_STATE
+                    && value < game.getCloudTiles().size() && !game.getCloudTiles().get(value).isEmpty();
+            case Move.EXPERT_CARD -> game instanceof ExpertGame expertGame && canActivateCards(expertGame)
+                    && Move.card(move) < expertGame.getExpertCards().size()
+                    && board.hasCoin(expertGame.getExpertCards().get(Move.card(move)).getPrice())
+                    && expertParametersLegal(expertGame, expertGame.getExpertCards().get(Move.card(move)), move);
+            default -> false;
+        };
+    }
+
+    /**
+     * This method checks a sequence of student movements of the current player, each one in the position left by the
+     * previous ones. The movements are tried on a copy, so the game is not modified
+     * @param game game in which the current player is moving his students
+     * @param moves encoded movements to the hall or to an island
+     * @return true if the current player can do all the movements, in this order
+     */
+    public static boolean isLegalStudentMoves(Game game, MoveList moves){
+        Game position = game.copy();
+        for(int i = 0; i < moves.size(); i++){
+            int move = moves.get(i);
+            if(!isLegal(position, move))
+                return false;
+            if(Move.type(move) == Move.TO_HALL)
+                position.entranceToHall(Move.color(move));
+            else if(Move.type(move) == Move.TO_ISLAND)
+                position.entranceToIsland(Move.value(move), Move.color(move));
+            else
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Helper method that gives the priorities of the cards already played in this planning phase
+     * @param game a game in the planning phase
+     * @return a mask with the bit of each played priority set
+     */
+    private static int playedPriorities(Game game){
+        Round round = game.getRound();
+        int mask = 0;
+        for(int i = 0; i < round.getCurrentPlayerIndex(); i++){
+            AssistantCard card = round.getPlanningPhaseOrder().get(i).viewLastCard();
+            if(card != null)
+                mask |= 1 << card.getPriority();
+        }
+        return mask;
+    }
+
+    /**
+     * Helper method that checks a card of the planning phase. A card already played in this planning phase
+     * by another player can be played only if there are no other cards in the hand
+     */
+    private static boolean canPlayCard(int hand, int played, int priority){
+        if(priority <= 0 || priority >= Integer.SIZE || (hand & 1 << priority) == 0)
+            return false;
+        return (played & 1 << priority) == 0 || (hand & ~played) == 0;
+    }
+
+    /**
+     * Helper method that checks if an expert card can be activated in the current state
+     */
+    private static boolean canActivateCards(ExpertGame game){
+        GameState state = game.getGameState();
+        return !game.isCardHasBeenPlayed() && (state == GameState.MOVING_STUDENT_STATE
+                || state == GameState.MOTHER_MOVEMENT_STATE || state == GameState.CLOUD_TO_ENTRANCE_STATE);
+    }
+
+    /**
+     * Helper method that lists the activations of an expert card, one for each choice of its parameters
+     */
+    private static void addExpertCardMoves(ExpertGame game, int idxCard, MoveList moves){
+        ExpertCard card = game.getExpertCards().get(idxCard);
+        ExpertCardType type = card.getType();
+        int colors = type.needs(ExpertCardType.Parameters.COLOR) ? COLORS.length : 1;
+        int secondColors = type.needs(ExpertCardType.Parameters.SECOND_COLOR) ? COLORS.length : 1;
+        int islands = type.needs(ExpertCardType.Parameters.ISLAND) ? game.getArchipelago().size() : 1;
+
+        for(int c = 0; c < colors; c++){
+            Color color = type.needs(ExpertCardType.Parameters.COLOR) ? COLORS[c] : null;
+            for(int s = 0; s < secondColors; s++){
+                Color secondColor = type.needs(ExpertCardType.Parameters.SECOND_COLOR) ? COLORS[s] : null;
+                for(int island = 0; island < islands; island++){
+                    int move = Move.expertCard(idxCard, color, secondColor, island);
+                    if(expertParametersLegal(game, card, move))
+                        moves.add(move);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that checks the parameters of the activation of an expert card, the same checks
+     * done by the server when the player chooses them
+     */
+    private static boolean expertParametersLegal(ExpertGame game, ExpertCard card, int move){
+        ExpertCardType type = card.getType();
+        Color color = Move.color(move);
+        Color secondColor = Move.secondColor(move);
+        int island = Move.value(move);
+        if((color != null) != type.needs(ExpertCardType.Parameters.COLOR)
+                || (secondColor != null) != type.needs(ExpertCardType.Parameters.SECOND_COLOR))
+            return false;
+        if(type.needs(ExpertCardType.Parameters.ISLAND) ? island >= game.getArchipelago().size() : island != 0)
+            return false;
+
+        Board board = game.getCurrentPlayer().getBoard();
+        return switch (type) {
+            case MONK -> onCard(card, color);
+            case JOKER -> onCard(card, color) && board.entranceSize(secondColor) > 0;
+            case PRINCESS -> onCard(card, color) && board.getHall().isAddable(color);
+            case BARD -> board.hallSize(color) > 0 && board.entranceSize(secondColor) > 0;
+            case HEALER -> game.getBanTile() > 0;
+            default -> true;
+        };
+    }
+
+    /**
+     * Helper method that checks if there is a student of a color on a card that holds students
+     */
+    private static boolean onCard(ExpertCard card, Color color){
+        return ((StudentsBufferCardsCluster) card).getStudBuffer().numStudents(color) > 0;
+    }
+}
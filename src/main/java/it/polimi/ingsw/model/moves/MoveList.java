@@ -0,0 +1,78 @@
+package it.polimi.ingsw.model.moves;
+
+import java.util.Arrays;
+
+/**
+ * This class is a growable list of encoded moves. It can be cleared and filled again, so a single list can be
+ * reused for all the positions of a search
+ *
+ * @author Dario d'Abate
+ */
+public class MoveList {
+    private int[] moves;
+    private int size;
+
+    /**
+     * Constructor of the class
+     */
+    public MoveList(){
+        moves = new int[64];
+    }
+
+    /**
+     * @param move encoded move to be added
+     */
+    public void add(int move){
+        if(size == moves.length)
+            moves = Arrays.copyOf(moves, size * 2);
+        moves[size++] = move;
+    }
+
+    /**
+     * @param index position of the move
+     * @return the encoded move at that position
+     */
+    public int get(int index){
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return moves[index];
+    }
+
+    /**
+     * @param move an encoded move
+     * @return true if the list contains the move
+     */
+    public boolean contains(int move){
+        for(int i = 0; i < size; i++){
+            if(moves[i] == move)
+                return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * This method removes all the moves, keeping the space already allocated
+     */
+    public void clear(){
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for(int i = 0; i < size; i++){
+            if(i > 0)
+                builder.append(", ");
+            builder.append(Move.toString(moves[i]));
+        }
+        return builder.append("]").toString();
+    }
+}
@@ -0,0 +1,74 @@
+package it.polimi.ingsw.model.replay;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameState;
+
+import java.io.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * This class contains the layout of a replay file, shared by the recorder and the player.
+ * A replay file starts with a header (seed, mode, players), followed by a stream of records:
+ * - MOVE: a move encoded by the Move class, in 3 bytes
+ * - NEXT_TURN: the turn has been passed without a move, for example because all the clouds are empty
+ * - STATE: the whole game, written when the game has been changed by something that is not a move (the expert cards)
+ * - KEYFRAME: the whole game at the beginning of a turn, written every KEYFRAME_INTERVAL turns
+ * - END: the game has ended
+ * When the recording is closed, the offsets of the keyframes are written at the end of the file,
+ * so that the player can jump to any turn without reading the previous ones.
+ *
+ * @author Dario d'Abate
+ */
+final class ReplayFormat {
+    static final int MAGIC = 0x45524950;
+    static final byte VERSION = 1;
+    static final int KEYFRAME_INTERVAL = 4; //number of turns between two keyframes
+
+    static final byte MOVE = 1;
+    static final byte NEXT_TURN = 2;
+    static final byte STATE = 3;
+    static final byte KEYFRAME = 4;
+    static final byte END = 5;
+
+    static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES; //offset of the index and magic number
+
+    private ReplayFormat(){}
+
+    /**
+     * This method packs a whole game, random generator included, in a compressed array of bytes
+     * @param game game to be packed
+     * @return the packed game
+     */
+    static byte[] pack(Game game) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeObject(game);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * This method rebuilds a game packed by pack()
+     * @param packed the packed game
+     * @return the game
+     */
+    static Game unpack(byte[] packed) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(packed)))) {
+            return (Game) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new InvalidObjectException("Not a packed game: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method identifies a turn as the player that is moving and the phase of the round.
+     * Each time this value changes, a new turn begins
+     * @param game game to be checked
+     * @return a value that changes at each turn
+     */
+    static int turnKey(Game game){
+        int player = game.getPlayers().indexOf(game.getCurrentPlayer());
+        return game.getGameState() == GameState.PLANNING_STATE ? player : -1 - player;
+    }
+}
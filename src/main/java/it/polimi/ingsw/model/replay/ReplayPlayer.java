@@ -0,0 +1,265 @@
+package it.polimi.ingsw.model.replay;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.moves.Move;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class plays a replay file. The game is rebuilt by applying the recorded moves to the model,
+ * starting from the keyframe of the requested turn, so any turn is reached by reading a few records.
+ * A file whose recording has not been closed, for example because the server has crashed, can be played anyway:
+ * its keyframes are found by reading the whole file once.
+ *
+ * @author Dario d'Abate
+ */
+public class ReplayPlayer implements Closeable {
+    private final RandomAccessFile in;
+    private final long seed;
+    private final boolean expertGame;
+    private final List<String> nicknames;
+    private final ArrayList<Long> keyframes; //offset of the keyframe of each KEYFRAME_INTERVAL turns
+    private int turns; //number of turns recorded
+
+    private Game game; //game at the current position, null before the first seek
+    private int turn;
+    private int turnKey;
+    private boolean ended;
+
+    /**
+     * Constructor of the class, it reads the header and the index of the keyframes
+     * @param file replay file
+     * @throws IOException if the file cannot be read or is not a replay
+     */
+    public ReplayPlayer(File file) throws IOException {
+        in = new RandomAccessFile(file, "r");
+        try {
+            if(in.readInt() != ReplayFormat.MAGIC || in.readByte() != ReplayFormat.VERSION)
+                throw new StreamCorruptedException("Not a replay file: " + file.getName());
+            seed = in.readLong();
+            expertGame = in.readBoolean();
+            int numPlayers = in.readByte();
+            ArrayList<String> players = new ArrayList<>();
+            for(int i = 0; i < numPlayers; i++)
+                players.add(in.readUTF());
+            nicknames = Collections.unmodifiableList(players);
+
+            keyframes = new ArrayList<>();
+            long headerEnd = in.getFilePointer();
+            if(!readIndex(headerEnd))
+                scan(headerEnd);
+            //the turns after the last keyframe are counted by playing them
+            seek(turns - 1);
+            while(next());
+            turns = turn + 1;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return seed of the recorded game
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isExpertGame() {
+        return expertGame;
+    }
+
+    public List<String> getNicknames() {
+        return nicknames;
+    }
+
+    /**
+     * @return number of turns recorded, the last turn is turns - 1
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return the game at the current position, it must not be modified
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * @return the turn of the current position
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * This method moves the replay to the beginning of a turn
+     * @param target turn to be reached, between 0 and getTurns() - 1
+     * @return the game at the beginning of that turn
+     */
+    public Game seek(int target) throws IOException {
+        if(target < 0 || target >= turns)
+            throw new IllegalArgumentException("The replay has turns from 0 to " + (turns - 1));
+
+        in.seek(keyframes.get(target / ReplayFormat.KEYFRAME_INTERVAL));
+        ended = false;
+        game = null;
+        next(); //the keyframe
+        while(turn < target && next());
+        return game;
+    }
+
+    /**
+     * This method applies the next record of the replay
+     * @return false if the replay has ended
+     */
+    public boolean next() throws IOException {
+        if(ended || in.getFilePointer() >= in.length())
+            return false;
+        try {
+            byte tag = in.readByte();
+            if(tag == ReplayFormat.KEYFRAME && game != null){ //the game is already at this position
+                in.skipBytes(Integer.BYTES);
+                in.skipBytes(in.readInt());
+                if(in.getFilePointer() >= in.length())
+                    return false;
+                tag = in.readByte();
+            }
+            return applyRecord(tag);
+        } catch (EOFException e){
+            ended = true; //the last record has not been written completely
+            return false;
+        }
+    }
+
+    /**
+     * Helper method that applies a record
+     * @param tag type of the record
+     * @return false if the record is the end of the replay
+     */
+    private boolean applyRecord(byte tag) throws IOException {
+        switch (tag) {
+            case ReplayFormat.MOVE -> {
+                int move = (in.readUnsignedByte() << 16) | in.readUnsignedShort();
+                apply(move);
+            }
+            case ReplayFormat.NEXT_TURN -> game.nextTurn();
+            case ReplayFormat.STATE, ReplayFormat.KEYFRAME -> {
+                turn = in.readInt();
+                byte[] packed = new byte[in.readInt()];
+                in.readFully(packed);
+                game = ReplayFormat.unpack(packed);
+                if(tag == ReplayFormat.KEYFRAME)
+                    turnKey = ReplayFormat.turnKey(game);
+            }
+            case ReplayFormat.END -> {
+                ended = true;
+                return false;
+            }
+            default -> throw new StreamCorruptedException("Unknown record " + tag);
+        }
+        checkTurn();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Helper method that applies a move to the game, with the same rules of the GameHandler
+     * @param move move encoded by the Move class
+     */
+    private void apply(int move){
+        switch (Move.type(move)) {
+            case Move.PLAY_CARD -> game.playCard(game.getCurrentPlayer().priorityToIndex(Move.value(move)));
+            case Move.TO_HALL, Move.TO_ISLAND -> {
+                if(Move.type(move) == Move.TO_HALL)
+                    game.entranceToHall(Move.color(move));
+                else
+                    game.entranceToIsland(Move.value(move), Move.color(move));
+                int numberOfMoves = game.getMaxNumStudMoves();
+                game.addActualNumStudMoves();
+                if(game.getActualNumStudMoves() >= numberOfMoves){
+                    game.setActualNumStudMoves(0);
+                    game.setGameState(GameState.MOTHER_MOVEMENT_STATE);
+                }
+            }
+            case Move.MOVE_MOTHER -> game.motherMovement(Move.value(move));
+            case Move.TAKE_CLOUD -> game.cloudToBoard(Move.value(move));
+        }
+    }
+
+    /**
+     * Helper method that counts the turns as the ReplayRecorder does
+     */
+    private void checkTurn(){
+        int key = ReplayFormat.turnKey(game);
+        if(key != turnKey){
+            turnKey = key;
+            turn++;
+        }
+    }
+
+    /**
+     * Helper method that reads the index written at the end of a closed recording
+     * @param headerEnd offset of the first record
+     * @return false if the recording has not been closed
+     */
+    private boolean readIndex(long headerEnd) throws IOException {
+        if(in.length() - ReplayFormat.FOOTER_SIZE < headerEnd)
+            return false;
+        in.seek(in.length() - ReplayFormat.FOOTER_SIZE);
+        long indexOffset = in.readLong();
+        if(in.readInt() != ReplayFormat.MAGIC || indexOffset < headerEnd)
+            return false;
+
+        in.seek(indexOffset);
+        int size = in.readInt();
+        for(int i = 0; i < size; i++){
+            turns = in.readInt() + 1;
+            keyframes.add(in.readLong());
+        }
+        return !keyframes.isEmpty();
+    }
+
+    /**
+     * Helper method that finds the keyframes and the number of turns by reading the whole file
+     * @param offset offset of the first record
+     */
+    private void scan(long offset) throws IOException {
+        in.seek(offset);
+        while(in.getFilePointer() < in.length()){
+            byte tag = in.readByte();
+            switch (tag) {
+                case ReplayFormat.MOVE -> in.skipBytes(3);
+                case ReplayFormat.STATE, ReplayFormat.KEYFRAME -> {
+                    long recordOffset = in.getFilePointer() - 1;
+                    int recordTurn = in.readInt();
+                    int length = in.readInt();
+                    if(in.getFilePointer() + length > in.length())
+                        return; //the last record has not been written completely
+                    in.skipBytes(length);
+                    if(tag == ReplayFormat.KEYFRAME){
+                        keyframes.add(recordOffset);
+                        turns = recordTurn + 1;
+                    }
+                }
+                case ReplayFormat.NEXT_TURN -> {}
+                case ReplayFormat.END -> {
+                    return;
+                }
+                default -> throw new StreamCorruptedException("Unknown record " + tag);
+            }
+        }
+        if(keyframes.isEmpty())
+            throw new EOFException("The replay has no keyframes");
+    }
+}
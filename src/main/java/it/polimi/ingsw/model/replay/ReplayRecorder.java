@@ -0,0 +1,191 @@
+package it.polimi.ingsw.model.replay;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.expertGame.ExpertGame;
+
+import java.io.*;
+import java.util.ArrayList;
+
+/**
+ * This class records a game in a replay file while it is played: the seed of the game, its moves in the order
+ * they are played and, every few turns, a keyframe with the whole game (see ReplayFormat).
+ * A recording error never stops the game: the error is reported and the recording is abandoned.
+ *
+ * @author Dario d'Abate
+ */
+public class ReplayRecorder {
+    public static final String DIRECTORY = "Replays";
+    public static final String EXTENSION = ".replay";
+
+    private final Game game;
+    private final File file;
+    private RandomAccessFile out; //null if the recording is closed or has failed
+    private final ArrayList<long[]> keyframes; //turn and offset of each keyframe
+    private int turn;
+    private int turnKey;
+
+    /**
+     * Constructor of the class, it writes the header and the first keyframe
+     * @param game game to be recorded, already set up
+     * @param file replay file, it is overwritten
+     */
+    public ReplayRecorder(Game game, File file){
+        this.game = game;
+        this.file = file;
+        keyframes = new ArrayList<>();
+        try {
+            out = new RandomAccessFile(file, "rw");
+            out.setLength(0);
+            out.writeInt(ReplayFormat.MAGIC);
+            out.writeByte(ReplayFormat.VERSION);
+            out.writeLong(game.getSeed());
+            out.writeBoolean(game instanceof ExpertGame);
+            out.writeByte(game.getPlayers().size());
+            for(Player player : game.getPlayers())
+                out.writeUTF(player.getNickname());
+
+            turn = 0;
+            turnKey = ReplayFormat.turnKey(game);
+            writeKeyframe();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * This method creates a recorder that writes a new file in the replay directory
+     * @param game game to be recorded, already set up
+     * @return the recorder of the game
+     */
+    public static ReplayRecorder start(Game game){
+        File directory = new File(DIRECTORY);
+        directory.mkdir();
+        StringBuilder name = new StringBuilder(String.valueOf(System.currentTimeMillis()));
+        for(Player player : game.getPlayers())
+            name.append('-').append(player.getNickname().replaceAll("[^A-Za-z0-9_]", "_"));
+        return new ReplayRecorder(game, new File(directory, name + EXTENSION));
+    }
+
+    /**
+     * @return the replay file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * This method records a move that has just been applied to the game
+     * @param move move encoded by the Move class
+     */
+    public void record(int move){
+        if(out == null)
+            return;
+        try {
+            out.writeByte(ReplayFormat.MOVE);
+            out.writeByte(move >>> 16);
+            out.writeShort(move);
+            checkTurn();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * This method records that the turn has been passed without a move
+     */
+    public void nextTurn(){
+        if(out == null)
+            return;
+        try {
+            out.writeByte(ReplayFormat.NEXT_TURN);
+            checkTurn();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * This method records the whole game. It is used when the game has been changed by something that is not a move,
+     * such as the effect of an expert card
+     */
+    public void snapshot(){
+        if(out == null)
+            return;
+        try {
+            byte[] packed = ReplayFormat.pack(game);
+            out.writeByte(ReplayFormat.STATE);
+            out.writeInt(turn);
+            out.writeInt(packed.length);
+            out.write(packed);
+            checkTurn();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * This method ends the recording, writing the index of the keyframes at the end of the file
+     */
+    public void close(){
+        if(out == null)
+            return;
+        try {
+            out.writeByte(ReplayFormat.END);
+            long indexOffset = out.getFilePointer();
+            out.writeInt(keyframes.size());
+            for(long[] keyframe : keyframes){
+                out.writeInt((int) keyframe[0]);
+                out.writeLong(keyframe[1]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(ReplayFormat.MAGIC);
+            out.close();
+            System.out.println("Replay saved in " + file.getPath());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        out = null;
+    }
+
+    /**
+     * Helper method that starts a new turn when the player that is moving or the phase has changed,
+     * and writes a keyframe every KEYFRAME_INTERVAL turns
+     */
+    private void checkTurn() throws IOException {
+        int key = ReplayFormat.turnKey(game);
+        if(key == turnKey)
+            return;
+        turnKey = key;
+        turn++;
+        if(turn % ReplayFormat.KEYFRAME_INTERVAL == 0)
+            writeKeyframe();
+    }
+
+    /**
+     * Helper method that writes the whole game as the keyframe of the current turn
+     */
+    private void writeKeyframe() throws IOException {
+        byte[] packed = ReplayFormat.pack(game);
+        keyframes.add(new long[]{turn, out.getFilePointer()});
+        out.writeByte(ReplayFormat.KEYFRAME);
+        out.writeInt(turn);
+        out.writeInt(packed.length);
+        out.write(packed);
+    }
+
+    /**
+     * Helper method that abandons the recording after an error
+     */
+    private void fail(IOException e){
+        System.out.println("The replay of this game cannot be recorded");
+        e.printStackTrace();
+        try {
+            if(out != null)
+                out.close();
+        } catch (IOException e1) {
+            e1.printStackTrace();
+        }
+        out = null;
+    }
+}
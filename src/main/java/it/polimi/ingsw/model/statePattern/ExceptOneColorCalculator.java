@@ -4,7 +4,6 @@ import it.polimi.ingsw.model.Board;
 import it.polimi.ingsw.model.Color;
 import it.polimi.ingsw.model.IslandTile;
 import it.polimi.ingsw.model.Player;
-import it.polimi.ingsw.model.expertGame.InfluenceCardsCluster;
 
 import java.io.Serializable;
 
@@ -13,31 +12,22 @@ import java.io.Serializable;
  * @author Lorenzo Corrado
  */
 public class ExceptOneColorCalculator implements InfluenceCalculator, Serializable {
-    private IslandTile island;
-    private Color color;
-    private final InfluenceCardsCluster card;
-    public ExceptOneColorCalculator(InfluenceCardsCluster card){
-        this.card = card;
-        this.island = null;
-    }
-    /**
-     * Set the island where he needs to calculate the influence
-     * @param island where the influence will be calculated
-     */
-    @Override
-    public void setContext(IslandTile island) {
-        this.island = island;
+    public static final ExceptOneColorCalculator INSTANCE = new ExceptOneColorCalculator();
+
+    private ExceptOneColorCalculator(){
     }
 
     /**
      * Method that check how much influence has one player
      * This variant ignores a single student color
+     * @param island island where the influence is calculated
      * @param player Calculate the influence of this player
+     * @param context game of the island, that gives the color to be ignored
      * @return The value of the influence
      */
     @Override
-    public int checkInfluence(Player player) {
-        this.color = card.getColor();
+    public int checkInfluence(IslandTile island, Player player, InfluenceContext context) {
+        Color ignoredColor = context.getIgnoredColor();
         int sum = 0;
         Board board = player.getBoard();
         if(island.getNumTowers()==0){
@@ -47,12 +37,19 @@ public class ExceptOneColorCalculator implements InfluenceCalculator, Serializab
             if(island.getTowerColor() == board.getTowerColor()) sum += island.getInfluenceTower();
         }
         for (Color color:Color.values()) {
-            if(color != this.color) {
-                if (board.getProfessors().contains(color)) {
+            if(color != ignoredColor) {
+                if (board.hasProfessor(color)) {
                     sum += island.getInfluenceColor(color);
                 }
             }
         }
         return sum;
     }
+
+    /**
+     * A saved game gets back the shared calculator
+     */
+    private Object readResolve() {
+        return INSTANCE;
+    }
 }
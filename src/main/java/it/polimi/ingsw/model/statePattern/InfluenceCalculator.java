@@ -4,10 +4,11 @@ import it.polimi.ingsw.model.IslandTile;
 import it.polimi.ingsw.model.Player;
 
 /**
- * This class is an interface for the state pattern
+ * This class is an interface for the state pattern.
+ * The calculators have no state: the island, the player and the context are passed to each call, so a single
+ * instance of each calculator is shared by all the islands of all the games, also by games evaluated at the same time
  * @author Lorenzo Corrado
  */
 public interface InfluenceCalculator {
-    public int checkInfluence(Player player);
-    public void setContext(IslandTile island);
+    public int checkInfluence(IslandTile island, Player player, InfluenceContext context);
 }
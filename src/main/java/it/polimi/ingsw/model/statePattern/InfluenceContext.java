@@ -0,0 +1,20 @@
+package it.polimi.ingsw.model.statePattern;
+
+import it.polimi.ingsw.model.Color;
+import it.polimi.ingsw.model.Player;
+
+/**
+ * This interface exposes the state of a game that the influence calculators need
+ * @author Lorenzo Corrado
+ */
+public interface InfluenceContext {
+    /**
+     * @return the player of the current turn
+     */
+    public Player getRoundPlayer();
+
+    /**
+     * @return the color of the students that do not give influence, null if every color gives influence
+     */
+    public Color getIgnoredColor();
+}
@@ -13,36 +13,36 @@ import java.io.Serializable;
  */
 
 public class NoTowerCalculator implements InfluenceCalculator, Serializable {
-    private IslandTile island;
+    public static final NoTowerCalculator INSTANCE = new NoTowerCalculator();
 
-    public NoTowerCalculator(){
-    }
-
-    /**
-     * Set the island where he needs to calculate the influence
-     * @param island where the influence will be calculated
-     */
-    @Override
-    public void setContext(IslandTile island) {
-        this.island = island;
+    private NoTowerCalculator(){
     }
 
     /**
      * Method that check how much influence has one player
      * This variant ignores the towers
+     * @param island island where the influence is calculated
      * @param player Calculate the influence of this player
+     * @param context game of the island, not used by this calculator
      * @return The value of the influence
      */
     @Override
-    public int checkInfluence(Player player) {
+    public int checkInfluence(IslandTile island, Player player, InfluenceContext context) {
         int sum = 0;
         Board board = player.getBoard();
         for (Color color:Color.values()) {
-            if (board.getProfessors().contains(color)){
+            if (board.hasProfessor(color)){
                 sum+= island.getInfluenceColor(color);
             }
         }
         return sum;
 
     }
+
+    /**
+     * A saved game gets back the shared calculator
+     */
+    private Object readResolve() {
+        return INSTANCE;
+    }
 }
@@ -13,21 +13,20 @@ import java.io.Serializable;
  */
 
 public class StandardCalculator implements InfluenceCalculator, Serializable {
-    protected IslandTile island;
+    public static final StandardCalculator INSTANCE = new StandardCalculator();
 
-    public StandardCalculator(){
-    }
-    public void setContext(IslandTile island){
-        this.island = island;
+    protected StandardCalculator(){
     }
 
     /**
      * This is the standard checkInfluence, calculates either towers and students
+     * @param island island where the influence is calculated
      * @param player Calculate influence of that player
+     * @param context game of the island, not used by this calculator
      * @return The value of the influence
      */
     @Override
-    public int checkInfluence(Player player) {
+    public int checkInfluence(IslandTile island, Player player, InfluenceContext context) {
         int sum = 0;
         Board board = player.getBoard();
         if(island.getNumTowers()==0){
@@ -37,10 +36,17 @@ public class StandardCalculator implements InfluenceCalculator, Serializable {
             if(island.getTowerColor() == board.getTowerColor()) sum += island.getInfluenceTower();
         }
         for (Color color:Color.values()) {
-            if (board.getProfessors().contains(color)){
+            if (board.hasProfessor(color)){
                 sum+= island.getInfluenceColor(color);
             }
         }
         return sum;
     }
+
+    /**
+     * A saved game gets back the shared calculator
+     */
+    protected Object readResolve() {
+        return INSTANCE;
+    }
 }
@@ -2,7 +2,6 @@ package it.polimi.ingsw.model.statePattern;
 
 import it.polimi.ingsw.model.IslandTile;
 import it.polimi.ingsw.model.Player;
-import it.polimi.ingsw.model.expertGame.InfluenceCardsCluster;
 
 import java.io.Serializable;
 
@@ -11,31 +10,30 @@ import java.io.Serializable;
  * @author Lorenzo Corrado
  */
 public class TwoMoreCalculator extends StandardCalculator implements Serializable {
-    private Player currentPlayer;
-    private InfluenceCardsCluster card;
-    public TwoMoreCalculator(InfluenceCardsCluster card){
-        this.card = card;
+    public static final TwoMoreCalculator INSTANCE = new TwoMoreCalculator();
 
+    private TwoMoreCalculator(){
     }
+
     /**
-     * Set the island where he needs to calculate the influence
-     * @param island where the influence will be calculated
+     * Method that check how much influence has one player
+     * This variant adds 2 more influence points to the total of the player of the current turn
+     * @param island island where the influence is calculated
+     * @param player Calculate the influence of this player
+     * @param context game of the island, that gives the player of the current turn
+     * @return The value of the influence
      */
     @Override
-    public void setContext(IslandTile island) {
-        super.setContext(island);
+    public int checkInfluence(IslandTile island, Player player, InfluenceContext context) {
+        if(context.getRoundPlayer() == player) return super.checkInfluence(island, player, context) + 2;
+        return super.checkInfluence(island, player, context);
     }
 
     /**
-     * Method that check how much influence has one player
-     * This variant adds 2 more influence points to the total
-     * @param player Calculate the influence of this player
-     * @return The value of the influence
+     * A saved game gets back the shared calculator
      */
     @Override
-    public int checkInfluence(Player player) {
-        currentPlayer = card.getRound().getRoundPlayer();
-        if(currentPlayer == player) return super.checkInfluence(player) + 2;
-        return super.checkInfluence(player);
+    protected Object readResolve() {
+        return INSTANCE;
     }
 }
@@ -0,0 +1,37 @@
+package it.polimi.ingsw.network.client;
+
+import it.polimi.ingsw.network.server.answers.*;
+import it.polimi.ingsw.network.server.answers.request.RequestExpertModeAnswer;
+import it.polimi.ingsw.network.server.answers.request.RequestNicknameAnswer;
+import it.polimi.ingsw.network.server.answers.request.RequestNumPlayerAnswer;
+import it.polimi.ingsw.network.server.answers.request.StartAnswer;
+import it.polimi.ingsw.network.server.answers.update.*;
+
+/**
+ * This interface contains a typed handler for each answer that the server can send.
+ * A view that does not handle an answer does not compile, and neither does an answer that is not dispatched to its handler.
+ *
+ * @author Dario d'Abate
+ */
+public interface AnswerListener {
+    void onShutdown(Shutdown answer);
+    void onPong(Pong answer);
+    void onGenericAnswer(GenericAnswer answer);
+    void onPrompt(PromptAnswer answer);
+    void onRequestNickname(RequestNicknameAnswer answer);
+    void onRequestNumPlayer(RequestNumPlayerAnswer answer);
+    void onRequestExpertMode(RequestExpertModeAnswer answer);
+    void onStart(StartAnswer answer);
+    void onTowerChoice(TowerChoiceAnswer answer);
+    void onCardBackChoice(CardBackChoiceAnswer answer);
+    void onNickname(NicknameAnswer answer);
+    void onGameState(GameStateAnswer answer);
+    void onWinning(WinningAnswer answer);
+    void onAssistantCardPlayed(AssistantCardPlayedAnswer answer);
+    void onToHallUpdate(ToHallUpdateAnswer answer);
+    void onToIslandUpdate(ToIslandUpdateAnswer answer);
+    void onStudentsMovedUpdate(StudentsMovedUpdateAnswer answer);
+    void onMotherNatureUpdate(MotherNatureUpdateAnswer answer);
+    void onCloudsUpdate(CloudsUpdateAnswer answer);
+    void onExpertCardUpdate(ExpertCardUpdateAnswer answer);
+}
@@ -0,0 +1,95 @@
+package it.polimi.ingsw.network.client;
+
+import it.polimi.ingsw.model.Color;
+import it.polimi.ingsw.model.moves.LegalActions;
+import it.polimi.ingsw.network.server.answers.LegalActionsAnswer;
+import it.polimi.ingsw.network.server.answers.Prompt;
+import it.polimi.ingsw.network.server.answers.PromptAnswer;
+
+/**
+ * This class checks the inputs of the player against the legal actions sent by the server with the prompts of the turn.
+ * An input is checked only as the answer to the last prompt received: once it is sent, the next input is checked
+ * again only after a new prompt. When there is nothing to check against, every input is accepted and the server
+ * still checks it
+ *
+ * @author Dario d'Abate
+ */
+public class InputValidator {
+    private volatile LegalActions legalActions;
+    private volatile Prompt awaiting; //last prompt not answered yet
+    private volatile boolean toHall; //true if the student is moved to the hall, false if it is moved to an island
+
+    /**
+     * This method updates the validator with a prompt received from the server. The errors do not change
+     * the question the player is answering
+     * @param answer prompt received from the server
+     */
+    public void update(PromptAnswer answer) {
+        if(answer instanceof LegalActionsAnswer legalActionsAnswer)
+            legalActions = legalActionsAnswer.getLegalActions();
+        if(!answer.getMessage().isError())
+            awaiting = answer.getMessage();
+    }
+
+    /**
+     * This method tells the validator that an input has been sent, so that the next one is not checked until
+     * a new prompt is received. It has to be called before the input is sent
+     * @param hall true if the input is the choice of the hall for a student
+     */
+    public void sent(boolean hall) {
+        if(awaiting == Prompt.CHOOSE_MOVEMENT)
+            toHall = hall;
+        awaiting = null;
+    }
+
+    /**
+     * This method checks a number typed by the player
+     * @param value number typed by the player, counted from 1 for the islands, the clouds and the expert cards
+     * @param numExpertCards number of expert cards of the game
+     * @return the error that the server would send, null if the number can be sent
+     */
+    public PromptAnswer check(int value, int numExpertCards) {
+        LegalActions actions = legalActions;
+        Prompt prompt = awaiting;
+        if(actions == null || prompt == null)
+            return null;
+        return switch (prompt) {
+            case CHOOSE_CARD_PRIORITY -> actions.canPlayPriority(value) ? null : new PromptAnswer(Prompt.PRIORITY_NOT_VALID);
+            case CHOOSE_STUDENT_ISLAND -> actions.isIsland(value - 1) ? null : new PromptAnswer(Prompt.ISLAND_NOT_EXISTS);
+            case CHOOSE_MOTHER_STEPS -> actions.canMoveMother(value) ? null : new PromptAnswer(Prompt.STEPS_NOT_VALID);
+            case CHOOSE_CLOUD -> actions.canTakeCloud(value - 1) ? null : new PromptAnswer(Prompt.CLOUD_NOT_VALID);
+            case CHOOSE_EXPERT_CARD -> {
+                if(value < 1 || value > numExpertCards)
+                    yield new PromptAnswer(Prompt.CARD_NOT_VALID, numExpertCards);
+                yield actions.canPlayExpertCard(value - 1) ? null : new PromptAnswer(Prompt.NOT_ENOUGH_COINS);
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * This method checks a color chosen by the player for the student to move
+     * @param color color chosen by the player
+     * @return the error that the server would send, null if the color can be sent
+     */
+    public PromptAnswer check(Color color) {
+        LegalActions actions = legalActions;
+        if(actions == null || awaiting != Prompt.CHOOSE_STUDENT_COLOR)
+            return null;
+        boolean legal = toHall ? actions.canMoveToHall(color) : actions.canMoveToIsland(color);
+        return legal ? null : new PromptAnswer(Prompt.COLOR_NOT_AVAILABLE);
+    }
+
+    /**
+     * This method checks the expert card of a command that plays a card with all its parameters
+     * @param card index of the card, from 0
+     * @return the error that the server would send, null if the command can be sent
+     */
+    public PromptAnswer checkExpertCard(int card) {
+        LegalActions actions = legalActions;
+        Prompt prompt = awaiting;
+        if(actions == null || prompt != Prompt.CHOOSE_MOVEMENT && prompt != Prompt.CHOOSE_MOTHER_STEPS && prompt != Prompt.CHOOSE_CLOUD)
+            return null;
+        return actions.canPlayExpertCard(card) ? null : new PromptAnswer(Prompt.NOT_ENOUGH_COINS);
+    }
+}
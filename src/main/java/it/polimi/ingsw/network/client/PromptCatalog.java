@@ -0,0 +1,62 @@
+package it.polimi.ingsw.network.client;
+
+import it.polimi.ingsw.model.Color;
+import it.polimi.ingsw.network.server.answers.Prompt;
+import it.polimi.ingsw.network.server.answers.PromptAnswer;
+
+import java.text.MessageFormat;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+/**
+ * This class renders the prompts received from the server with the texts of the prompts table of the client.
+ * The table is read once, when the class is loaded
+ *
+ * @author Dario d'Abate
+ */
+public class PromptCatalog {
+    private static final String TABLE = "prompts";
+    private static final Map<Prompt, String> TEXTS = new EnumMap<>(Prompt.class);
+
+    static {
+        ResourceBundle bundle = ResourceBundle.getBundle(TABLE);
+        for(Prompt prompt : Prompt.values()){
+            try {
+                TEXTS.put(prompt, bundle.getString(prompt.name()));
+            } catch (MissingResourceException e) {
+                TEXTS.put(prompt, prompt.name());
+            }
+        }
+    }
+
+    private PromptCatalog(){}
+
+    /**
+     * This method renders the text of a prompt
+     * @param answer prompt received from the server
+     * @return the text of the prompt with its parameters
+     */
+    public static String render(PromptAnswer answer) {
+        Prompt prompt = answer.getMessage();
+        String text = TEXTS.get(prompt);
+        if(prompt.numParams() == 0)
+            return text;
+        Object[] args = new Object[prompt.numParams()];
+        for(int i = 0; i < args.length; i++){
+            int param = answer.getParams()[i];
+            args[i] = prompt.paramType(i) == Prompt.Param.COLOR ? Color.values()[param] : param;
+        }
+        return MessageFormat.format(text, args);
+    }
+
+    /**
+     * This method checks if the table has a text for a prompt
+     * @param prompt prompt to be checked
+     * @return true if the prompt has its own text
+     */
+    public static boolean hasText(Prompt prompt) {
+        return !TEXTS.get(prompt).equals(prompt.name());
+    }
+}
@@ -54,8 +54,10 @@ public class SocketClient {
     public void sendPing() throws IOException {
         while(listenServer) {
             try{
-            out.writeObject(new Ping());
-            out.flush();
+            synchronized (this) {
+                out.writeObject(new Ping());
+                out.flush();
+            }
             Thread.sleep(3 * 1000);//ping every 3 second
             }catch(InterruptedException e){
                 System.err.println("InterruptedException in sendPing: " + e.getMessage());
@@ -67,10 +69,11 @@ public class SocketClient {
     }
 
     /**
-     * This method is used to send a message to the server
+     * This method is used to send a message to the server. It can be called by the view and by the thread that reads
+     * the answers, when the view has to be asked again
      * @param msg message to be sent
      */
-    public void send(Message msg) throws SocketException {
+    public synchronized void send(Message msg) throws SocketException {
         try{
             out.reset();
             out.writeObject(msg);
@@ -105,7 +108,7 @@ public class SocketClient {
                    answerHandler.handleMessage((Shutdown) msg);
 
                }
-               if(msg instanceof Answer){
+               else if(msg instanceof Answer){
                    answerHandler.handleMessage((Answer) msg);
                }
                else
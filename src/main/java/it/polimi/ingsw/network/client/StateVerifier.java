@@ -0,0 +1,98 @@
+package it.polimi.ingsw.network.client;
+
+import it.polimi.ingsw.model.Fingerprint;
+import it.polimi.ingsw.network.client.messages.Resync;
+import it.polimi.ingsw.network.client.modelBean.*;
+import it.polimi.ingsw.network.client.modelBean.ExpertCard.BanExpertCardBean;
+import it.polimi.ingsw.network.client.modelBean.ExpertCard.ExpertCardBean;
+import it.polimi.ingsw.network.client.modelBean.ExpertCard.StudBufferExpertCardBean;
+import it.polimi.ingsw.network.server.answers.Answer;
+import it.polimi.ingsw.network.server.answers.GameStateAnswer;
+import it.polimi.ingsw.network.server.answers.PromptAnswer;
+import it.polimi.ingsw.network.server.answers.VerifiableAnswer;
+
+import java.net.SocketException;
+import java.util.function.Supplier;
+
+/**
+ * This class checks the view of the game of the client against the fingerprint of the game sent by the server with each update.
+ * The server may send the updates of a move in more than one answer, so the view is checked only when a prompt
+ * is received, after all the updates of the move. When the view does not match, the whole game is asked to the server,
+ * once until it is received
+ *
+ * @author Dario d'Abate
+ */
+public class StateVerifier {
+    private final Supplier<GameBean> view;
+    private final SocketClient socketClient;
+    private long expected; //fingerprint sent with the last update
+    private boolean pending; //true if there is an update not checked yet
+    private boolean resyncing; //true if the whole game has been asked and not received yet
+
+    /**
+     * @param view view of the game of the client
+     * @param socketClient connection used to ask for the whole game
+     */
+    public StateVerifier(Supplier<GameBean> view, SocketClient socketClient) {
+        this.view = view;
+        this.socketClient = socketClient;
+    }
+
+    /**
+     * This method is called with each answer, after it has been applied to the view
+     * @param answer answer received from the server
+     */
+    public void received(Answer answer) {
+        if(answer instanceof VerifiableAnswer verifiable){
+            expected = verifiable.getFingerprint();
+            pending = true;
+            if(answer instanceof GameStateAnswer)
+                resyncing = false;
+        }
+        else if(answer instanceof PromptAnswer && pending){
+            pending = false;
+            GameBean game = view.get();
+            if(game != null && !resyncing && fingerprint(game) != expected){
+                resyncing = true;
+                try {
+                    socketClient.send(new Resync());
+                } catch (SocketException e) {
+                    System.out.println("Connection closed: the game cannot be asked again");
+                }
+            }
+        }
+    }
+
+    /**
+     * This method computes from the beans the same fingerprint that the server computes from the model
+     * @param game view of the game
+     * @return the fingerprint of the view
+     */
+    public static long fingerprint(GameBean game) {
+        long fingerprint = Fingerprint.motherNature(game.getMotherNature());
+        for(int i = 0; i < game.getPlayers().size(); i++){
+            PlayerBean player = game.getPlayers().get(i);
+            BoardBean board = player.getBoard();
+            fingerprint ^= Fingerprint.place(Fingerprint.BOARD, i, Fingerprint.board(Fingerprint.students(board.getEntranceStudent()),
+                    Fingerprint.students(board.getHallStudent()), board.getTowerColor(), board.getNumTowers(), board.getProfessors(), board.getNumCoins()));
+            int handSize = player.getHand() == null ? 0 : player.getHand().size();
+            fingerprint ^= Fingerprint.place(Fingerprint.PLAYER, i, Fingerprint.player(handSize, player.getPlayedCard()));
+        }
+        for(int i = 0; i < game.getArchipelago().size(); i++){
+            IslandBean island = game.getArchipelago().get(i);
+            fingerprint ^= Fingerprint.place(Fingerprint.ISLAND, i, Fingerprint.island(Fingerprint.students(island.getStudents()),
+                    island.getTowerColor(), island.getNumTowers(), island.getBanToken()));
+        }
+        for(int i = 0; i < game.getCloudTiles().size(); i++)
+            fingerprint ^= Fingerprint.place(Fingerprint.CLOUD, i, Fingerprint.students(game.getCloudTiles().get(i).getStudents()));
+        if(game.getExpertCards() != null){
+            for(int i = 0; i < game.getExpertCards().size(); i++){
+                ExpertCardBean card = game.getExpertCards().get(i);
+                long students = card instanceof StudBufferExpertCardBean buffer ? Fingerprint.students(buffer.getStudentBuffer()) : 0;
+                int banTiles = card instanceof BanExpertCardBean ban ? ban.getNumBanToken() : 0;
+                fingerprint ^= Fingerprint.place(Fingerprint.CARD, i, Fingerprint.card(card.getActivationCost(), card.isPlayed(), students, banTiles));
+            }
+        }
+        return fingerprint;
+    }
+}
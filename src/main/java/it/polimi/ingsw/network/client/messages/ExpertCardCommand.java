@@ -0,0 +1,21 @@
+package it.polimi.ingsw.network.client.messages;
+
+import it.polimi.ingsw.model.expertGame.CardActivation;
+
+/**
+ * This message plays an expert card together with all its parameters, so that the card is played
+ * with a single message instead of answering the questions of the server one by one
+ *
+ * @author Dario d'Abate
+ */
+public class ExpertCardCommand implements Message{
+    private final CardActivation activation;
+
+    public ExpertCardCommand(CardActivation activation) {
+        this.activation = activation;
+    }
+
+    public CardActivation getActivation() {
+        return activation;
+    }
+}
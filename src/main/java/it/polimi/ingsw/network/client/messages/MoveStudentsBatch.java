@@ -0,0 +1,34 @@
+package it.polimi.ingsw.network.client.messages;
+
+import it.polimi.ingsw.model.Color;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This message contains some movements of students from the entrance, in the order in which they have to be done,
+ * so that a player can move his students with a single message instead of answering the questions of the server
+ * for each student
+ *
+ * @author Dario d'Abate
+ */
+public class MoveStudentsBatch implements Message{
+    private final List<Step> steps;
+
+    /**
+     * This class is the movement of a student
+     * @param color color of the student
+     * @param island index of the island, from 0, or -1 to move the student in the hall
+     */
+    public record Step(Color color, int island) implements Serializable {}
+
+    public MoveStudentsBatch(List<Step> steps) {
+        this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+}
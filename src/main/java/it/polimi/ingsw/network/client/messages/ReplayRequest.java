@@ -0,0 +1,36 @@
+package it.polimi.ingsw.network.client.messages;
+
+/**
+ * This message is sent instead of a nickname by a client that wants to watch a recorded game
+ *
+ * @author Dario d'Abate
+ * @see Message
+ */
+public class ReplayRequest implements Message{
+    private final int replay;
+    private final double speed;
+    private final int fromTurn;
+
+    /**
+     * @param replay number of the replay, from 1, or 0 to get the list of the replays
+     * @param speed speed of the replay, 1 is the speed of the recorded game
+     * @param fromTurn first turn to show
+     */
+    public ReplayRequest(int replay, double speed, int fromTurn){
+        this.replay = replay;
+        this.speed = speed;
+        this.fromTurn = fromTurn;
+    }
+
+    public int getReplay() {
+        return replay;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public int getFromTurn() {
+        return fromTurn;
+    }
+}
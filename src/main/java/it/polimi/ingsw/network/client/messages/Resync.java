@@ -0,0 +1,9 @@
+package it.polimi.ingsw.network.client.messages;
+
+/**
+ * This message asks the server for the whole game, sent when the view of the client does not match
+ * the fingerprint of the game on the server
+ * @author Dario d'Abate
+ */
+public class Resync implements Message{
+}
@@ -0,0 +1,22 @@
+package it.polimi.ingsw.network.client.messages;
+
+/**
+ * This message is sent instead of a nickname by a client that wants to watch a running game
+ *
+ * @author Dario d'Abate
+ * @see Message
+ */
+public class WatchGame implements Message{
+    private final int gameId;
+
+    /**
+     * @param gameId id of the game, as announced to its players, -1 to get the list of the running games
+     */
+    public WatchGame(int gameId){
+        this.gameId = gameId;
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+}
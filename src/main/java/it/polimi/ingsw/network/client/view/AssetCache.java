@@ -0,0 +1,59 @@
+package it.polimi.ingsw.network.client.view;
+
+import javafx.scene.image.Image;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class contains the images used by the GUI. Each image is decoded only once and the same instance
+ * is shared by all the controllers. The images of the game can be preloaded on a background thread.
+ *
+ * @author Luca Bresciani
+ */
+public final class AssetCache {
+    private static final Map<String, Image> images = new ConcurrentHashMap<>();
+
+    /**
+     * Paths of the images shown during a game
+     */
+    private static final List<String> GAME_IMAGES = List.of(
+            "/Students/student_green.png", "/Students/student_red.png", "/Students/student_yellow.png",
+            "/Students/student_pink.png", "/Students/student_blue.png",
+            "/Professors/teacher_green.png", "/Professors/teacher_red.png", "/Professors/teacher_yellow.png",
+            "/Professors/teacher_pink.png", "/Professors/teacher_blue.png",
+            "/island2.png", "/Monetabase.png", "/cloud_card.png", "/deny_island_icon.png",
+            "/Card/Assistente (1).png", "/Card/Assistente (2).png", "/Card/Assistente (3).png", "/Card/Assistente (4).png",
+            "/Card/Assistente (5).png", "/Card/Assistente (6).png", "/Card/Assistente (7).png", "/Card/Assistente (8).png",
+            "/Card/Assistente (9).png", "/Card/Assistente (10).png",
+            "/Expert_card/CarteTOT_front.jpg", "/Expert_card/CarteTOT_front2.jpg", "/Expert_card/CarteTOT_front3.jpg",
+            "/Expert_card/CarteTOT_front4.jpg", "/Expert_card/CarteTOT_front5.jpg", "/Expert_card/CarteTOT_front6.jpg",
+            "/Expert_card/CarteTOT_front7.jpg", "/Expert_card/CarteTOT_front8.jpg", "/Expert_card/CarteTOT_front9.jpg",
+            "/Expert_card/CarteTOT_front10.jpg", "/Expert_card/CarteTOT_front11.jpg", "/Expert_card/CarteTOT_front12.jpg");
+
+    private AssetCache(){
+    }
+
+    /**
+     * This method returns the image corresponding to a resource, decoding it only the first time it is requested
+     * @param path path of the resource, for example "/island2.png"
+     * @return shared image
+     */
+    public static Image getImage(String path){
+        return images.computeIfAbsent(path, p -> new Image(String.valueOf(AssetCache.class.getResource(p))));
+    }
+
+    /**
+     * This method starts a background thread that decodes all the images of the game,
+     * so that they are ready when the main scenes are created
+     */
+    public static void preload(){
+        Thread preloader = new Thread(() -> {
+            for(String path : GAME_IMAGES)
+                getImage(path);
+        }, "asset-preloader");
+        preloader.setDaemon(true);
+        preloader.start();
+    }
+}
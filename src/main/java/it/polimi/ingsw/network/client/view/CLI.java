@@ -1,18 +1,24 @@
 package it.polimi.ingsw.network.client.view;
 
 import it.polimi.ingsw.model.*;
+import it.polimi.ingsw.model.expertGame.CardActivation;
 import it.polimi.ingsw.network.client.AnswerHandler;
+import it.polimi.ingsw.network.client.InputValidator;
+import it.polimi.ingsw.network.client.PromptCatalog;
 import it.polimi.ingsw.network.client.SocketClient;
+import it.polimi.ingsw.network.client.StateVerifier;
 import it.polimi.ingsw.network.client.messages.*;
 import it.polimi.ingsw.network.client.modelBean.*;
 import it.polimi.ingsw.network.client.modelBean.ExpertCard.BanExpertCardBean;
 import it.polimi.ingsw.network.client.modelBean.ExpertCard.ExpertCardBean;
 import it.polimi.ingsw.network.client.modelBean.ExpertCard.StudBufferExpertCardBean;
-import it.polimi.ingsw.network.server.answers.AssistantCardPlayedAnswer;
+import it.polimi.ingsw.network.server.answers.*;
+import it.polimi.ingsw.network.server.answers.request.RequestExpertModeAnswer;
+import it.polimi.ingsw.network.server.answers.request.RequestNicknameAnswer;
+import it.polimi.ingsw.network.server.answers.request.RequestNumPlayerAnswer;
+import it.polimi.ingsw.network.server.answers.request.StartAnswer;
 import it.polimi.ingsw.network.server.answers.update.*;
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.SocketException;
@@ -26,13 +32,15 @@ import java.util.StringTokenizer;
  *
  * @author Dario d'Abate
  */
-public class CLI  implements PropertyChangeListener, UI {
+public class CLI implements UI {
     private  SocketClient socketClient;
     private final Scanner stdIn ;
     private volatile boolean sending;
 
+    private final TerminalRenderer screen; //draws the game view, rewriting only the changed lines
     private GameBean gameBean; //model view
     private String nickname;
+    private final InputValidator validator = new InputValidator(); //refuses the inputs that the server would refuse
 
     /**
      * Constructor of the class. It also initializes the socketClient
@@ -40,6 +48,7 @@ public class CLI  implements PropertyChangeListener, UI {
     public CLI(){
         stdIn = new Scanner(new InputStreamReader(System.in));
         sending = true;
+        screen = new TerminalRenderer(System.out);
         try{
             initSocketClient();
         }catch (IOException e){
@@ -50,14 +59,15 @@ public class CLI  implements PropertyChangeListener, UI {
 
     /**
      * Helper method used to initialize a socket. It also set up the mechanism of event handling
-     * through property change listener
+     * through the typed answer handlers
      */
     private void initSocketClient() throws IOException {
         AnswerHandler answerHandler = new AnswerHandler();
         int portNumber = getPortNumber();
         String hostName = getHostName();
         socketClient = new SocketClient(hostName , portNumber,answerHandler);
-        answerHandler.addPropertyChangeListener(this);
+        answerHandler.setAnswerListener(this);
+        answerHandler.setStateVerifier(new StateVerifier(() -> gameBean, socketClient));
     }
 
     /**
@@ -118,97 +128,153 @@ public class CLI  implements PropertyChangeListener, UI {
         return temp;
     }
 
-    /**
-     * This method will show content based on the event that the client receives, thus it updates the view
-     * @param evt event occurred due to server
-     */
-    public void propertyChange(PropertyChangeEvent evt) {
-        switch (evt.getPropertyName()) {
-            case "stopSending" -> closeUserInterface();
-            case "genericMessage", "requestNickname", "requestNumPlayer", "requestExpertMode", "startMessage" -> displayGenericMessage((String)evt.getNewValue());
-            case "towerChoice" -> displaySelectableTower((ArrayList<Tower>) evt.getNewValue());
-            case "cardBackChoice" -> displaySelectableCardBack((ArrayList<CardBack>) evt.getNewValue());
-            case "nickname" -> this.nickname = (String) evt.getNewValue();
-            case "win" -> displayWinner((String)evt.getNewValue());
-            case "gameState" -> {
-                this.gameBean = (GameBean)evt.getNewValue();
-                displayAllGame() ;
-            }
-            case "cardPlayed" -> {
-                String nickname = ((AssistantCardPlayedAnswer)evt.getNewValue()).getNickname();
-                ArrayList<AssistantCard> hand = ((AssistantCardPlayedAnswer)evt.getNewValue()).getHand();
-                AssistantCard playedCard = ((AssistantCardPlayedAnswer)evt.getNewValue()).getCard();
-
-                for(PlayerBean player :gameBean.getPlayers()){
-                    if(player.getNickname().equals(nickname)){
-                        player.setPlayedCard(playedCard);
-                        player.setHand(hand); //new hand
-                    }
-                }
-                displayAllGame() ;
-            }
-            case "toHall" -> {
-                ArrayList<BoardBean> updatedBoardList = ((ToHallUpdateAnswer)evt.getNewValue()).getUpdatedBoardList();
+    @Override
+    public void onShutdown(Shutdown answer) {
+        closeUserInterface();
+    }
 
+    @Override
+    public void onPong(Pong answer) {
+    }
 
-                for(int i = 0; i < gameBean.getPlayers().size(); i++){
-                    PlayerBean player = gameBean.getPlayers().get(i);
-                    player.setBoard(updatedBoardList.get(i));
-                }
-                displayAllGame() ;
-            }
-            case "toIsland" -> {
-                String nickname = ((ToIslandUpdateAnswer)evt.getNewValue()).getNickname();
-                BoardBean updatedBoard = ((ToIslandUpdateAnswer)evt.getNewValue()).getUpdatedBoard();
-                ArrayList<IslandBean> updatedArchipelago = ((ToIslandUpdateAnswer)evt.getNewValue()).getUpdatedArchipelago();
-
-                for(PlayerBean player :gameBean.getPlayers()){
-                    if(player.getNickname().equals(nickname))
-                        player.setBoard(updatedBoard);
-                }
-                gameBean.setArchipelago(updatedArchipelago);
-                displayAllGame() ;
-            }
+    @Override
+    public void onGenericAnswer(GenericAnswer answer) {
+        displayGenericMessage(answer.getMessage());
+    }
 
-            case "motherMovement" -> {
-                int motherNature =  ((MotherNatureUpdateAnswer)evt.getNewValue()).getUpdatedMotherNature();
-                ArrayList<BoardBean> updatedBoards = ((MotherNatureUpdateAnswer)evt.getNewValue()).getUpdatedBoards();
-                ArrayList<IslandBean> updatedArchipelago = ((MotherNatureUpdateAnswer)evt.getNewValue()).getUpdatedArchipelago();
+    @Override
+    public void onPrompt(PromptAnswer answer) {
+        validator.update(answer);
+        displayGenericMessage(PromptCatalog.render(answer));
+    }
 
-                for(int i = 0; i < gameBean.getPlayers().size(); i++){
-                    gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
-                }
-                gameBean.setMotherNature(motherNature);
-                gameBean.setArchipelago(updatedArchipelago);
-                displayAllGame() ;
-            }
-            case "cloudChoice" -> {
-                ArrayList<BoardBean> updatedBoards = ((CloudsUpdateAnswer)evt.getNewValue()).getUpdatedBoards();
-                ArrayList<CloudBean> updateClouds = ((CloudsUpdateAnswer)evt.getNewValue()).getUpdateClouds();
+    @Override
+    public void onRequestNickname(RequestNicknameAnswer answer) {
+        displayGenericMessage(answer.getMessage());
+    }
 
-                for(int i = 0; i < gameBean.getPlayers().size(); i++){
-                    gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
-                }
-                gameBean.setCloudTiles(updateClouds);
-                displayAllGame();
+    @Override
+    public void onRequestNumPlayer(RequestNumPlayerAnswer answer) {
+        displayGenericMessage(answer.getMessage());
+    }
+
+    @Override
+    public void onRequestExpertMode(RequestExpertModeAnswer answer) {
+        displayGenericMessage(answer.getMessage());
+    }
+
+    @Override
+    public void onStart(StartAnswer answer) {
+        displayGenericMessage(answer.getMessage());
+    }
+
+    @Override
+    public void onTowerChoice(TowerChoiceAnswer answer) {
+        displaySelectableTower(answer.getMessage());
+    }
+
+    @Override
+    public void onCardBackChoice(CardBackChoiceAnswer answer) {
+        displaySelectableCardBack(answer.getMessage());
+    }
+
+    @Override
+    public void onNickname(NicknameAnswer answer) {
+        this.nickname = answer.getMessage();
+    }
+
+    @Override
+    public void onGameState(GameStateAnswer answer) {
+        this.gameBean = answer.getMessage();
+        displayAllGame();
+    }
+
+    @Override
+    public void onWinning(WinningAnswer answer) {
+        displayWinner(answer.getMessage());
+    }
+
+    @Override
+    public void onAssistantCardPlayed(AssistantCardPlayedAnswer answer) {
+        for(PlayerBean player :gameBean.getPlayers()){
+            if(player.getNickname().equals(answer.getNickname())){
+                player.setPlayedCard(answer.getCard());
+                player.setHand(answer.getHand()); //new hand
             }
-            case "expertCard" -> {
-                ArrayList<BoardBean> updatedBoards = ((ExpertCardUpdateAnswer)evt.getNewValue()).getUpdatedBoards();
-                ArrayList<IslandBean> updatedArchipelago = ((ExpertCardUpdateAnswer)evt.getNewValue()).getUpdatedArchipelago();
-                ArrayList<ExpertCardBean> updatedExpertCards = ((ExpertCardUpdateAnswer)evt.getNewValue()).getUpdatedExpertCards();
-
-                gameBean.setExpertCards(updatedExpertCards);
-                if(updatedBoards != null){
-                    for(int i = 0; i < gameBean.getPlayers().size(); i++){
-                        gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
-                    }
-                }
-                if(updatedArchipelago != null){
-                    gameBean.setArchipelago(updatedArchipelago);
-                }
-                displayAllGame();
+        }
+        displayAllGame();
+    }
+
+    @Override
+    public void onToHallUpdate(ToHallUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoardList = answer.getUpdatedBoardList();
+
+        for(int i = 0; i < gameBean.getPlayers().size(); i++){
+            PlayerBean player = gameBean.getPlayers().get(i);
+            player.setBoard(updatedBoardList.get(i));
+        }
+        displayAllGame();
+    }
+
+    @Override
+    public void onToIslandUpdate(ToIslandUpdateAnswer answer) {
+        for(PlayerBean player :gameBean.getPlayers()){
+            if(player.getNickname().equals(answer.getNickname()))
+                player.setBoard(answer.getUpdatedBoard());
+        }
+        gameBean.setArchipelago(answer.getUpdatedArchipelago());
+        displayAllGame();
+    }
+
+    @Override
+    public void onStudentsMovedUpdate(StudentsMovedUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoards = answer.getUpdatedBoards();
+
+        for(int i = 0; i < gameBean.getPlayers().size(); i++){
+            gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
+        }
+        gameBean.setArchipelago(answer.getUpdatedArchipelago());
+        displayAllGame();
+    }
+
+    @Override
+    public void onMotherNatureUpdate(MotherNatureUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoards = answer.getUpdatedBoards();
+
+        for(int i = 0; i < gameBean.getPlayers().size(); i++){
+            gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
+        }
+        gameBean.setMotherNature(answer.getUpdatedMotherNature());
+        gameBean.setArchipelago(answer.getUpdatedArchipelago());
+        displayAllGame();
+    }
+
+    @Override
+    public void onCloudsUpdate(CloudsUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoards = answer.getUpdatedBoards();
+
+        for(int i = 0; i < gameBean.getPlayers().size(); i++){
+            gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
+        }
+        gameBean.setCloudTiles(answer.getUpdateClouds());
+        displayAllGame();
+    }
+
+    @Override
+    public void onExpertCardUpdate(ExpertCardUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoards = answer.getUpdatedBoards();
+        ArrayList<IslandBean> updatedArchipelago = answer.getUpdatedArchipelago();
+
+        gameBean.setExpertCards(answer.getUpdatedExpertCards());
+        if(updatedBoards != null){
+            for(int i = 0; i < gameBean.getPlayers().size(); i++){
+                gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
             }
         }
+        if(updatedArchipelago != null){
+            gameBean.setArchipelago(updatedArchipelago);
+        }
+        displayAllGame();
     }
 
     /**
@@ -226,6 +292,14 @@ public class CLI  implements PropertyChangeListener, UI {
             while (sending) {
                 userInput = stdIn.nextLine();
                 System.out.println();
+                screen.linesPrinted(2);//echoed input and empty line
+                PromptAnswer error = checkLocally(userInput);
+                if (error != null) {
+                    displayGenericMessage(PromptCatalog.render(error));
+                    continue;
+                }
+                validator.sent(userInput.equalsIgnoreCase("hall"));
+
                 if (isNumeric(userInput)) {
                     socketClient.send(new IntegerMessage(Integer.parseInt(userInput)));
                 } else if (userInput.equalsIgnoreCase("king") || userInput.equalsIgnoreCase("witch")
@@ -245,6 +319,12 @@ public class CLI  implements PropertyChangeListener, UI {
 
                 } else if (userInput.equalsIgnoreCase("hall") || userInput.equalsIgnoreCase("island")) {
                     socketClient.send(new MoveStudentMessage(userInput));
+                } else if (userInput.toLowerCase().startsWith("move ")) {
+                    MoveStudentsBatch batch = parseStudentsBatch(userInput);
+                    if(batch != null)
+                        socketClient.send(batch);
+                    else
+                        socketClient.send(new GenericMessage(userInput));
                 } else if (userInput.equalsIgnoreCase("blue") || userInput.equalsIgnoreCase("pink")
                         || userInput.equalsIgnoreCase("red") || userInput.equalsIgnoreCase("yellow") ||
                         userInput.equalsIgnoreCase("green")) {
@@ -252,6 +332,16 @@ public class CLI  implements PropertyChangeListener, UI {
                     socketClient.send(new ColorChosen(color));
                 } else if (userInput.equalsIgnoreCase("play")) {
                     socketClient.send(new PlayExpertCard());
+                } else if (userInput.toLowerCase().startsWith("play ")) {
+                    CardActivation activation = parseCardActivation(userInput);
+                    if(activation != null)
+                        socketClient.send(new ExpertCardCommand(activation));
+                    else
+                        socketClient.send(new GenericMessage(userInput));
+                } else if (nickname == null && isCommand(userInput, "watch")) {
+                    socketClient.send(parseWatchGame(userInput));
+                } else if (nickname == null && isCommand(userInput, "replay")) {
+                    socketClient.send(parseReplayRequest(userInput));
                 } else if(userInput.equalsIgnoreCase("stop")){
                     socketClient.send(new StopMessage());
                 } else {
@@ -265,6 +355,28 @@ public class CLI  implements PropertyChangeListener, UI {
         stdIn.close();
     }
 
+    /**
+     * This method checks an input against the legal actions received with the last prompt of the turn
+     * @param userInput input of the player
+     * @return the error that the server would send, null if the input has to be sent
+     */
+    private PromptAnswer checkLocally(String userInput) {
+        if (isNumeric(userInput)) {
+            int numExpertCards = gameBean == null || gameBean.getExpertCards() == null ? 0 : gameBean.getExpertCards().size();
+            return validator.check(Integer.parseInt(userInput), numExpertCards);
+        }
+        for (Color color : Color.values()) {
+            if (userInput.equalsIgnoreCase(color.name()))
+                return validator.check(color);
+        }
+        if (userInput.toLowerCase().startsWith("play ")) {
+            CardActivation activation = parseCardActivation(userInput);
+            if (activation != null)
+                return validator.checkExpertCard(activation.getCard());
+        }
+        return null;
+    }
+
     /**
      * This method is used to print some initial information
      */
@@ -283,6 +395,108 @@ public class CLI  implements PropertyChangeListener, UI {
         System.out.println();
     }
 
+    /**
+     * This method reads some movements of students, like "move red blue:3 green:5".
+     * A color alone moves a student of that color in the hall, a color followed by ':' and a number moves it on that island
+     * @param userInput the command of the user
+     * @return the movements, null if the command is not valid
+     */
+    public static MoveStudentsBatch parseStudentsBatch(String userInput){
+        String[] words = userInput.trim().split("\\s+");
+        ArrayList<MoveStudentsBatch.Step> steps = new ArrayList<>();
+        try {
+            for(int i = 1; i < words.length; i++){
+                String[] parts = words[i].toUpperCase().split(":");
+                if(parts.length > 2 || parts.length == 2 && !isNumeric(parts[1]))
+                    return null;
+                int island = parts.length == 2 ? Integer.parseInt(parts[1]) - 1 : -1;
+                steps.add(new MoveStudentsBatch.Step(Color.valueOf(parts[0]), island));
+            }
+        } catch (IllegalArgumentException e){
+            return null;
+        }
+        return steps.isEmpty() ? null : new MoveStudentsBatch(steps);
+    }
+
+    /**
+     * Helper method used to check if an input is a command, alone or followed by its parameters
+     * @param userInput the input of the user
+     * @param command the command
+     * @return true if the input starts with the command
+     */
+    private static boolean isCommand(String userInput, String command){
+        String input = userInput.trim().toLowerCase();
+        return input.equals(command) || input.startsWith(command + " ");
+    }
+
+    /**
+     * This method reads the request to watch a running game, like "watch 3".
+     * A missing or wrong id asks the server for the list of the running games
+     * @param userInput the command of the user
+     * @return the message for the server
+     */
+    public static WatchGame parseWatchGame(String userInput){
+        String[] words = userInput.trim().split("\\s+");
+        if(words.length == 2 && isNumeric(words[1]))
+            return new WatchGame(Integer.parseInt(words[1]));
+        return new WatchGame(-1);
+    }
+
+    /**
+     * This method reads the request to watch a recorded game, like "replay 2 4 10", where 2 is the replay,
+     * 4 the speed and 10 the first turn to show. A missing or wrong replay asks the server for the list of the replays
+     * @param userInput the command of the user
+     * @return the message for the server
+     */
+    public static ReplayRequest parseReplayRequest(String userInput){
+        String[] words = userInput.trim().split("\\s+");
+        try {
+            int replay = words.length > 1 ? Integer.parseInt(words[1]) : 0;
+            double speed = words.length > 2 ? Double.parseDouble(words[2]) : 1;
+            int fromTurn = words.length > 3 ? Integer.parseInt(words[3]) : 0;
+            return new ReplayRequest(replay, speed, fromTurn);
+        } catch (NumberFormatException e){
+            return new ReplayRequest(0, 1, 0);
+        }
+    }
+
+    /**
+     * This method reads an expert card played with all its parameters, like "play 2 red 5" or "play 1 blue>red green>pink".
+     * The first number is the card, the second one is the island, a color is the chosen color
+     * and two colors joined by '>' are a swap of students
+     * @param userInput the command of the user
+     * @return the activation of the card, null if the command is not valid
+     */
+    public static CardActivation parseCardActivation(String userInput){
+        String[] words = userInput.trim().split("\\s+");
+        int card = -1;
+        int island = -1;
+        Color color = null;
+        ArrayList<CardActivation.Swap> swaps = new ArrayList<>();
+        try {
+            for(int i = 1; i < words.length; i++){
+                String word = words[i].toUpperCase();
+                if(isNumeric(word) && card < 0)
+                    card = Integer.parseInt(word) - 1;
+                else if(isNumeric(word) && island < 0)
+                    island = Integer.parseInt(word) - 1;
+                else if(word.contains(">")){
+                    String[] pair = word.split(">");
+                    if(pair.length != 2)
+                        return null;
+                    swaps.add(new CardActivation.Swap(Color.valueOf(pair[0]), Color.valueOf(pair[1])));
+                }
+                else if(color == null)
+                    color = Color.valueOf(word);
+                else
+                    return null;
+            }
+        } catch (IllegalArgumentException e){
+            return null;
+        }
+        return card < 0 ? null : new CardActivation(card, color, island, swaps);
+    }
+
     /**
      * This method is used to check if the argument passed is a string representation of an integer
      * @param string string to check
@@ -307,6 +521,7 @@ public class CLI  implements PropertyChangeListener, UI {
     private  void clearScreen() {
         System.out.println(ANSIConstants.CLEAR);
         System.out.flush();
+        screen.invalidate();
     }
 
     /**
@@ -324,53 +539,52 @@ public class CLI  implements PropertyChangeListener, UI {
     @Override
     public void displayGenericMessage(String message) {
         System.out.println(message);
+        screen.linesPrinted(message.split("\n", -1).length);
     }
 
 
     /**
-     * This method is used to print the entire Game view
+     * This method is used to print the entire Game view. The view is built as a single frame and
+     * only the lines that changed since the previous frame are written on the terminal
      */
     @Override
     public void displayAllGame(){
-        clearScreen();
+        screen.beginFrame();
 
         ArrayList<PlayerBean> playerBeans = gameBean.getPlayers();
         //display expert card
         if(gameBean.isExpertGame()){
-            System.out.println(ANSIConstants.UNDERLINE + "EXPERT CARDS");
-            System.out.print(ANSIConstants.TEXT_RESET);
-            System.out.flush();
-            System.out.println();
+            screen.println(ANSIConstants.UNDERLINE + "EXPERT CARDS");
+            screen.print(ANSIConstants.TEXT_RESET);
+            screen.println();
             displayExpertCard();
         }
 
-        System.out.println(ANSIConstants.UNDERLINE + "BOARDS");
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
-        System.out.println();
+        screen.println(ANSIConstants.UNDERLINE + "BOARDS");
+        screen.print(ANSIConstants.TEXT_RESET);
+        screen.println();
         for(PlayerBean playerBean : playerBeans){
             //display  boards
-            System.out.print("NICKNAME: " + playerBean.getNickname() + " ");
+            screen.print("NICKNAME: " + playerBean.getNickname() + " ");
             if(playerBean.getNickname().equals(nickname))
-                System.out.println("(YOU)");
+                screen.println("(YOU)");
             else
-                System.out.println();
+                screen.println();
             displayBoard(playerBean.getBoard(), gameBean.isExpertGame());
             //display assistant cards
             displayCard(playerBean);
-            System.out.println("------------------------------------------------------------------------");
+            screen.println("------------------------------------------------------------------------");
 
         }
 
-        System.out.println(ANSIConstants.UNDERLINE + "ARCHIPELAGO");
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.println(ANSIConstants.UNDERLINE + "ARCHIPELAGO");
+        screen.print(ANSIConstants.TEXT_RESET);
         displayArchipelago();
 
-        System.out.println(ANSIConstants.UNDERLINE + "CLOUDS");
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.println(ANSIConstants.UNDERLINE + "CLOUDS");
+        screen.print(ANSIConstants.TEXT_RESET);
         displayClouds();
+        screen.render();
     }
 
 
@@ -433,55 +647,49 @@ public class CLI  implements PropertyChangeListener, UI {
     @Override
     public void displayBoard(BoardBean board, boolean expertGame) {
         if(expertGame)
-            System.out.print("REMAINING COINS: " + board.getNumCoins() + "\n");
+            screen.print("REMAINING COINS: " + board.getNumCoins() + "\n");
 
-        System.out.print("TOWER COLOR: " + board.getTowerColor() + "\n");
-        System.out.print("REMAINING TOWERS: ");
+        screen.print("TOWER COLOR: " + board.getTowerColor() + "\n");
+        screen.print("REMAINING TOWERS: ");
         for(int i = 0; i < board.getNumTowers(); i++)
-            System.out.print(ANSIConstants.FILLED_RECTANGLE + " ");
+            screen.print(ANSIConstants.FILLED_RECTANGLE + " ");
 
-        System.out.println();
-        System.out.print("PROFESSORS: ");
+        screen.println();
+        screen.print("PROFESSORS: ");
         for (Color color: board.getProfessors()){
-            System.out.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
+            screen.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
         }
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.print(ANSIConstants.TEXT_RESET);
 
-        System.out.println();
-        System.out.println(ANSIConstants.UNDERLINE + "ENTRANCE");
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.println();
+        screen.println(ANSIConstants.UNDERLINE + "ENTRANCE");
+        screen.print(ANSIConstants.TEXT_RESET);
         for (Color color: Color.values()){
             for (int j = 0; j < board.getEntranceStudent().get(color); j++) {
-                System.out.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
+                screen.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
             }
-            System.out.print(ANSIConstants.TEXT_RESET);
-            System.out.flush();
+            screen.print(ANSIConstants.TEXT_RESET);
             if(board.getEntranceStudent().get(color) > 0)
-                System.out.println();
+                screen.println();
 
         }
         
-        System.out.println(ANSIConstants.UNDERLINE + "HALL");
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.println(ANSIConstants.UNDERLINE + "HALL");
+        screen.print(ANSIConstants.TEXT_RESET);
         for (Color color: Color.values()){
             int num = board.getHallStudent().get(color);
             for (int j = 0; j < num; j++){
-                System.out.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
+                screen.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
             }
             for (int j = 0; j < 10 - num; j++){
-                System.out.print(getAnsi(color) + ANSIConstants.LIGHT_FILLED_RECTANGLE + " ");
+                screen.print(getAnsi(color) + ANSIConstants.LIGHT_FILLED_RECTANGLE + " ");
             }
-            System.out.print(ANSIConstants.TEXT_RESET);
-            System.out.flush();
-            System.out.println();
+            screen.print(ANSIConstants.TEXT_RESET);
+            screen.println();
         }
         
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
-        System.out.println();
+        screen.print(ANSIConstants.TEXT_RESET);
+        screen.println();
     }
 
     /**
@@ -490,31 +698,30 @@ public class CLI  implements PropertyChangeListener, UI {
      */
     @Override
     public void displayCard(PlayerBean playerBean) {
-        System.out.println(ANSIConstants.UNDERLINE + "ASSISTANT CARDS");
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
-        System.out.println("Card back: " + playerBean.getHand().get(0).getCardBack());
+        screen.println(ANSIConstants.UNDERLINE + "ASSISTANT CARDS");
+        screen.print(ANSIConstants.TEXT_RESET);
+        screen.println("Card back: " + playerBean.getHand().get(0).getCardBack());
 
 
         if(playerBean.getNickname().equals(nickname)){
-            System.out.print("PRIORITY: ");
+            screen.print("PRIORITY: ");
             for(AssistantCard assistantCard: playerBean.getHand()){
-                System.out.print(assistantCard.getPriority() + "\t");
+                screen.print(assistantCard.getPriority() + "\t");
             }
-            System.out.println();
-            System.out.print("MOVEMENT: ");
+            screen.println();
+            screen.print("MOVEMENT: ");
             for(AssistantCard assistantCard: playerBean.getHand()){
-                System.out.print(assistantCard.getMovement() + "\t");
+                screen.print(assistantCard.getMovement() + "\t");
             }
-            System.out.println();
-            System.out.println();
+            screen.println();
+            screen.println();
         }
-            System.out.println("LAST PLAYED CARD");
+            screen.println("LAST PLAYED CARD");
             if( playerBean.getPlayedCard() != null) {
-                System.out.println("PRIORITY: " + playerBean.getPlayedCard().getPriority() + "\t");
-                System.out.println("MOVEMENT: " + playerBean.getPlayedCard().getMovement() + "\t");
+                screen.println("PRIORITY: " + playerBean.getPlayedCard().getPriority() + "\t");
+                screen.println("MOVEMENT: " + playerBean.getPlayedCard().getMovement() + "\t");
             }else
-                System.out.println("A card has not yet been played");
+                screen.println("A card has not yet been played");
     }
 
     /**
@@ -523,14 +730,13 @@ public class CLI  implements PropertyChangeListener, UI {
     @Override
     public void displayClouds() {
         for(CloudBean cloudBean: gameBean.getCloudTiles()){
-            System.out.println("CLOUD " + (gameBean.getCloudTiles().indexOf(cloudBean) + 1));
+            screen.println("CLOUD " + (gameBean.getCloudTiles().indexOf(cloudBean) + 1));
             for (Color color: Color.values()){
                 for (int j = 0; j < cloudBean.getStudents().get(color); j++)
-                    System.out.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
-                System.out.print(ANSIConstants.TEXT_RESET);
-                System.out.flush();
+                    screen.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
+                screen.print(ANSIConstants.TEXT_RESET);
                 if(cloudBean.getStudents().get(color) > 0)
-                    System.out.println();
+                    screen.println();
             }
         }
     }
@@ -541,25 +747,23 @@ public class CLI  implements PropertyChangeListener, UI {
     @Override
     public void displayExpertCard() {
         for(ExpertCardBean expertCardBean : gameBean.getExpertCards()){
-            System.out.println(expertCardBean.getName() + "     Activation cost: " + expertCardBean.getActivationCost());
+            screen.println(expertCardBean.getName() + "     Activation cost: " + expertCardBean.getActivationCost());
             if(expertCardBean instanceof StudBufferExpertCardBean){
                 for (Color color: Color.values()){
                     for (int j = 0; j < ((StudBufferExpertCardBean) expertCardBean).getStudentBuffer().get(color); j++)
-                        System.out.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
-                    System.out.print(ANSIConstants.TEXT_RESET);
-                    System.out.flush();
+                        screen.print(getAnsi(color) + ANSIConstants.FILLED_RECTANGLE + " ");
+                    screen.print(ANSIConstants.TEXT_RESET);
                     if(((StudBufferExpertCardBean) expertCardBean).getStudentBuffer().get(color) > 0)
-                        System.out.println();
+                        screen.println();
                 }
             }
             if(expertCardBean instanceof BanExpertCardBean){
                 for(int j = 0; j < ((BanExpertCardBean) expertCardBean).getNumBanToken(); j++)
-                    System.out.print(ANSIConstants.FILLED_RECTANGLE + " ");
-                System.out.print(ANSIConstants.TEXT_RESET);
-                System.out.flush();
-                System.out.println();
+                    screen.print(ANSIConstants.FILLED_RECTANGLE + " ");
+                screen.print(ANSIConstants.TEXT_RESET);
+                screen.println();
             }
-            System.out.println();
+            screen.println();
         }
     }
 
@@ -653,25 +857,20 @@ public class CLI  implements PropertyChangeListener, UI {
             motherCounter++;
 
         }
-        System.out.println(string);
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.println(string);
+        screen.print(ANSIConstants.TEXT_RESET);
 
-        System.out.println(stringStudents);
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.println(stringStudents);
+        screen.print(ANSIConstants.TEXT_RESET);
 
-        System.out.println(towerColor);
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.println(towerColor);
+        screen.print(ANSIConstants.TEXT_RESET);
 
-        System.out.println(mother);
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.println(mother);
+        screen.print(ANSIConstants.TEXT_RESET);
 
-        System.out.println(string);
-        System.out.print(ANSIConstants.TEXT_RESET);
-        System.out.flush();
+        screen.println(string);
+        screen.print(ANSIConstants.TEXT_RESET);
     }
 
     @Override
@@ -681,6 +880,7 @@ public class CLI  implements PropertyChangeListener, UI {
         }else{
             System.out.println(winner + " has won!");
         }
+        screen.linesPrinted(1);
 
     }
 
@@ -0,0 +1,76 @@
+package it.polimi.ingsw.network.client.view.Controllers;
+
+import it.polimi.ingsw.model.Color;
+import javafx.scene.Cursor;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.Pane;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * This class contains the nodes of a single cloud. They are created once, then only the students are updated
+ *
+ * @author Luca Bresciani
+ */
+class CloudView {
+    private final NodePool<ImageView> students;
+    private final double firstStudentX;
+    private final double studentStep;
+
+    /**
+     * Constructor of the class, it adds the cloud to the parent pane
+     * @param parent pane that contains the clouds
+     * @param cloud image of the cloud
+     * @param layoutX horizontal position of the cloud
+     * @param layoutY vertical position of the cloud
+     * @param size size of the cloud
+     * @param studentSize size of a student
+     * @param firstStudentX horizontal position of the first student
+     * @param studentStep distance between two students
+     * @param onClick action performed when the cloud is clicked
+     */
+    CloudView(Pane parent, Image cloud, double layoutX, double layoutY, double size, double studentSize,
+              double firstStudentX, double studentStep, Runnable onClick) {
+        this.firstStudentX = firstStudentX;
+        this.studentStep = studentStep;
+        AnchorPane cloudPane = new AnchorPane();
+        parent.getChildren().add(cloudPane);
+        cloudPane.setPrefHeight(size);
+        cloudPane.setPrefWidth(size);
+        cloudPane.setLayoutX(layoutX);
+        cloudPane.setLayoutY(layoutY);
+
+        ImageView cloudImage = new ImageView(cloud);
+        cloudPane.getChildren().add(cloudImage);
+        cloudImage.setFitWidth(size);
+        cloudImage.setFitHeight(size);
+        cloudImage.setCursor(Cursor.HAND);
+        cloudImage.setOnMouseClicked(event -> onClick.run());
+
+        students = new NodePool<>(cloudPane, () -> {
+            ImageView student = new ImageView();
+            student.setFitWidth(studentSize);
+            student.setFitHeight(studentSize);
+            student.setLayoutY(40);
+            return student;
+        });
+    }
+
+    /**
+     * This method updates the students on the cloud
+     * @param colors students on the cloud
+     * @param studentsColor map that associates each color to the image of the student
+     */
+    void update(ArrayList<Color> colors, Map<Color, Image> studentsColor) {
+        students.begin();
+        for (int j = 0; j < colors.size(); j++) {
+            ImageView student = students.next();
+            student.setImage(studentsColor.get(colors.get(j)));
+            student.setLayoutX(firstStudentX + studentStep * j);
+        }
+        students.end();
+    }
+}
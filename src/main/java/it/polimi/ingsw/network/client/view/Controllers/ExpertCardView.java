@@ -0,0 +1,105 @@
+package it.polimi.ingsw.network.client.view.Controllers;
+
+import it.polimi.ingsw.model.Color;
+import it.polimi.ingsw.network.client.view.ExpertCard_ID;
+import javafx.scene.Cursor;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.Pane;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * This class contains the nodes of a single expert card. They are created once, then only updated
+ *
+ * @author Luca Bresciani
+ */
+class ExpertCardView {
+    private final ImageView cardImage = new ImageView();
+    private final ImageView coin;
+    private final NodePool<ImageView> students;
+    private ExpertCard_ID expertCard;
+
+    /**
+     * Constructor of the class, it adds the card to the parent pane
+     * @param parent pane that contains the expert cards
+     * @param index index of the card
+     * @param layoutX horizontal position of the card
+     * @param layoutY vertical position of the card
+     * @param coinImage image of the coin put on a card that has been used
+     * @param onCardClick action performed when the card is clicked
+     * @param onStudentClick action performed when a student on the card is clicked
+     */
+    ExpertCardView(Pane parent, int index, double layoutX, double layoutY, Image coinImage,
+                   BiConsumer<Integer, ExpertCard_ID> onCardClick, Consumer<Color> onStudentClick) {
+        AnchorPane expertCardPane = new AnchorPane();
+        parent.getChildren().add(expertCardPane);
+        expertCardPane.setPrefHeight(88);
+        expertCardPane.setPrefWidth(59);
+        expertCardPane.setLayoutX(layoutX);
+        expertCardPane.setLayoutY(layoutY);
+
+        expertCardPane.getChildren().add(cardImage);
+        cardImage.setFitHeight(88);
+        cardImage.setFitWidth(59);
+        cardImage.setCursor(Cursor.HAND);
+        cardImage.setOnMouseClicked(event -> onCardClick.accept(index, expertCard));
+
+        coin = new ImageView(coinImage);
+        expertCardPane.getChildren().add(coin);
+        coin.setFitHeight(40);
+        coin.setFitWidth(40);
+        coin.setLayoutX(25);
+        coin.setLayoutY(60);
+
+        students = new NodePool<>(expertCardPane, () -> {
+            ImageView student = new ImageView();
+            student.setFitWidth(16);
+            student.setFitHeight(16);
+            student.setCursor(Cursor.HAND);
+            student.setOnMouseClicked(event -> onStudentClick.accept((Color) student.getUserData()));
+            return student;
+        });
+    }
+
+    /**
+     * This method updates the card
+     * @param expertCard card shown
+     * @param characterImage image of the card
+     * @param used true if the card has been used
+     * @param colors students on the card, null if the card has no students
+     * @param studentsColor map that associates each color to the image of the student
+     */
+    void update(ExpertCard_ID expertCard, Image characterImage, boolean used, ArrayList<Color> colors, Map<Color, Image> studentsColor) {
+        this.expertCard = expertCard;
+        cardImage.setImage(characterImage);
+        coin.setVisible(used);
+
+        students.begin();
+        if (colors != null) {
+            double lastCardStudent = -10;
+            for (int j = 0; j < colors.size(); j++) {
+                ImageView student = students.next();
+                student.setImage(studentsColor.get(colors.get(j)));
+                student.setUserData(colors.get(j));
+                if (j == 2 || j == 4) {
+                    lastCardStudent = -10;
+                }
+                if (j > 1 && j < 4) {
+                    student.setLayoutY(48);
+                } else if (j > 3) {
+                    student.setLayoutY(66);
+                } else {
+                    student.setLayoutY(30);
+                }
+                student.setLayoutX(lastCardStudent + 20);
+                lastCardStudent += 20;
+            }
+        }
+        students.end();
+    }
+}
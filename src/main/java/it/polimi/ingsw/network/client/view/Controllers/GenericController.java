@@ -74,7 +74,7 @@ public class GenericController implements GUIController{
             }
             if (choice != null) {
                 try {
-                    gui.getSocketClient().send(new MoveStudentMessage(choice));
+                    gui.sendMovement(choice);
                 } catch (SocketException e) {
                     e.printStackTrace();
                 }
@@ -89,7 +89,7 @@ public class GenericController implements GUIController{
                 choice = "island";
             }
             try {
-                gui.getSocketClient().send(new MoveStudentMessage(choice));
+                gui.sendMovement(choice);
             } catch (SocketException e) {
                 e.printStackTrace();
             }
@@ -133,7 +133,7 @@ public class GenericController implements GUIController{
         Optional<String> result = numOfIsland.showAndWait();
         result.ifPresent(num -> {
             try {
-                gui.getSocketClient().send(new IntegerMessage(Integer.parseInt(num)));
+                gui.sendInteger(Integer.parseInt(num));
             } catch (SocketException e) {
                 e.printStackTrace();
             } catch (NumberFormatException e) {
@@ -308,7 +308,7 @@ public class GenericController implements GUIController{
             choice = Color.PINK;
         }
         try {
-            gui.getSocketClient().send(new ColorChosen(choice));
+            gui.sendColor(choice);
         } catch (SocketException e) {
             e.printStackTrace();
         }
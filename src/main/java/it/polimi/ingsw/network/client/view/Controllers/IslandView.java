@@ -0,0 +1,131 @@
+package it.polimi.ingsw.network.client.view.Controllers;
+
+import it.polimi.ingsw.model.Color;
+import javafx.scene.Cursor;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Circle;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * This class contains the nodes of a single island. They are created once, then only their properties are updated
+ *
+ * @author Luca Bresciani
+ */
+class IslandView {
+    private final AnchorPane islandPane = new AnchorPane();
+    private final Circle mother = new Circle();
+    private final ImageView banTile;
+    private final NodePool<ImageView> students;
+    private final NodePool<Circle> towers;
+    private int index;
+
+    /**
+     * Constructor of the class, it adds the island to the parent pane
+     * @param parent pane that contains the archipelago
+     * @param island image of the island
+     * @param ban image of the ban tile
+     * @param onClick action performed with the index of the island when it is clicked
+     */
+    IslandView(Pane parent, Image island, Image ban, IntConsumer onClick) {
+        parent.getChildren().add(islandPane);
+        islandPane.setPrefHeight(128);
+        islandPane.setPrefWidth(128);
+
+        ImageView islandImage = new ImageView(island);
+        islandImage.setFitHeight(128);
+        islandImage.setFitWidth(128);
+        islandImage.setCursor(Cursor.HAND);
+        islandImage.setOnMouseClicked(event -> onClick.accept(index));
+        islandPane.getChildren().add(islandImage);
+
+        islandPane.getChildren().add(mother);
+        mother.setFill(javafx.scene.paint.Color.ORANGE);
+        mother.setRadius(10);
+        mother.setLayoutX(25);
+        mother.setLayoutY(100);
+
+        students = new NodePool<>(islandPane, () -> {
+            ImageView student = new ImageView();
+            student.setFitWidth(15);
+            student.setFitHeight(15);
+            return student;
+        });
+        towers = new NodePool<>(islandPane, () -> {
+            Circle tower = new Circle();
+            tower.setRadius(10);
+            tower.setLayoutY(75);
+            return tower;
+        });
+
+        banTile = new ImageView(ban);
+        islandPane.getChildren().add(banTile);
+        banTile.setFitWidth(20);
+        banTile.setFitHeight(20);
+        banTile.setLayoutX(85);
+        banTile.setLayoutY(85);
+    }
+
+    /**
+     * This method updates the island
+     * @param index index of the island in the archipelago
+     * @param layoutX horizontal position of the island
+     * @param layoutY vertical position of the island
+     * @param hasMotherNature true if mother nature is on this island
+     * @param colors students on the island
+     * @param studentsColor map that associates each color to the image of the student
+     * @param towerPaint color of the towers, null if there are no towers
+     * @param numTowers number of towers
+     * @param banned true if the island is banned
+     */
+    void update(int index, double layoutX, double layoutY, boolean hasMotherNature, ArrayList<Color> colors,
+                Map<Color, Image> studentsColor, Paint towerPaint, int numTowers, boolean banned) {
+        this.index = index;
+        islandPane.setVisible(true);
+        islandPane.setLayoutX(layoutX);
+        islandPane.setLayoutY(layoutY);
+        mother.setVisible(hasMotherNature);
+        banTile.setVisible(banned);
+
+        double lastIslandStudent = 3;
+        students.begin();
+        for (int j = 0; j < colors.size(); j++) {
+            ImageView student = students.next();
+            student.setImage(studentsColor.get(colors.get(j)));
+            if (j == 5 || j == 10) {
+                lastIslandStudent = 3;
+            }
+            if (j > 4 && j < 10) {
+                student.setLayoutY(35);
+            } else if (j > 9) {
+                student.setLayoutY(50);
+            } else {
+                student.setLayoutY(20);
+            }
+            student.setLayoutX(lastIslandStudent + 17);
+            lastIslandStudent += 17;
+        }
+        students.end();
+
+        towers.begin();
+        for (int k = 0; k < numTowers && towerPaint != null; k++) {
+            Circle tower = towers.next();
+            tower.setLayoutX(25 + 20 * k);
+            tower.setFill(towerPaint);
+        }
+        towers.end();
+    }
+
+    /**
+     * This method hides the island, because it has been merged with another one
+     */
+    void hide() {
+        islandPane.setVisible(false);
+    }
+}
@@ -2,9 +2,8 @@ package it.polimi.ingsw.network.client.view.Controllers;
 
 import it.polimi.ingsw.model.Color;
 import it.polimi.ingsw.model.Tower;
-import it.polimi.ingsw.network.client.messages.ColorChosen;
-import it.polimi.ingsw.network.client.messages.IntegerMessage;
 import it.polimi.ingsw.network.client.messages.StopMessage;
+import it.polimi.ingsw.network.client.view.AssetCache;
 import it.polimi.ingsw.network.client.view.ExpertCard_ID;
 import it.polimi.ingsw.network.client.view.GUI;
 import javafx.fxml.FXML;
@@ -20,7 +19,10 @@ import javafx.scene.shape.Circle;
 
 import java.net.SocketException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * This is the main controller for the 3 player scene
@@ -45,69 +47,81 @@ public class MainController3 implements GUIController{
     private final HashMap<Color, Image> professorsColor = new HashMap<>();
     private final HashMap<ExpertCard_ID, Image> characters = new HashMap<>();
 
-    private ArrayList<AnchorPane> archipelago = new ArrayList<>();
-    private ArrayList<ImageView> myEntranceStudents = new ArrayList<>();
-    private ArrayList<ImageView> myHallStudents = new ArrayList<>();
-    private ArrayList<Circle> towers = new ArrayList<>();
-    private ArrayList<ImageView> myProfessors = new ArrayList<>();
-    private ArrayList<ImageView>  cards = new ArrayList<>();
-    private ArrayList<AnchorPane> clouds = new ArrayList<>();
-    private ArrayList<ImageView> otherFirstEntrance = new ArrayList<>();
-    private ArrayList<ImageView> otherSecondEntrance = new ArrayList<>();
-    private ArrayList<ImageView> otherFirstHall = new ArrayList<>();
-    private ArrayList<ImageView> otherSecondHall = new ArrayList<>();
-    private ArrayList<ImageView> otherFirstProfessors = new ArrayList<>();
-    private ArrayList<ImageView> otherSecondProfessors = new ArrayList<>();
-    private ArrayList<ImageView> coins = new ArrayList<>();
+    // Nodes of the scene: they are created once and then only updated
+    private NodePool<ImageView> myEntranceStudents;
+    private NodePool<ImageView> myHallStudents;
+    private NodePool<ImageView> myProfessors;
+    private NodePool<Circle> myTowers;
+    private NodePool<ImageView> myCoins;
+    private NodePool<ImageView> cards;
+    private NodePool<ImageView> otherFirstEntrance;
+    private NodePool<ImageView> otherSecondEntrance;
+    private NodePool<ImageView> otherFirstHall;
+    private NodePool<ImageView> otherSecondHall;
+    private NodePool<ImageView> otherFirstProfessors;
+    private NodePool<ImageView> otherSecondProfessors;
+    private NodePool<Circle> otherFirstTowers;
+    private NodePool<Circle> otherSecondTowers;
+    private NodePool<ImageView> otherFirstCoins;
+    private NodePool<ImageView> otherSecondCoins;
+    private ImageView myLastPlayedCard;
+    private ImageView otherFirstLastPlayedCard;
+    private ImageView otherSecondLastPlayedCard;
+    private final ArrayList<IslandView> archipelago = new ArrayList<>();
+    private final ArrayList<CloudView> clouds = new ArrayList<>();
+    private final ArrayList<ExpertCardView> expertCardViews = new ArrayList<>();
+
+    // Data currently shown by each region of the scene
+    private final HashMap<String, Object> shownState = new HashMap<>();
 
 
     private final static Paint BLACK = javafx.scene.paint.Color.BLACK;
     private final static Paint WHITE = javafx.scene.paint.Color.WHITE;
     private final static Paint GRAY = javafx.scene.paint.Color.GRAY;
 
-    private final Image GREEN_STUDENT = new Image(String.valueOf(getClass().getResource("/Students/student_green.png")));
-    private final  Image RED_STUDENT = new Image(String.valueOf(getClass().getResource("/Students/student_red.png")));
-    private final  Image YELLOW_STUDENT = new Image(String.valueOf(getClass().getResource("/Students/student_yellow.png")));
-    private final  Image PINK_STUDENT = new Image(String.valueOf(getClass().getResource("/Students/student_pink.png")));
-    private final  Image BLUE_STUDENT = new Image(String.valueOf(getClass().getResource("/Students/student_blue.png")));
-
-    private final  Image GREEN_PROF = new Image(String.valueOf(getClass().getResource("/Professors/teacher_green.png")));
-    private final  Image RED_PROF = new Image(String.valueOf(getClass().getResource("/Professors/teacher_red.png")));
-    private final  Image YELLOW_PROF = new Image(String.valueOf(getClass().getResource("/Professors/teacher_yellow.png")));
-    private final  Image PINK_PROF = new Image(String.valueOf(getClass().getResource("/Professors/teacher_pink.png")));
-    private final  Image BLUE_PROF = new Image(String.valueOf(getClass().getResource("/Professors/teacher_blue.png")));
-
-    private final  Image ISLAND = new Image(String.valueOf(getClass().getResource("/island2.png")));
-
-    private final  Image  PRIO1 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (1).png")));
-    private final  Image  PRIO2 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (2).png")));
-    private final  Image  PRIO3 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (3).png")));
-    private final  Image  PRIO4 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (4).png")));
-    private final  Image  PRIO5 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (5).png")));
-    private final  Image  PRIO6 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (6).png")));
-    private final  Image  PRIO7 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (7).png")));
-    private final  Image  PRIO8 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (8).png")));
-    private final  Image  PRIO9 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (9).png")));
-    private final  Image  PRIO10 = new Image(String.valueOf(getClass().getResource("/Card/Assistente (10).png")));
-
-    private final  Image COIN = new Image(String.valueOf(getClass().getResource("/Monetabase.png")));
-
-    private final  Image CLOUD = new Image(String.valueOf(getClass().getResource("/cloud_card.png")));
-
-    private final Image MONK = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front.jpg")));
-    private final Image HERALD = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front2.jpg")));
-    private  final Image DELIVERYMAN = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front3.jpg")));
-    private final Image HEALER = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front4.jpg")));
-    private final Image CENTAUR = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front5.jpg")));
-    private final Image JOKER = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front6.jpg")));
-    private final Image KNIGHT = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front7.jpg")));
-    private final Image POISONER = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front8.jpg")));
-    private final Image BARD = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front9.jpg")));
-    private  final Image PRINCESS = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front10.jpg")));
-    private final Image MONEYLENDER = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front11.jpg")));
-    private final Image HOST = new Image(String.valueOf(getClass().getResource("/Expert_card/CarteTOT_front12.jpg")));
-
-    private final Image BAN = new Image((String.valueOf(getClass().getResource("/deny_island_icon.png"))));
+    private final Image GREEN_STUDENT = AssetCache.getImage("/Students/student_green.png");
+    private final  Image RED_STUDENT = AssetCache.getImage("/Students/student_red.png");
+    private final  Image YELLOW_STUDENT = AssetCache.getImage("/Students/student_yellow.png");
+    private final  Image PINK_STUDENT = AssetCache.getImage("/Students/student_pink.png");
+    private final  Image BLUE_STUDENT = AssetCache.getImage("/Students/student_blue.png");
+
+    private final  Image GREEN_PROF = AssetCache.getImage("/Professors/teacher_green.png");
+    private final  Image RED_PROF = AssetCache.getImage("/Professors/teacher_red.png");
+    private final  Image YELLOW_PROF = AssetCache.getImage("/Professors/teacher_yellow.png");
+    private final  Image PINK_PROF = AssetCache.getImage("/Professors/teacher_pink.png");
+    private final  Image BLUE_PROF = AssetCache.getImage("/Professors/teacher_blue.png");
+
+    private final  Image ISLAND = AssetCache.getImage("/island2.png");
+
+    private final  Image  PRIO1 = AssetCache.getImage("/Card/Assistente (1).png");
+    private final  Image  PRIO2 = AssetCache.getImage("/Card/Assistente (2).png");
+    private final  Image  PRIO3 = AssetCache.getImage("/Card/Assistente (3).png");
+    private final  Image  PRIO4 = AssetCache.getImage("/Card/Assistente (4).png");
+    private final  Image  PRIO5 = AssetCache.getImage("/Card/Assistente (5).png");
+    private final  Image  PRIO6 = AssetCache.getImage("/Card/Assistente (6).png");
+    private final  Image  PRIO7 = AssetCache.getImage("/Card/Assistente (7).png");
+    private final  Image  PRIO8 = AssetCache.getImage("/Card/Assistente (8).png");
+    private final  Image  PRIO9 = AssetCache.getImage("/Card/Assistente (9).png");
+    private final  Image  PRIO10 = AssetCache.getImage("/Card/Assistente (10).png");
+
+    private final  Image COIN = AssetCache.getImage("/Monetabase.png");
+
+    private final  Image CLOUD = AssetCache.getImage("/cloud_card.png");
+
+    private final Image MONK = AssetCache.getImage("/Expert_card/CarteTOT_front.jpg");
+    private final Image HERALD = AssetCache.getImage("/Expert_card/CarteTOT_front2.jpg");
+    private  final Image DELIVERYMAN = AssetCache.getImage("/Expert_card/CarteTOT_front3.jpg");
+    private final Image HEALER = AssetCache.getImage("/Expert_card/CarteTOT_front4.jpg");
+    private final Image CENTAUR = AssetCache.getImage("/Expert_card/CarteTOT_front5.jpg");
+    private final Image JOKER = AssetCache.getImage("/Expert_card/CarteTOT_front6.jpg");
+    private final Image KNIGHT = AssetCache.getImage("/Expert_card/CarteTOT_front7.jpg");
+    private final Image POISONER = AssetCache.getImage("/Expert_card/CarteTOT_front8.jpg");
+    private final Image BARD = AssetCache.getImage("/Expert_card/CarteTOT_front9.jpg");
+    private  final Image PRINCESS = AssetCache.getImage("/Expert_card/CarteTOT_front10.jpg");
+    private final Image MONEYLENDER = AssetCache.getImage("/Expert_card/CarteTOT_front11.jpg");
+    private final Image HOST = AssetCache.getImage("/Expert_card/CarteTOT_front12.jpg");
+
+    private final Image BAN = AssetCache.getImage("/deny_island_icon.png");
 
     /**
      * This method set the gui objet in the controller
@@ -156,29 +170,152 @@ public class MainController3 implements GUIController{
         characters.put(ExpertCard_ID.HOST, HOST);
     }
 
+    /**
+     * This method is called after the FXML fields are injected: it creates the pools of nodes of the scene
+     */
+    @FXML
+    private void initialize() {
+        myEntranceStudents = new NodePool<>(myBoard, () -> studentSprite(17, true));
+        otherFirstEntrance = new NodePool<>(otherFirstBoard, () -> studentSprite(17, false));
+        otherSecondEntrance = new NodePool<>(otherSecondBoard, () -> studentSprite(17, false));
+        myHallStudents = new NodePool<>(myBoard, () -> studentSprite(18, true));
+        otherFirstHall = new NodePool<>(otherFirstBoard, () -> studentSprite(18, false));
+        otherSecondHall = new NodePool<>(otherSecondBoard, () -> studentSprite(18, false));
+        myProfessors = new NodePool<>(myBoard, this::professorSprite);
+        otherFirstProfessors = new NodePool<>(otherFirstBoard, this::professorSprite);
+        otherSecondProfessors = new NodePool<>(otherSecondBoard, this::professorSprite);
+        myTowers = new NodePool<>(myBoard, this::towerSprite);
+        otherFirstTowers = new NodePool<>(otherFirstBoard, this::towerSprite);
+        otherSecondTowers = new NodePool<>(otherSecondBoard, this::towerSprite);
+        myCoins = new NodePool<>(myCoin, this::coinSprite);
+        otherFirstCoins = new NodePool<>(otherFirstCoin, this::coinSprite);
+        otherSecondCoins = new NodePool<>(otherSecondCoin, this::coinSprite);
+        cards = new NodePool<>(mainPane, () -> {
+            ImageView card = new ImageView();
+            card.setFitHeight(132);
+            card.setFitWidth(88);
+            card.setLayoutY(675);
+            card.setCursor(Cursor.HAND);
+            card.setOnMouseClicked(event -> sendChosenCard((Integer) card.getUserData()));
+            return card;
+        });
+        myLastPlayedCard = lastPlayedCardSprite(274, 529, 0);
+        otherFirstLastPlayedCard = lastPlayedCardSprite(57, 488, 90);
+        otherSecondLastPlayedCard = lastPlayedCardSprite(1056, 488, 270);
+        double lastCloudY = -85;
+        for (int i = 0; i < 3; i ++) {
+            int finalI = i;
+            clouds.add(new CloudView(mainPane, CLOUD, 270, lastCloudY + 154, 120, 17, 25, 15, () -> sendCloudIndex(finalI)));
+            lastCloudY += 154;
+        }
+    }
+
+    /**
+     * Helper method used to create a student's sprite
+     * @param size size of the student
+     * @param clickable true if a click on the student sends its color to the server
+     * @return student's sprite
+     */
+    private ImageView studentSprite(double size, boolean clickable) {
+        ImageView student = new ImageView();
+        student.setFitHeight(size);
+        student.setFitWidth(size);
+        if (clickable) {
+            student.setCursor(Cursor.HAND);
+            student.setOnMouseClicked(event -> sendStudentToMove((Color) student.getUserData()));
+        }
+        return student;
+    }
+
+    /**
+     * Helper method used to create a professor's sprite
+     * @return professor's sprite
+     */
+    private ImageView professorSprite() {
+        ImageView professor = new ImageView();
+        professor.setFitHeight(20);
+        professor.setFitWidth(20);
+        professor.setLayoutX(292);
+        return professor;
+    }
+
+    /**
+     * Helper method used to create a tower's sprite
+     * @return tower's sprite
+     */
+    private Circle towerSprite() {
+        Circle tower = new Circle();
+        tower.setRadius(9);
+        tower.setLayoutX(357);
+        return tower;
+    }
+
+    /**
+     * Helper method used to create a coin's sprite
+     * @return coin's sprite
+     */
+    private ImageView coinSprite() {
+        ImageView coin = new ImageView(COIN);
+        coin.setFitWidth(50);
+        coin.setFitHeight(50);
+        coin.setLayoutX(10);
+        return coin;
+    }
+
+    /**
+     * Helper method used to create the sprite of a last played card
+     * @param layoutX horizontal position of the card
+     * @param layoutY vertical position of the card
+     * @param rotation rotation of the card
+     * @return card's sprite
+     */
+    private ImageView lastPlayedCardSprite(double layoutX, double layoutY, double rotation) {
+        ImageView lastPlayedCard = new ImageView();
+        mainPane.getChildren().add(lastPlayedCard);
+        lastPlayedCard.setFitWidth(88);
+        lastPlayedCard.setFitHeight(132);
+        lastPlayedCard.setLayoutX(layoutX);
+        lastPlayedCard.setLayoutY(layoutY);
+        lastPlayedCard.setRotate(rotation);
+        return lastPlayedCard;
+    }
+
+    /**
+     * Helper method used to skip the update of a region of the scene that has not changed
+     * @param region name of the region
+     * @param state data shown in the region
+     * @return true if the region already shows that data, false otherwise
+     */
+    private boolean unchanged(String region, Object state) {
+        return Objects.equals(shownState.put(region, state), state);
+    }
+
     /**
      * This method is used to show the students in the entrance of the current player's board (my board)
      * @param colors is the array of student to be shown
      */
     public void showEntranceStudents(ArrayList<Color> colors) {
-        for(ImageView entranceStudent : myEntranceStudents) {
-            myBoard.getChildren().remove(entranceStudent);
+        if (unchanged("myEntrance", colors)) {
+            return;
         }
-        myEntranceStudents.removeAll(myEntranceStudents);
+        showEntrance(colors, myEntranceStudents);
+    }
+
+    /**
+     * Helper method used to show the students in an entrance
+     * @param colors is the array of student to be shown
+     * @param entranceStudents pool of the students of that entrance
+     */
+    private void showEntrance(ArrayList<Color> colors, NodePool<ImageView> entranceStudents) {
+        entranceStudents.begin();
         for (int i = 0; i < colors.size(); i ++) {
-            int finalI = i;
-            ImageView entranceStudent = new ImageView(studentsColor.get(colors.get(i)));
-            myBoard.getChildren().add(entranceStudent);
-            entranceStudent.setFitHeight(17);
-            entranceStudent.setFitWidth(17);
+            ImageView entranceStudent = entranceStudents.next();
+            entranceStudent.setImage(studentsColor.get(colors.get(i)));
+            entranceStudent.setUserData(colors.get(i));
             entranceStudent.setLayoutX(25);
             entranceStudent.setLayoutY(10 + 18 * i);
-            entranceStudent.setCursor(Cursor.HAND);
-            myEntranceStudents.add(entranceStudent);
-            entranceStudent.setOnMouseClicked( event -> {
-                sendStudentToMove(colors.get(finalI));
-            });
         }
+        entranceStudents.end();
     }
 
     /**
@@ -187,7 +324,7 @@ public class MainController3 implements GUIController{
      */
     public void sendStudentToMove(Color studentColor) {
         try {
-            gui.getSocketClient().send(new ColorChosen(studentColor));
+            gui.sendColor(studentColor);
         } catch (SocketException e) {
             e.printStackTrace();
         }
@@ -198,27 +335,29 @@ public class MainController3 implements GUIController{
      * @param colors is the Array of students to be shown
      */
     public void showHallStudents(ArrayList<Color> colors) {
+        if (unchanged("myHall", colors)) {
+            return;
+        }
+        showHall(colors, myHallStudents);
+    }
+
+    /**
+     * Helper method used to show the students in a hall
+     * @param colors is the Array of students to be shown
+     * @param hallStudents pool of the students of that hall
+     */
+    private void showHall(ArrayList<Color> colors, NodePool<ImageView> hallStudents) {
         double lastGreenStudentX = 56.3;
         double lastRedStudentX = 56.3;
         double lastYellowStudentX = 56.3;
         double lastPinkStudentX = 56.3;
         double lastBlueStudentX = 56.3;
-        for(ImageView hallStudent : myHallStudents) {
-            myBoard.getChildren().remove(hallStudent);
-        }
-        myHallStudents.removeAll(myHallStudents);
-        for (int i = 0; i < colors.size(); i++) {
-            int finalI = i;
-            ImageView hallStudent = new ImageView(studentsColor.get(colors.get(i)));
-            myBoard.getChildren().add(hallStudent);
-            hallStudent.setFitHeight(18);
-            hallStudent.setFitWidth(18);
-            hallStudent.setCursor(Cursor.HAND);
-            myHallStudents.add(hallStudent);
-            hallStudent.setOnMouseClicked(event -> {
-                sendStudentToMove(colors.get(finalI));
-            });
-            switch (colors.get(i)) {
+        hallStudents.begin();
+        for (Color color : colors) {
+            ImageView hallStudent = hallStudents.next();
+            hallStudent.setImage(studentsColor.get(color));
+            hallStudent.setUserData(color);
+            switch (color) {
                 case GREEN -> {
                     hallStudent.setLayoutX(lastGreenStudentX + 19.7);
                     hallStudent.setLayoutY(22);
@@ -246,6 +385,7 @@ public class MainController3 implements GUIController{
                 }
             }
         }
+        hallStudents.end();
     }
 
     /**
@@ -254,32 +394,39 @@ public class MainController3 implements GUIController{
      * @param numTowers is the number of remaining towers
      */
     public void showMyTower(Tower towerColor, int numTowers) {
-        switch(towerColor) {
-            case WHITE -> setTowerColor(WHITE, numTowers, myBoard);
-            case BLACK -> setTowerColor(BLACK, numTowers, myBoard);
-            case GRAY -> setTowerColor(GRAY, numTowers, myBoard);
+        if (unchanged("myTowers", List.of(towerColor, numTowers))) {
+            return;
         }
+        setTowerColor(towerPaint(towerColor), numTowers, myTowers);
+    }
+
+    /**
+     * Helper method used to get the paint of a tower
+     * @param towerColor color of the tower
+     * @return paint used to draw the tower
+     */
+    private static Paint towerPaint(Tower towerColor) {
+        return switch (towerColor) {
+            case WHITE -> WHITE;
+            case BLACK -> BLACK;
+            case GRAY -> GRAY;
+        };
     }
 
     /**
      * Helper method used to set the towers' color
      * @param paint towers' color
      * @param numTowers number of towers remaining
-     * @param Board board reference
+     * @param towers pool of the towers of a board
      */
-    private void setTowerColor(Paint paint, int numTowers, AnchorPane Board) {
-        for (Circle tower : towers) {
-            Board.getChildren().remove(tower);
-        }
+    private void setTowerColor(Paint paint, int numTowers, NodePool<Circle> towers) {
+        towers.begin();
         for (int i = 0; i < numTowers; i ++) {
-            Circle tower = new Circle();
-            Board.getChildren().add(tower);
-            tower.setRadius(9);
+            Circle tower = towers.next();
             tower.setFill(paint);
-            tower.setLayoutX(357);
             tower.setLayoutY(14 + 22 * i);
-            towers.add(tower);
         }
+        towers.end();
     }
 
     /**
@@ -287,28 +434,23 @@ public class MainController3 implements GUIController{
      * @param professorsColors is the Array of professors to be shown
      */
     public void showMyProfessors(ArrayList<Color> professorsColors) {
-        showProfessors(professorsColors, myProfessors, myBoard);
+        if (unchanged("myProfessors", professorsColors)) {
+            return;
+        }
+        showProfessors(professorsColors, myProfessors);
     }
 
     /**
      * Helper method used to show professors
      * @param professorsColors is the Array of professors to be shown
-     * @param professorsList helper Array of imageview used to remove the previously displayed professors
-     * @param Board board reference
-     */
-    private void showProfessors(ArrayList<Color> professorsColors, ArrayList<ImageView> professorsList, AnchorPane Board) {
-        for (ImageView professor : professorsList) {
-            Board.getChildren().remove(professor);
-        }
-        professorsList.removeAll(professorsList);
-        for (int i = 0; i < professorsColors.size(); i ++) {
-            ImageView professor = new ImageView(professorsColor.get(professorsColors.get(i)));
-            Board.getChildren().add(professor);
-            professor.setFitHeight(20);
-            professor.setFitWidth(20);
-            professor.setLayoutX(292);
-            professorsList.add(professor);
-            switch (professorsColors.get(i)) {
+     * @param professorsList pool of the professors of a board
+     */
+    private void showProfessors(ArrayList<Color> professorsColors, NodePool<ImageView> professorsList) {
+        professorsList.begin();
+        for (Color color : professorsColors) {
+            ImageView professor = professorsList.next();
+            professor.setImage(professorsColor.get(color));
+            switch (color) {
                 case GREEN -> professor.setLayoutY(22);
                 case RED -> professor.setLayoutY(51);
                 case YELLOW -> professor.setLayoutY(81);
@@ -316,6 +458,7 @@ public class MainController3 implements GUIController{
                 case BLUE -> professor.setLayoutY(139);
             }
         }
+        professorsList.end();
     }
 
     /**
@@ -323,25 +466,19 @@ public class MainController3 implements GUIController{
      * @param priorities is the array of priorities of the remaining card to be shown
      */
     public void showAssistantCards(ArrayList<Integer> priorities) {
-        double lastCardX = 90;
-        for (ImageView card : cards) {
-            mainPane.getChildren().remove(card);
+        if (unchanged("cards", priorities)) {
+            return;
         }
-        cards.removeAll(cards);
+        double lastCardX = 90;
+        cards.begin();
         for (Integer priority : priorities) {
-            ImageView card = new ImageView(hand.get(priority));
-            mainPane.getChildren().add(card);
-            card.setFitHeight(132);
-            card.setFitWidth(88);
+            ImageView card = cards.next();
+            card.setImage(hand.get(priority));
+            card.setUserData(priority);
             card.setLayoutX(lastCardX + 90);
-            card.setLayoutY(675);
-            card.setCursor(Cursor.HAND);
             lastCardX += 90;
-            cards.add(card);
-            card.setOnMouseClicked(event -> {
-                sendChosenCard(priority);
-            });
         }
+        cards.end();
     }
 
     /**
@@ -349,12 +486,7 @@ public class MainController3 implements GUIController{
      * @param lastPriority priority of the card to be shown
      */
     public void showLastPlayedCard(int lastPriority) {
-        ImageView lastPlayedCard = new ImageView(hand.get(lastPriority));
-        mainPane.getChildren().add(lastPlayedCard);
-        lastPlayedCard.setFitWidth(88);
-        lastPlayedCard.setFitHeight(132);
-        lastPlayedCard.setLayoutX(274);
-        lastPlayedCard.setLayoutY(529);
+        myLastPlayedCard.setImage(hand.get(lastPriority));
     }
 
     /**
@@ -363,7 +495,7 @@ public class MainController3 implements GUIController{
      */
     public void sendChosenCard(Integer priority) {
         try {
-            gui.getSocketClient().send(new IntegerMessage(priority));
+            gui.sendInteger(priority);
         } catch (SocketException e) {
             e.printStackTrace();
         }
@@ -374,37 +506,11 @@ public class MainController3 implements GUIController{
      * @param cloudColorsMap is a map that associates the index of the cloud with th students on it
      */
     public void showClouds(HashMap<Integer, ArrayList<Color>> cloudColorsMap) {
-        double lastCloudY = -85;
-        for (AnchorPane cloud : clouds) {
-            mainPane.getChildren().remove(cloud);
+        if (unchanged("clouds", cloudColorsMap)) {
+            return;
         }
-        clouds.removeAll(clouds);
-        for (int i = 0; i < 3; i ++) {
-            AnchorPane cloudPane = new AnchorPane();
-            mainPane.getChildren().add(cloudPane);
-            cloudPane.setPrefHeight(120);
-            cloudPane.setPrefWidth(120);
-            cloudPane.setLayoutX(270);
-            cloudPane.setLayoutY(lastCloudY + 154);
-            lastCloudY += 154;
-            clouds.add(cloudPane);
-            ImageView cloud = new ImageView(CLOUD);
-            cloudPane.getChildren().add(cloud);
-            cloud.setFitWidth(120);
-            cloud.setFitHeight(120);
-            cloud.setCursor(Cursor.HAND);
-            int finalI = i;
-            cloud.setOnMouseClicked( event -> {
-                sendCloudIndex(finalI);
-            });
-            for (int j = 0; j < cloudColorsMap.get(i).size(); j ++) {
-                ImageView student = new ImageView(studentsColor.get(cloudColorsMap.get(i).get(j)));
-                cloudPane.getChildren().add(student);
-                student.setFitWidth(17);
-                student.setFitHeight(17);
-                student.setLayoutX(25 + 15 * j);
-                student.setLayoutY(40);
-            }
+        for (int i = 0; i < clouds.size(); i ++) {
+            clouds.get(i).update(cloudColorsMap.get(i), studentsColor);
         }
     }
 
@@ -414,7 +520,7 @@ public class MainController3 implements GUIController{
      */
     public void sendCloudIndex(int index) {
         try {
-            gui.getSocketClient().send(new IntegerMessage((index+1)));
+            gui.sendInteger((index+1));
         } catch (SocketException e) {
             e.printStackTrace();
         }
@@ -430,111 +536,40 @@ public class MainController3 implements GUIController{
      * @param bannedIslands is a map that associates the integer of each island to an array of boolean that indicates if the island is banned or not
      */
     public void showArchipelago(int archipelagoSize, int motherNature, HashMap<Integer, ArrayList<Color>> islandsStudents, HashMap<Integer, Tower> towerColorMap, HashMap<Integer, Integer> numTowersMap, HashMap<Integer, Boolean> bannedIslands) {
+        if (unchanged("archipelago", Arrays.asList(archipelagoSize, motherNature, islandsStudents, towerColorMap, numTowersMap, bannedIslands))) {
+            return;
+        }
         double lastCloudX = 380;
         double lastCloudY = 59;
-        int count = 0;
-        for (AnchorPane islandPane : archipelago) {
-            mainPane.getChildren().remove(islandPane);
-        }
         for (int i = 0; i < archipelagoSize; i ++) {
-            double lastIslandStudent = 3;
-            int finalI = i;
-            AnchorPane islandPane = new AnchorPane();
-            mainPane.getChildren().add(islandPane);
-            islandPane.setPrefHeight(128);
-            islandPane.setPrefWidth(128);
-            if (count < 4) {
-                islandPane.setLayoutX(lastCloudX + 100);
-                islandPane.setLayoutY(lastCloudY);
+            double layoutX = lastCloudX;
+            double layoutY = lastCloudY;
+            if (i < 4) {
+                layoutX = lastCloudX + 100;
                 lastCloudX += 100;
-                count += 1;
             }
-            else if (count >= 4 && count <= 6) {
-                islandPane.setLayoutX(lastCloudX);
-                islandPane.setLayoutY(lastCloudY + 100);
+            else if (i <= 6) {
+                layoutY = lastCloudY + 100;
                 lastCloudY += 100;
-                count += 1;
             }
-            else if (count >= 7 && count <= 9) {
-                islandPane.setLayoutX(lastCloudX - 100);
-                islandPane.setLayoutY(lastCloudY);
+            else if (i <= 9) {
+                layoutX = lastCloudX - 100;
                 lastCloudX -= 100;
-                count += 1;
             }
-            else if (count >= 10 && count <= 11) {
-                islandPane.setLayoutX(lastCloudX);
-                islandPane.setLayoutY(lastCloudY - 100);
+            else if (i <= 11) {
+                layoutY = lastCloudY - 100;
                 lastCloudY -= 100;
-                count += 1;
-            }
-
-            // Islands
-            ImageView island = new ImageView(ISLAND);
-            island.setFitHeight(128);
-            island.setFitWidth(128);
-            islandPane.getChildren().add(island);
-            island.setOnMouseClicked(event -> {
-                sendIslandIndex(finalI);
-            });
-            island.setCursor(Cursor.HAND);
-
-            //Mother Nature
-            if (i == motherNature) {
-                Circle mother = new Circle();
-                islandPane.getChildren().add(mother);
-                mother.setFill(javafx.scene.paint.Color.ORANGE);
-                mother.setRadius(10);
-                mother.setLayoutX(25);
-                mother.setLayoutY(100);
-            }
-
-            //Island students
-            for (int j = 0; j < islandsStudents.get(i).size(); j ++) {
-                ImageView student = new ImageView(studentsColor.get(islandsStudents.get(i).get(j)));
-                islandPane.getChildren().add(student);
-                student.setFitWidth(15);
-                student.setFitHeight(15);
-                if (j == 5 || j == 10) {
-                    lastIslandStudent = 3;
-                }
-                if (j > 4 &&  j < 10) {
-                    student.setLayoutY(35);
-                } else if (j > 9){
-                    student.setLayoutY(50);
-                } else {
-                    student.setLayoutY(20);
-                }
-                student.setLayoutX(lastIslandStudent + 17);
-                lastIslandStudent += 17;
-            }
-
-            //Tower
-            for (int k = 0; k < numTowersMap.get(i); k ++) {
-                Circle tower = new Circle();
-                islandPane.getChildren().add(tower);
-                tower.setRadius(10);
-                tower.setLayoutX(25 + 20 * k);
-                tower.setLayoutY(75);
-                switch (towerColorMap.get(i)) {
-                    case WHITE -> tower.setFill(WHITE);
-                    case BLACK -> tower.setFill(BLACK);
-                    case GRAY -> tower.setFill(GRAY);
-                }
             }
 
-            //Banned Islands
-            for (int h = 0; h < bannedIslands.size(); h ++) {
-                if (bannedIslands.get(i)) {
-                    ImageView banTile = new ImageView(BAN);
-                    islandPane.getChildren().add(banTile);
-                    banTile.setFitWidth(20);
-                    banTile.setFitHeight(20);
-                    banTile.setLayoutX(85);
-                    banTile.setLayoutY(85);
-                }
+            if (i == archipelago.size()) {
+                archipelago.add(new IslandView(mainPane, ISLAND, BAN, this::sendIslandIndex));
             }
-
-            archipelago.add(islandPane);
+            Tower towerColor = towerColorMap.get(i);
+            archipelago.get(i).update(i, layoutX, layoutY, i == motherNature, islandsStudents.get(i), studentsColor,
+                    towerColor == null ? null : towerPaint(towerColor), numTowersMap.get(i), Boolean.TRUE.equals(bannedIslands.get(i)));
+        }
+        for (int i = archipelagoSize; i < archipelago.size(); i ++) {
+            archipelago.get(i).hide();
         }
     }
 
@@ -544,7 +579,7 @@ public class MainController3 implements GUIController{
      */
     public void sendIslandIndex(int index) {
         try {
-            gui.getSocketClient().send(new IntegerMessage(index + 1));
+            gui.sendInteger(index + 1);
         } catch (SocketException e) {
             e.printStackTrace();
         }
@@ -572,19 +607,10 @@ public class MainController3 implements GUIController{
      * @param colors is the array of colors to be shown
      */
     public void firstEntranceStudents(ArrayList<Color> colors) {
-        for(ImageView entranceStudent : otherFirstEntrance) {
-            otherFirstBoard.getChildren().remove(entranceStudent);
-        }
-        otherFirstEntrance.removeAll(otherFirstEntrance);
-        for (int i = 0; i < colors.size(); i ++) {
-            ImageView entranceStudent = new ImageView(studentsColor.get(colors.get(i)));
-            otherFirstBoard.getChildren().add(entranceStudent);
-            entranceStudent.setFitHeight(17);
-            entranceStudent.setFitWidth(17);
-            entranceStudent.setLayoutX(25);
-            entranceStudent.setLayoutY(10 + 18 * i);
-            otherFirstEntrance.add(entranceStudent);
+        if (unchanged("otherFirstEntrance", colors)) {
+            return;
         }
+        showEntrance(colors, otherFirstEntrance);
     }
 
     /**
@@ -592,19 +618,10 @@ public class MainController3 implements GUIController{
      * @param colors is the array of colors to be shown
      */
     public void secondEntranceStudents(ArrayList<Color> colors) {
-        for(ImageView entranceStudent : otherSecondEntrance) {
-            otherSecondBoard.getChildren().remove(entranceStudent);
-        }
-        otherSecondEntrance.removeAll(otherSecondEntrance);
-        for (int i = 0; i < colors.size(); i ++) {
-            ImageView entranceStudent = new ImageView(studentsColor.get(colors.get(i)));
-            otherSecondBoard.getChildren().add(entranceStudent);
-            entranceStudent.setFitHeight(17);
-            entranceStudent.setFitWidth(17);
-            entranceStudent.setLayoutX(25);
-            entranceStudent.setLayoutY(10 + 18 * i);
-            otherSecondEntrance.add(entranceStudent);
+        if (unchanged("otherSecondEntrance", colors)) {
+            return;
         }
+        showEntrance(colors, otherSecondEntrance);
     }
 
     /**
@@ -623,21 +640,9 @@ public class MainController3 implements GUIController{
      */
     public void showOtherLastPlayedCard(int lastPriority, int playerIndex) {
         if(playerIndex == otherPlayersIndex.get(0)) {
-            ImageView lastPlayedCard = new ImageView(hand.get(lastPriority));
-            mainPane.getChildren().add(lastPlayedCard);
-            lastPlayedCard.setFitWidth(88);
-            lastPlayedCard.setFitHeight(132);
-            lastPlayedCard.setLayoutX(57);
-            lastPlayedCard.setLayoutY(488);
-            lastPlayedCard.setRotate(90);
+            otherFirstLastPlayedCard.setImage(hand.get(lastPriority));
         } else if(playerIndex == otherPlayersIndex.get(1)) {
-            ImageView lastPlayedCard = new ImageView(hand.get(lastPriority));
-            mainPane.getChildren().add(lastPlayedCard);
-            lastPlayedCard.setFitWidth(88);
-            lastPlayedCard.setFitHeight(132);
-            lastPlayedCard.setLayoutX(1056);
-            lastPlayedCard.setLayoutY(488);
-            lastPlayedCard.setRotate(270);
+            otherSecondLastPlayedCard.setImage(hand.get(lastPriority));
         }
     }
 
@@ -660,49 +665,10 @@ public class MainController3 implements GUIController{
      * @param colors students to be shown
      */
     public void firstHallStudents(ArrayList<Color> colors) {
-        double lastGreenStudentX = 56.3;
-        double lastRedStudentX = 56.3;
-        double lastYellowStudentX = 56.3;
-        double lastPinkStudentX = 56.3;
-        double lastBlueStudentX = 56.3;
-        for(ImageView hallStudent : otherFirstHall) {
-            otherFirstBoard.getChildren().remove(hallStudent);
-        }
-        otherFirstHall.removeAll(otherFirstHall);
-        for (int i = 0; i < colors.size(); i++) {
-            ImageView hallStudent = new ImageView(studentsColor.get(colors.get(i)));
-            otherFirstBoard.getChildren().add(hallStudent);
-            hallStudent.setFitHeight(18);
-            hallStudent.setFitWidth(18);
-            otherFirstHall.add(hallStudent);
-            switch (colors.get(i)) {
-                case GREEN -> {
-                    hallStudent.setLayoutX(lastGreenStudentX + 19.7);
-                    hallStudent.setLayoutY(22);
-                    lastGreenStudentX += 19.7;
-                }
-                case RED -> {
-                    hallStudent.setLayoutX(lastRedStudentX + 19.7);
-                    hallStudent.setLayoutY(51);
-                    lastRedStudentX += 19.7;
-                }
-                case YELLOW -> {
-                    hallStudent.setLayoutX(lastYellowStudentX + 19.7);
-                    hallStudent.setLayoutY(81);
-                    lastYellowStudentX += 19.7;
-                }
-                case PINK -> {
-                    hallStudent.setLayoutX(lastPinkStudentX + 19.7);
-                    hallStudent.setLayoutY(110.5);
-                    lastPinkStudentX += 19.7;
-                }
-                case BLUE -> {
-                    hallStudent.setLayoutX(lastBlueStudentX + 19.7);
-                    hallStudent.setLayoutY(139);
-                    lastBlueStudentX += 19.7;
-                }
-            }
+        if (unchanged("otherFirstHall", colors)) {
+            return;
         }
+        showHall(colors, otherFirstHall);
     }
 
     /**
@@ -710,49 +676,10 @@ public class MainController3 implements GUIController{
      * @param colors students to be shown
      */
     public void secondHallStudents(ArrayList<Color> colors) {
-        double lastGreenStudentX = 56.3;
-        double lastRedStudentX = 56.3;
-        double lastYellowStudentX = 56.3;
-        double lastPinkStudentX = 56.3;
-        double lastBlueStudentX = 56.3;
-        for(ImageView hallStudent : otherSecondHall) {
-            otherSecondBoard.getChildren().remove(hallStudent);
-        }
-        otherSecondHall.removeAll(otherSecondHall);
-        for (int i = 0; i < colors.size(); i++) {
-            ImageView hallStudent = new ImageView(studentsColor.get(colors.get(i)));
-            otherSecondBoard.getChildren().add(hallStudent);
-            hallStudent.setFitHeight(18);
-            hallStudent.setFitWidth(18);
-            otherSecondHall.add(hallStudent);
-            switch (colors.get(i)) {
-                case GREEN -> {
-                    hallStudent.setLayoutX(lastGreenStudentX + 19.7);
-                    hallStudent.setLayoutY(22);
-                    lastGreenStudentX += 19.7;
-                }
-                case RED -> {
-                    hallStudent.setLayoutX(lastRedStudentX + 19.7);
-                    hallStudent.setLayoutY(51);
-                    lastRedStudentX += 19.7;
-                }
-                case YELLOW -> {
-                    hallStudent.setLayoutX(lastYellowStudentX + 19.7);
-                    hallStudent.setLayoutY(81);
-                    lastYellowStudentX += 19.7;
-                }
-                case PINK -> {
-                    hallStudent.setLayoutX(lastPinkStudentX + 19.7);
-                    hallStudent.setLayoutY(110.5);
-                    lastPinkStudentX += 19.7;
-                }
-                case BLUE -> {
-                    hallStudent.setLayoutX(lastBlueStudentX + 19.7);
-                    hallStudent.setLayoutY(139);
-                    lastBlueStudentX += 19.7;
-                }
-            }
+        if (unchanged("otherSecondHall", colors)) {
+            return;
         }
+        showHall(colors, otherSecondHall);
     }
 
     /**
@@ -761,11 +688,11 @@ public class MainController3 implements GUIController{
      * @param playerIndex player index
      */
     public void showOtherPlayersProfessors(ArrayList<Color> professorsColors, int playerIndex) {
-        if (playerIndex == otherPlayersIndex.get(0)) {
-            showProfessors(professorsColors, otherFirstProfessors, otherFirstBoard);
+        if (playerIndex == otherPlayersIndex.get(0) && !unchanged("otherFirstProfessors", professorsColors)) {
+            showProfessors(professorsColors, otherFirstProfessors);
         }
-        if (playerIndex == otherPlayersIndex.get(1)) {
-            showProfessors(professorsColors, otherSecondProfessors, otherSecondBoard);
+        if (playerIndex == otherPlayersIndex.get(1) && !unchanged("otherSecondProfessors", professorsColors)) {
+            showProfessors(professorsColors, otherSecondProfessors);
         }
     }
 
@@ -776,52 +703,37 @@ public class MainController3 implements GUIController{
      * @param playerIndex player index
      */
     public void showOtherPlayesrsTowers(Tower towerColor, int numTowers, int playerIndex) {
-        if (playerIndex == otherPlayersIndex.get(0)) {
-            switch (towerColor) {
-                case WHITE -> setTowerColor(WHITE, numTowers, otherFirstBoard);
-                case BLACK -> setTowerColor(BLACK, numTowers, otherFirstBoard);
-                case GRAY -> setTowerColor(GRAY, numTowers, otherFirstBoard);
-            }
+        if (playerIndex == otherPlayersIndex.get(0) && !unchanged("otherFirstTowers", List.of(towerColor, numTowers))) {
+            setTowerColor(towerPaint(towerColor), numTowers, otherFirstTowers);
         }
-        if (playerIndex == otherPlayersIndex.get(1)) {
-            switch (towerColor) {
-                case WHITE -> setTowerColor(WHITE, numTowers, otherSecondBoard);
-                case BLACK -> setTowerColor(BLACK, numTowers, otherSecondBoard);
-                case GRAY -> setTowerColor(GRAY, numTowers, otherSecondBoard);
-            }
+        if (playerIndex == otherPlayersIndex.get(1) && !unchanged("otherSecondTowers", List.of(towerColor, numTowers))) {
+            setTowerColor(towerPaint(towerColor), numTowers, otherSecondTowers);
         }
     }
 
     /**
      * This method is used to show the coin of each player in the expert mode
      * @param numCoin number of remaining coin
-     * @param Board board reference
+     * @param coins pool of the coins of a player
      */
-    public void showCoin(int numCoin, AnchorPane Board) {
-        for (ImageView coin : coins) {
-            Board.getChildren().remove(coin);
-        }
+    public void showCoin(int numCoin, NodePool<ImageView> coins) {
+        coins.begin();
         for (int i = 0; i < numCoin; i++) {
-            ImageView coin = new ImageView(COIN);
-            Board.getChildren().add(coin);
-            coin.setFitWidth(50);
-            coin.setFitHeight(50);
-            coin.setLayoutX(10);
-            coin.setLayoutY(10 + 20 * i);
-            coins.add(coin);
+            coins.next().setLayoutY(10 + 20 * i);
         }
+        coins.end();
     }
 
     public void showMyCoin(int numCoin) {
-        showCoin(numCoin, myCoin);
+        showCoin(numCoin, myCoins);
     }
 
     public void showOtherCoin(int numCoin, int playerIndex) {
         if (playerIndex == otherPlayersIndex.get(0)) {
-            showCoin(numCoin, otherFirstCoin);
+            showCoin(numCoin, otherFirstCoins);
         }
         if (playerIndex == otherPlayersIndex.get(1)) {
-            showCoin(numCoin, otherSecondCoin);
+            showCoin(numCoin, otherSecondCoins);
         }
     }
 
@@ -832,62 +744,14 @@ public class MainController3 implements GUIController{
      * @param usedCard boolean that indicates if a card has been used or not
      */
     public void showExpertCard(ArrayList<ExpertCard_ID> expertCards, HashMap<Integer, ArrayList<Color>> studBufferColor, ArrayList<Boolean> usedCard) {
-        double lastExpertCardX = 545;
+        if (unchanged("expertCards", Arrays.asList(expertCards, studBufferColor, usedCard))) {
+            return;
+        }
         for (int i = 0; i < expertCards.size(); i ++) {
-            AnchorPane expertCardPane = new AnchorPane();
-            mainPane.getChildren().add(expertCardPane);
-            expertCardPane.setPrefWidth(59);
-            expertCardPane.setPrefHeight(88);
-            expertCardPane.setLayoutX(lastExpertCardX + 62);
-            expertCardPane.setLayoutY(180);
-            lastExpertCardX += 62;
-            ImageView expertCard = new ImageView(characters.get(expertCards.get(i)));
-            expertCardPane.getChildren().add(expertCard);
-            expertCard.setFitHeight(88);
-            expertCard.setFitWidth(59);
-            expertCard.setCursor(Cursor.HAND);
-            int finalI = i;
-            expertCard.setOnMouseClicked( event -> {
-                sendExpertCard(finalI, expertCards.get(finalI));
-            });
-            if(usedCard.get(i) != null) {
-                if (usedCard.get(i)) {
-                    ImageView coin = new ImageView(COIN);
-                    expertCardPane.getChildren().add(coin);
-                    coin.setFitHeight(40);
-                    coin.setFitWidth(40);
-                    coin.setLayoutX(25);
-                    coin.setLayoutY(60);
-                }
-            }
-
-            //Stud buffer color
-            if (studBufferColor.get(i) != null) {
-                double lastCardStudent = - 10;
-                for (int j = 0; j < studBufferColor.get(i).size(); j++) {
-                    ImageView studCardColor = new ImageView(studentsColor.get(studBufferColor.get(i).get(j)));
-                    expertCardPane.getChildren().add(studCardColor);
-                    studCardColor.setFitWidth(16);
-                    studCardColor.setFitHeight(16);
-                    if (j == 2 || j == 4) {
-                        lastCardStudent = -10;
-                    }
-                    if (j > 1 && j < 4) {
-                        studCardColor.setLayoutY(48);
-                    } else if (j > 3) {
-                        studCardColor.setLayoutY(66);
-                    } else {
-                        studCardColor.setLayoutY(30);
-                    }
-                    studCardColor.setLayoutX(lastCardStudent + 20);
-                    lastCardStudent += 20;
-                    studCardColor.setCursor(Cursor.HAND);
-                    int finalJ = j;
-                    studCardColor.setOnMouseClicked(event -> {
-                        sendStudentToMove(studBufferColor.get(finalI).get(finalJ));
-                    });
-                }
+            if (i == expertCardViews.size()) {
+                expertCardViews.add(new ExpertCardView(mainPane, i, 545 + 62 * (i + 1), 180, COIN, this::sendExpertCard, this::sendStudentToMove));
             }
+            expertCardViews.get(i).update(expertCards.get(i), characters.get(expertCards.get(i)), Boolean.TRUE.equals(usedCard.get(i)), studBufferColor.get(i), studentsColor);
         }
     }
 
@@ -901,7 +765,7 @@ public class MainController3 implements GUIController{
             stopButton.setVisible(true);
         }
         try {
-            gui.getSocketClient().send(new IntegerMessage(index +1));
+            gui.sendInteger(index +1);
         } catch (SocketException e) {
             e.printStackTrace();
         }
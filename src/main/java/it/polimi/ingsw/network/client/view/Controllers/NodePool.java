@@ -0,0 +1,62 @@
+package it.polimi.ingsw.network.client.view.Controllers;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * This class is a pool of nodes of the same kind that belong to a single pane.
+ * The nodes are created only when more of them are needed and are hidden instead of being removed,
+ * so that an update of the view only changes the properties of the existing nodes
+ *
+ * @author Luca Bresciani
+ */
+class NodePool<T extends Node> {
+    private final Pane parent;
+    private final Supplier<T> factory;
+    private final ArrayList<T> nodes = new ArrayList<>();
+    private int used;
+
+    /**
+     * Constructor of the class
+     * @param parent pane that contains the nodes of the pool
+     * @param factory used to create a new node when the pool is empty
+     */
+    NodePool(Pane parent, Supplier<T> factory) {
+        this.parent = parent;
+        this.factory = factory;
+    }
+
+    /**
+     * This method starts an update of the pool: all the nodes become available
+     */
+    void begin() {
+        used = 0;
+    }
+
+    /**
+     * This method returns a visible node, creating it only if all the existing nodes are already used
+     * @return node to be updated
+     */
+    T next() {
+        if (used == nodes.size()) {
+            T node = factory.get();
+            parent.getChildren().add(node);
+            nodes.add(node);
+        }
+        T node = nodes.get(used++);
+        node.setVisible(true);
+        return node;
+    }
+
+    /**
+     * This method ends an update of the pool, hiding the nodes that have not been used
+     */
+    void end() {
+        for (int i = used; i < nodes.size(); i++) {
+            nodes.get(i).setVisible(false);
+        }
+    }
+}
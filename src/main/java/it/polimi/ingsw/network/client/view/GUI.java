@@ -3,23 +3,32 @@ package it.polimi.ingsw.network.client.view;
 
 import it.polimi.ingsw.model.*;
 import it.polimi.ingsw.network.client.AnswerHandler;
+import it.polimi.ingsw.network.client.AnswerListener;
+import it.polimi.ingsw.network.client.InputValidator;
+import it.polimi.ingsw.network.client.PromptCatalog;
 import it.polimi.ingsw.network.client.SocketClient;
+import it.polimi.ingsw.network.client.StateVerifier;
+import it.polimi.ingsw.network.client.messages.ColorChosen;
+import it.polimi.ingsw.network.client.messages.IntegerMessage;
+import it.polimi.ingsw.network.client.messages.MoveStudentMessage;
 import it.polimi.ingsw.network.client.modelBean.*;
 import it.polimi.ingsw.network.client.modelBean.ExpertCard.ExpertCardBean;
 import it.polimi.ingsw.network.client.modelBean.ExpertCard.StudBufferExpertCardBean;
 import it.polimi.ingsw.network.client.view.Controllers.*;
 import it.polimi.ingsw.network.server.answers.*;
+import it.polimi.ingsw.network.server.answers.request.RequestExpertModeAnswer;
+import it.polimi.ingsw.network.server.answers.request.RequestNicknameAnswer;
+import it.polimi.ingsw.network.server.answers.request.RequestNumPlayerAnswer;
+import it.polimi.ingsw.network.server.answers.request.StartAnswer;
 import it.polimi.ingsw.network.server.answers.update.*;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.stage.Stage;
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import java.io.IOException;
+import java.net.SocketException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -30,7 +39,7 @@ Main class for the graphic user interface.
 @author Luca Bresciani
  */
 
-public class GUI extends Application implements PropertyChangeListener{
+public class GUI extends Application implements AnswerListener {
 
     public static final String MAIN_SCENE_FOR2 = "mainScene2Player.fxml";
     public static final String MAIN_SCENE_FOR3 = "mainScene3Player.fxml";
@@ -46,15 +55,27 @@ public class GUI extends Application implements PropertyChangeListener{
     private String nickname;
     private SocketClient socketClient;
     private AnswerHandler answerHandler;
+    private final InputValidator validator = new InputValidator(); //refuses the inputs that the server would refuse
     private ArrayList<Integer> priorities = new ArrayList<>();
     private ArrayList<Color> cloudColors = new ArrayList<>();
 
+    // Coalesces the updates of the game view, rendering each region at most once per frame
+    private final RenderScheduler renderScheduler = new RenderScheduler(this::renderRegion);
+
     // Map each Scene to an explanatory String
     private final HashMap<String, Scene> sceneMap = new HashMap<>();
 
     // Map each controller to an explanatory String
     private final HashMap<String, GUIController> controllerMap = new HashMap<>();
 
+    /**
+     * init method starts decoding the images of the game in background, before the scenes are loaded
+     */
+    @Override
+    public void init() {
+        AssetCache.preload();
+    }
+
     /**
      * start method start the actual application
      * @param primaryStage
@@ -65,7 +86,7 @@ public class GUI extends Application implements PropertyChangeListener{
         setup();
         stage = primaryStage;
         stage.setTitle("Eryantis");
-        stage.getIcons().add(new Image(getClass().getResource("/eriantys_banner_no_items.png").toExternalForm()));
+        stage.getIcons().add(AssetCache.getImage("/eriantys_banner_no_items.png"));
         stage.setScene(currentScene);
         stage.setResizable(false);
         stage.setOnCloseRequest(t -> {
@@ -73,6 +94,7 @@ public class GUI extends Application implements PropertyChangeListener{
             System.exit(0);
         });
         stage.show();
+        renderScheduler.start();
     }
 
     /**
@@ -96,105 +118,191 @@ public class GUI extends Application implements PropertyChangeListener{
      * @param newStage is the new scene
      */
     public void changeStage(String newStage) {
+        if (stage.getScene() == sceneMap.get(newStage) && stage.isShowing()) {
+            return;
+        }
         currentScene = sceneMap.get(newStage);
         stage.setScene(currentScene);
         stage.show();
     }
 
+    @Override
+    public void onShutdown(Shutdown answer) {
+    }
+
+    @Override
+    public void onPong(Pong answer) {
+    }
+
+    @Override
+    public void onGenericAnswer(GenericAnswer answer) {
+        displayGenericMessage(answer.getMessage());
+    }
+
     /**
-     * This method will show content based on the event that the client receives, thus it updates the view
-     * @param evt event occurred due to server
+     * The prompts that change the controls of the game are recognized by their code, the others are only shown
+     * @param answer prompt received from the server
      */
-    public void propertyChange(PropertyChangeEvent evt) {
-        switch (evt.getPropertyName()) {
-            //case "stopSending" -> closeUserInterface();
-            case "genericMessage" -> displayGenericMessage((String)evt.getNewValue());
-            //case "requestNickname" -> reqNickname((String)evt.getNewValue());
-            case "requestNumPlayer" -> reqNumOfPlayer((String)evt.getNewValue());
-            case "requestExpertMode" -> reqExpertMode((String)evt.getNewValue());
-            case "startMessage" -> startGame((String)evt.getNewValue());
-            case "towerChoice" -> displaySelectableTower((ArrayList<Tower>) evt.getNewValue());
-            case "cardBackChoice" -> displaySelectableCardBack((ArrayList<CardBack>) evt.getNewValue());
-            case "win" -> displayWinner((String)evt.getNewValue());
-            case "nickname" -> this.nickname = (String) evt.getNewValue();
-            case "gameState" -> {
-                this.gameBean = (GameBean)evt.getNewValue();
-                displayAllGame() ;
-            }
-            case "cardPlayed" -> {
-                String nickname = ((AssistantCardPlayedAnswer)evt.getNewValue()).getNickname();
-                ArrayList<AssistantCard> hand = ((AssistantCardPlayedAnswer)evt.getNewValue()).getHand();
-                AssistantCard playedCard = ((AssistantCardPlayedAnswer)evt.getNewValue()).getCard();
-
-                for(PlayerBean player :gameBean.getPlayers()){
-                    if(player.getNickname().equals(nickname)){
-                        player.setPlayedCard(playedCard);
-                        player.setHand(hand); //new hand
-                    }
-                }
-                displayAllGame() ;
-            }
-            case "toHall" -> {
-                ArrayList<BoardBean> updatedBoardList = ((ToHallUpdateAnswer)evt.getNewValue()).getUpdatedBoardList();
+    @Override
+    public void onPrompt(PromptAnswer answer) {
+        validator.update(answer);
+        String message = PromptCatalog.render(answer);
+        switch (answer.getMessage()) {
+            case CHOOSE_MOVEMENT -> Platform.runLater(() -> {
+                GenericController controller = (GenericController) controllerMap.get(GENERIC);
+                controller.chooseMovementInfo(message, gameBean.isExpertGame());
+                showInfoMessage(message);
+            });
+            case CHOOSE_MOTHER_STEPS -> Platform.runLater(() -> {
+                GenericController controller = (GenericController) controllerMap.get(GENERIC);
+                controller.numOfIslandToTravel(message, gameBean.isExpertGame());
+                showInfoMessage(message);
+            });
+            case CHOOSE_CLOUD -> Platform.runLater(() -> {
+                GenericController controller = (GenericController) controllerMap.get(GENERIC);
+                controller.selectCloudInfo(message, gameBean.isExpertGame());
+                showInfoMessage(message);
+            });
+            case LOGIN_AGAIN, RECONNECT_TO_RESTART -> Platform.runLater(() -> {
+                GenericController controller = (GenericController) controllerMap.get(GENERIC);
+                controller.disconnection(message);
+            });
+            case CHOOSE_COLOR_TO_BAG, CHOOSE_COLOR_TO_IGNORE -> Platform.runLater(() -> {
+                GenericController controller = (GenericController) controllerMap.get(GENERIC);
+                controller.colorsToChoose(message);
+            });
+            default -> showInfoMessage(message);
+        }
+    }
 
+    @Override
+    public void onRequestNickname(RequestNicknameAnswer answer) {
+    }
 
-                for(int i = 0; i < gameBean.getPlayers().size(); i++){
-                    PlayerBean player = gameBean.getPlayers().get(i);
-                    player.setBoard(updatedBoardList.get(i));
-                }
-                displayAllGame() ;
-            }
-            case "toIsland" -> {
-                String nickname = ((ToIslandUpdateAnswer)evt.getNewValue()).getNickname();
-                BoardBean updatedBoard = ((ToIslandUpdateAnswer)evt.getNewValue()).getUpdatedBoard();
-                ArrayList<IslandBean> updatedArchipelago = ((ToIslandUpdateAnswer)evt.getNewValue()).getUpdatedArchipelago();
-
-                for(PlayerBean player :gameBean.getPlayers()){
-                    if(player.getNickname().equals(nickname))
-                        player.setBoard(updatedBoard);
-                }
-                gameBean.setArchipelago(updatedArchipelago);
-                displayAllGame() ;
-            }
+    @Override
+    public void onRequestNumPlayer(RequestNumPlayerAnswer answer) {
+        reqNumOfPlayer(answer.getMessage());
+    }
 
-            case "motherMovement" -> {
-                int motherNature =  ((MotherNatureUpdateAnswer)evt.getNewValue()).getUpdatedMotherNature();
-                ArrayList<BoardBean> updatedBoards = ((MotherNatureUpdateAnswer)evt.getNewValue()).getUpdatedBoards();
-                ArrayList<IslandBean> updatedArchipelago = ((MotherNatureUpdateAnswer)evt.getNewValue()).getUpdatedArchipelago();
+    @Override
+    public void onRequestExpertMode(RequestExpertModeAnswer answer) {
+        reqExpertMode(answer.getMessage());
+    }
 
-                for(int i = 0; i < gameBean.getPlayers().size(); i++){
-                    gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
-                }
-                gameBean.setMotherNature(motherNature);
-                gameBean.setArchipelago(updatedArchipelago);
-                displayAllGame() ;
-            }
-            case "cloudChoice" -> {
-                ArrayList<BoardBean> updatedBoards = ((CloudsUpdateAnswer)evt.getNewValue()).getUpdatedBoards();
-                ArrayList<CloudBean> updateClouds = ((CloudsUpdateAnswer)evt.getNewValue()).getUpdateClouds();
+    @Override
+    public void onStart(StartAnswer answer) {
+        startGame(answer.getMessage());
+    }
 
-                for(int i = 0; i < gameBean.getPlayers().size(); i++){
-                    gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
-                }
-                gameBean.setCloudTiles(updateClouds);
-                displayAllGame();
+    @Override
+    public void onTowerChoice(TowerChoiceAnswer answer) {
+        displaySelectableTower(answer.getMessage());
+    }
+
+    @Override
+    public void onCardBackChoice(CardBackChoiceAnswer answer) {
+        displaySelectableCardBack(answer.getMessage());
+    }
+
+    @Override
+    public void onNickname(NicknameAnswer answer) {
+        this.nickname = answer.getMessage();
+    }
+
+    @Override
+    public void onGameState(GameStateAnswer answer) {
+        this.gameBean = answer.getMessage();
+        displayAllGame();
+    }
+
+    @Override
+    public void onWinning(WinningAnswer answer) {
+        displayWinner(answer.getMessage());
+        System.out.println(renderScheduler.report());
+    }
+
+    @Override
+    public void onAssistantCardPlayed(AssistantCardPlayedAnswer answer) {
+        for(PlayerBean player :gameBean.getPlayers()){
+            if(player.getNickname().equals(answer.getNickname())){
+                player.setPlayedCard(answer.getCard());
+                player.setHand(answer.getHand()); //new hand
             }
-            case "expertCard" -> {
-                ArrayList<BoardBean> updatedBoards = ((ExpertCardUpdateAnswer)evt.getNewValue()).getUpdatedBoards();
-                ArrayList<IslandBean> updatedArchipelago = ((ExpertCardUpdateAnswer)evt.getNewValue()).getUpdatedArchipelago();
-                ArrayList<ExpertCardBean> updatedExpertCards = ((ExpertCardUpdateAnswer)evt.getNewValue()).getUpdatedExpertCards();
-
-                gameBean.setExpertCards(updatedExpertCards);
-                if(updatedBoards != null){
-                    for(int i = 0; i < gameBean.getPlayers().size(); i++){
-                        gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
-                    }
-                }
-                if(updatedArchipelago != null){
-                    gameBean.setArchipelago(updatedArchipelago);
-                }
-                displayAllGame();
+        }
+        renderScheduler.markDirty(RenderScheduler.Region.HANDS);
+    }
+
+    @Override
+    public void onToHallUpdate(ToHallUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoardList = answer.getUpdatedBoardList();
+
+        for(int i = 0; i < gameBean.getPlayers().size(); i++){
+            PlayerBean player = gameBean.getPlayers().get(i);
+            player.setBoard(updatedBoardList.get(i));
+        }
+        renderScheduler.markDirty(RenderScheduler.Region.BOARDS);
+    }
+
+    @Override
+    public void onToIslandUpdate(ToIslandUpdateAnswer answer) {
+        for(PlayerBean player :gameBean.getPlayers()){
+            if(player.getNickname().equals(answer.getNickname()))
+                player.setBoard(answer.getUpdatedBoard());
+        }
+        gameBean.setArchipelago(answer.getUpdatedArchipelago());
+        renderScheduler.markDirty(RenderScheduler.Region.BOARDS, RenderScheduler.Region.ARCHIPELAGO);
+    }
+
+    @Override
+    public void onStudentsMovedUpdate(StudentsMovedUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoards = answer.getUpdatedBoards();
+
+        for(int i = 0; i < gameBean.getPlayers().size(); i++){
+            gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
+        }
+        gameBean.setArchipelago(answer.getUpdatedArchipelago());
+        renderScheduler.markDirty(RenderScheduler.Region.BOARDS, RenderScheduler.Region.ARCHIPELAGO);
+    }
+
+    @Override
+    public void onMotherNatureUpdate(MotherNatureUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoards = answer.getUpdatedBoards();
+
+        for(int i = 0; i < gameBean.getPlayers().size(); i++){
+            gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
+        }
+        gameBean.setMotherNature(answer.getUpdatedMotherNature());
+        gameBean.setArchipelago(answer.getUpdatedArchipelago());
+        renderScheduler.markDirty(RenderScheduler.Region.BOARDS, RenderScheduler.Region.ARCHIPELAGO);
+    }
+
+    @Override
+    public void onCloudsUpdate(CloudsUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoards = answer.getUpdatedBoards();
+
+        for(int i = 0; i < gameBean.getPlayers().size(); i++){
+            gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
+        }
+        gameBean.setCloudTiles(answer.getUpdateClouds());
+        renderScheduler.markDirty(RenderScheduler.Region.BOARDS, RenderScheduler.Region.CLOUDS);
+    }
+
+    @Override
+    public void onExpertCardUpdate(ExpertCardUpdateAnswer answer) {
+        ArrayList<BoardBean> updatedBoards = answer.getUpdatedBoards();
+        ArrayList<IslandBean> updatedArchipelago = answer.getUpdatedArchipelago();
+
+        gameBean.setExpertCards(answer.getUpdatedExpertCards());
+        renderScheduler.markDirty(RenderScheduler.Region.EXPERT_CARDS);
+        if(updatedBoards != null){
+            for(int i = 0; i < gameBean.getPlayers().size(); i++){
+                gameBean.getPlayers().get(i).setBoard(updatedBoards.get(i));
             }
+            renderScheduler.markDirty(RenderScheduler.Region.BOARDS);
+        }
+        if(updatedArchipelago != null){
+            gameBean.setArchipelago(updatedArchipelago);
+            renderScheduler.markDirty(RenderScheduler.Region.ARCHIPELAGO);
         }
     }
 
@@ -264,37 +372,6 @@ public class GUI extends Application implements PropertyChangeListener{
                 this.nickname = controller.getNickname();
             }
 
-        else if(message.contains("Select where you want to move your students")) {
-            Platform.runLater(() -> {
-                GenericController controller = (GenericController) controllerMap.get(GENERIC);
-                controller.chooseMovementInfo(message, gameBean.isExpertGame());
-                showInfoMessage(message);
-            });
-        }
-
-        else if(message.contains("Choose the number of islands you want to travel")) {
-            Platform.runLater(() -> {
-                GenericController controller = (GenericController) controllerMap.get(GENERIC);
-                controller.numOfIslandToTravel(message, gameBean.isExpertGame());
-                showInfoMessage(message);
-            });
-        }
-
-        else if(message.contains("Select one of the clouds")) {
-            Platform.runLater(() -> {
-                GenericController controller = (GenericController) controllerMap.get(GENERIC);
-                controller.selectCloudInfo(message, gameBean.isExpertGame());
-                showInfoMessage(message);
-            });
-        }
-
-       else if(message.contains("Please login another time on the server to play")) {
-            Platform.runLater(() -> {
-                GenericController controller = (GenericController) controllerMap.get(GENERIC);
-                controller.disconnection(message);
-            });
-        }
-
         else if(message.contains("Wait for")) {
             Platform.runLater(() -> {
                 GenericController controller = (GenericController) controllerMap.get(GENERIC);
@@ -303,27 +380,6 @@ public class GUI extends Application implements PropertyChangeListener{
             });
         }
 
-        else if(message.contains("Please reconnect to restart this game")) {
-            Platform.runLater(() -> {
-                GenericController controller = (GenericController) controllerMap.get(GENERIC);
-                controller.disconnection(message);
-            });
-        }
-
-        else if(message.contains("Please select the color to put in the bag")) {
-            Platform.runLater(() -> {
-                GenericController controller = (GenericController) controllerMap.get(GENERIC);
-                controller.colorsToChoose(message);
-            });
-        }
-
-        else if(message.contains("Please select the color to ignore for the influence calculation")) {
-            Platform.runLater(() -> {
-                GenericController controller = (GenericController) controllerMap.get(GENERIC);
-                controller.colorsToChoose(message);
-            });
-        }
-
         else  {
          showInfoMessage(message);
         }
@@ -380,30 +436,48 @@ public class GUI extends Application implements PropertyChangeListener{
      * This method is used to show the entire game view
      */
     public void displayAllGame() {
-        ArrayList<Integer> otherPlayersIndex = new ArrayList<>();
-        Platform.runLater(() -> {
-            if (gameBean.getPlayers().size() == 2) {
-                changeStage(MAIN_SCENE_FOR2);
-            } else if (gameBean.getPlayers().size() == 3) {
-                changeStage(MAIN_SCENE_FOR3);
-            }
-            for (int i = 0; i < gameBean.getPlayers().size(); i++) {
-                displayBoard(gameBean.getPlayers().get(i).getBoard(), gameBean.isExpertGame(), gameBean.getPlayers().get(i).getNickname().equals(nickname), gameBean.getPlayers().indexOf(gameBean.getPlayers().get(i)));
-                if (gameBean.getPlayers().get(i).getNickname().equals(nickname)) {
-                    displayCard(gameBean.getPlayers().get(i));
+        renderScheduler.markAllDirty();
+    }
+
+    /**
+     * This method is called by the render scheduler, on the JavaFX thread, to render a dirty region of the game view
+     * @param region region to be rendered
+     */
+    private void renderRegion(RenderScheduler.Region region) {
+        if (gameBean.getPlayers().size() == 2) {
+            changeStage(MAIN_SCENE_FOR2);
+        } else if (gameBean.getPlayers().size() == 3) {
+            changeStage(MAIN_SCENE_FOR3);
+        }
+        switch (region) {
+            case BOARDS -> {
+                ArrayList<Integer> otherPlayersIndex = new ArrayList<>();
+                for (int i = 0; i < gameBean.getPlayers().size(); i++) {
+                    if (!gameBean.getPlayers().get(i).getNickname().equals(nickname)) {
+                        otherPlayersIndex.add(i);
+                    }
                 }
-                if(!gameBean.getPlayers().get(i).getNickname().equals(nickname)) {
-                    otherPlayersIndex.add(gameBean.getPlayers().indexOf(gameBean.getPlayers().get(i)));
-                    MainController3 controller = (MainController3) controllerMap.get(MAIN_SCENE_FOR3);
-                    controller.setOtherPlayersIndex(otherPlayersIndex);
+                MainController3 controller = (MainController3) controllerMap.get(MAIN_SCENE_FOR3);
+                controller.setOtherPlayersIndex(otherPlayersIndex);
+                for (int i = 0; i < gameBean.getPlayers().size(); i++) {
+                    displayBoard(gameBean.getPlayers().get(i).getBoard(), gameBean.isExpertGame(), gameBean.getPlayers().get(i).getNickname().equals(nickname), i);
+                }
+            }
+            case HANDS -> {
+                for (PlayerBean player : gameBean.getPlayers()) {
+                    if (player.getNickname().equals(nickname)) {
+                        displayCard(player);
+                    }
                 }
             }
-            displayClouds();
-            displayArchipelago();
-            if (gameBean.isExpertGame()) {
-                displayExpertCard();
+            case CLOUDS -> displayClouds();
+            case ARCHIPELAGO -> displayArchipelago();
+            case EXPERT_CARDS -> {
+                if (gameBean.isExpertGame()) {
+                    displayExpertCard();
+                }
             }
-        });
+        }
     }
 
     /**
@@ -435,48 +509,40 @@ public class GUI extends Application implements PropertyChangeListener{
         if (gameBean.getPlayers().size() == 2) {
             MainController2 controller = (MainController2) controllerMap.get(MAIN_SCENE_FOR2);
             if(isMyBoard) {
-                Platform.runLater(() -> {
-                    if (expertGame) {
-                        controller.showMyCoin(board.getNumCoins());
-                    }
-                    controller.showEntranceStudents(entranceColors);
-                    controller.showHallStudents(hallColors);
-                    controller.showMyTower(board.getTowerColor(), board.getNumTowers());
-                    controller.showMyProfessors(professorsColors);
-                });
+                if (expertGame) {
+                    controller.showMyCoin(board.getNumCoins());
+                }
+                controller.showEntranceStudents(entranceColors);
+                controller.showHallStudents(hallColors);
+                controller.showMyTower(board.getTowerColor(), board.getNumTowers());
+                controller.showMyProfessors(professorsColors);
             } else {
-                Platform.runLater(() -> {
-                    if (expertGame) {
-                        controller.showOtherCoin(board.getNumCoins());
-                    }
-                    controller.showOtherPlayerEntrance(entranceColors);
-                    controller.showOtherPlayerProfessors(professorsColors);
-                    controller.showOtherTower(board.getTowerColor(), board.getNumTowers());
-                    controller.showOtherPLayerHall(hallColors);
-                });
+                if (expertGame) {
+                    controller.showOtherCoin(board.getNumCoins());
+                }
+                controller.showOtherPlayerEntrance(entranceColors);
+                controller.showOtherPlayerProfessors(professorsColors);
+                controller.showOtherTower(board.getTowerColor(), board.getNumTowers());
+                controller.showOtherPLayerHall(hallColors);
             }
         } else if (gameBean.getPlayers().size() == 3) {
             MainController3 controller = (MainController3) controllerMap.get(MAIN_SCENE_FOR3);
             if (isMyBoard) {
-                Platform.runLater(() -> {
-                    if (expertGame) {
-                        controller.showMyCoin(board.getNumCoins());
-                    }
-                    controller.showEntranceStudents(entranceColors);
-                    controller.showHallStudents(hallColors);
-                    controller.showMyTower(board.getTowerColor(), board.getNumTowers());
-                    controller.showMyProfessors(professorsColors);
-                });
+                if (expertGame) {
+                    controller.showMyCoin(board.getNumCoins());
+                }
+                controller.showEntranceStudents(entranceColors);
+                controller.showHallStudents(hallColors);
+                controller.showMyTower(board.getTowerColor(), board.getNumTowers());
+                controller.showMyProfessors(professorsColors);
             } else {
-                Platform.runLater(() -> {
-                    if (expertGame) {
-                        controller.showOtherCoin(board.getNumCoins(), playerIndex);
-                    }
-                    controller.showOtherPlayerEntrance(entranceColors, playerIndex);
-                    controller.showOtherPlayersHall(hallColors, playerIndex);
-                    controller.showOtherPlayersProfessors(professorsColors, playerIndex);
-                    controller.showOtherPlayesrsTowers(board.getTowerColor(), board.getNumTowers(), playerIndex);
-                });
+                if (expertGame) {
+                    controller.showOtherCoin(board.getNumCoins(), playerIndex);
+                }
+                controller.showOtherPlayerEntrance(entranceColors, playerIndex);
+                controller.showOtherPlayersHall(hallColors, playerIndex);
+                controller.showOtherPlayersProfessors(professorsColors, playerIndex);
+                controller.showOtherPlayesrsTowers(board.getTowerColor(), board.getNumTowers(), playerIndex);
             }
         }
     }
@@ -526,36 +592,30 @@ public class GUI extends Application implements PropertyChangeListener{
             MainController2 controller = (MainController2) controllerMap.get(MAIN_SCENE_FOR2);
             for (AssistantCard assistantCard : playerBean.getHand()) {
                 priorities.add(assistantCard.getPriority());
-                Platform.runLater(() -> {
-                    controller.showAssistantCards(priorities);
-                });
             }
-            Platform.runLater(() -> {
-                controller.showLastPlayedCard(myLastPlayedCard());
-                controller.showOtherLastPlayedCard(otherLastPlayedCard());
-            });
+            ArrayList<Integer> hand = new ArrayList<>(priorities);
+            controller.showAssistantCards(hand);
+            controller.showLastPlayedCard(myLastPlayedCard());
+            controller.showOtherLastPlayedCard(otherLastPlayedCard());
         } else if (gameBean.getPlayers().size() == 3) {
             MainController3 controller = (MainController3) controllerMap.get(MAIN_SCENE_FOR3);
             for (AssistantCard assistantCard : playerBean.getHand()) {
                 priorities.add(assistantCard.getPriority());
-                Platform.runLater(() -> {
-                    controller.showAssistantCards(priorities);
-                });
             }
-            Platform.runLater(() -> {
-                controller.showLastPlayedCard(myLastPlayedCard());
-                int otherLastPriority = 0;
-                for (int i = 0; i < gameBean.getPlayers().size(); i++) {
-                    if (!gameBean.getPlayers().get(i).getNickname().equals(nickname)) {
-                        if(gameBean.getPlayers().get(i).getPlayedCard() != null) {
-                            otherLastPriority = gameBean.getPlayers().get(i).getPlayedCard().getPriority();
-                            controller.showOtherLastPlayedCard(otherLastPriority, gameBean.getPlayers().indexOf(gameBean.getPlayers().get(i)));
-                        }
+            ArrayList<Integer> hand = new ArrayList<>(priorities);
+            controller.showAssistantCards(hand);
+            controller.showLastPlayedCard(myLastPlayedCard());
+            int otherLastPriority = 0;
+            for (int i = 0; i < gameBean.getPlayers().size(); i++) {
+                if (!gameBean.getPlayers().get(i).getNickname().equals(nickname)) {
+                    if(gameBean.getPlayers().get(i).getPlayedCard() != null) {
+                        otherLastPriority = gameBean.getPlayers().get(i).getPlayedCard().getPriority();
+                        controller.showOtherLastPlayedCard(otherLastPriority, gameBean.getPlayers().indexOf(gameBean.getPlayers().get(i)));
                     }
-
                 }
 
-            });
+            }
+
         }
     }
 
@@ -586,15 +646,13 @@ public class GUI extends Application implements PropertyChangeListener{
             numTowersMap.put(gameBean.getArchipelago().indexOf(island), numTowers);
             bannedIslands.put(gameBean.getArchipelago().indexOf(island), island.isBanToken());
         }
-        Platform.runLater(() -> {
-            if (gameBean.getPlayers().size() == 2) {
-                MainController2 controller = (MainController2) controllerMap.get(MAIN_SCENE_FOR2);
-                controller.showArchipelago(gameBean.getArchipelago().size(), gameBean.getMotherNature(), islandColorsMap, towerColorMap, numTowersMap, bannedIslands );
-            } else if (gameBean.getPlayers().size() == 3){
-                MainController3 controller = (MainController3) controllerMap.get(MAIN_SCENE_FOR3);
-                controller.showArchipelago(gameBean.getArchipelago().size(), gameBean.getMotherNature(), islandColorsMap, towerColorMap, numTowersMap, bannedIslands);
-            }
-        });
+        if (gameBean.getPlayers().size() == 2) {
+            MainController2 controller = (MainController2) controllerMap.get(MAIN_SCENE_FOR2);
+            controller.showArchipelago(gameBean.getArchipelago().size(), gameBean.getMotherNature(), islandColorsMap, towerColorMap, numTowersMap, bannedIslands );
+        } else if (gameBean.getPlayers().size() == 3){
+            MainController3 controller = (MainController3) controllerMap.get(MAIN_SCENE_FOR3);
+            controller.showArchipelago(gameBean.getArchipelago().size(), gameBean.getMotherNature(), islandColorsMap, towerColorMap, numTowersMap, bannedIslands);
+        }
     }
 
     /**
@@ -623,14 +681,10 @@ public class GUI extends Application implements PropertyChangeListener{
         }
         if (gameBean.getPlayers().size() == 2) {
             MainController2 controller = (MainController2) controllerMap.get(MAIN_SCENE_FOR2);
-            Platform.runLater(() -> {
-                controller.showExpertCard(expertCards, studBufferColor, usedCard);
-            });
+            controller.showExpertCard(expertCards, studBufferColor, usedCard);
         } else if (gameBean.getPlayers().size() == 3) {
             MainController3 controller = (MainController3) controllerMap.get(MAIN_SCENE_FOR3);
-            Platform.runLater(() -> {
-                controller.showExpertCard(expertCards, studBufferColor, usedCard);
-            });
+            controller.showExpertCard(expertCards, studBufferColor, usedCard);
         }
     }
 
@@ -653,14 +707,10 @@ public class GUI extends Application implements PropertyChangeListener{
 
         if(gameBean.getPlayers().size() == 2) {
             MainController2 controller = (MainController2) controllerMap.get(MAIN_SCENE_FOR2);
-            Platform.runLater(() -> {
-                controller.showClouds(cloudColorsMap);
-            });
+            controller.showClouds(cloudColorsMap);
         } else if (gameBean.getPlayers().size() == 3) {
             MainController3 controller = (MainController3) controllerMap.get(MAIN_SCENE_FOR3);
-            Platform.runLater(() -> {
-                controller.showClouds(cloudColorsMap);
-            });
+            controller.showClouds(cloudColorsMap);
         }
     }
 
@@ -673,7 +723,8 @@ public class GUI extends Application implements PropertyChangeListener{
     public void startConnection(AnswerHandler answerHandler, SocketClient socketClient) {
         this.answerHandler = answerHandler;
         this.socketClient = socketClient;
-        this.answerHandler.addPropertyChangeListener(this);
+        this.answerHandler.setAnswerListener(this);
+        this.answerHandler.setStateVerifier(new StateVerifier(() -> gameBean, socketClient));
         this.socketClient.startListening();
         this.socketClient.startPinging();
     }
@@ -682,6 +733,44 @@ public class GUI extends Application implements PropertyChangeListener{
         return socketClient;
     }
 
+    /**
+     * This method sends a number chosen by the player, unless it is refused by the legal actions of the turn
+     * @param value number chosen by the player
+     */
+    public void sendInteger(int value) throws SocketException {
+        int numExpertCards = gameBean == null || gameBean.getExpertCards() == null ? 0 : gameBean.getExpertCards().size();
+        PromptAnswer error = validator.check(value, numExpertCards);
+        if(error != null){
+            showInfoMessage(PromptCatalog.render(error));
+            return;
+        }
+        validator.sent(false);
+        socketClient.send(new IntegerMessage(value));
+    }
+
+    /**
+     * This method sends the color of a student chosen by the player, unless it is refused by the legal actions of the turn
+     * @param color color chosen by the player
+     */
+    public void sendColor(Color color) throws SocketException {
+        PromptAnswer error = validator.check(color);
+        if(error != null){
+            showInfoMessage(PromptCatalog.render(error));
+            return;
+        }
+        validator.sent(false);
+        socketClient.send(new ColorChosen(color));
+    }
+
+    /**
+     * This method sends the choice between the hall and an island for the next student
+     * @param choice "hall" or "island"
+     */
+    public void sendMovement(String choice) throws SocketException {
+        validator.sent(choice.equalsIgnoreCase("hall"));
+        socketClient.send(new MoveStudentMessage(choice));
+    }
+
     public HashMap<String, GUIController> getControllerMap() {
         return  this.controllerMap;
     }
@@ -0,0 +1,108 @@
+package it.polimi.ingsw.network.client.view;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * This class coalesces the updates of the game scene. The updates received from the server only mark some regions
+ * of the scene as dirty; once per frame, on the JavaFX thread, every dirty region is rendered a single time.
+ * The time spent rendering the frames and the number of redundant renders that have been skipped are counted,
+ * and reported on demand.
+ *
+ * @author Luca Bresciani
+ */
+public class RenderScheduler extends AnimationTimer {
+
+    /**
+     * Regions of the game scene that can be rendered independently
+     */
+    public enum Region {
+        BOARDS, HANDS, CLOUDS, ARCHIPELAGO, EXPERT_CARDS
+    }
+
+    private final Consumer<Region> renderer;
+    private final AtomicInteger dirtyRegions = new AtomicInteger();
+    private final AtomicLong skippedRenders = new AtomicLong();
+    //written only on the JavaFX thread
+    private volatile long renderedFrames;
+    private volatile long totalFrameTime;
+    private volatile long maxFrameTime;
+
+    /**
+     * Constructor of the class
+     * @param renderer called on the JavaFX thread to render a dirty region
+     */
+    public RenderScheduler(Consumer<Region> renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * This method marks some regions as dirty, they will be rendered in the next frame.
+     * It can be called from any thread
+     * @param regions regions to be rendered
+     */
+    public void markDirty(Region... regions) {
+        for (Region region : regions) {
+            int bit = 1 << region.ordinal();
+            if ((dirtyRegions.getAndUpdate(dirty -> dirty | bit) & bit) != 0) {
+                skippedRenders.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * This method marks all the regions as dirty
+     */
+    public void markAllDirty() {
+        markDirty(Region.values());
+    }
+
+    /**
+     * This method is called by JavaFX once per frame: it renders the regions marked as dirty since the previous frame
+     * @param now timestamp of the current frame
+     */
+    @Override
+    public void handle(long now) {
+        int dirty = dirtyRegions.getAndSet(0);
+        if (dirty == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (Region region : Region.values()) {
+            if ((dirty & (1 << region.ordinal())) != 0) {
+                renderer.accept(region);
+            }
+        }
+        long frameTime = System.nanoTime() - start;
+
+        renderedFrames++;
+        totalFrameTime += frameTime;
+        maxFrameTime = Math.max(maxFrameTime, frameTime);
+    }
+
+    /**
+     * @return the number of frames in which at least a region has been rendered
+     */
+    public long getRenderedFrames() {
+        return renderedFrames;
+    }
+
+    /**
+     * @return the number of renders skipped because the region was already dirty
+     */
+    public long getSkippedRenders() {
+        return skippedRenders.get();
+    }
+
+    /**
+     * @return a summary of the rendered frames, to be printed once per game
+     */
+    public String report() {
+        long frames = renderedFrames;
+        return String.format("Frames rendered: %d, average %.2f ms, max %.2f ms, skipped redundant renders: %d",
+                frames, frames == 0 ? 0 : totalFrameTime / 1_000_000.0 / frames, maxFrameTime / 1_000_000.0, skippedRenders.get());
+    }
+}
@@ -0,0 +1,187 @@
+package it.polimi.ingsw.network.client.view;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * This class is used by the CLI to draw a frame of the game.
+ * A frame is built in a single buffer, then it is compared with the lines on the screen and only the changed lines are
+ * rewritten, using cursor addressing, with a single write on the output stream.
+ * A frame taller than the terminal has its last lines on the screen and the first ones in the scrollback: only the lines
+ * on the screen are compared and rewritten. The whole frame is redrawn the first time, after the screen has been cleared
+ * and when the terminal is resized.
+ *
+ * @author Dario d'Abate
+ */
+public class TerminalRenderer {
+    private static final String CURSOR_POSITION = "\033[%d;1H";
+    private static final String ERASE_LINE = "\033[K";
+    private static final String ERASE_BELOW = "\033[J";
+
+    private final PrintStream out;
+    private final IntSupplier terminalRows; //read at each frame, so that a resized terminal is seen
+
+    private final StringBuilder frame;
+    private List<String> previousLines;
+    private int previousTop; //row of the first line of the previous frame, 0 or less if it is in the scrollback
+    private int previousRows; //rows of the terminal when the previous frame was written
+    private int linesBelowFrame; //lines printed by other output after the last frame
+
+    /**
+     * Constructor of the class
+     * @param out stream on which the frames are written
+     */
+    public TerminalRenderer(PrintStream out){
+        this(out, TerminalRenderer::readTerminalRows);
+    }
+
+    /**
+     * Constructor of the class
+     * @param out stream on which the frames are written
+     * @param terminalRows gives the current number of rows of the terminal, -1 if it is not known
+     */
+    TerminalRenderer(PrintStream out, IntSupplier terminalRows){
+        this.out = out;
+        this.terminalRows = terminalRows;
+        frame = new StringBuilder(8192);
+        previousLines = null;
+    }
+
+    /**
+     * This method starts a new frame, discarding the content of the buffer
+     */
+    public void beginFrame(){
+        frame.setLength(0);
+    }
+
+    /**
+     * This method appends some text to the current frame
+     * @param text text to be appended
+     * @return this renderer
+     */
+    public TerminalRenderer print(Object text){
+        frame.append(text);
+        return this;
+    }
+
+    /**
+     * This method appends some text and a line terminator to the current frame
+     * @param text text to be appended
+     * @return this renderer
+     */
+    public TerminalRenderer println(Object text){
+        frame.append(text).append('\n');
+        return this;
+    }
+
+    /**
+     * This method appends a line terminator to the current frame
+     * @return this renderer
+     */
+    public TerminalRenderer println(){
+        frame.append('\n');
+        return this;
+    }
+
+    /**
+     * This method must be called when some lines are printed on the screen outside the renderer,
+     * so that the renderer knows if the screen has scrolled
+     * @param numLines number of printed lines
+     */
+    public synchronized void linesPrinted(int numLines){
+        linesBelowFrame += numLines;
+    }
+
+    /**
+     * This method forces the next frame to be fully redrawn, for example because the screen has been cleared
+     */
+    public synchronized void invalidate(){
+        previousLines = null;
+        linesBelowFrame = 0;
+    }
+
+    /**
+     * This method writes the current frame on the output stream. Only the lines on the screen that differ from
+     * the new frame are written, unless a full redraw is needed
+     */
+    public synchronized void render(){
+        List<String> lines = Arrays.asList(frame.toString().split("\n", -1));
+        if(!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty())
+            lines = lines.subList(0, lines.size() - 1);
+
+        int rows = terminalRows.getAsInt();
+        //the frame starts at the first row, a taller frame ends on the row above the last one, where the cursor stays
+        int top = Math.min(1, rows - lines.size());
+        StringBuilder output = new StringBuilder(frame.length() + 64);
+        if(rows <= 1 || previousLines == null || rows != previousRows){
+            output.append(ANSIConstants.CLEAR);
+            for(String line : lines)
+                output.append(line).append(ANSIConstants.TEXT_RESET).append('\n');
+        }else{
+            //the other output printed below the previous frame may have scrolled it up
+            int cursorRow = previousTop + previousLines.size() + linesBelowFrame;
+            int shiftedTop = previousTop - Math.max(0, cursorRow - rows);
+            for(int row = Math.max(1, top); row < top + lines.size(); row++){
+                String line = lines.get(row - top);
+                int previous = row - shiftedTop;
+                if(previous < 0 || previous >= previousLines.size() || !line.equals(previousLines.get(previous))){
+                    output.append(String.format(CURSOR_POSITION, row))
+                            .append(line)
+                            .append(ANSIConstants.TEXT_RESET)
+                            .append(ERASE_LINE);
+                }
+            }
+            //the cursor goes under the frame, the old content below it is erased
+            output.append(String.format(CURSOR_POSITION, top + lines.size())).append(ERASE_BELOW);
+        }
+        out.print(output);
+        out.flush();
+
+        previousLines = rows > 1 ? new ArrayList<>(lines) : null;
+        previousTop = top;
+        previousRows = rows;
+        linesBelowFrame = 0;
+    }
+
+    /**
+     * Helper method used to find the number of rows of the terminal. The terminal is asked first,
+     * because the LINES variable is not updated when the terminal is resized
+     * @return number of rows of the terminal, -1 if it cannot be found
+     */
+    private static int readTerminalRows(){
+        File tty = new File("/dev/tty");
+        if(!tty.exists())
+            return readLinesVariable();
+        try{
+            Process process = new ProcessBuilder("stty", "size").redirectInput(tty).start();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            String size = reader.readLine();
+            process.waitFor();
+            if(size != null && CLI.isNumeric(size.split(" ")[0]))
+                return Integer.parseInt(size.split(" ")[0]);
+        }catch (IOException e){
+            return readLinesVariable();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        return readLinesVariable();
+    }
+
+    /**
+     * Helper method used to read the number of rows of the terminal from the LINES variable
+     * @return number of rows of the terminal, -1 if the variable is not set
+     */
+    private static int readLinesVariable(){
+        String lines = System.getenv("LINES");
+        if(lines != null && CLI.isNumeric(lines.trim()))
+            return Integer.parseInt(lines.trim());
+        return -1;
+    }
+}
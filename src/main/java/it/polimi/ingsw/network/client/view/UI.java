@@ -2,16 +2,18 @@ package it.polimi.ingsw.network.client.view;
 
 import it.polimi.ingsw.model.CardBack;
 import it.polimi.ingsw.model.Tower;
+import it.polimi.ingsw.network.client.AnswerListener;
 import it.polimi.ingsw.network.client.modelBean.*;
 
 import java.util.ArrayList;
 
 /**
  * This class defines an interface used for both CLI and GUI. It contains the methods for drawing
+ * and, through AnswerListener, the typed handlers of the server's answers
  *
  * @author Dario d'Abate
  */
-public interface  UI {
+public interface  UI extends AnswerListener {
 
       void closeUserInterface();
 
@@ -0,0 +1,71 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.network.server.answers.Answer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+/**
+ * This class serializes an answer once, so that the same bytes can be written to many clients.
+ * The bytes are the ones that ServerClientHandler.sendMessageToClient would write: a reset marker followed by the answer,
+ * without the header of the stream, that every client has already received when it connected
+ *
+ * @author Dario d'Abate
+ */
+public final class AnswerEncoder {
+    private static final int STREAM_HEADER_SIZE = 4; //magic number and version of a serialization stream
+
+    private AnswerEncoder(){}
+
+    /**
+     * @param answer answer to be sent
+     * @return the serialized answer, ready to be written on the stream of any client
+     */
+    public static byte[] encode(Answer answer){
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.reset(); //the client forgets the objects received before, as for the answers sent one by one
+            out.writeObject(answer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] encoded = bytes.toByteArray();
+        return Arrays.copyOfRange(encoded, STREAM_HEADER_SIZE, encoded.length);
+    }
+
+    /**
+     * This class remembers the last answer encoded, so that an answer that is sent again, such as the whole game
+     * while it does not change, is not serialized again
+     */
+    public static final class Memo {
+        private volatile Entry last;
+
+        /**
+         * @param answer answer to be sent
+         * @return the serialized answer
+         */
+        public byte[] encode(Answer answer){
+            return encode(answer, UnaryOperator.identity());
+        }
+
+        /**
+         * @param answer answer to be sent
+         * @param transform changes the answer before it is serialized, always in the same way for the same answer
+         * @return the serialized answer, after the transformation
+         */
+        public byte[] encode(Answer answer, UnaryOperator<Answer> transform){
+            Entry entry = last;
+            if(entry != null && entry.answer() == answer)
+                return entry.bytes();
+            byte[] bytes = AnswerEncoder.encode(transform.apply(answer));
+            last = new Entry(answer, bytes);
+            return bytes;
+        }
+
+        private record Entry(Answer answer, byte[] bytes) {}
+    }
+}
@@ -0,0 +1,279 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.*;
+import it.polimi.ingsw.model.expertGame.ExpertCard;
+import it.polimi.ingsw.model.expertGame.ExpertCardType;
+import it.polimi.ingsw.model.expertGame.ExpertGame;
+import it.polimi.ingsw.model.expertGame.StudentsBufferCardsCluster;
+import it.polimi.ingsw.network.client.modelBean.*;
+import it.polimi.ingsw.network.client.modelBean.ExpertCard.BanExpertCardBean;
+import it.polimi.ingsw.network.client.modelBean.ExpertCard.ExpertCardBean;
+import it.polimi.ingsw.network.client.modelBean.ExpertCard.StudBufferExpertCardBean;
+import it.polimi.ingsw.network.client.view.ExpertCard_ID;
+import it.polimi.ingsw.network.server.answers.GameStateAnswer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class extracts the beans sent to the clients from the model of a game, and keeps them so that they are
+ * created again only when the model changes. A bean is reused while the revision of the board, island, cloud or card
+ * it was created from does not change, and a list of beans is reused while none of its beans changes, so that
+ * all the answers about an unchanged part of the game share the same beans.
+ * The beans given by this class are shared, so they must never be modified. The class is used only by the thread of the game
+ *
+ * @author Dario d'Abate
+ */
+class BeanCache {
+    //names of the expert cards in the user interface, indexed by the registry of the cards
+    private static final ExpertCard_ID[] CARD_IDS = new ExpertCard_ID[ExpertCardType.count()];
+
+    static {
+        for(int i = 0; i < CARD_IDS.length; i++)
+            CARD_IDS[i] = ExpertCard_ID.valueOf(ExpertCardType.of(i).name());
+    }
+
+    private final Game game;
+    private final Slot<Board, BoardBean> boards = new Slot<>();
+    private final Slot<IslandTile, IslandBean> archipelago = new Slot<>();
+    private final Slot<CloudTile, CloudBean> clouds = new Slot<>();
+    private final Slot<ExpertCard, ExpertCardBean> expertCards = new Slot<>();
+    private View view; //state of the game when the last whole game was extracted
+    private GameStateAnswer gameView; //last whole game extracted
+
+    /**
+     * @param game game whose beans are extracted
+     */
+    BeanCache(Game game){
+        this.game = game;
+    }
+
+    /**
+     * @return the beans of the boards of the players, in the order of the players
+     */
+    ArrayList<BoardBean> boards(){
+        ArrayList<Board> playerBoards = new ArrayList<>(game.getPlayers().size());
+        for(Player player : game.getPlayers())
+            playerBoards.add(player.getBoard());
+        return boards.update(playerBoards, Board::getRevision, BeanCache::copyBoard);
+    }
+
+    /**
+     * @param board board of a player
+     * @return the bean of the board
+     */
+    BoardBean board(Board board){
+        ArrayList<BoardBean> beans = boards();
+        for(int i = 0; i < beans.size(); i++)
+            if(game.getPlayers().get(i).getBoard() == board)
+                return beans.get(i);
+        return copyBoard(board);
+    }
+
+    /**
+     * @return the beans of the islands
+     */
+    ArrayList<IslandBean> archipelago(){
+        return archipelago.update(game.getArchipelago(), IslandTile::getRevision, BeanCache::copyIsland);
+    }
+
+    /**
+     * @return the beans of the clouds
+     */
+    ArrayList<CloudBean> clouds(){
+        return clouds.update(game.getCloudTiles(), CloudTile::getRevision, BeanCache::copyCloud);
+    }
+
+    /**
+     * @return the beans of the expert cards, empty if the game is not an expert game
+     */
+    ArrayList<ExpertCardBean> expertCards(){
+        //the card of the ban tiles shows the ban tiles of the game, that are not counted by the revision of the card
+        int banTiles = game instanceof ExpertGame ? ((ExpertGame) game).getBanTile() : 0;
+        return expertCards.update(game.getExpertCards(),
+                card -> card.getType() == ExpertCardType.HEALER ? card.getRevision() * 8 + banTiles : card.getRevision(),
+                card -> copyExpertCard(card, game));
+    }
+
+    /**
+     * This method extracts the whole game, with its fingerprint. The answer is reused, and so its serialization can be, while the game does not change
+     * @return the answer with the beans of the game
+     */
+    GameStateAnswer gameView(){
+        ArrayList<PlayerState> players = new ArrayList<>();
+        for(Player player : game.getPlayers()){
+            players.add(new PlayerState(player.getPriorities(), player.getCardBack(), player.viewLastCard()));
+        }
+        View current = new View(boards(), archipelago(), clouds(), expertCards(), game.getMotherNature(), game.getCoinBank(), players);
+        if(current.equals(view))
+            return gameView;
+
+        GameBean gameBean = new GameBean();
+        gameBean.setExpertGame(game instanceof ExpertGame);
+
+        ArrayList<PlayerBean> playerBeans = new ArrayList<>();
+        for(int i = 0; i < game.getPlayers().size(); i++){
+            Player player = game.getPlayers().get(i);
+            PlayerBean tempPlayer = new PlayerBean();
+            tempPlayer.setNickname(player.getNickname());
+            tempPlayer.setHand(player.getHand());
+            tempPlayer.setPlayedCard(player.viewLastCard());
+            tempPlayer.setBoard(current.boards().get(i));
+            playerBeans.add(tempPlayer);
+        }
+        gameBean.setPlayers(playerBeans);
+        gameBean.setArchipelago(current.archipelago());
+        gameBean.setMotherNature(current.motherNature());
+        gameBean.setCloudTiles(current.clouds());
+        gameBean.setExpertCards(current.expertCards());
+        gameBean.setBank(current.bank());
+
+        view = current;
+        gameView = new GameStateAnswer(gameBean);
+        gameView.setFingerprint(game.getFingerprint());
+        return gameView;
+    }
+
+    /**
+     * Helper method used to extract data from the board class
+     * @param board board that will be parsed
+     * @return bean object with a board's data
+     */
+    private static BoardBean copyBoard(Board board){
+        BoardBean tempBoard = new BoardBean();
+        tempBoard.setNumCoins(board.getNumCoin());
+        tempBoard.setTowerColor(board.getTowerColor());
+        tempBoard.setNumTowers(board.getNumTower());
+        tempBoard.setProfessors(board.getProfessors());
+
+        HashMap<Color, Integer> tempEntrance = new HashMap<>();
+        HashMap<Color, Integer> tempHall = new HashMap<>();
+        for(Color color: Color.values()){
+            tempEntrance.put(color, board.entranceSize(color));
+            tempHall.put(color, board.hallSize(color));
+        }
+        tempBoard.setEntranceStudent(tempEntrance);
+        tempBoard.setHallStudent(tempHall);
+
+        return tempBoard;
+    }
+
+    /**
+     * Helper method used to extract data from an island
+     * @param islandTile island that will be parsed
+     * @return bean object with the island's data
+     */
+    private static IslandBean copyIsland(IslandTile islandTile){
+        IslandBean tempIsland = new IslandBean();
+        tempIsland.setBanToken(islandTile.getBanTile());
+        tempIsland.setTowerColor(islandTile.getTowerColor());
+        tempIsland.setNumTowers(islandTile.getNumTowers());
+
+        HashMap<Color, Integer> tempMap = new HashMap<>();
+        for(Color color: Color.values()){
+            tempMap.put(color, islandTile.getIslandStudents().numStudents(color));
+        }
+        tempIsland.setStudents(tempMap);
+        return tempIsland;
+    }
+
+    /**
+     * Helper method used to extract data from a cloud
+     * @param cloudTile cloud that will be parsed
+     * @return bean object with the cloud's data
+     */
+    private static CloudBean copyCloud(CloudTile cloudTile){
+        CloudBean tempCloud = new CloudBean();
+        HashMap<Color, Integer> tempMap = new HashMap<>();
+        for(Color color: Color.values()){
+            tempMap.put(color, cloudTile.numStudOn(color));
+        }
+        tempCloud.setStudents(tempMap);
+        return tempCloud;
+    }
+
+    /**
+     * Helper method used to associate a card bean object to an expert card object
+     * @param expertCard expert card that will be parsed
+     * @param game game of the card
+     * @return bean object with a specific expert card data
+     */
+    private static ExpertCardBean copyExpertCard(ExpertCard expertCard, Game game) {
+        ExpertCardBean tempExpertCard = switch (expertCard.getType()) {
+            case HEALER -> {
+                BanExpertCardBean banCard = new BanExpertCardBean();
+                banCard.setNumBanToken(((ExpertGame)game).getBanTile());
+                yield banCard;
+            }
+            case MONK, JOKER, PRINCESS -> {
+                StudBufferExpertCardBean bufferCard = new StudBufferExpertCardBean();
+                HashMap<Color, Integer> tempStudOnCard = new HashMap<>();
+                for (Color color : Color.values()) {
+                    tempStudOnCard.put(color, ((StudentsBufferCardsCluster) expertCard).getStudBuffer().numStudents(color));
+                }
+                bufferCard.setStudentBuffer(tempStudOnCard);
+                yield bufferCard;
+            }
+            default -> new ExpertCardBean();
+        };
+        tempExpertCard.setActivationCost(expertCard.getPrice());
+        tempExpertCard.setName(CARD_IDS[expertCard.getType().ordinal()]);
+        tempExpertCard.setPlayed(expertCard.isPlayed());
+        return tempExpertCard;
+    }
+
+    /**
+     * This class keeps the beans of a list of objects of the model, together with the objects and their revisions
+     * @param <S> type of the objects of the model
+     * @param <B> type of the beans
+     */
+    private static final class Slot<S, B> {
+        private Object[] sources = new Object[0];
+        private long[] revisions = new long[0];
+        private ArrayList<B> beans = new ArrayList<>();
+
+        /**
+         * This method gives the beans of a list of objects, creating only the beans of the objects that are new or changed
+         * @param current objects of the model
+         * @param revision revision of an object
+         * @param copy creates the bean of an object
+         * @return the same list of the last call if no object changed, a new list otherwise
+         */
+        ArrayList<B> update(List<? extends S> current, ToLongFunction<S> revision, Function<S, B> copy){
+            int size = current.size();
+            long[] currentRevisions = new long[size];
+            boolean changed = size != sources.length;
+            for(int i = 0; i < size; i++){
+                currentRevisions[i] = revision.applyAsLong(current.get(i));
+                changed |= i >= sources.length || sources[i] != current.get(i) || revisions[i] != currentRevisions[i];
+            }
+            if(!changed)
+                return beans;
+
+            ArrayList<B> updated = new ArrayList<>(size);
+            for(int i = 0; i < size; i++){
+                S source = current.get(i);
+                boolean same = i < sources.length && sources[i] == source && revisions[i] == currentRevisions[i];
+                updated.add(same ? beans.get(i) : copy.apply(source));
+            }
+            sources = current.toArray();
+            revisions = currentRevisions;
+            beans = updated;
+            return beans;
+        }
+    }
+
+    /**
+     * Helper record that contains the state of a player that is sent with the whole game but not in a bean
+     */
+    private record PlayerState(int priorities, CardBack back, AssistantCard lastCard) {}
+
+    /**
+     * Helper record that contains what the whole game is made of: when it does not change, the whole game does not change
+     */
+    private record View(ArrayList<BoardBean> boards, ArrayList<IslandBean> archipelago, ArrayList<CloudBean> clouds,
+                        ArrayList<ExpertCardBean> expertCards, int motherNature, int bank, List<PlayerState> players) {}
+}
@@ -0,0 +1,187 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.ai.BotDifficulty;
+import it.polimi.ingsw.model.ai.MctsEngine;
+import it.polimi.ingsw.model.ai.TranspositionTable;
+import it.polimi.ingsw.model.expertGame.CardActivation;
+import it.polimi.ingsw.model.expertGame.ExpertCardType;
+import it.polimi.ingsw.model.expertGame.ExpertGame;
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.network.client.messages.*;
+import it.polimi.ingsw.network.server.exception.TurnExpiredException;
+import it.polimi.ingsw.network.server.answers.Answer;
+import it.polimi.ingsw.network.server.answers.CardBackChoiceAnswer;
+import it.polimi.ingsw.network.server.answers.TowerChoiceAnswer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class is a virtual client played by the server. The GameHandler talks to it as to any other client:
+ * the answers sent to the bot are ignored, except the setup requests, and every time the GameHandler reads a message
+ * the bot chooses its next move with a Monte Carlo tree search and translates it into the messages a real client would send.
+ * When the bot has no move to choose, or its moves keep being refused, it gives up its turn as if its time were up,
+ * so the GameHandler plays the default move in its place
+ *
+ * @author Dario d'Abate
+ */
+public class BotClientHandler extends ServerClientHandler {
+    private static final int IDLE_MILLIS = 500; //pause before answering when there is nothing to decide
+    static final int MAX_RETRIES = 3; //moves planned in the same position before the bot gives up its turn
+
+    private final MctsEngine engine;
+    private final Deque<Message> pendingMessages;
+    private Answer lastRequest; //last setup request received from the GameHandler
+    private Game game;
+    private long plannedPosition; //fingerprint of the position of the last planned move
+    private int retries; //moves planned in that position after the first one
+
+    /**
+     * @param server Server that hosts the bot
+     * @param nickname nickname of the bot
+     * @param difficulty level of the bot
+     */
+    public BotClientHandler(MultiServer server, String nickname, BotDifficulty difficulty) {
+        super(server, null);
+        setNickname(nickname);
+        setStart();
+        engine = new MctsEngine(difficulty);
+        pendingMessages = new ArrayDeque<>();
+    }
+
+    /**
+     * This method sets the game played by the bot
+     * @param game game in which the bot plays
+     */
+    public void setGame(Game game) {
+        this.game = game;
+        pendingMessages.clear();
+        retries = 0;
+    }
+
+    /**
+     * This method describes the work done by the search of the bot, so that the server can tell how many bots a core can carry
+     * @return simulations per second, hit rate and collisions of the transposition table since the bot was created
+     */
+    public String searchReport() {
+        TranspositionTable table = engine.getTable();
+        return String.format("Bot %s: %d simulations, %.0f simulations/s, transposition table hit rate %.1f%%, %d collisions",
+                getNickname(), engine.getSimulations(), engine.getSimulationsPerSecond(), 100 * table.getHitRate(), table.getCollisions());
+    }
+
+    /**
+     * A bot has no streams, so there is nothing to run
+     */
+    @Override
+    public void run() {
+    }
+
+    @Override
+    public void sendMessageToClient(String message) {
+    }
+
+    /**
+     * The bot only keeps the requests of the setup phase, the updates of the game are read directly from the model
+     * @param answer answer sent by the server
+     */
+    @Override
+    public void sendMessageToClient(Answer answer) {
+        if(answer instanceof TowerChoiceAnswer || answer instanceof CardBackChoiceAnswer)
+            lastRequest = answer;
+    }
+
+    @Override
+    public void sendEncodedToClient(byte[] encoded) {
+    }
+
+    @Override
+    public void sendShutDownToClient() {
+    }
+
+    @Override
+    public void closeClientHandler() {
+    }
+
+    /**
+     * This method returns the next message of the bot. When no message is pending, the next move is planned
+     * @return message sent by the bot
+     * @throws TurnExpiredException if the bot gives up its turn, so that the default move is played in its place
+     */
+    @Override
+    public Message readMessageFromClient() throws TurnExpiredException {
+        if(pendingMessages.isEmpty())
+            planNextMove();
+        return pendingMessages.poll();
+    }
+
+    /**
+     * Helper method that fills the queue of pending messages with the messages of the next move
+     */
+    private void planNextMove() throws TurnExpiredException {
+        if(game.getGameState() == GameState.JOIN_STATE){
+            if(lastRequest instanceof CardBackChoiceAnswer)
+                pendingMessages.add(new ChooseCardBack(((CardBackChoiceAnswer) lastRequest).getMessage().get(0)));
+            else if(lastRequest instanceof TowerChoiceAnswer)
+                pendingMessages.add(new ChooseTowerColor(((TowerChoiceAnswer) lastRequest).getMessage().get(0)));
+            return;
+        }
+
+        //when the position has not changed, the server has refused the last move
+        long position = game.getSnapshotFingerprint();
+        retries = position == plannedPosition ? retries + 1 : 0;
+        plannedPosition = position;
+
+        int move = retries < MAX_RETRIES ? engine.chooseMove(game) : Move.NONE;
+        if(move == Move.NONE){ //the server is waiting for a choice that the bot cannot make, for example an empty cloud
+            idle();
+            retries = 0;
+            throw new TurnExpiredException();
+        }
+
+        switch (Move.type(move)) {
+            case Move.PLAY_CARD, Move.MOVE_MOTHER -> pendingMessages.add(new IntegerMessage(Move.value(move)));
+            case Move.TO_HALL -> {
+                pendingMessages.add(new MoveStudentMessage("HALL"));
+                pendingMessages.add(new ColorChosen(Move.color(move)));
+            }
+            case Move.TO_ISLAND -> {
+                pendingMessages.add(new MoveStudentMessage("ISLAND"));
+                pendingMessages.add(new ColorChosen(Move.color(move)));
+                pendingMessages.add(new IntegerMessage(Move.value(move) + 1));
+            }
+            case Move.TAKE_CLOUD -> pendingMessages.add(new IntegerMessage(Move.value(move) + 1));
+            case Move.EXPERT_CARD -> pendingMessages.add(new ExpertCardCommand(activation(move)));
+        }
+    }
+
+    /**
+     * Helper method that translates the move of an expert card into the activation sent by a client.
+     * The first color of the move is taken from the card or from the hall, the second one is given from the entrance
+     * @param move encoded move of an expert card
+     * @return the activation of the card
+     */
+    private CardActivation activation(int move){
+        ExpertCardType type = ((ExpertGame) game).getExpertCards().get(Move.card(move)).getType();
+        int island = type.needs(ExpertCardType.Parameters.ISLAND) ? Move.value(move) : -1;
+        List<CardActivation.Swap> swaps = switch (type) {
+            case JOKER -> List.of(new CardActivation.Swap(Move.color(move), Move.secondColor(move)));
+            case BARD -> List.of(new CardActivation.Swap(Move.secondColor(move), Move.color(move)));
+            default -> List.of();
+        };
+        return new CardActivation(Move.card(move), Move.color(move), island, swaps);
+    }
+
+    /**
+     * Helper method used to slow down a bot that has nothing to decide
+     */
+    private void idle(){
+        try {
+            Thread.sleep(IDLE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
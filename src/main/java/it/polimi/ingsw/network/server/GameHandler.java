@@ -1,23 +1,25 @@
 package it.polimi.ingsw.network.server;
 
 import it.polimi.ingsw.model.*;
-import it.polimi.ingsw.model.constantFactory.ThreePlayersConstants;
-import it.polimi.ingsw.model.constantFactory.TwoPlayersConstants;
+import it.polimi.ingsw.model.events.GameWonEvent;
+import it.polimi.ingsw.model.events.LastRoundEvent;
 import it.polimi.ingsw.model.expertGame.*;
-import it.polimi.ingsw.network.client.view.ExpertCard_ID;
+import it.polimi.ingsw.model.history.GameHistory;
+import it.polimi.ingsw.model.moves.LegalActions;
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.model.moves.MoveGenerator;
+import it.polimi.ingsw.model.moves.MoveList;
+import it.polimi.ingsw.model.replay.ReplayRecorder;
 import it.polimi.ingsw.network.client.messages.*;
 import it.polimi.ingsw.network.client.modelBean.*;
-import it.polimi.ingsw.network.client.modelBean.ExpertCard.BanExpertCardBean;
 import it.polimi.ingsw.network.client.modelBean.ExpertCard.ExpertCardBean;
-import it.polimi.ingsw.network.client.modelBean.ExpertCard.StudBufferExpertCardBean;
 import it.polimi.ingsw.network.server.answers.*;
 import it.polimi.ingsw.network.server.answers.update.*;
 import it.polimi.ingsw.network.server.exception.GameDisconnectionException;
 import it.polimi.ingsw.network.server.exception.SetupGameDisconnectionException;
+import it.polimi.ingsw.network.server.exception.TurnExpiredException;
 
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import java.io.IOException;
 import java.io.StreamCorruptedException;
 import java.net.SocketException;
@@ -31,7 +33,7 @@ import java.util.Map;
  * It also handles the various phases of the game, the wrong input of the parameters and the endgame condition
  * @author Lorenzo Corrado
  */
-public class GameHandler implements PropertyChangeListener {
+public class GameHandler {
     private final MultiServer server;
     private final ArrayList<ServerClientHandler> playersConnections;//list of the sockets
 
@@ -41,12 +43,18 @@ public class GameHandler implements PropertyChangeListener {
 
     private final int numPlayer;//number of players in the game
     private final Game game; //reference to the model
+    private final BeanCache beanCache; //beans of the model sent to the clients
     private boolean expertGame; //the mode of the game
 
     private volatile boolean endGameInRound;// true if this game end at the end of a round
     private volatile boolean continueGame;//false if this game end now
     private volatile boolean emptyBag;//false if the bag is empty
     private int moveStudentsSteps;//register how many swap are taken in Move Students state
+    private final MoveClock clock;//time of the players to move
+    private final SpectatorHub spectators;//clients watching this game
+    private ReplayRecorder recorder;//records the moves of this game, created when the turns start
+    private final boolean restarted;//true if this game has been restarted from a save
+    private final AnswerEncoder.Memo lastBroadcast = new AnswerEncoder.Memo();//last answer sent to all the players
 
 
     /**
@@ -65,7 +73,14 @@ public class GameHandler implements PropertyChangeListener {
         }else
             game = new ExpertGame(playersConnections.get(0).getNickname(), numPlayer);
 
-        game.addListener(this);
+        beanCache = new BeanCache(game);
+        subscribeToGame();
+        bindBots();
+        clock = new MoveClock(server.getTurnSeconds(), server.getGameSeconds());
+        spectators = new SpectatorHub(this::buildGameView);
+        for(ServerClientHandler client : playersConnections)
+            client.setGameView(this::buildGameView);
+        restarted = false;
 
         clientToPlayer = new HashMap<>();
         playerToClient = new HashMap<>();
@@ -98,7 +113,14 @@ public class GameHandler implements PropertyChangeListener {
         }
 
         expertGame = game instanceof ExpertGame;
-
+        beanCache = new BeanCache(game);
+        subscribeToGame();
+        bindBots();
+        clock = new MoveClock(server.getTurnSeconds(), server.getGameSeconds());
+        spectators = new SpectatorHub(this::buildGameView);
+        for(ServerClientHandler client : playersConnections)
+            client.setGameView(this::buildGameView);
+        restarted = true;
 
         continueGame = true;
         endGameInRound = false;
@@ -106,26 +128,85 @@ public class GameHandler implements PropertyChangeListener {
         //WARNING: playersConnections should have the same order as the arraylist of players saved in the game
     }
 
+    /**
+     * Helper method used to receive the end conditions fired by the game
+     */
+    private void subscribeToGame(){
+        game.getEvents().subscribe(GameWonEvent.class, this::gameWon);
+        game.getEvents().subscribe(LastRoundEvent.class, this::lastRound);
+    }
+
     /**
      * This method is invoked when a player wins the game
-     * @param evt type of victory associated to an event
+     * @param event the victory, with the winner
      */
-    @Override
-    public void propertyChange(PropertyChangeEvent evt) {
-        if(evt.getPropertyName().equals("instantWinning")){
-            String winner = (String) evt.getNewValue();
-            try {
-                continueGame = false;
-                notifyWinner(winner);
+    private void gameWon(GameWonEvent event) {
+        try {
+            continueGame = false;
+            notifyWinner(event.winner());
 
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }else if(evt.getPropertyName().equals("endRoundWinning")){
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * This method is invoked when the current round is the last one
+     * @param event the end condition
+     */
+    private void lastRound(LastRoundEvent event) {
+        if(event.reason() == LastRoundEvent.Reason.NO_CARDS)
             endGameInRound = true;
-        }else if(evt.getPropertyName().equals("emptyBagWinning")){
+        else
             emptyBag = true;
+    }
+
+    /**
+     * Helper method used to give to the bots of this game the reference to the model
+     */
+    private void bindBots(){
+        for(ServerClientHandler client : playersConnections){
+            if(client instanceof BotClientHandler)
+                ((BotClientHandler) client).setGame(game);
+        }
+    }
+
+    /**
+     * This method replaces the current player, that has just disconnected, with a bot, so that the other players
+     * can go on playing. It is possible only if bots are enabled on the server and at least another human is playing
+     * @param timeout true if the player has been disconnected because of a timeout
+     * @return true if the player has been replaced
+     */
+    private boolean replaceWithBot(boolean timeout) throws IOException {
+        ServerClientHandler disconnected = playerToClient.get(game.getCurrentPlayer());
+        if(!server.botsEnabled() || disconnected instanceof BotClientHandler)
+            return false;
+
+        boolean humanLeft = false;
+        for(ServerClientHandler client : playersConnections){
+            if(client != disconnected && !(client instanceof BotClientHandler))
+                humanLeft = true;
+        }
+        if(!humanLeft)
+            return false;
+
+        if(timeout){
+            try {
+                disconnected.sendShutDownToClient();
+            }catch(IOException e){
+                //Client already disconnected, do not need to send message or report to log
+            }
         }
+
+        BotClientHandler bot = server.createBot(disconnected.getNickname());
+        bot.setGame(game);
+        Player player = clientToPlayer.remove(disconnected);
+        clientToPlayer.put(bot, player);
+        playerToClient.put(player, bot);
+        playersConnections.set(playersConnections.indexOf(disconnected), bot);
+
+        broadcastMessage(disconnected.getNickname() + " has disconnected, a bot will play in his place.");
+        return true;
     }
 
     /**
@@ -190,8 +271,8 @@ public class GameHandler implements PropertyChangeListener {
                 askColorsSetup(client);
             }
         }catch (SocketTimeoutException | SocketException e){
-            broadcastMessage("A player has disconnected. Closing this game...");
-            broadcastMessage("Please login another time on the server to play.");
+            broadcastMessage(Prompt.GAME_CLOSING);
+            broadcastMessage(Prompt.LOGIN_AGAIN);
             broadcastShutDown();
             unregisterPlayersFromServer();
 
@@ -208,8 +289,8 @@ public class GameHandler implements PropertyChangeListener {
             sendGameView();//used for the view
             gameTurns();
         }catch (GameDisconnectionException e){//save the game
-            broadcastMessage("A player has disconnected. Closing this game...");
-            broadcastMessage("Please reconnect to restart this game!");
+            broadcastMessage(Prompt.GAME_CLOSING);
+            broadcastMessage(Prompt.RECONNECT_TO_RESTART);
             broadcastShutDown();
             throw new GameDisconnectionException();
         }
@@ -229,27 +310,57 @@ public class GameHandler implements PropertyChangeListener {
      * @param message message to be sent
      */
     private void broadcastMessage(String message) throws IOException {
-        for (ServerClientHandler client : playersConnections) {
-            try {
-                client.sendMessageToClient(message);
-            }catch(SocketException e){
-                //Client already disconnected, do not need to send message or report to log
-            }
-        }
+        broadcastMessage(new GenericAnswer(message));
+    }
+
+    /**
+     * This method sends a prompt of the turn to the current player, together with his legal actions
+     * @param client client of the current player
+     * @param prompt prompt to be sent
+     */
+    private void sendTurnPrompt(ServerClientHandler client, Prompt prompt) throws IOException {
+        client.sendMessageToClient(new LegalActionsAnswer(LegalActions.of(game), prompt));
+    }
+
+    /**
+     * This method is used to send a prompt of the catalog in broadcast to all the players connected to this game handler
+     * @param prompt prompt to be sent
+     * @param params parameters of the prompt
+     */
+    private void broadcastMessage(Prompt prompt, int... params) throws IOException {
+        broadcastMessage(new PromptAnswer(prompt, params));
     }
 
     /**
      * This method is used to send an answer message in broadcast to all the players connected to this game handler
+     * and to its spectators. The answer is serialized only once for all the players. An answer that changes the view
+     * of the game is sent with the fingerprint of the game, so that the clients can check their view
      * @param answer answer object that will be sent to all the clients
      */
     private void broadcastMessage(Answer answer) throws IOException{
+        if(answer instanceof VerifiableAnswer verifiable)
+            verifiable.setFingerprint(game.getFingerprint());
+        byte[] encoded = lastBroadcast.encode(answer);
         for (ServerClientHandler client : playersConnections) {
             try {
-                client.sendMessageToClient(answer);
+                client.sendEncodedToClient(encoded);
             }catch(SocketException e){
                 //Client already disconnected, do not need to send message or report to log
             }
         }
+        spectators.publish(answer);
+    }
+
+    /**
+     * This method tells the players the id that the spectators have to use to watch this game
+     * @param id id of the game on the server
+     */
+    void announceWatchId(int id) throws IOException {
+        broadcastMessage("Other players can watch this game by typing at the login: watch " + id);
+    }
+
+    public SpectatorHub getSpectators() {
+        return spectators;
     }
 
     /**
@@ -262,6 +373,7 @@ public class GameHandler implements PropertyChangeListener {
             }catch(SocketException e){
                 //Client already disconnected, do not need to send message or report to log
             }
+        spectators.close();
     }
 
     /**
@@ -269,182 +381,24 @@ public class GameHandler implements PropertyChangeListener {
      * This method sends only bean object, that are extracted from the model at the server side
      */
     void sendGameView() throws IOException {
-        //parsing and sending
-        GameBean gameBean = new GameBean();
-        gameBean.setExpertGame(expertGame);
-
-        ArrayList<PlayerBean> playerBeans = new ArrayList<>();
-        for (Player player : game.getPlayers()){
-            PlayerBean tempPlayer = new PlayerBean();
-            tempPlayer.setNickname(player.getNickname());
-            tempPlayer.setHand(player.getHand());
-            tempPlayer.setPlayedCard(player.viewLastCard());
-
-            tempPlayer.setBoard(copyBoard(player.getBoard()));
-
-            playerBeans.add(tempPlayer);
-        }
-        gameBean.setPlayers(playerBeans);
-
-        gameBean.setArchipelago(copyArchipelago(game.getArchipelago()));
-
-        gameBean.setMotherNature(game.getMotherNature());
-
-        gameBean.setCloudTiles(copyClouds(game.getCloudTiles()));
-
-        gameBean.setExpertCards(copyExpertCards(game.getExpertCards()));
-
-        gameBean.setBank(game.getCoinBank());
-
-        broadcastMessage(new GameStateAnswer(gameBean));
-    }
-
-    /**
-     * Helper method used to extract data from the board class
-     * @param board board that will be parsed
-     * @return bean object with a board's data
-     */
-    private BoardBean copyBoard(Board board){
-        BoardBean tempBoard = new BoardBean();
-        tempBoard.setNumCoins(board.getNumCoin());
-        tempBoard.setTowerColor(board.getTowerColor());
-        tempBoard.setNumTowers(board.getNumTower());
-        tempBoard.setProfessors(board.getProfessors());
-
-        HashMap<Color, Integer> tempEntrance = new HashMap<>();
-        HashMap<Color, Integer> tempHall = new HashMap<>();
-        for(Color color: Color.values()){
-            tempEntrance.put(color, board.entranceSize(color));
-            tempHall.put(color, board.hallSize(color));
-        }
-        tempBoard.setEntranceStudent(tempEntrance);
-        tempBoard.setHallStudent(tempHall);
-
-        return tempBoard;
-    }
-
-    /**
-     * Helper method used to extract data from the Archipelago
-     * @param archipelago list of Island tiles that will be parsed
-     * @return bean object with the archipelago's data
-     */
-    private ArrayList<IslandBean> copyArchipelago(ArrayList<IslandTile> archipelago){
-        ArrayList<IslandBean> islandBeans = new ArrayList<>();
-        for(IslandTile islandTile: archipelago){
-            IslandBean tempIsland = new IslandBean();
-            tempIsland.setBanToken(islandTile.getBanTile());
-            tempIsland.setTowerColor(islandTile.getTowerColor());
-            tempIsland.setNumTowers(islandTile.getNumTowers());
-
-            HashMap<Color, Integer> tempMap = new HashMap<>();
-            for(Color color: Color.values()){
-                tempMap.put(color, islandTile.getIslandStudents().numStudents(color));
-            }
-            tempIsland.setStudents(tempMap);
-            islandBeans.add(tempIsland);
-
-        }
-        return islandBeans;
-    }
-
-    /**
-     * Helper method used to extract data from the clouds
-     * @param cloudTiles list of cloud tiles that will be parsed
-     * @return bean object with the clouds data
-     */
-    private ArrayList<CloudBean> copyClouds(ArrayList<CloudTile> cloudTiles){
-        ArrayList<CloudBean> cloudBeans = new ArrayList<>();
-        for(CloudTile cloudTile: cloudTiles){
-            CloudBean tempCloud = new CloudBean();
-            HashMap<Color, Integer> tempMap = new HashMap<>();
-            for(Color color: Color.values()){
-                tempMap.put(color, cloudTile.numStudOn(color));
-            }
-            tempCloud.setStudents(tempMap);
-            cloudBeans.add(tempCloud);
-        }
-        return cloudBeans;
+        broadcastMessage(buildGameView());
     }
 
     /**
-     * Helper method used to extract data from the Expert Card used in a game
-     * @param expertCards list of expert cards  that will be parsed
-     * @return bean object with the expert card data
+     * This method extracts the entire game state from the model
+     * @return the answer with the beans of the game
      */
-    private ArrayList<ExpertCardBean> copyExpertCards(ArrayList<ExpertCard> expertCards){
-        ArrayList<ExpertCardBean> expertCardBeans = new ArrayList<>();
-        for(ExpertCard expertCard : expertCards){
-            ExpertCardBean tempExpertCard  = associateCard(expertCard);
-            tempExpertCard.setPlayed(expertCard.isPlayed());
-            expertCardBeans.add(tempExpertCard);
-        }
-        return expertCardBeans;
+    private GameStateAnswer buildGameView() {
+        return beanCache.gameView();
     }
 
     /**
-     * Helper method used to associate a card bean object to an expert card object
-     * @param expertCard expert card that will be parsed
-     * @return bean object with a specific expert card data
+     * This method extracts the entire game state from a game, that can also be a game that is not played, such as a replay
+     * @param game game that will be parsed
+     * @return the answer with the beans of the game
      */
-    private ExpertCardBean associateCard(ExpertCard expertCard) {
-        ExpertCardBean tempExpertCard;
-        if(expertCard instanceof BannedIslandCard){
-            tempExpertCard = new BanExpertCardBean();
-            tempExpertCard.setActivationCost(expertCard.getPrice());
-            tempExpertCard.setName(ExpertCard_ID.HEALER);
-            ((BanExpertCardBean)tempExpertCard).setNumBanToken(((ExpertGame)game).getBanTile());
-            return  tempExpertCard;
-        }
-
-        if(expertCard instanceof StudentsBufferCardsCluster) {
-            tempExpertCard = new StudBufferExpertCardBean();
-            tempExpertCard.setActivationCost(expertCard.getPrice());
-            switch (((StudentsBufferCardsCluster) expertCard).getIndex()) {
-                case 0 -> tempExpertCard.setName(ExpertCard_ID.MONK);
-                case 1 -> tempExpertCard.setName(ExpertCard_ID.JOKER);
-                case 2 -> tempExpertCard.setName(ExpertCard_ID.PRINCESS);
-            }
-
-            HashMap<Color, Integer> tempStudOnCard = new HashMap<>();
-            for (Color color : Color.values()) {
-                tempStudOnCard.put(color, ((StudentsBufferCardsCluster) expertCard).getStudBuffer().numStudents(color));
-            }
-            ((StudBufferExpertCardBean) tempExpertCard).setStudentBuffer(tempStudOnCard);
-            return  tempExpertCard;
-        }
-
-        tempExpertCard = new ExpertCardBean();
-        tempExpertCard.setActivationCost(expertCard.getPrice());
-
-        if(expertCard instanceof IncrementMaxMovementCard){
-            tempExpertCard.setName(ExpertCard_ID.DELIVERYMAN);
-
-        }
-        else if(expertCard instanceof PseudoMotherNatureCard){
-            tempExpertCard.setName(ExpertCard_ID.HERALD);
-
-        }
-        else if(expertCard instanceof PutThreeStudentsInTheBagCard){
-            tempExpertCard.setName(ExpertCard_ID.MONEYLENDER);
-
-        }
-        else if(expertCard instanceof SwapStudentsCard){
-            tempExpertCard.setName(ExpertCard_ID.BARD);
-
-        }
-        else if(expertCard instanceof TakeProfessorEqualStudentsCard){
-            tempExpertCard.setName(ExpertCard_ID.HOST);
-
-        }
-        else if(expertCard instanceof InfluenceCardsCluster){
-            switch(((InfluenceCardsCluster)expertCard).getIndex()){
-                case 0 -> tempExpertCard.setName(ExpertCard_ID.CENTAUR);
-                case 1-> tempExpertCard.setName(ExpertCard_ID.KNIGHT);
-                case 2-> tempExpertCard.setName(ExpertCard_ID.POISONER);
-            }
-
-        }
-        return tempExpertCard;
+    static GameStateAnswer buildGameView(Game game) {
+        return new BeanCache(game).gameView();
     }
 
     /**
@@ -477,12 +431,12 @@ public class GameHandler implements PropertyChangeListener {
                     towerChosen = true;
                 }
                 else{
-                    client.sendMessageToClient("The selected tower color is not available");
+                    client.sendMessageToClient(Prompt.TOWER_NOT_AVAILABLE);
                 }
 
             }
             else{
-                client.sendMessageToClient("Command not inserted, please insert a valid command");
+                client.sendMessageToClient(Prompt.COMMAND_NOT_INSERTED);
             }
         }
     }
@@ -521,11 +475,11 @@ public class GameHandler implements PropertyChangeListener {
                     game.associatePlayerToCardsToBack(card, clientToPlayer.get(client));
                     backChosen = true;
                 } else{
-                    client.sendMessageToClient("Card already selected, please select another card");
+                    client.sendMessageToClient(Prompt.CARD_BACK_NOT_AVAILABLE);
                 }
             } else
             {
-                client.sendMessageToClient("Command not inserted, please insert a valid command");
+                client.sendMessageToClient(Prompt.COMMAND_NOT_INSERTED);
             }
         }
     }
@@ -536,6 +490,8 @@ public class GameHandler implements PropertyChangeListener {
      */
     public  synchronized void gameTurns() throws IOException, ClassNotFoundException, GameDisconnectionException {
         server.saveGame(this);//saveGame
+        recorder = ReplayRecorder.start(game);
+        GameHistory history = new GameHistory(game, restarted);
 
         while(!endGameInRound && continueGame){
             try{
@@ -544,31 +500,45 @@ public class GameHandler implements PropertyChangeListener {
             planningPhase();
             actionPhase();
             }catch(SocketTimeoutException | SocketException e){//start the mechanism to save the game
-                broadcastMessage("A player has disconnected. Closing this game...");
-                broadcastMessage("Please reconnect to restart this game!");
+                clock.endTurn();
+                if(replaceWithBot(e instanceof SocketTimeoutException)){
+                    recorder.snapshot();//the player may have left in the middle of an expert card
+                    continue;
+                }
+                recorder.close();
+                broadcastMessage(Prompt.GAME_CLOSING);
+                broadcastMessage(Prompt.RECONNECT_TO_RESTART);
                 broadcastShutDown();
                 throw new GameDisconnectionException();
             }
         }
+        clock.endTurn();
+        recorder.close();
         if(endGameInRound)
             notifyWinner();//winning at the end of a round
+        server.getArchive().append(history.summarize());
+        reportBots();
 
         unregisterPlayersFromServer();
     }
 
+    /**
+     * This method prints on the server the work done by the search of each bot of the game, once the game has ended
+     */
+    private void reportBots(){
+        for(Player player : game.getPlayers()){
+            if(playerToClient.get(player) instanceof BotClientHandler bot)
+                System.out.println(bot.searchReport());
+        }
+    }
+
     /**
      * This method is used to notify the players about the winner
      */
     private void notifyWinner() throws IOException {
         String winner = game.alternativeWinner();
 
-        for (ServerClientHandler client : playersConnections) {
-            try {
-                client.sendMessageToClient(new WinningAnswer(winner));
-            }catch(SocketException e){
-                //Client already disconnected, do not need to send message or report to log
-            }
-        }
+        broadcastMessage(new WinningAnswer(winner));
 
         broadcastShutDown();
     }
@@ -579,13 +549,7 @@ public class GameHandler implements PropertyChangeListener {
      */
     private void notifyWinner(String winner) throws IOException {
 
-        for (ServerClientHandler client : playersConnections) {
-            try {
-                client.sendMessageToClient(new WinningAnswer(winner));
-            }catch(SocketException e){
-                //Client already disconnected, do not need to send message or report to log
-            }
-        }
+        broadcastMessage(new WinningAnswer(winner));
 
         broadcastShutDown();
     }
@@ -600,41 +564,33 @@ public class GameHandler implements PropertyChangeListener {
         Message message;
         ServerClientHandler client;
 
-        ArrayList<Integer> cardsPlayed = new ArrayList<>();
         while(game.getGameState() == GameState.PLANNING_STATE && continueGame){
             client = playerToClient.get(game.getCurrentPlayer());
-            client.sendMessageToClient("Please select the priority of the card you wanna play");
+            clock.startTurn(client);
+            sendTurnPrompt(client, Prompt.CHOOSE_CARD_PRIORITY);
 
-            ArrayList<Integer> hand = new ArrayList<>();
-            for(AssistantCard card : game.getCurrentPlayer().getHand()){
-                hand.add(card.getPriority());
+            try {
+                message = client.readMessageFromClient();
+            }catch (TurnExpiredException e){
+                playDefaultMove(client);
+                continue;
             }
-
-            message = client.readMessageFromClient();
             if(message instanceof IntegerMessage && game.getGameState() == GameState.PLANNING_STATE){
                 Player currentPlayer = game.getCurrentPlayer();
+                int priority = ((IntegerMessage) message).getMessage();
 
-                if(currentPlayer.isPriorityAvailable(((IntegerMessage) message).getMessage()) &&
-                        (!cardsPlayed.contains(((IntegerMessage) message).getMessage()) || cardsPlayed.containsAll(hand))){
-
-                    int index = currentPlayer.priorityToIndex(((IntegerMessage) message).getMessage());
-                    game.playCard(index);
-                    server.saveGame(this);// save game
-
-                    broadcastMessage(new AssistantCardPlayedAnswer(currentPlayer.getNickname(),
-                            currentPlayer.getHand(), currentPlayer.viewLastCard()));
-
-                    cardsPlayed.add(((IntegerMessage) message).getMessage());
-                } else if(!currentPlayer.isPriorityAvailable(((IntegerMessage) message).getMessage())){
-                    client.sendMessageToClient("Not valid priority!");
+                if(MoveGenerator.isLegal(game, Move.playCard(priority))){
+                    applyAssistantCard(priority);
+                } else if(!currentPlayer.isPriorityAvailable(priority)){
+                    client.sendMessageToClient(Prompt.PRIORITY_NOT_VALID);
                 } else{
-                    client.sendMessageToClient("This card has already been played by another player!");
+                    client.sendMessageToClient(Prompt.PRIORITY_ALREADY_PLAYED);
                 }
             } else{
-                client.sendMessageToClient("Wrong command, please insert a valid command");
+                client.sendMessageToClient(Prompt.WRONG_COMMAND);
             }
         }
-
+        clock.endTurn();
     }
 
     /**
@@ -642,20 +598,34 @@ public class GameHandler implements PropertyChangeListener {
      * @see ServerClientHandler for exceptions
      */
     private synchronized void actionPhase() throws IOException, ClassNotFoundException{
-        boolean areCloudsEmpty = false;
-
         server.saveGame(this);// save game
 
+        //each step starts from the state of the game, so a turn can be resumed by a restarted game or by a bot
         while(game.getGameState() != GameState.PLANNING_STATE && continueGame){
-            ServerClientHandler client = playerToClient.get(game.getCurrentPlayer());
-            client.sendMessageToClient("It's your turn!");
-            moveStudents(client);
-            motherMovement(client);
-            if(!endGameInRound && continueGame) { //to avoid problem caused by end game
-                takeCloud(client);
-            } else{
-                game.nextTurn();
+            Player player = game.getCurrentPlayer();
+            ServerClientHandler client = playerToClient.get(player);
+            clock.startTurn(client);
+            try {
+                switch (game.getGameState()) {
+                    case MOVING_STUDENT_STATE -> {
+                        client.sendMessageToClient(Prompt.YOUR_TURN);
+                        moveStudents(client);
+                    }
+                    case MOTHER_MOVEMENT_STATE -> motherMovement(client);
+                    case CLOUD_TO_ENTRANCE_STATE -> {
+                        if(!endGameInRound && continueGame) { //to avoid problem caused by end game
+                            takeCloud(client);
+                        } else{
+                            game.nextTurn();
+                            recorder.nextTurn();
+                        }
+                    }
+                }
+            }catch (TurnExpiredException e){
+                playDefaultMove(client);
             }
+            if(game.getCurrentPlayer() != player || game.getGameState() == GameState.PLANNING_STATE)
+                clock.endTurn();
         }
     }
 
@@ -667,41 +637,51 @@ public class GameHandler implements PropertyChangeListener {
      * @see ServerClientHandler for exceptions
      */
     private synchronized void moveStudents(ServerClientHandler client) throws IOException, ClassNotFoundException{
-        int numberOfMoves = numPlayer == 3 ? new ThreePlayersConstants().getMaxNumStudMovements() : new TwoPlayersConstants().getMaxNumStudMovements();
+        int numberOfMoves = game.getMaxNumStudMoves();
         Message message;
 
         while(game.getActualNumStudMoves()<numberOfMoves){
             boolean correctMove = false;
-            client.sendMessageToClient("Select where you want to move your students[\"hall/island\"]");
+            sendTurnPrompt(client, Prompt.CHOOSE_MOVEMENT);
             while(!correctMove){
                 message = client.readMessageFromClient();
                 if(message instanceof MoveStudentMessage && game.getGameState() == GameState.MOVING_STUDENT_STATE) {
                     String command = ((MoveStudentMessage) message).getMsg().toUpperCase();
                     if (( command.equals("HALL"))){
-                        client.sendMessageToClient("Please select the color of the student you want to move");
+                        client.sendMessageToClient(Prompt.CHOOSE_STUDENT_COLOR);
                         toHall(client);
                     } else{
-                        client.sendMessageToClient("Please select the color of the student you want to move");
+                        client.sendMessageToClient(Prompt.CHOOSE_STUDENT_COLOR);
                         toIsland(client);
                     }
                     correctMove = true;
+                } else if(message instanceof MoveStudentsBatch batch && game.getGameState() == GameState.MOVING_STUDENT_STATE) {
+                    correctMove = applyStudentsBatch(client, batch, numberOfMoves - game.getActualNumStudMoves());
+                    if(!correctMove)
+                        sendTurnPrompt(client, Prompt.CHOOSE_MOVEMENT);
                 } else if(message instanceof PlayExpertCard && expertGame){
                     if(!((ExpertGame) game).isCardHasBeenPlayed()) {
                         correctMove = playCard(client);
                         if(correctMove) {
                             game.removeActualNumStudMoves();
                         } else{
-                            client.sendMessageToClient("Select where you want to move your students[\"hall/island\"]");
+                            sendTurnPrompt(client, Prompt.CHOOSE_MOVEMENT);
                         }
                     } else{
-                        client.sendMessageToClient("You have already played a card this turn!");
-                        client.sendMessageToClient("Select where you want to move your students[\"hall/island\"]");
+                        client.sendMessageToClient(Prompt.CARD_ALREADY_PLAYED);
+                        sendTurnPrompt(client, Prompt.CHOOSE_MOVEMENT);
                     }
-                } else if(message instanceof PlayExpertCard){
-                    client.sendMessageToClient("Not in an expert game");
-                    client.sendMessageToClient("Select where you want to move your students[\"hall/island\"]");
+                } else if(message instanceof ExpertCardCommand command && expertGame){
+                    correctMove = playCardCommand(client, command);
+                    if(correctMove)
+                        game.removeActualNumStudMoves();
+                    else
+                        sendTurnPrompt(client, Prompt.CHOOSE_MOVEMENT);
+                } else if(message instanceof PlayExpertCard || message instanceof ExpertCardCommand){
+                    client.sendMessageToClient(Prompt.NOT_EXPERT_GAME);
+                    sendTurnPrompt(client, Prompt.CHOOSE_MOVEMENT);
                 } else {
-                    client.sendMessageToClient("Wrong command, select Hall or Island");
+                    client.sendMessageToClient(Prompt.WRONG_MOVEMENT_COMMAND);
                 }
             }
             game.addActualNumStudMoves();
@@ -721,21 +701,16 @@ public class GameHandler implements PropertyChangeListener {
         while(!isColorChosen){
             message = client.readMessageFromClient();
             if(message instanceof ColorChosen && game.getGameState()==GameState.MOVING_STUDENT_STATE){
-                if(game.getCurrentPlayer().getBoard().getEntrance().colorsAvailable().contains(((ColorChosen) message).getColor())
-                && game.getCurrentPlayer().getBoard().hallIsFillable(((ColorChosen) message).getColor())){
-                    game.entranceToHall(((ColorChosen) message).getColor());
-
-                    server.saveGame(this);// save game
-
-                    broadcastMessage(new ToHallUpdateAnswer(client.getNickname(), getBoardBeans()));
+                if(MoveGenerator.isLegal(game, Move.toHall(((ColorChosen) message).getColor()))){
+                    applyToHall(client, ((ColorChosen) message).getColor());
                     isColorChosen = true;
                 }
                 else{
-                    client.sendMessageToClient("Color not available, please select another color.");
+                    client.sendMessageToClient(Prompt.COLOR_NOT_AVAILABLE);
                 }
             }
             else{
-                client.sendMessageToClient("Wrong command, please insert the color you want to move");
+                client.sendMessageToClient(Prompt.WRONG_COLOR_COMMAND);
             }
 
         }
@@ -753,15 +728,14 @@ public class GameHandler implements PropertyChangeListener {
             message = client.readMessageFromClient();
             if(message instanceof ColorChosen && game.getGameState()==GameState.MOVING_STUDENT_STATE){
                 if(game.getCurrentPlayer().getBoard().getEntrance().colorsAvailable().contains(((ColorChosen) message).getColor())){
-                    client.sendMessageToClient("Select the island where you want to place your student.");
+                    client.sendMessageToClient(Prompt.CHOOSE_STUDENT_ISLAND);
                     islandSelection(client, ((ColorChosen) message).getColor());
                     isColorChosen = true;
-                    broadcastMessage(new ToIslandUpdateAnswer(client.getNickname(), copyBoard(game.getCurrentPlayer().getBoard()) , copyArchipelago(game.getArchipelago())));
                 } else{
-                    client.sendMessageToClient("Color not available, please select another color.");
+                    client.sendMessageToClient(Prompt.COLOR_NOT_AVAILABLE);
                 }
             } else{
-                client.sendMessageToClient("Wrong command, please insert the color you want to move");
+                client.sendMessageToClient(Prompt.WRONG_COLOR_COMMAND);
             }
 
         }
@@ -776,32 +750,18 @@ public class GameHandler implements PropertyChangeListener {
         while(!isIdxChosen){
             message = client.readMessageFromClient();
             if(message instanceof IntegerMessage && game.getGameState()==GameState.MOVING_STUDENT_STATE){
-                if(((IntegerMessage) message).getMessage() <= game.getArchipelago().size() && ((IntegerMessage) message).getMessage() >0){
-                    game.entranceToIsland(((IntegerMessage) message).getMessage() -1, color);
-
-                    server.saveGame(this);// save game
-
+                if(MoveGenerator.isLegal(game, Move.toIsland(color, ((IntegerMessage) message).getMessage() - 1))){
+                    applyToIsland(client, color, ((IntegerMessage) message).getMessage() - 1);
                     isIdxChosen = true;
                 } else{
-                    client.sendMessageToClient("This island doesn't exists, please select another island.");
+                    client.sendMessageToClient(Prompt.ISLAND_NOT_EXISTS);
                 }
             } else{
-                client.sendMessageToClient("Wrong command, select the idx of the island");
+                client.sendMessageToClient(Prompt.WRONG_ISLAND_COMMAND);
             }
         }
     }
 
-    /**
-     * @return all the board beans object parsed from the board objects
-     */
-    private ArrayList<BoardBean> getBoardBeans(){
-        ArrayList<BoardBean> boardBeans = new ArrayList<>();
-        for(Player player: game.getPlayers()){
-            boardBeans.add(copyBoard(player.getBoard()));
-        }
-        return  boardBeans;
-    }
-
     /**
      * This method handles the phase where the player can move MotherNature, in an Expert Game is also possible to play
      * a card.
@@ -812,37 +772,27 @@ public class GameHandler implements PropertyChangeListener {
 
 
         while(!isIdxChosen){
-            client.sendMessageToClient("Move mother nature. You can travel " + game.getMaxMovement() + " islands.");
-            client.sendMessageToClient("Choose the number of islands you want to travel.");
+            client.sendMessageToClient(Prompt.MOTHER_RANGE, game.getMaxMovement());
+            sendTurnPrompt(client, Prompt.CHOOSE_MOTHER_STEPS);
             message = client.readMessageFromClient();
             if(message instanceof IntegerMessage && game.getGameState()==GameState.MOTHER_MOVEMENT_STATE){
                 int step = ((IntegerMessage)message).getMessage();
-                if(step <= game.getArchipelago().size() && step > 0 && step <= game.getMaxMovement()){
-                    game.motherMovement(step);
-
-                    server.saveGame(this);// save game
-
-                    //copy of boards
-                    ArrayList<BoardBean> boardBeans = getBoardBeans();
-
-                    broadcastMessage(new MotherNatureUpdateAnswer(game.getMotherNature(), boardBeans, copyArchipelago(game.getArchipelago())));
-
-                    //HEALER CARD: refresh the cards
-                    ExpertCardUpdateAnswer expertCardUpdateAnswer = new ExpertCardUpdateAnswer();
-                    expertCardUpdateAnswer.setUpdatedExpertCards(copyExpertCards(game.getExpertCards()));
-                    broadcastMessage(expertCardUpdateAnswer);
+                if(MoveGenerator.isLegal(game, Move.moveMother(step))){
+                    applyMotherMovement(step);
                     isIdxChosen = true;
                 } else{
-                    client.sendMessageToClient("Please select a valid number of steps.");
+                    client.sendMessageToClient(Prompt.STEPS_NOT_VALID);
                 }
             } else if(message instanceof PlayExpertCard && expertGame){
                 if(!((ExpertGame) game).isCardHasBeenPlayed()) {
                     playCard(client);
                 } else{
-                    client.sendMessageToClient("You have already played a card this turn!");
+                    client.sendMessageToClient(Prompt.CARD_ALREADY_PLAYED);
                 }
+            } else if(message instanceof ExpertCardCommand command && expertGame){
+                playCardCommand(client, command);
             } else{
-                client.sendMessageToClient("Wrong command, please insert the number of islands you want to travel");
+                client.sendMessageToClient(Prompt.WRONG_STEPS_COMMAND);
             }
 
         }
@@ -855,22 +805,17 @@ public class GameHandler implements PropertyChangeListener {
     private void takeCloud(ServerClientHandler client) throws IOException, ClassNotFoundException{
         boolean cloudTaken = false;
         Message message;
-        client.sendMessageToClient("Select one of the clouds");
+        sendTurnPrompt(client, Prompt.CHOOSE_CLOUD);
 
         while(!cloudTaken){
             message = client.readMessageFromClient();
             if(message instanceof IntegerMessage && game.getGameState()==GameState.CLOUD_TO_ENTRANCE_STATE){
                 int temp = ((IntegerMessage) message).getMessage();
-                if(temp > 0 && temp<= numPlayer &&  !game.getCloudTiles().get(temp-1).isEmpty()){
-                    game.cloudToBoard(temp - 1);
-
-                    server.saveGame(this);// save game
-
-                    ArrayList<BoardBean> boardBeans = getBoardBeans();
-                    broadcastMessage(new CloudsUpdateAnswer(boardBeans, copyClouds(game.getCloudTiles())));
+                if(MoveGenerator.isLegal(game, Move.takeCloud(temp - 1))){
+                    applyCloud(temp - 1);
                     cloudTaken = true;
                 } else{
-                    client.sendMessageToClient("Cloud not valid, please insert a new cloud.");
+                    client.sendMessageToClient(Prompt.CLOUD_NOT_VALID);
                 }
             }
             else if(message instanceof PlayExpertCard && expertGame){
@@ -878,16 +823,182 @@ public class GameHandler implements PropertyChangeListener {
                     playCard(client);
                 }
                 else{
-                    client.sendMessageToClient("You have already played a card this turn!");
+                    client.sendMessageToClient(Prompt.CARD_ALREADY_PLAYED);
                 }
             }
+            else if(message instanceof ExpertCardCommand command && expertGame){
+                playCardCommand(client, command);
+            }
             else{
-                client.sendMessageToClient("Wrong command, insert the number of the cloud you want to take.");
+                client.sendMessageToClient(Prompt.WRONG_CLOUD_COMMAND);
+            }
+
+        }
+    }
+
+    /**
+     * This method plays an assistant card of the current player and notifies all the players
+     * @param priority priority of a legal card
+     */
+    private void applyAssistantCard(int priority) throws IOException{
+        Player currentPlayer = game.getCurrentPlayer();
+        game.playCard(currentPlayer.priorityToIndex(priority));
+        recorder.record(Move.playCard(priority));
+        server.saveGame(this);// save game
+
+        broadcastMessage(new AssistantCardPlayedAnswer(currentPlayer.getNickname(),
+                currentPlayer.getHand(), currentPlayer.viewLastCard()));
+    }
+
+    /**
+     * This method moves a student of the current player from the entrance to the hall and notifies all the players
+     * @param client client of the current player
+     * @param color color of the student
+     */
+    private void applyToHall(ServerClientHandler client, Color color) throws IOException{
+        game.entranceToHall(color);
+        recorder.record(Move.toHall(color));
+        server.saveGame(this);// save game
+
+        broadcastMessage(new ToHallUpdateAnswer(client.getNickname(), beanCache.boards()));
+    }
+
+    /**
+     * This method moves a student of the current player from the entrance to an island and notifies all the players
+     * @param client client of the current player
+     * @param color color of the student
+     * @param idxIsland index of the island
+     */
+    private void applyToIsland(ServerClientHandler client, Color color, int idxIsland) throws IOException{
+        game.entranceToIsland(idxIsland, color);
+        recorder.record(Move.toIsland(color, idxIsland));
+        server.saveGame(this);// save game
+
+        broadcastMessage(new ToIslandUpdateAnswer(client.getNickname(), beanCache.board(game.getCurrentPlayer().getBoard()) , beanCache.archipelago()));
+    }
+
+    /**
+     * This method moves some students of the current player at once. All the movements are checked before the game
+     * is changed, then the game is saved and the players are updated only once.
+     * The caller counts the last movement, as it does for a single movement
+     * @param client client of the current player
+     * @param batch movements of the students, in order
+     * @param remaining number of students that the player can still move in this turn
+     * @return true if the movements have been done, false if they are not valid
+     */
+    private boolean applyStudentsBatch(ServerClientHandler client, MoveStudentsBatch batch, int remaining) throws IOException{
+        MoveList moves = new MoveList();
+        for(MoveStudentsBatch.Step step : batch.getSteps())
+            moves.add(step.island() < 0 ? Move.toHall(step.color()) : Move.toIsland(step.color(), step.island()));
+        if(moves.isEmpty() || moves.size() > remaining){
+            client.sendMessageToClient(Prompt.MOVES_LIMIT, remaining);
+            return false;
+        }
+        if(!MoveGenerator.isLegalStudentMoves(game, moves)){
+            client.sendMessageToClient(Prompt.MOVES_NOT_VALID);
+            return false;
+        }
+
+        for(int i = 0; i < moves.size(); i++){
+            int move = moves.get(i);
+            if(Move.type(move) == Move.TO_HALL)
+                game.entranceToHall(Move.color(move));
+            else
+                game.entranceToIsland(Move.value(move), Move.color(move));
+            recorder.record(move);
+            if(i < moves.size() - 1)
+                game.addActualNumStudMoves();
+        }
+        server.saveGame(this);// save game
+
+        broadcastMessage(new StudentsMovedUpdateAnswer(client.getNickname(), beanCache.boards(), beanCache.archipelago()));
+        return true;
+    }
+
+    /**
+     * This method moves mother nature and notifies all the players
+     * @param step number of islands mother nature travels
+     */
+    private void applyMotherMovement(int step) throws IOException{
+        ArrayList<ExpertCardBean> expertCards = beanCache.expertCards();
+        game.motherMovement(step);
+        recorder.record(Move.moveMother(step));
+        server.saveGame(this);// save game
+
+        //copy of boards
+        ArrayList<BoardBean> boardBeans = beanCache.boards();
+
+        broadcastMessage(new MotherNatureUpdateAnswer(game.getMotherNature(), boardBeans, beanCache.archipelago()));
+
+        //HEALER CARD: refresh the cards, only if a ban tile came back to the card
+        if(beanCache.expertCards() != expertCards){
+            ExpertCardUpdateAnswer expertCardUpdateAnswer = new ExpertCardUpdateAnswer();
+            expertCardUpdateAnswer.setUpdatedExpertCards(beanCache.expertCards());
+            broadcastMessage(expertCardUpdateAnswer);
+        }
+    }
+
+    /**
+     * This method moves the students of a cloud to the entrance of the current player and notifies all the players
+     * @param idxCloud index of a cloud that is not empty
+     */
+    private void applyCloud(int idxCloud) throws IOException{
+        game.cloudToBoard(idxCloud);
+        recorder.record(Move.takeCloud(idxCloud));
+        server.saveGame(this);// save game
+
+        ArrayList<BoardBean> boardBeans = beanCache.boards();
+        broadcastMessage(new CloudsUpdateAnswer(boardBeans, beanCache.clouds()));
+    }
+
+    /**
+     * This method plays a move in place of a player whose time is up: the card with the lowest priority, the first
+     * student that can be moved, the shortest movement of mother nature or the first cloud that is not empty
+     * @param client client of the current player
+     */
+    private void playDefaultMove(ServerClientHandler client) throws IOException{
+        client.sendMessageToClient(Prompt.TIME_IS_UP);
+        if(expertGame)
+            recorder.snapshot();//the time may be up in the middle of an expert card
+        int move = defaultMove(game);
+        if(move == Move.NONE){
+            if(game.getGameState() == GameState.CLOUD_TO_ENTRANCE_STATE){ //all the clouds are empty
+                game.nextTurn();
+                recorder.nextTurn();
             }
+            return;
+        }
 
+        switch (Move.type(move)) {
+            case Move.PLAY_CARD -> applyAssistantCard(Move.value(move));
+            case Move.TO_HALL, Move.TO_ISLAND -> {
+                if(Move.type(move) == Move.TO_HALL)
+                    applyToHall(client, Move.color(move));
+                else
+                    applyToIsland(client, Move.color(move), Move.value(move));
+                int numberOfMoves = game.getMaxNumStudMoves();
+                game.addActualNumStudMoves();
+                if(game.getActualNumStudMoves() >= numberOfMoves){
+                    game.setActualNumStudMoves(0);
+                    game.setGameState(GameState.MOTHER_MOVEMENT_STATE);
+                }
+            }
+            case Move.MOVE_MOTHER -> applyMotherMovement(Move.value(move));
+            case Move.TAKE_CLOUD -> applyCloud(Move.value(move));
         }
     }
 
+    /**
+     * This method chooses the move played in place of the current player of a game whose time is up
+     * @param game game in which the current player has to move
+     * @return the first legal move of the current player, without expert cards, Move.NONE if there is none
+     */
+    static int defaultMove(Game game){
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(game, moves, false);
+        return moves.isEmpty() ? Move.NONE : moves.get(0);
+    }
+
     /**
      * This method is only usable in an expert game, it's purpose is to let the player chose an index from the 3 cards
      * and play one of the cards
@@ -896,7 +1007,7 @@ public class GameHandler implements PropertyChangeListener {
      */
     private boolean playCard(ServerClientHandler client) throws IOException, ClassNotFoundException{
         Message message;
-        client.sendMessageToClient("Select the card you want to play!");
+        client.sendMessageToClient(Prompt.CHOOSE_EXPERT_CARD);
         while(true){
             message = client.readMessageFromClient();
             if(message instanceof IntegerMessage){
@@ -905,107 +1016,137 @@ public class GameHandler implements PropertyChangeListener {
                     ExpertCard card = cards.get(((IntegerMessage) message).getMessage()-1);
 
                     if(game.getCurrentPlayer().getBoard().getNumCoin() < card.getPrice()){
-                        client.sendMessageToClient("You don't have enough coin!");
+                        client.sendMessageToClient(Prompt.NOT_ENOUGH_COINS);
                         return false;
                     }
 
-                    //this update message is filled according to the effect of a card
-                    ExpertCardUpdateAnswer expertCardUpdateAnswer = new ExpertCardUpdateAnswer();
-
-                    if(card instanceof IncrementMaxMovementCard || card instanceof TakeProfessorEqualStudentsCard){ //do not refresh the ui
-                        game.playEffect(((IntegerMessage) message).getMessage()-1);
-                    }
-                    else if(card instanceof SwapStudentsCard card1){//refresh the boards
-                        if(game.getCurrentPlayer().getBoard().getHall().numStudents() == 0){
-                            client.sendMessageToClient("Your Hall is empty!");
-                            return false;
+                    int idxCard = ((IntegerMessage) message).getMessage()-1;
+                    switch (card.getType()) {
+                        case BARD -> {
+                            if(game.getCurrentPlayer().getBoard().getHall().numStudents() == 0){
+                                client.sendMessageToClient(Prompt.HALL_EMPTY);
+                                return false;
+                            }
+                            game.playVoidEffects(card);// refresh te boards in each movement
+                            swapStudents(client, (SwapStudentsCard) card);
                         }
-                        game.playVoidEffects(card1);// refresh te boards in each movement
-                        swapStudents(client, card1);
-
-                    }
-                    else if(card instanceof  StudentsBufferCardsCluster card1){
-                        int idx = ((StudentsBufferCardsCluster) card).getIndex();
-                        if(idx == 0){// refresh the archipelago
-                            manStudentCluster(client, card1);
-                            game.playEffect(((IntegerMessage) message).getMessage()-1);
-
-                            expertCardUpdateAnswer.setUpdatedArchipelago(copyArchipelago(game.getArchipelago()));
+                        case JOKER -> {
+                            game.playVoidEffects(card);
+                            swapCardCluster(client, (StudentsBufferCardsCluster) card);//refresh the boards in each movement
                         }
-                        else if(idx == 1){// refresh the boards
-                            game.playVoidEffects(card1);
-                            swapCardCluster(client, card1);//refresh the boards in each movement
-
+                        case MONK -> {
+                            manStudentCluster(client, (StudentsBufferCardsCluster) card);
+                            game.playEffect(idxCard);
                         }
-                        else if(idx == 2){// refresh the boards
-                            if(!askColorStudentsCluster(client, card1))
+                        case PRINCESS -> {
+                            if(!askColorStudentsCluster(client, (StudentsBufferCardsCluster) card))
                                 return false;
-                            game.playEffect(((IntegerMessage) message).getMessage()-1);
-                            //copy of boards
-                            ArrayList<BoardBean> boardBeans = getBoardBeans();
-                            expertCardUpdateAnswer.setUpdatedBoards(boardBeans);
+                            game.playEffect(idxCard);
                         }
-                    }
-                    else if (card instanceof PutThreeStudentsInTheBagCard){//refresh the boards
-                        putThreeStudentsInBagColor(client, card);
-                        game.playEffect(((IntegerMessage) message).getMessage() - 1);
-
-                        //copy of boards
-                        ArrayList<BoardBean> boardBeans = getBoardBeans();
-                        expertCardUpdateAnswer.setUpdatedBoards(boardBeans);
-                    }
-                    else if (card instanceof  PseudoMotherNatureCard){//refresh the archipelago and the boards
-                        pseudoMotherIslandSelector(client, card);
-                        game.playEffect(((IntegerMessage) message).getMessage()-1);
-
-                        //copy of boards
-                        ArrayList<BoardBean> boardBeans = getBoardBeans();
-                        expertCardUpdateAnswer.setUpdatedBoards(boardBeans);
-                        expertCardUpdateAnswer.setUpdatedArchipelago(copyArchipelago(game.getArchipelago()));
-
-                    }
-                    else if (card instanceof  InfluenceCardsCluster card1){//do not refresh the ui
-                        int idx = card1.getIndex();
-                        if(idx == 0){
-                            game.playEffect(((IntegerMessage) message).getMessage()-1);
+                        case MONEYLENDER -> {
+                            putThreeStudentsInBagColor(client, card);
+                            game.playEffect(idxCard);
                         }
-                        else if(idx ==1){
-                            game.playEffect(((IntegerMessage) message).getMessage()-1);
+                        case HERALD -> {
+                            pseudoMotherIslandSelector(client, card);
+                            game.playEffect(idxCard);
                         }
-                        else if(idx == 2){
-                            choseColorInfluenceCalculator(client, card1);
-                            game.playEffect(((IntegerMessage) message).getMessage()-1);
+                        case POISONER -> {
+                            choseColorInfluenceCalculator(client, (InfluenceCardsCluster) card);
+                            game.playEffect(idxCard);
                         }
-                    }
-                    else if (card instanceof BannedIslandCard){//refresh the archipelago
-                        if(((ExpertGame)game).getBanTile()<=0){
-                            client.sendMessageToClient("There are no ban token remaining");
-                            return false;
+                        case HEALER -> {
+                            if(((ExpertGame)game).getBanTile()<=0){
+                                client.sendMessageToClient(Prompt.NO_BAN_TOKENS);
+                                return false;
+                            }
+                            bannedIslandSelector(client, card);
+                            game.playEffect(idxCard);
                         }
-                        bannedIslandSelector(client, card);
-                        game.playEffect(((IntegerMessage) message).getMessage()-1);
-
-                        expertCardUpdateAnswer.setUpdatedArchipelago(copyArchipelago(game.getArchipelago()));
-
+                        default -> game.playEffect(idxCard);
                     }
+                    recorder.snapshot();
                     server.saveGame(this);// save game
 
-                    //refresh the cards
-                    expertCardUpdateAnswer.setUpdatedExpertCards(copyExpertCards(game.getExpertCards()));
-                    broadcastMessage(expertCardUpdateAnswer);
-                    broadcastMessage("A card was activated!");
+                    broadcastMessage(cardUpdate(card.getType()));
+                    broadcastMessage(Prompt.CARD_ACTIVATED);
                     return true;
                 }
                 else{
-                    client.sendMessageToClient("Please select a card from to 1 to 3");
+                    client.sendMessageToClient(Prompt.CARD_NOT_VALID, ((ExpertGame) game).getExpertCards().size());
                 }
             }
             else{
-                client.sendMessageToClient("Wrong command, please select which card you want to play");
+                client.sendMessageToClient(Prompt.WRONG_CARD_COMMAND);
             }
         }
     }
 
+    /**
+     * This method plays an expert card with all its parameters, sent in a single message. The whole activation is checked
+     * before the game is changed, then the game is saved and the players are updated only once
+     * @param client player that played the card
+     * @param command the card with its parameters
+     * @return true if the card is played, false if it was not possible to play the card
+     */
+    private boolean playCardCommand(ServerClientHandler client, ExpertCardCommand command) throws IOException{
+        CardActivation activation = command.getActivation();
+        if(activation == null){
+            client.sendMessageToClient(Prompt.WRONG_CARD_COMMAND);
+            return false;
+        }
+        CardActivation.Rejection rejection = activation.check((ExpertGame) game);
+        if(rejection != null){
+            client.sendMessageToClient(rejectionPrompt(rejection));
+            return false;
+        }
+        activation.apply((ExpertGame) game);
+        recorder.snapshot();
+        server.saveGame(this);// save game
+
+        broadcastMessage(cardUpdate(game.getExpertCards().get(activation.getCard()).getType()));
+        return true;
+    }
+
+    /**
+     * Helper method that gives the error sent to a player whose activation of an expert card has been rejected
+     * @param rejection reason why the activation cannot be played
+     * @return the prompt of the reason with its argument
+     */
+    private static PromptAnswer rejectionPrompt(CardActivation.Rejection rejection){
+        Prompt prompt = switch (rejection.reason()) {
+            case CARD_NOT_VALID -> Prompt.CARD_NOT_VALID;
+            case CARD_ALREADY_PLAYED -> Prompt.CARD_ALREADY_PLAYED;
+            case NOT_ENOUGH_COINS -> Prompt.NOT_ENOUGH_COINS;
+            case COLOR_NOT_SELECTED -> Prompt.COLOR_NOT_SELECTED;
+            case COLOR_NOT_ON_CARD -> Prompt.COLOR_NOT_ON_CARD;
+            case HALL_FULL -> Prompt.HALL_FULL;
+            case NO_BAN_TOKENS -> Prompt.NO_BAN_TOKENS;
+            case ISLAND_NOT_EXISTS -> Prompt.ISLAND_NOT_EXISTS;
+            case SWAPS_NOT_VALID -> Prompt.SWAPS_NOT_VALID;
+            case NO_STUDENT_ON_CARD -> Prompt.NO_STUDENT_ON_CARD;
+            case NO_STUDENT_IN_ENTRANCE -> Prompt.NO_STUDENT_IN_ENTRANCE;
+            case NO_STUDENT_IN_HALL -> Prompt.NO_STUDENT_IN_HALL;
+        };
+        return prompt.numParams() == 0 ? new PromptAnswer(prompt) : new PromptAnswer(prompt, rejection.argument());
+    }
+
+    /**
+     * Helper method that creates the update sent after an expert card has been played. Besides the cards, it contains
+     * only the parts of the game that the effect of the card can change
+     * @param type type of the card played
+     * @return the update for the players
+     */
+    private ExpertCardUpdateAnswer cardUpdate(ExpertCardType type){
+        ExpertCardUpdateAnswer expertCardUpdateAnswer = new ExpertCardUpdateAnswer();
+        if(type.changes(ExpertCardType.Region.BOARDS))
+            expertCardUpdateAnswer.setUpdatedBoards(beanCache.boards());
+        if(type.changes(ExpertCardType.Region.ARCHIPELAGO))
+            expertCardUpdateAnswer.setUpdatedArchipelago(beanCache.archipelago());
+        expertCardUpdateAnswer.setUpdatedExpertCards(beanCache.expertCards());
+        return expertCardUpdateAnswer;
+    }
+
     /**
      * This method can swap color between entrance and the card for a maximum of three times, simulating the play
      * of the related card.
@@ -1016,7 +1157,7 @@ public class GameHandler implements PropertyChangeListener {
         Message message;
         Board board = game.getCurrentPlayer().getBoard();
         for(int i=0; i<3; i++){
-            client.sendMessageToClient("Please select the color of the student to take in the entrance");
+            client.sendMessageToClient(Prompt.CHOOSE_ENTRANCE_FOR_CARD);
             boolean entranceColor = false;
             while(!entranceColor){
                 message = client.readMessageFromClient();
@@ -1031,21 +1172,21 @@ public class GameHandler implements PropertyChangeListener {
                         ExpertCardUpdateAnswer expertCardUpdateAnswer = new ExpertCardUpdateAnswer();
 
                         //copy of boards
-                        ArrayList<BoardBean> boardBeans = getBoardBeans();
+                        ArrayList<BoardBean> boardBeans = beanCache.boards();
                         expertCardUpdateAnswer.setUpdatedBoards(boardBeans);
-                        expertCardUpdateAnswer.setUpdatedExpertCards(copyExpertCards(game.getExpertCards()));
+                        expertCardUpdateAnswer.setUpdatedExpertCards(beanCache.expertCards());
                         broadcastMessage(expertCardUpdateAnswer);
                     }
                     else{
-                        client.sendMessageToClient("Please select one available color");
+                        client.sendMessageToClient(Prompt.COLOR_NOT_AVAILABLE);
                     }
                 }
                 else if(message instanceof StopMessage){
-                    client.sendMessageToClient("You've finished to swap your tokens");
+                    client.sendMessageToClient(Prompt.CARD_SWAPS_FINISHED);
                     return;
                 }
                 else{
-                    client.sendMessageToClient("Wrong command, please select a color");
+                    client.sendMessageToClient(Prompt.WRONG_COLOR_COMMAND);
                 }
 
             }
@@ -1059,7 +1200,7 @@ public class GameHandler implements PropertyChangeListener {
      * @param card the card that has been played
      */
     private void setSwapCardStudentsBuffer(ServerClientHandler client, StudentsBufferCardsCluster card) throws IOException, ClassNotFoundException{
-        client.sendMessageToClient("Please select the color of the student on the card");
+        client.sendMessageToClient(Prompt.CHOOSE_CARD_STUDENT);
         Message message;
         boolean hallColor = false;
         while(!hallColor){
@@ -1070,11 +1211,11 @@ public class GameHandler implements PropertyChangeListener {
                     hallColor = true;
                 }
                 else{
-                    client.sendMessageToClient("This color is not available please select another one");
+                    client.sendMessageToClient(Prompt.COLOR_NOT_AVAILABLE);
                 }
             }
             else{
-                client.sendMessageToClient("Wrong command, select a new one");
+                client.sendMessageToClient(Prompt.WRONG_COMMAND);
             }
         }
     }
@@ -1086,7 +1227,7 @@ public class GameHandler implements PropertyChangeListener {
      * @param card the card that has been played
      */
     private void manStudentCluster(ServerClientHandler client, ExpertCard card) throws IOException, ClassNotFoundException{
-        client.sendMessageToClient("Please select the color of the student to take");
+        client.sendMessageToClient(Prompt.CHOOSE_STUDENT_TO_TAKE);
         Message message;
         boolean colorChosen = false;
         while(!colorChosen){
@@ -1098,10 +1239,10 @@ public class GameHandler implements PropertyChangeListener {
                     islandSelectionManCluster(client, card);
                 }
                 else{
-                    client.sendMessageToClient("Please select a valid color!");
+                    client.sendMessageToClient(Prompt.COLOR_NOT_AVAILABLE);
                 }
             }else{
-                client.sendMessageToClient("Wrong command, please insert a new command");
+                client.sendMessageToClient(Prompt.WRONG_COMMAND);
             }
         }
 
@@ -1115,7 +1256,7 @@ public class GameHandler implements PropertyChangeListener {
     private void islandSelectionManCluster(ServerClientHandler client, ExpertCard card) throws IOException, ClassNotFoundException{
         Message message;
         boolean choseIsland = false;
-        client.sendMessageToClient("Please select an island");
+        client.sendMessageToClient(Prompt.CHOOSE_ISLAND);
         while(!choseIsland){
             message = client.readMessageFromClient();
             if(message instanceof IntegerMessage){
@@ -1124,11 +1265,11 @@ public class GameHandler implements PropertyChangeListener {
                     choseIsland = true;
                 }
                 else{
-                    client.sendMessageToClient("This island not exists, select another island");
+                    client.sendMessageToClient(Prompt.ISLAND_NOT_EXISTS);
                 }
             }
             else{
-                client.sendMessageToClient("Wrong command, select a correct one");
+                client.sendMessageToClient(Prompt.WRONG_COMMAND);
             }
         }
     }
@@ -1140,14 +1281,14 @@ public class GameHandler implements PropertyChangeListener {
      * @return false if the hall for that color is full, true otherwise.
      */
     private boolean askColorStudentsCluster(ServerClientHandler client, ExpertCard card) throws IOException, ClassNotFoundException{
-        client.sendMessageToClient("Please select the color to move to your hall");
+        client.sendMessageToClient(Prompt.CHOOSE_COLOR_TO_HALL);
         Message message;
         boolean colorChosen = false;
         while(!colorChosen){
             message = client.readMessageFromClient();
             if(message instanceof ColorChosen){
                 if(!game.getCurrentPlayer().getBoard().getHall().isAddable(((ColorChosen) message).getColor())){
-                    client.sendMessageToClient("You can't add more "+ ((ColorChosen) message).getColor() + " students in your hall");
+                    client.sendMessageToClient(Prompt.HALL_FULL, ((ColorChosen) message).getColor().ordinal());
                     return false;
                 }
                 if(((StudentsBufferCardsCluster)card).getStudBuffer().colorsAvailable().contains(((ColorChosen) message).getColor())){
@@ -1155,11 +1296,11 @@ public class GameHandler implements PropertyChangeListener {
                     colorChosen = true;
                 }
                 else{
-                    client.sendMessageToClient("Color not available, select a new one");
+                    client.sendMessageToClient(Prompt.COLOR_NOT_AVAILABLE);
                 }
             }
             else{
-                client.sendMessageToClient("Wrong Command, chose a color");
+                client.sendMessageToClient(Prompt.WRONG_COLOR_COMMAND);
             }
         }
         return true;
@@ -1172,7 +1313,7 @@ public class GameHandler implements PropertyChangeListener {
      * @param card the card that has been played
      */
     private void putThreeStudentsInBagColor(ServerClientHandler client, ExpertCard card) throws IOException, ClassNotFoundException{
-        client.sendMessageToClient("Please select the color to put in the bag");
+        client.sendMessageToClient(Prompt.CHOOSE_COLOR_TO_BAG);
         Message message;
         boolean colorChosen = false;
         while(!colorChosen){
@@ -1183,11 +1324,11 @@ public class GameHandler implements PropertyChangeListener {
                     colorChosen = true;
                 }
                 else{
-                    client.sendMessageToClient("!!!!ALARM!!!!! MALEFIC CLIENT DETECTED!!!!");
+                    client.sendMessageToClient(Prompt.MALICIOUS_CLIENT);
                 }
             }
             else{
-                client.sendMessageToClient("Wrong command, please select a color to put in the bag");
+                client.sendMessageToClient(Prompt.WRONG_COLOR_COMMAND);
             }
 
         }
@@ -1199,7 +1340,7 @@ public class GameHandler implements PropertyChangeListener {
      *  @param card the card that has been played
      */
     private void bannedIslandSelector(ServerClientHandler client, ExpertCard card) throws IOException,ClassNotFoundException{
-        client.sendMessageToClient("Please select the island where you want to put your ban token");
+        client.sendMessageToClient(Prompt.CHOOSE_BAN_ISLAND);
         Message message;
         boolean idxIsland = false;
         while(!idxIsland){
@@ -1210,11 +1351,11 @@ public class GameHandler implements PropertyChangeListener {
                     idxIsland=true;
                 }
                 else{
-                    client.sendMessageToClient("This island does not exists");
+                    client.sendMessageToClient(Prompt.ISLAND_NOT_EXISTS);
                 }
             }
             else{
-                client.sendMessageToClient("Wrong command, needed the number of island that you want to ban");
+                client.sendMessageToClient(Prompt.WRONG_ISLAND_COMMAND);
             }
         }
     }
@@ -1225,7 +1366,7 @@ public class GameHandler implements PropertyChangeListener {
      *  @param card the card that has been played
      */
     private void pseudoMotherIslandSelector(ServerClientHandler client, ExpertCard card) throws IOException,ClassNotFoundException{
-        client.sendMessageToClient("Please select the island where you want to calculate your influence");
+        client.sendMessageToClient(Prompt.CHOOSE_INFLUENCE_ISLAND);
         Message message;
         boolean idxIsland = false;
         while(!idxIsland){
@@ -1236,11 +1377,11 @@ public class GameHandler implements PropertyChangeListener {
                     idxIsland=true;
                 }
                 else{
-                    client.sendMessageToClient("This island does not exists");
+                    client.sendMessageToClient(Prompt.ISLAND_NOT_EXISTS);
                 }
             }
             else{
-                client.sendMessageToClient("Wrong command, needed the number of island where you want to calculate influence");
+                client.sendMessageToClient(Prompt.WRONG_ISLAND_COMMAND);
             }
         }
     }
@@ -1256,8 +1397,8 @@ public class GameHandler implements PropertyChangeListener {
             for(int count=0; count<2; count++){
                 boolean entranceColor = false;
                 while(!entranceColor){
-                    client.sendMessageToClient("If you want to stop the effect type 'stop'");
-                    client.sendMessageToClient("Please select the color of the entrance you want to swap");
+                    client.sendMessageToClient(Prompt.SWAP_STOP_HINT);
+                    client.sendMessageToClient(Prompt.CHOOSE_ENTRANCE_TO_SWAP);
                     message = client.readMessageFromClient();
                     if(message instanceof ColorChosen){
                         if(board.getEntrance().colorsAvailable().contains(((ColorChosen) message).getColor())){
@@ -1270,21 +1411,21 @@ public class GameHandler implements PropertyChangeListener {
                             ExpertCardUpdateAnswer expertCardUpdateAnswer = new ExpertCardUpdateAnswer();
 
                             //copy of boards
-                            ArrayList<BoardBean> boardBeans = getBoardBeans();
+                            ArrayList<BoardBean> boardBeans = beanCache.boards();
                             expertCardUpdateAnswer.setUpdatedBoards(boardBeans);
-                            expertCardUpdateAnswer.setUpdatedExpertCards(copyExpertCards(game.getExpertCards()));
+                            expertCardUpdateAnswer.setUpdatedExpertCards(beanCache.expertCards());
                             broadcastMessage(expertCardUpdateAnswer);
                         }
                         else{
-                            client.sendMessageToClient("There is no such color in the entrance");
+                            client.sendMessageToClient(Prompt.NO_COLOR_IN_ENTRANCE);
                         }
                     }
                     else if(message instanceof StopMessage){
-                        client.sendMessageToClient("You finished swapping the cards");
+                        client.sendMessageToClient(Prompt.HALL_SWAPS_FINISHED);
                         return;
                     }
                     else{
-                        client.sendMessageToClient("Wrong command, please select a color");
+                        client.sendMessageToClient(Prompt.WRONG_COLOR_COMMAND);
                     }
 
                 }
@@ -1301,7 +1442,7 @@ public class GameHandler implements PropertyChangeListener {
         boolean hallColor = false;
         Board board = game.getCurrentPlayer().getBoard();
         while(!hallColor){
-            client.sendMessageToClient("Please select a color for the hall to swap");
+            client.sendMessageToClient(Prompt.CHOOSE_HALL_TO_SWAP);
             message = client.readMessageFromClient();
             if(message instanceof ColorChosen){
                 if(board.getHall().colorsAvailable().contains(((ColorChosen) message).getColor())){
@@ -1309,11 +1450,11 @@ public class GameHandler implements PropertyChangeListener {
                     hallColor = true;
                 }
                 else{
-                    client.sendMessageToClient("Color not available, select another color");
+                    client.sendMessageToClient(Prompt.COLOR_NOT_AVAILABLE);
                 }
             }
             else{
-                client.sendMessageToClient("Wrong command, select a color!");
+                client.sendMessageToClient(Prompt.WRONG_COLOR_COMMAND);
             }
         }
     }
@@ -1326,7 +1467,7 @@ public class GameHandler implements PropertyChangeListener {
     private void choseColorInfluenceCalculator(ServerClientHandler client, InfluenceCardsCluster card) throws IOException, ClassNotFoundException{
         boolean choseColor = false;
         Message message;
-        client.sendMessageToClient("Please select the color to ignore for the influence calculation");
+        client.sendMessageToClient(Prompt.CHOOSE_COLOR_TO_IGNORE);
         while(!choseColor){
             message = client.readMessageFromClient();
             if(message instanceof ColorChosen){
@@ -1335,11 +1476,11 @@ public class GameHandler implements PropertyChangeListener {
                     choseColor = true;
                 }
                 else{
-                    client.sendMessageToClient("!!!!ALARM!!!!! MALEFIC CLIENT DETECTED!!!!");
+                    client.sendMessageToClient(Prompt.MALICIOUS_CLIENT);
                 }
             }
             else{
-                client.sendMessageToClient("Please select a valid color");
+                client.sendMessageToClient(Prompt.COLOR_NOT_AVAILABLE);
             }
         }
     }
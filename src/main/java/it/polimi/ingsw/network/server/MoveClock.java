@@ -0,0 +1,110 @@
+package it.polimi.ingsw.network.server;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures the time taken by the players of a game. Each turn has a maximum duration, and each player
+ * has a total amount of time for the whole game. When the time of the player that is moving is up, its client handler
+ * is marked as expired: the GameHandler stops waiting for its messages and plays a default move in its place.
+ * The expirations of all the games are scheduled on a single thread shared by the whole server.
+ * Bots are never timed.
+ *
+ * @author Dario d'Abate
+ */
+public class MoveClock {
+    //the clocks are disabled unless the server is started with a limit
+    public static final int DEFAULT_TURN_SECONDS = 0;
+    public static final int DEFAULT_GAME_SECONDS = 0;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "move-clock");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long turnMillis; //0 if the turns have no maximum duration
+    private final long gameMillis; //0 if the players have no maximum time for the game
+    private final Map<String, Long> remainingMillis; //time left to each player for the game
+
+    private ServerClientHandler running; //client whose time is running, null if no time is running
+    private long turnStart;
+    private long turn; //number of the turns started, used to ignore the expirations of the turns already ended
+    private ScheduledFuture<?> expiration;
+
+    /**
+     * Constructor of the class
+     * @param turnSeconds maximum duration of a turn, 0 for no limit
+     * @param gameSeconds time that each player has for the whole game, 0 for no limit
+     */
+    public MoveClock(int turnSeconds, int gameSeconds){
+        turnMillis = TimeUnit.SECONDS.toMillis(turnSeconds);
+        gameMillis = TimeUnit.SECONDS.toMillis(gameSeconds);
+        remainingMillis = new HashMap<>();
+    }
+
+    /**
+     * @return true if the turns or the games have a maximum duration
+     */
+    public boolean isEnabled(){
+        return turnMillis > 0 || gameMillis > 0;
+    }
+
+    /**
+     * This method starts the time of a client. Nothing changes if the time of that client is already running,
+     * otherwise the time of the previous client is stopped
+     * @param client client that has to move
+     */
+    public synchronized void startTurn(ServerClientHandler client){
+        if(client == running)
+            return;
+        endTurn();
+        if(!isEnabled() || client instanceof BotClientHandler)
+            return;
+
+        running = client;
+        turnStart = System.currentTimeMillis();
+        long turnId = ++turn;
+        long delay = turnMillis > 0 ? turnMillis : Long.MAX_VALUE;
+        if(gameMillis > 0)
+            delay = Math.min(delay, remainingMillis.getOrDefault(client.getNickname(), gameMillis));
+
+        client.setTurnExpired(false);
+        if(delay <= 0)
+            client.setTurnExpired(true);
+        else
+            expiration = SCHEDULER.schedule(() -> expire(turnId), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method stops the time of the client that is moving, if any, and charges the time taken to that player
+     */
+    public synchronized void endTurn(){
+        if(running == null)
+            return;
+        if(expiration != null)
+            expiration.cancel(false);
+        if(gameMillis > 0){
+            long elapsed = System.currentTimeMillis() - turnStart;
+            remainingMillis.merge(running.getNickname(), gameMillis - elapsed, (left, ignored) -> left - elapsed);
+        }
+        running.setTurnExpired(false);
+        running = null;
+        expiration = null;
+    }
+
+    /**
+     * Helper method executed by the scheduler when the time of a turn is up
+     * @param turnId number of the expired turn
+     */
+    private synchronized void expire(long turnId){
+        if(running != null && turnId == turn){
+            System.out.println("Time is up for " + running.getNickname());
+            running.setTurnExpired(true);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package it.polimi.ingsw.network.server;
 
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.ai.BotDifficulty;
+import it.polimi.ingsw.model.history.GameArchive;
 import it.polimi.ingsw.network.client.messages.GenericMessage;
 import it.polimi.ingsw.network.client.messages.IntegerMessage;
 import it.polimi.ingsw.network.client.messages.Message;
+import it.polimi.ingsw.network.client.messages.ReplayRequest;
+import it.polimi.ingsw.network.client.messages.WatchGame;
 import it.polimi.ingsw.network.server.answers.request.RequestExpertModeAnswer;
 import it.polimi.ingsw.network.server.answers.request.RequestNicknameAnswer;
 import it.polimi.ingsw.network.server.answers.request.RequestNumPlayerAnswer;
@@ -15,11 +19,17 @@ import java.io.*;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class is the main class of the server. It takes care of managing the various roles for connecting with clients
@@ -31,12 +41,25 @@ public class MultiServer {
     private final SocketServer socketServer;
     private ReconnectionHandler reconnectionHandler;
     
-    private ArrayList<String> loggedPlayers;//list of all the nicknames used in the server
+    private NicknameRegistry loggedPlayers;//all the nicknames used in the server
     private ArrayList<ServerClientHandler> connectionList; //list of client waiting in the lobby
 
     private int requiredPlayer;
     private boolean expertMode;
 
+    private static final int BOT_JOIN_DELAY = 60; //seconds after which the empty seats of a lobby are given to bots
+    private final BotDifficulty botDifficulty; //null if bots are disabled
+    private final Set<String> botNicknames; //nicknames played by bots
+    private final ScheduledExecutorService lobbyTimer;
+    private final int turnSeconds; //maximum duration of a turn, 0 for no limit
+    private final int gameSeconds; //time of each player for a whole game, 0 for no limit
+
+    private static final String SPECTATOR_NICKNAME = "watch "; //followed by the id of the watched game
+    private static final String REPLAY_NICKNAME = "replay";
+    private final Map<Integer, GameHandler> runningGames; //games that can be watched, by id
+    private final AtomicInteger nextRunningGameId;
+    private final GameArchive archive; //summaries of the completed games
+
     /*
      * The management of multiple games is as follows. The first player connects to the server and decides
      * the number of players for a specific game.
@@ -52,6 +75,41 @@ public class MultiServer {
      * @param port port number on which the server will listen
      */
     public MultiServer(int port) {
+        this(port, null);
+    }
+
+    /**
+     * Constructor of the class that also enables the bots. The empty seats of a lobby are taken by bots
+     * if the lobby is not full after a while, and a player that disconnects during a game is replaced by a bot.
+     * The players have no time limit
+     * @param port port number on which the server will listen
+     * @param botDifficulty level of the bots, null to disable them
+     */
+    public MultiServer(int port, BotDifficulty botDifficulty) {
+        this(port, botDifficulty, MoveClock.DEFAULT_TURN_SECONDS, MoveClock.DEFAULT_GAME_SECONDS);
+    }
+
+    /**
+     * Constructor of the class that also sets the time given to the players. When the time of a player is up,
+     * the server plays a default move in its place
+     * @param port port number on which the server will listen
+     * @param botDifficulty level of the bots, null to disable them
+     * @param turnSeconds maximum duration of a turn, 0 for no limit
+     * @param gameSeconds time that each player has for a whole game, 0 for no limit
+     */
+    public MultiServer(int port, BotDifficulty botDifficulty, int turnSeconds, int gameSeconds) {
+        this.botDifficulty = botDifficulty;
+        this.turnSeconds = turnSeconds;
+        this.gameSeconds = gameSeconds;
+        botNicknames = ConcurrentHashMap.newKeySet();
+        runningGames = new ConcurrentHashMap<>();
+        nextRunningGameId = new AtomicInteger(1);
+        archive = new GameArchive(new File(GameArchive.DIRECTORY));
+        lobbyTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lobby-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
         socketServer = new SocketServer(this, port);
         Thread thread = new Thread(this::stopServer); //thread that listen for quitting
         thread.start();
@@ -78,6 +136,7 @@ public class MultiServer {
                 File savedGamesDirectory = new File("SavedGames");
                 fileDeletion(savedGamesDirectory);
                 System.out.println("Cleaned old files");
+                archive.close();
                 System.exit(0);
                 break;
             }
@@ -104,9 +163,54 @@ public class MultiServer {
      * @param nickname nickname of the player to be deleted from the server
      */
     public void unregisterPlayer(String nickname){
-        loggedPlayers.remove(nickname);
+        loggedPlayers.release(nickname);
+        botNicknames.remove(nickname);
+    }
 
-        saveParameters(); //update loggedPlayers on disk
+    /**
+     * @return maximum duration of a turn in seconds, 0 for no limit
+     */
+    public int getTurnSeconds() {
+        return turnSeconds;
+    }
+
+    /**
+     * @return time in seconds that each player has for a whole game, 0 for no limit
+     */
+    public int getGameSeconds() {
+        return gameSeconds;
+    }
+
+    /**
+     * @return the archive of the completed games
+     */
+    public GameArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * @return true if bots can take the seats of the players
+     */
+    public boolean botsEnabled(){
+        return botDifficulty != null;
+    }
+
+    /**
+     * @param nickname nickname to check
+     * @return true if that nickname is played by a bot
+     */
+    public boolean isBot(String nickname){
+        return botNicknames.contains(nickname);
+    }
+
+    /**
+     * This method creates a bot that plays with the given nickname. The nickname must be already reserved
+     * @param nickname nickname of the bot
+     * @return the client handler of the bot
+     */
+    public BotClientHandler createBot(String nickname){
+        botNicknames.add(nickname);
+        return new BotClientHandler(this, nickname, botDifficulty);
     }
 
     /**
@@ -132,9 +236,10 @@ public class MultiServer {
      * This method register a player in the server, saving his nickname. The player will choose
      * a unique nickname.
      * If a player disconnects as soon as it connects to the server, it is disconnected and not registered on the server.
+     * The nickname is reserved atomically, so this method does not hold the server lock while waiting for the client.
      * @param clientHandler client handler associated to a player.
      */
-    private synchronized boolean registerPlayer(ServerClientHandler clientHandler) throws IOException, ClassNotFoundException {
+    private boolean registerPlayer(ServerClientHandler clientHandler) throws IOException, ClassNotFoundException {
         //clientHandler.sendMessageToClient("Set a nickname.");
         clientHandler.sendMessageToClient(new RequestNicknameAnswer("Set a nickname"));
 
@@ -149,22 +254,28 @@ public class MultiServer {
                     clientHandler.sendShutDownToClient();
                 return false;
             }
-            if (nick instanceof GenericMessage) {
+            if (nick instanceof WatchGame) {//user that wants to watch a game
+                if(watchGame(clientHandler, ((WatchGame) nick).getGameId()))
+                    return false;
+            } else if (nick instanceof ReplayRequest) {//user that wants to watch a recorded game
+                if(replayGame(clientHandler, (ReplayRequest) nick))
+                    return false;
+            } else if (nick instanceof GenericMessage) {
                 String nickName = ((GenericMessage) nick).getMessage();
                 if(reconnectionHandler.containPlayer(nickName) ){//user logged after a disconnection
-                    if(!reconnectionHandler.alreadyLogged(nickName)){//user not yet reconnected
-                        clientHandler.setNickname(nickName);
-                        reconnectionHandler.reconnectPlayer(clientHandler);
+                    clientHandler.setNickname(nickName);
+                    if(reconnectionHandler.tryReconnect(clientHandler))//user not yet reconnected
                         return false;//user already logged
-
-                    } else{//inserted user of player already reconnected
-                        clientHandler.sendMessageToClient("That user has already reconnected. Please insert a valid nickname");
-                    }
+                    //inserted user of player already reconnected
+                    clientHandler.setNickname(null);
+                    clientHandler.sendMessageToClient("That user has already reconnected. Please insert a valid nickname");
+                    continue;
                 }
-                if(!loggedPlayers.contains(nickName)){
-                    loggedPlayers.add(nickName);
-                    saveParameters(); //saving loggedPlayers on disk
-
+                if(!NicknameRegistry.isValid(nickName)){//nickname that cannot be saved
+                    clientHandler.sendMessageToClient("Set a valid nickname");
+                    continue;
+                }
+                if(loggedPlayers.reserve(nickName)){
                     correctNick = true;
                     clientHandler.setNickname(nickName);
                     clientHandler.sendMessageToClient("Welcome " + nickName);
@@ -178,6 +289,57 @@ public class MultiServer {
         return true;
     }
 
+    /**
+     * This method lets a client watch a running game. The client stays attached to the game until the game ends
+     * or the client disconnects. If the id is not valid, the running games are listed to the client
+     * @param clientHandler client handler associated to the spectator
+     * @param gameId id of the game, as announced to its players
+     * @return true if the client has watched the game, false if the id is not valid
+     */
+    private boolean watchGame(ServerClientHandler clientHandler, int gameId) throws IOException {
+        GameHandler gameHandler = runningGames.get(gameId);
+
+        if(gameHandler == null){
+            StringBuilder games = new StringBuilder(runningGames.isEmpty() ? "There are no games to watch." : "Games you can watch:");
+            for(Map.Entry<Integer, GameHandler> game : runningGames.entrySet())
+                games.append("\n").append(game.getKey()).append(" ").append(game.getValue().getNicknamePlayers());
+            clientHandler.sendMessageToClient(games.toString());
+            clientHandler.sendMessageToClient("Set a nickname, or type: watch <game id>");
+            return false;
+        }
+
+        clientHandler.setNickname(SPECTATOR_NICKNAME + gameId);
+        clientHandler.setStart();
+        clientHandler.sendMessageToClient("You are watching game " + gameId);
+        gameHandler.getSpectators().watch(clientHandler);
+        return true;
+    }
+
+    /**
+     * This method shows a recorded game to a client, that is then disconnected.
+     * If the replay is not valid, the saved replays are listed to the client
+     * @param clientHandler client handler associated to the client
+     * @param request number of the replay, speed and first turn to show
+     * @return true if the client has watched the replay, false if the replay is not valid
+     */
+    private boolean replayGame(ServerClientHandler clientHandler, ReplayRequest request) throws IOException {
+        List<File> replays = ReplayStreamer.listReplays();
+        int replay = request.getReplay();
+        if(replay > 0 && replay <= replays.size()){
+            clientHandler.setNickname(REPLAY_NICKNAME);
+            clientHandler.setStart();
+            ReplayStreamer.stream(clientHandler, replays.get(replay - 1), request.getSpeed(), request.getFromTurn());
+            return true;
+        }
+
+        StringBuilder list = new StringBuilder(replays.isEmpty() ? "There are no replays." : "Replays you can watch:");
+        for(int i = 0; i < replays.size(); i++)
+            list.append("\n").append(i + 1).append(" ").append(replays.get(i).getName());
+        clientHandler.sendMessageToClient(list.toString());
+        clientHandler.sendMessageToClient("Set a nickname, or type: replay <number> [speed] [turn]");
+        return false;
+    }
+
     /**
      * This method add a player to a lobby. If that player is the first, it will set a game parameters, otherwise it will
      * wait until all the players are connected. When the required number of player is reached, a new game starts.
@@ -193,6 +355,8 @@ public class MultiServer {
                 selectNumPlayer(clientHandler);
                 selectGameMode(clientHandler);
                 clientHandler.sendMessageToClient("Wait for " + (this.requiredPlayer - connectionList.size()) + " players to join.");
+                if(botsEnabled())
+                    lobbyTimer.schedule(() -> fillLobbyWithBots(clientHandler), BOT_JOIN_DELAY, TimeUnit.SECONDS);
 
             }catch(SocketTimeoutException | SocketException e) {
                 if (e instanceof SocketTimeoutException)//disconnection
@@ -202,18 +366,47 @@ public class MultiServer {
                 removeFromLobby(clientHandler);
             }
         } else if (connectionList.size() == requiredPlayer) {
-            broadcastStart("Number of players reached. Starting a new game.");
-            startGame(requiredPlayer, expertMode, this);
-
-            connectionList.clear();
-            requiredPlayer = 0;
-            expertMode = false;
-
+            startLobbyGame("Number of players reached. Starting a new game.");
         } else {
             clientHandler.sendMessageToClient("Wait for " + (this.requiredPlayer - connectionList.size()) + " players to join.");
         }
     }
 
+    /**
+     * Helper method used to start a game with the players in the lobby, that is then emptied
+     * @param msg message sent to the players of the lobby
+     */
+    private void startLobbyGame(String msg) throws IOException {
+        broadcastStart(msg);
+        startGame(requiredPlayer, expertMode, this);
+
+        connectionList.clear();
+        requiredPlayer = 0;
+        expertMode = false;
+    }
+
+    /**
+     * This method gives the empty seats of a lobby to bots and starts the game. Nothing happens if in the meantime
+     * the lobby has been filled or its first player has left
+     * @param firstPlayer first player of the lobby when the bots were scheduled
+     */
+    private synchronized void fillLobbyWithBots(ServerClientHandler firstPlayer){
+        if(connectionList.isEmpty() || connectionList.get(0) != firstPlayer || connectionList.size() >= requiredPlayer)
+            return;
+
+        int botNumber = 1;
+        while(connectionList.size() < requiredPlayer){
+            String nickname = "Bot-" + botNumber++;
+            if(loggedPlayers.reserve(nickname))
+                connectionList.add(createBot(nickname));
+        }
+        try {
+            startLobbyGame("Bots joined the lobby. Starting a new game.");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * This method is used to reset the parameters set up by the first player and remove him from the server
      * @param clientHandler client handler associated with the player
@@ -222,10 +415,7 @@ public class MultiServer {
         expertMode = false;
         requiredPlayer = -1;
         connectionList.remove(clientHandler);
-        loggedPlayers.remove(clientHandler.getNickname());
-
-        saveParameters(); //update loggedPlayers on disk
-
+        loggedPlayers.release(clientHandler.getNickname());
     }
 
     /**
@@ -237,9 +427,12 @@ public class MultiServer {
      */
     private synchronized void startGame(int requiredPlayer, boolean expertMode, MultiServer server){
         GameHandler gameHandler = new GameHandler(requiredPlayer, expertMode, new ArrayList<>(connectionList), server);
+        int id = nextRunningGameId.getAndIncrement();
+        runningGames.put(id, gameHandler);
 
         Thread t = new Thread(() -> {
             try {
+                gameHandler.announceWatchId(id);
                 gameHandler.setup();
             } catch (IOException | ClassNotFoundException e) {
                 e.printStackTrace();
@@ -248,6 +441,9 @@ public class MultiServer {
             }catch(GameDisconnectionException e2){
                 System.err.println("Players disconnected during a game!");
                 saveGame(gameHandler);
+            }finally {
+                runningGames.remove(id);
+                gameHandler.getSpectators().close();
             }
         });
         t.start();
@@ -261,10 +457,13 @@ public class MultiServer {
      */
     public synchronized void restartGame(Game game, ArrayList<ServerClientHandler> playersConnections){
         GameHandler gameHandler = new GameHandler(game, playersConnections,this);
+        int id = nextRunningGameId.getAndIncrement();
+        runningGames.put(id, gameHandler);
 
         Thread t = new Thread(() -> {
             try {
                 gameHandler.sendNickname();
+                gameHandler.announceWatchId(id);
                 gameHandler.sendGameView();//resend the view
                 gameHandler.gameTurns(); //restart a game at the point where a player has disconnected
             } catch (IOException | ClassNotFoundException e) {
@@ -272,6 +471,9 @@ public class MultiServer {
             } catch(GameDisconnectionException e1){
                 System.err.println("Players disconnected during a game!");
                 saveGame(gameHandler);
+            }finally {
+                runningGames.remove(id);
+                gameHandler.getSpectators().close();
             }
         });
         t.start();
@@ -370,29 +572,6 @@ public class MultiServer {
         }
     }
 
-    /**
-     * This method is used to save on disk the list of logged players.
-     * This method has to be invoked whenever that list is modified
-     */
-    private void saveParameters(){
-        try{
-            String path =  "SavedServerParameters/loggedPlayers.ser";
-           // String path = getClass().getResource("/SavedServerParameters/loggedPlayers.ser").toExternalForm();
-            FileOutputStream f = new FileOutputStream(path);
-            ObjectOutputStream o = new ObjectOutputStream(f);
-
-            // Write objects to file
-            o.writeObject(this.loggedPlayers);
-
-            o.close();
-            f.close();
-
-        } catch (IOException e) {
-            System.out.println("Message: " +  e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
     /**
      * This method is used to get previous server related parameters from disk.
      * If present, they are reloaded and removed from the disk, otherwise new ones are created
@@ -405,16 +584,14 @@ public class MultiServer {
 
             //File directory = new File(getClass().getResource("/SavedServerParameters").toExternalForm());
             if (directory.isDirectory()) {
-                if ((Objects.requireNonNull(directory.list())).length > 0) {
+                loggedPlayers = new NicknameRegistry();//reloads the nicknames from its log, if present
+                if (new File(directory, "nextId.ser").exists()) {
                     System.out.println("Reloading previous server parameters...");
-                    this.loggedPlayers = (ArrayList<String>) readFromResources("loggedPlayers");
                     int nextId = (int) readFromResources("nextId");
                     Map<ArrayList<String>, Integer> gameIdByUserMap = (Map<ArrayList<String>, Integer>) readFromResources("gameIdByUserMap");
                     reconnectionHandler = new ReconnectionHandler(this, nextId, gameIdByUserMap);
                 } else {
                     System.out.println("Previous server parameters does not exist. Creating new ones...");
-                    loggedPlayers = new ArrayList<>();//contains all the nickname
-
                     reconnectionHandler = new ReconnectionHandler(this);
                 }
 
@@ -454,14 +631,36 @@ public class MultiServer {
 
     /**
      * Main class of the server. It creates a MultiEchoServer class that will run on an executor
-     * @param args args[0] contain the port number
+     * @param args args[0] contain the port number, the optional args[1] contains the difficulty of the bots
+     *             (none to disable them), the optional args[2] and args[3] contain the maximum duration of a turn
+     *             and the time of each player for a whole game, in seconds (0 or absent for no limit)
      */
     public static void main(String[] args) {
         System.out.println("Server\n");
-        if (args.length != 1) {
+        if (args.length < 1 || args.length > 4) {
             System.err.println("Missing port number");
             System.exit(1);
         }
+        BotDifficulty botDifficulty = null;
+        if (args.length >= 2 && !args[1].equalsIgnoreCase("none")) {
+            try {
+                botDifficulty = BotDifficulty.valueOf(args[1].toUpperCase());
+            }catch (IllegalArgumentException e){
+                System.err.println("Not a valid bot difficulty [easy/medium/hard/none]");
+                System.exit(1);
+            }
+        }
+        int turnSeconds = MoveClock.DEFAULT_TURN_SECONDS;
+        int gameSeconds = MoveClock.DEFAULT_GAME_SECONDS;
+        try {
+            if (args.length >= 3)
+                turnSeconds = Integer.parseInt(args[2]);
+            if (args.length == 4)
+                gameSeconds = Integer.parseInt(args[3]);
+        }catch (NumberFormatException e){
+            System.err.println("Not a valid number of seconds");
+            System.exit(1);
+        }
         int portNumber = -1;
         try {
              portNumber = Integer.parseInt(args[0]);
@@ -469,7 +668,7 @@ public class MultiServer {
             System.err.println("Not a valid port number");
             System.exit(1);
         }
-        MultiServer server = new MultiServer(portNumber);
+        MultiServer server = new MultiServer(portNumber, botDifficulty, turnSeconds, gameSeconds);
         ExecutorService executor = Executors.newCachedThreadPool();
         System.out.println("Creating server class...");
         executor.submit(server.socketServer);
@@ -0,0 +1,184 @@
+package it.polimi.ingsw.network.server;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class contains all the nicknames used in the server.
+ * A nickname is reserved atomically together with its record in the log, so no server lock is needed to register a player.
+ * Every change is appended to a log on disk, that is periodically compacted to the set of nicknames in use.
+ *
+ * @author Dario d'Abate
+ */
+public class NicknameRegistry {
+    private static final String LOG_PATH = "SavedServerParameters/loggedPlayers.log";
+    private static final char RESERVED = '+';
+    private static final char RELEASED = '-';
+    private static final long COMPACTION_PERIOD = 5; //minutes
+
+    private final File logFile;
+    private final Set<String> nicknames;
+    private final Object logLock = new Object();
+    private BufferedWriter log;
+    private int appendedRecords;
+
+    /**
+     * Constructor of the class. It reloads the nicknames from a previous log, if present,
+     * and starts the periodic compaction of the log
+     */
+    public NicknameRegistry(){
+        this(new File(LOG_PATH));
+
+        ScheduledExecutorService compactionService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nickname-log-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactionService.scheduleAtFixedRate(this::compact, COMPACTION_PERIOD, COMPACTION_PERIOD, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Constructor of the class that does not start the periodic compaction. It reloads the nicknames from a previous log, if present
+     * @param logFile file of the log
+     */
+    NicknameRegistry(File logFile){
+        this.logFile = logFile;
+        nicknames = ConcurrentHashMap.newKeySet();
+        replayLog();
+        compact();
+    }
+
+    /**
+     * This method reserves a nickname, if it is not already used
+     * @param nickname nickname to reserve
+     * @return true if the nickname has been reserved, false if it was already used or it is not valid
+     */
+    public boolean reserve(String nickname){
+        if(!isValid(nickname))
+            return false;
+        //the set and the log are changed together, so the log never records the changes of a nickname in another order
+        synchronized (logLock) {
+            if(!nicknames.add(nickname))
+                return false;
+            append(RESERVED, nickname);
+        }
+        return true;
+    }
+
+    /**
+     * This method releases a nickname. If that nickname is not used, nothing happens
+     * @param nickname nickname to release
+     */
+    public void release(String nickname){
+        if(nickname == null)
+            return;
+        synchronized (logLock) {
+            if(nicknames.remove(nickname))
+                append(RELEASED, nickname);
+        }
+    }
+
+    /**
+     * This method checks that a nickname can be written in the log, that has a nickname on each line
+     * @param nickname nickname to check
+     * @return true if the nickname is not empty and does not contain line breaks, false otherwise
+     */
+    public static boolean isValid(String nickname){
+        return nickname != null && !nickname.isEmpty() && nickname.indexOf('\n') < 0 && nickname.indexOf('\r') < 0;
+    }
+
+    /**
+     * @param nickname nickname to check
+     * @return true if that nickname is used in the server, false otherwise
+     */
+    public boolean contains(String nickname){
+        return nicknames.contains(nickname);
+    }
+
+    /**
+     * @return a copy of the nicknames used in the server
+     */
+    Set<String> getNicknames(){
+        return new HashSet<>(nicknames);
+    }
+
+    /**
+     * Helper method used to append a single change to the log. It is called holding the lock of the log
+     * @param operation RESERVED or RELEASED
+     * @param nickname nickname that has changed
+     */
+    private void append(char operation, String nickname){
+        try {
+            log.write(operation);
+            log.write(nickname);
+            log.newLine();
+            log.flush();
+            appendedRecords++;
+        } catch (IOException e) {
+            System.out.println("Message: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * This method rewrites the log so that it contains only the nicknames in use.
+     * Nothing is done if no change was appended since the last compaction
+     */
+    void compact(){
+        synchronized (logLock) {
+            if(log != null && appendedRecords == 0)
+                return;
+            try {
+                if(log != null)
+                    log.close();
+                File directory = logFile.getAbsoluteFile().getParentFile();
+                directory.mkdirs();
+                File temp = new File(logFile.getPath() + ".tmp");
+                try (BufferedWriter writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+                    for (String nickname : nicknames) {
+                        writer.write(RESERVED);
+                        writer.write(nickname);
+                        writer.newLine();
+                    }
+                }
+                Files.move(temp.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(logFile, true), StandardCharsets.UTF_8));
+                appendedRecords = 0;
+            } catch (IOException e) {
+                System.out.println("Message: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Helper method used to rebuild the set of nicknames from a previous log
+     */
+    private void replayLog(){
+        if(!logFile.exists())
+            return;
+        try (BufferedReader reader = Files.newBufferedReader(logFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() < 2)
+                    continue; //truncated record
+                String nickname = line.substring(1);
+                if (line.charAt(0) == RESERVED)
+                    nicknames.add(nickname);
+                else if (line.charAt(0) == RELEASED)
+                    nicknames.remove(nickname);
+            }
+        } catch (IOException e) {
+            System.out.println("Message: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
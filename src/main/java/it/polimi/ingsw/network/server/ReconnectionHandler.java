@@ -13,7 +13,7 @@ import java.util.*;
 public class ReconnectionHandler {
     private final MultiServer server;
 
-    private final Map<ArrayList<String>, Integer> gameIdByUserMap; //associate a players' session  with a progressive integer
+    private final SuspendedGameCatalog catalog; //suspended games with their players, loaded from disk when needed
     private final Map<Integer,ArrayList<ServerClientHandler>> reconnectedPlayerMap;// associate reconnected players to a gameId
     private int nextId;
 
@@ -23,7 +23,7 @@ public class ReconnectionHandler {
      */
     public ReconnectionHandler(MultiServer server){
         this.server = server;
-        gameIdByUserMap = new HashMap<>();
+        catalog = new SuspendedGameCatalog(this, new HashMap<>());
         reconnectedPlayerMap = new HashMap<>();
         nextId = -1;
     }
@@ -38,7 +38,7 @@ public class ReconnectionHandler {
     public ReconnectionHandler(MultiServer server, int nextId, Map<ArrayList<String>, Integer> gameIdByUserMap){
         this.server = server;
         this.nextId = nextId;
-        this.gameIdByUserMap = gameIdByUserMap;
+        this.catalog = new SuspendedGameCatalog(this, gameIdByUserMap);
         reconnectedPlayerMap = new HashMap<>();
     }
 
@@ -48,23 +48,25 @@ public class ReconnectionHandler {
      * @return id corresponding to a started game, null if that player does not exist
      */
     private Integer getIdByNickname(String player){
-        if(getKey(player) == null)
-            return null;
-
-        return gameIdByUserMap.get(getKey(player));
+        return catalog.getId(player);
     }
 
 
     /**
-     * This method is used to handle the reconnection of a valid player in the game he was playing
-     * @param clientHandler client handler associated to a player
+     * This method is used to handle the reconnection of a player in the game he was playing.
+     * The check of the seat and the insertion of the player are done under the same lock,
+     * so two clients with the same nickname cannot both take the seat
+     * @param clientHandler client handler associated to a player, with the nickname already set
+     * @return true if the player has reconnected, false if the seat has already been taken or the game no longer exists
      */
-    public void reconnectPlayer(ServerClientHandler clientHandler) throws IOException {
-        //Control over reconnection already done
+    public synchronized boolean tryReconnect(ServerClientHandler clientHandler) throws IOException {
         String nickname = clientHandler.getNickname();
-        int idOfAGame = getIdByNickname(nickname);
+        Integer idOfAGame = getIdByNickname(nickname);
+        if(idOfAGame == null || alreadyLogged(idOfAGame, nickname))
+            return false;
         insertClientHandler(idOfAGame, clientHandler);
         manageRestarting(idOfAGame, clientHandler);
+        return true;
     }
 
     /**
@@ -110,7 +112,12 @@ public class ReconnectionHandler {
         if(clientHandlers == null){//first player to reconnect
             clientHandlers = new ArrayList<>();
             clientHandlers.add(clientHandler);
+            for(String player : getInitialOrder(clientHandler.getNickname())){//the bots of that game are already back
+                if(server.isBot(player))
+                    clientHandlers.add(server.createBot(player));
+            }
             reconnectedPlayerMap.put(idOfAGame, clientHandlers);
+            catalog.load(idOfAGame);//the game is loaded from disk on the first reconnection attempt
         }else{//other player that reconnect
             clientHandlers.add(clientHandler);
         }
@@ -118,13 +125,12 @@ public class ReconnectionHandler {
     }
 
     /**
-     * This method check if used to check if a player has already reconnected
+     * Helper method used to check if a player has already reconnected
+     * @param idOfAGame id of the game of the player
      * @param nickname nickname to check
      * @return false if the nickname belongs to a player that has not yet reconnected, true otherwise
      */
-    public boolean alreadyLogged(String nickname){
-        //containPlayer(nickName) control already done
-        int idOfAGame = getIdByNickname(nickname);
+    private boolean alreadyLogged(int idOfAGame, String nickname){
         ArrayList<ServerClientHandler> clientHandlers = reconnectedPlayerMap.get(idOfAGame);
         if(clientHandlers == null)//that nickname belongs to the first player that reconnected
             return false;
@@ -140,12 +146,8 @@ public class ReconnectionHandler {
      * @param player nickname of the user to check
      * @return true if the nickname belongs to a user that was disconnected from a started game, false otherwise
      */
-    public boolean containPlayer(String player){
-        for(ArrayList<String> players : gameIdByUserMap.keySet()){
-            if(players.contains(player))
-                return true;
-        }
-        return false;
+    public synchronized boolean containPlayer(String player){
+        return getIdByNickname(player) != null;
     }
 
     /**
@@ -153,37 +155,22 @@ public class ReconnectionHandler {
      * @param nickname nickname of one of the players
      * @return list of players that was originally disconnected if the nick has correspondence, null otherwise
      */
-    public ArrayList<String> getInitialOrder(String nickname){
-        for(ArrayList<String> players : gameIdByUserMap.keySet()){
-            if(players.contains(nickname))
-                return new ArrayList<>(players);
-        }
-        return null;
-    }
-
-    /**
-     * Helper method used to find the list of player by a single nickname
-     * @param elementToFind nickname of the player that belongs to a players' session
-     * @return list of nickname of players that started to play, null if that player does not exist
-     */
-    private ArrayList<String> getKey(String elementToFind){
-        for(ArrayList<String> players : gameIdByUserMap.keySet()){
-            if(players.contains(elementToFind))
-                return players;
-        }
-        return null; //no key existing
+    public synchronized ArrayList<String> getInitialOrder(String nickname){
+        Integer idOfAGame = getIdByNickname(nickname);
+        if(idOfAGame == null)
+            return null;
+        return catalog.getPlayers(idOfAGame);
     }
 
     /**
      * This method saves a game session on disk, binding it to the list of related player.
-     * Thus, it saves the attributes of this class on disk, because they are modified
+     * Thus, it saves the attributes of this class on disk, because they are modified, unless the game was already saved as it is
      * @param game game to be saved on disk
      * @param playersNick list of nickname of players that started that game
      */
-    public void addGame(Game game, ArrayList<String> playersNick){
-        gameIdByUserMap.put(playersNick, getNextId(playersNick.get(0)));
-        writeGame(game);
-        saveParameters();// saving nextId and map on disk
+    public synchronized void addGame(Game game, ArrayList<String> playersNick){
+        if(catalog.put(getNextId(playersNick.get(0)), game, playersNick))
+            saveParameters();// saving nextId and map on disk
 
     }
 
@@ -207,42 +194,34 @@ public class ReconnectionHandler {
      * If the map does not contain that nickname it does nothing
      * @param nickPlayer nickname of one of the player to remove
      */
-    public void remove(String nickPlayer){
-        //control over existence of mapping already done
-        try {
-            int idToRemove = getIdByNickname(nickPlayer);
-            ArrayList<String> playersToRemove = getKey(nickPlayer);
-
-            this.reconnectedPlayerMap.remove(idToRemove);
-            this.gameIdByUserMap.remove(playersToRemove);
-            saveParameters();//update gameIDByUserMap on disk
-        }catch(NullPointerException ignored){
-
-        }
+    public synchronized void remove(String nickPlayer){
+        Integer idToRemove = getIdByNickname(nickPlayer);
+        if(idToRemove == null)
+            return;
+
+        this.reconnectedPlayerMap.remove(idToRemove);
+        catalog.remove(idToRemove);
+        saveParameters();//update gameIDByUserMap on disk
     }
 
-
     /**
-     * This method writes on disk a game, it manages the stream associated with a file
-     * @param game game object to be written on disk
+     * This method is invoked by the catalog when a suspended game has not been resumed for too long.
+     * The game is discarded, unless some of its players are waiting in the reconnection lobby,
+     * and the nicknames of its players are released
+     * @param idOfAGame id of the expired game
      */
-    private void writeGame(Game game){
-        try{
-            File directory = new File("SavedGames");
-            directory.mkdir();
-            String path = "SavedGames/SerializationGame" + nextId +".ser";
-            FileOutputStream f = new FileOutputStream(path);
-            ObjectOutputStream o = new ObjectOutputStream(f);
-
-            // Write objects to file
-            o.writeObject(game);
-
-            o.close();
-            f.close();
-        } catch (IOException e) {
-            System.out.println("Message: " +  e.getMessage());
-            e.printStackTrace();
-        }
+    public synchronized void expireGame(int idOfAGame){
+        if(reconnectedPlayerMap.get(idOfAGame) != null)
+            return;
+        ArrayList<String> players = catalog.getPlayers(idOfAGame);
+        if(players == null)
+            return;
+
+        catalog.remove(idOfAGame);
+        saveParameters();
+        for(String player : players)
+            server.unregisterPlayer(player);
+        System.out.println("Suspended game " + idOfAGame + " expired");
     }
 
     /**
@@ -250,7 +229,7 @@ public class ReconnectionHandler {
      * @param idOfAGame id of the game that will be restarted
      */
     private void restartGame(int idOfAGame) {
-        Game game = readGame(idOfAGame);
+        Game game = catalog.get(idOfAGame);
         ArrayList<ServerClientHandler> playersToRestart = reconnectedPlayerMap.get(idOfAGame);
         orderPlayer(playersToRestart);
         if(game != null){
@@ -274,30 +253,6 @@ public class ReconnectionHandler {
     }
 
 
-    /**
-     * This method is used to retrieve a game back from disk
-     * @param idOfAGame id of the game
-     * @return game object corresponding to a started game
-     */
-    private Game readGame(int idOfAGame) {
-        Game g = null;
-        try {
-            String path = "SavedGames/SerializationGame" + idOfAGame +".ser";
-
-            FileInputStream fi = new FileInputStream(path);
-            ObjectInputStream oi = new ObjectInputStream(fi);
-
-            // Read objects
-            g = (Game) oi.readObject();
-
-            oi.close();
-            fi.close();
-        } catch (IOException | ClassNotFoundException e) {
-            e.printStackTrace();
-        }
-        return g;
-    }
-
     /**
      * This method is used to write on disk the attributes of this class that has to be reloaded
      * because a server crash has occurred
@@ -309,7 +264,7 @@ public class ReconnectionHandler {
             ObjectOutputStream o = new ObjectOutputStream(f);
 
             // Write objects to file
-            o.writeObject(this.gameIdByUserMap);
+            o.writeObject(catalog.getGameIdByUserMap());
             o.close();
             f.close();
 
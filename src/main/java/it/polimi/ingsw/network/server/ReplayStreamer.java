@@ -0,0 +1,65 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.replay.ReplayPlayer;
+import it.polimi.ingsw.model.replay.ReplayRecorder;
+import it.polimi.ingsw.network.server.answers.Shutdown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class shows a recorded game to a client, as if the client was watching it while it was played.
+ * After each move the whole game is sent to the client, at a speed chosen by the client.
+ * No player is involved, so the replay runs on the thread of the client.
+ *
+ * @author Dario d'Abate
+ */
+public class ReplayStreamer {
+    private static final long STEP_MILLIS = 1000; //time between two moves at normal speed
+    public static final double MAX_SPEED = 50;
+
+    private ReplayStreamer(){}
+
+    /**
+     * @return the replays saved on the server, from the oldest one
+     */
+    public static List<File> listReplays(){
+        File[] files = new File(ReplayRecorder.DIRECTORY).listFiles((dir, name) -> name.endsWith(ReplayRecorder.EXTENSION));
+        if(files == null)
+            return new ArrayList<>();
+        Arrays.sort(files);
+        return new ArrayList<>(Arrays.asList(files));
+    }
+
+    /**
+     * This method sends a replay to a client and then disconnects it
+     * @param client client that watches the replay
+     * @param file replay file
+     * @param speed speed of the replay, 1 for a move each second
+     * @param fromTurn first turn shown
+     */
+    public static void stream(ServerClientHandler client, File file, double speed, int fromTurn){
+        long delay = (long) (STEP_MILLIS / Math.min(Math.max(speed, 1 / MAX_SPEED), MAX_SPEED));
+        try (ReplayPlayer player = new ReplayPlayer(file)) {
+            int turn = Math.min(Math.max(fromTurn, 0), player.getTurns() - 1);
+            client.sendMessageToClient("Replay of " + String.join(", ", player.getNicknames()) +
+                    ": " + player.getTurns() + " turns, starting from turn " + turn);
+            player.seek(turn);
+            do {
+                client.discardInput();//the pings of the client
+                client.sendMessageToClient(GameHandler.buildGameView(player.getGame()));
+                Thread.sleep(delay);
+            } while(player.next());
+            client.sendMessageToClient("The replay is over");
+            client.sendMessageToClient(new Shutdown("You are disconnected from the server"));
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.out.println("Replay " + file.getName() + " interrupted: " + e.getMessage());
+        }
+        client.closeClientHandler();
+    }
+}
@@ -3,17 +3,23 @@ package it.polimi.ingsw.network.server;
 import it.polimi.ingsw.network.client.messages.Disconnect;
 import it.polimi.ingsw.network.client.messages.Message;
 import it.polimi.ingsw.network.client.messages.Ping;
+import it.polimi.ingsw.network.client.messages.Resync;
 import it.polimi.ingsw.network.server.answers.Answer;
 import it.polimi.ingsw.network.server.answers.GenericAnswer;
+import it.polimi.ingsw.network.server.answers.Prompt;
+import it.polimi.ingsw.network.server.answers.PromptAnswer;
 import it.polimi.ingsw.network.server.answers.Pong;
 import it.polimi.ingsw.network.server.answers.Shutdown;
+import it.polimi.ingsw.network.server.exception.TurnExpiredException;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.util.function.Supplier;
 
 
 /**
@@ -25,9 +31,12 @@ public class ServerClientHandler implements Runnable {
     private final MultiServer server;
     private final Socket socket;
     private ObjectOutputStream out;
+    private OutputStream rawOut; //stream under out, used to write answers already serialized
     private ObjectInputStream in;
     private String nickname;
     private volatile boolean start;
+    private volatile boolean turnExpired; //true if the time of this player to move is up
+    private volatile Supplier<? extends Answer> gameView; //whole game sent when the client asks for it, null outside a game
     private final int PONG_CLOCK = 2;
 
 
@@ -48,12 +57,37 @@ public class ServerClientHandler implements Runnable {
         start = true;
     }
 
+    /**
+     * This method is used by the MoveClock to stop waiting for the messages of a player whose time is up
+     * @param turnExpired true if the time of this player to move is up
+     */
+    public void setTurnExpired(boolean turnExpired){
+        this.turnExpired = turnExpired;
+    }
+
+    /**
+     * @return true if the time of this player to move is up
+     */
+    boolean isTurnExpired(){
+        return turnExpired;
+    }
+
+    /**
+     * This method is used by the game of this player to give the whole game sent when the client asks for it,
+     * because its view does not match the fingerprint of the game
+     * @param gameView supplier of the whole game, null if the player is not in a game
+     */
+    public void setGameView(Supplier<? extends Answer> gameView){
+        this.gameView = gameView;
+    }
+
     /**
      * In this method the streams are instantiated and closed, Thus it handles the login of a player
      */
     public void run() {
         try{
-            out = new ObjectOutputStream(socket.getOutputStream());
+            rawOut = socket.getOutputStream();
+            out = new ObjectOutputStream(rawOut);
             in = new ObjectInputStream(socket.getInputStream());
 
             sendMessageToClient("Welcome to the magical world of Eriantys!!");
@@ -120,12 +154,41 @@ public class ServerClientHandler implements Runnable {
     }
 
 
+    /**
+     * This method sends a prompt of the catalog to a client, the client renders its text
+     * @param prompt prompt to be sent
+     * @param params parameters of the prompt
+     */
+    public void sendMessageToClient(Prompt prompt, int... params) throws IOException {
+        sendMessageToClient(new PromptAnswer(prompt, params));
+    }
+
     public void sendMessageToClient(Answer answer) throws IOException {
         out.reset();
         out.writeObject(answer);
         out.flush();
     }
 
+    /**
+     * This method sends an answer already serialized by the AnswerEncoder, so that an answer sent to many clients
+     * is serialized only once
+     * @param encoded serialized answer
+     */
+    public void sendEncodedToClient(byte[] encoded) throws IOException {
+        out.flush();
+        rawOut.write(encoded);
+        rawOut.flush();
+    }
+
+    /**
+     * This method discards the messages received and not read yet, such as the pings of a spectator
+     */
+    public void discardInput() throws IOException {
+        int available = socket.getInputStream().available();
+        if(available > 0)
+            socket.getInputStream().skip(available);
+    }
+
     public void sendShutDownToClient() throws IOException{
         out.reset();
         out.writeObject(new Shutdown("You are disconnected from the server"));
@@ -135,17 +198,28 @@ public class ServerClientHandler implements Runnable {
 
     /**
      * This method is used to receive a message from a client.
+     * The time of the player is checked each time a message or a ping is received, so that an expired turn is
+     * noticed within a ping period. A request of the whole game is answered here, because it can arrive during any prompt.
      * @return returns a message read from the client. Returns null it receives an
      * unexpected message.
+     * @throws TurnExpiredException if the time of this player to move is up
      */
     public Message readMessageFromClient() throws IOException, ClassNotFoundException {
         Object msg = null;
         while(msg == null){
+            if(turnExpired)
+                throw new TurnExpiredException();
             try {
 
                 if( (msg = in.readObject()) instanceof Ping ){
                     msg = null;
                 }
+                else if(msg instanceof Resync){
+                    Supplier<? extends Answer> view = gameView;
+                    if(view != null)
+                        sendMessageToClient(view.get());
+                    msg = null;
+                }
             }catch(SocketTimeoutException e){
                 throw new SocketTimeoutException("Client disconnected");
             }catch (SocketException e1){
@@ -0,0 +1,98 @@
+package it.polimi.ingsw.network.server;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is the outbound queue of a spectator. The game thread only adds encoded answers to the queue,
+ * while the thread of the spectator writes them on its socket, so a slow spectator never slows down the game.
+ * When the queue is full the pending updates are dropped and replaced by a snapshot of the whole game.
+ *
+ * @author Dario d'Abate
+ */
+class SpectatorConnection {
+    static final int MAX_PENDING = 32;
+    private static final long POLL_MILLIS = 1000;
+
+    private final ServerClientHandler client;
+    private final BlockingQueue<byte[]> pending;
+    private volatile boolean needsSnapshot; //true until the spectator receives the whole game
+    private volatile boolean open;
+    private int shedUpdates;
+
+    /**
+     * Constructor of the class
+     * @param client client of the spectator
+     */
+    SpectatorConnection(ServerClientHandler client){
+        this.client = client;
+        pending = new ArrayBlockingQueue<>(MAX_PENDING);
+        needsSnapshot = true;
+        open = true;
+    }
+
+    boolean needsSnapshot() {
+        return needsSnapshot;
+    }
+
+    /**
+     * @param encoded encoded answer
+     * @return false if the queue is full and the answer has not been added
+     */
+    boolean offer(byte[] encoded){
+        return pending.offer(encoded);
+    }
+
+    /**
+     * This method drops the pending updates and puts the snapshot of the game in their place
+     * @param snapshot encoded answer with the whole game
+     */
+    synchronized void resync(byte[] snapshot){
+        if(!needsSnapshot)
+            shedUpdates += pending.size() + 1;
+        pending.clear();
+        pending.offer(snapshot);
+        needsSnapshot = false;
+    }
+
+    /**
+     * This method sends a last answer and stops the connection once the pending answers have been written
+     * @param last encoded answer sent after the pending ones
+     */
+    synchronized void close(byte[] last){
+        if(!pending.offer(last)){
+            pending.clear();
+            pending.offer(last);
+        }
+        open = false;
+    }
+
+    /**
+     * This method writes the pending answers until the connection is closed, on the thread of the spectator.
+     * The messages sent by the spectator, such as its pings, are discarded
+     */
+    void run(){
+        try {
+            while(open || !pending.isEmpty()){
+                byte[] next = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                client.discardInput();
+                if(next != null)
+                    client.sendEncodedToClient(next);
+            }
+        } catch (IOException e) {
+            System.out.println("Spectator disconnected");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if(shedUpdates > 0)
+            System.out.println("A slow spectator skipped " + shedUpdates + " updates");
+        open = false;
+        client.closeClientHandler();
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+}
@@ -0,0 +1,154 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.AssistantCard;
+import it.polimi.ingsw.network.client.modelBean.GameBean;
+import it.polimi.ingsw.network.client.modelBean.PlayerBean;
+import it.polimi.ingsw.network.server.answers.Answer;
+import it.polimi.ingsw.network.server.answers.AssistantCardPlayedAnswer;
+import it.polimi.ingsw.network.server.answers.GameStateAnswer;
+import it.polimi.ingsw.network.server.answers.Shutdown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * This class sends the updates of a game to its spectators. Spectators receive the same answers of the players,
+ * but the hands of the players are hidden. Each answer is serialized once and the same bytes are queued
+ * to every spectator; the game thread never writes on the socket of a spectator.
+ * A spectator that has just joined, or that is too slow to keep up, receives a snapshot of the whole game
+ * in place of the updates it has missed.
+ *
+ * @author Dario d'Abate
+ */
+public class SpectatorHub {
+    private final List<SpectatorConnection> spectators;
+    private final Supplier<GameStateAnswer> snapshot; //builds the whole game, called on the game thread
+    private volatile boolean closed; //true when the game is over
+    private final AnswerEncoder.Memo snapshots = new AnswerEncoder.Memo(); //last snapshot sent to the spectators
+
+    /**
+     * Constructor of the class
+     * @param snapshot supplier of the whole state of the game
+     */
+    public SpectatorHub(Supplier<GameStateAnswer> snapshot){
+        this.snapshot = snapshot;
+        spectators = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * This method adds a spectator and sends it the updates of the game until the game ends or the spectator disconnects.
+     * It blocks the thread of the spectator, that is the only one writing on its socket.
+     * The spectator receives the whole game together with the next update
+     * @param client client of the spectator
+     */
+    public void watch(ServerClientHandler client){
+        SpectatorConnection connection = new SpectatorConnection(client);
+        spectators.add(connection);
+        if(closed)
+            connection.close(shutdownAnswer());
+        connection.run();
+        spectators.remove(connection);
+    }
+
+    /**
+     * This method sends an answer to all the spectators
+     * @param answer answer sent to the players
+     */
+    public void publish(Answer answer){
+        if(spectators.isEmpty())
+            return;
+
+        byte[] encoded = AnswerEncoder.encode(redact(answer));
+        byte[] encodedSnapshot = null;
+        for(SpectatorConnection spectator : spectators){
+            if(!spectator.needsSnapshot() && spectator.offer(encoded))
+                continue;
+            if(encodedSnapshot == null)
+                encodedSnapshot = snapshots.encode(snapshot.get(), this::redact);
+            spectator.resync(encodedSnapshot);
+        }
+    }
+
+    /**
+     * This method disconnects all the spectators, once they have received the pending updates
+     */
+    public void close(){
+        closed = true;
+        if(spectators.isEmpty())
+            return;
+
+        byte[] shutdown = shutdownAnswer();
+        for(SpectatorConnection spectator : spectators)
+            spectator.close(shutdown);
+    }
+
+    /**
+     * @return number of spectators watching the game
+     */
+    public int size(){
+        return spectators.size();
+    }
+
+    /**
+     * Helper method that encodes the last answer sent to the spectators
+     */
+    private byte[] shutdownAnswer(){
+        return AnswerEncoder.encode(new Shutdown("The game you were watching is over"));
+    }
+
+    /**
+     * Helper method that hides the hands of the players in an answer
+     * @param answer answer sent to the players
+     * @return the answer that can be sent to the spectators
+     */
+    private Answer redact(Answer answer){
+        if(answer instanceof GameStateAnswer){
+            GameBean game = ((GameStateAnswer) answer).getMessage();
+            GameBean hidden = new GameBean();
+            hidden.setExpertGame(game.isExpertGame());
+            hidden.setArchipelago(game.getArchipelago());
+            hidden.setMotherNature(game.getMotherNature());
+            hidden.setCloudTiles(game.getCloudTiles());
+            hidden.setExpertCards(game.getExpertCards());
+            hidden.setBank(game.getBank());
+
+            ArrayList<PlayerBean> players = new ArrayList<>();
+            for(PlayerBean player : game.getPlayers()){
+                PlayerBean hiddenPlayer = new PlayerBean();
+                hiddenPlayer.setNickname(player.getNickname());
+                hiddenPlayer.setBoard(player.getBoard());
+                hiddenPlayer.setPlayedCard(player.getPlayedCard());
+                hiddenPlayer.setHand(hideHand(player.getHand()));
+                players.add(hiddenPlayer);
+            }
+            hidden.setPlayers(players);
+            GameStateAnswer hiddenAnswer = new GameStateAnswer(hidden);
+            hiddenAnswer.setFingerprint(((GameStateAnswer) answer).getFingerprint());
+            return hiddenAnswer;
+        }
+        if(answer instanceof AssistantCardPlayedAnswer){
+            AssistantCardPlayedAnswer played = (AssistantCardPlayedAnswer) answer;
+            AssistantCardPlayedAnswer hiddenAnswer = new AssistantCardPlayedAnswer(played.getNickname(), hideHand(played.getHand()), played.getCard());
+            hiddenAnswer.setFingerprint(played.getFingerprint());
+            return hiddenAnswer;
+        }
+        return answer;
+    }
+
+    /**
+     * Helper method that replaces the cards of a hand with cards showing only their back
+     * @param hand hand of a player
+     * @return a hand with the same number of cards and the same back
+     */
+    private ArrayList<AssistantCard> hideHand(ArrayList<AssistantCard> hand){
+        if(hand == null)
+            return null;
+        ArrayList<AssistantCard> hidden = new ArrayList<>(hand.size());
+        for(AssistantCard card : hand){
+            hidden.add(AssistantCard.of(0, card.getCardBack()));
+        }
+        return hidden;
+    }
+}
@@ -0,0 +1,298 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.Game;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * This class keeps track of the games suspended after a disconnection.
+ * Only a compact index (players' session and game id) is kept in memory: a game is read from disk the first
+ * time one of its players tries to reconnect, then its serialized bytes are kept in a small LRU cache.
+ * The catalog never keeps a running game: each get returns a new game read from the saved bytes,
+ * so a resumed game is always the game that was saved.
+ * Games that nobody resumes are expired in background.
+ *
+ * @author Dario d'Abate
+ */
+public class SuspendedGameCatalog {
+    private static final String DIRECTORY = "SavedGames";
+    static final int MAX_CACHED_GAMES = 8;
+    static final long EXPIRATION_TIME = TimeUnit.HOURS.toMillis(24);
+    private static final long EXPIRATION_CHECK_PERIOD = 10; //minutes
+
+    private final IntConsumer expiredGames; //notified with the id of each expired game
+    private final File directory;
+
+    private final Map<ArrayList<String>, Integer> gameIdByUserMap; //index saved on disk
+    private final Map<String, Integer> gameIdByNickname;
+    private final Map<Integer, ArrayList<String>> playersById;
+    private final Map<Integer, Long> lastAccessById;
+    private final Map<Integer, Long> savedFingerprintById; //fingerprint of each game when it was last written on disk
+    private final LinkedHashMap<Integer, byte[]> cachedGames; //serialized games, as they are saved on disk
+
+    /**
+     * Constructor of the class. It builds the in-memory index and starts the expiration of abandoned games
+     * @param reconnectionHandler handler notified when a game expires
+     * @param gameIdByUserMap previous players' sessions, empty if there is nothing to reload
+     */
+    public SuspendedGameCatalog(ReconnectionHandler reconnectionHandler, Map<ArrayList<String>, Integer> gameIdByUserMap){
+        this(reconnectionHandler::expireGame, gameIdByUserMap, new File(DIRECTORY));
+
+        ScheduledExecutorService expirationService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suspended-games-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expirationService.scheduleAtFixedRate(() -> expireAbandonedGames(System.currentTimeMillis()),
+                EXPIRATION_CHECK_PERIOD, EXPIRATION_CHECK_PERIOD, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Constructor of the class that does not start the expiration of abandoned games
+     * @param expiredGames notified with the id of each expired game
+     * @param gameIdByUserMap previous players' sessions, empty if there is nothing to reload
+     * @param directory directory in which the games are saved
+     */
+    SuspendedGameCatalog(IntConsumer expiredGames, Map<ArrayList<String>, Integer> gameIdByUserMap, File directory){
+        this.expiredGames = expiredGames;
+        this.directory = directory;
+        this.gameIdByUserMap = gameIdByUserMap;
+        gameIdByNickname = new HashMap<>();
+        playersById = new HashMap<>();
+        lastAccessById = new HashMap<>();
+        savedFingerprintById = new HashMap<>();
+        cachedGames = new LinkedHashMap<>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, byte[]> eldest) {
+                return size() > MAX_CACHED_GAMES;
+            }
+        };
+        for(Map.Entry<ArrayList<String>, Integer> entry : gameIdByUserMap.entrySet())
+            index(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * Helper method used to add a players' session to the in-memory index
+     * @param players list of nickname of players that started the game
+     * @param idOfAGame id of the game
+     */
+    private void index(ArrayList<String> players, int idOfAGame){
+        for(String player : players)
+            gameIdByNickname.put(player, idOfAGame);
+        playersById.put(idOfAGame, players);
+    }
+
+    /**
+     * @param nickname nickname of a player
+     * @return id of the suspended game of that player, null if that player does not belong to a suspended game
+     */
+    public synchronized Integer getId(String nickname){
+        return gameIdByNickname.get(nickname);
+    }
+
+    /**
+     * @param idOfAGame id of a suspended game
+     * @return list of players that started that game, in the initial order, null if the id does not exist
+     */
+    public synchronized ArrayList<String> getPlayers(int idOfAGame){
+        ArrayList<String> players = playersById.get(idOfAGame);
+        return players == null ? null : new ArrayList<>(players);
+    }
+
+    /**
+     * Getter of the index that has to be saved on disk
+     * @return map that associates a players' session with the id of the game
+     */
+    public synchronized Map<ArrayList<String>, Integer> getGameIdByUserMap(){
+        return new HashMap<>(gameIdByUserMap);
+    }
+
+    /**
+     * This method saves a game on disk and keeps its bytes in cache, binding it to the list of related players.
+     * The game is not written again if its fingerprint and its players have not changed since it was written,
+     * such as when a player repeats a move that is refused
+     * @param idOfAGame id of the game
+     * @param game game to be saved
+     * @param players list of nickname of players that started that game
+     * @return true if the game has been written, false if the saved game was already up to date
+     */
+    public synchronized boolean put(int idOfAGame, Game game, ArrayList<String> players){
+        long fingerprint = game.getSnapshotFingerprint();
+        ArrayList<String> previousPlayers = playersById.get(idOfAGame);
+        Long savedFingerprint = savedFingerprintById.get(idOfAGame);
+        if(savedFingerprint != null && savedFingerprint == fingerprint && players.equals(previousPlayers)){
+            lastAccessById.put(idOfAGame, System.currentTimeMillis());
+            return false;
+        }
+
+        if(previousPlayers != null)
+            gameIdByUserMap.remove(previousPlayers);
+        gameIdByUserMap.put(players, idOfAGame);
+        index(players, idOfAGame);
+        byte[] bytes = serialize(game);
+        if(bytes != null && writeGame(idOfAGame, bytes)){
+            savedFingerprintById.put(idOfAGame, fingerprint);
+            cachedGames.put(idOfAGame, bytes);
+        }else{
+            savedFingerprintById.remove(idOfAGame);
+            cachedGames.remove(idOfAGame);
+        }
+        lastAccessById.put(idOfAGame, System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * This method returns a new copy of a suspended game, as it was saved. The game is read from disk only if it is not in cache
+     * @param idOfAGame id of the game
+     * @return game corresponding to the id, null if it cannot be read
+     */
+    public synchronized Game get(int idOfAGame){
+        byte[] bytes = load(idOfAGame);
+        return bytes == null ? null : deserialize(bytes);
+    }
+
+    /**
+     * This method reads the bytes of a suspended game from disk, if they are not in cache
+     * @param idOfAGame id of the game
+     * @return the serialized game, null if it cannot be read
+     */
+    public synchronized byte[] load(int idOfAGame){
+        lastAccessById.put(idOfAGame, System.currentTimeMillis());
+        byte[] bytes = cachedGames.get(idOfAGame);
+        if(bytes == null){
+            bytes = readGame(idOfAGame);
+            if(bytes != null)
+                cachedGames.put(idOfAGame, bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * @param idOfAGame id of a game
+     * @return true if the bytes of the game are in cache
+     */
+    synchronized boolean isCached(int idOfAGame){
+        return cachedGames.containsKey(idOfAGame);
+    }
+
+    /**
+     * This method removes a game from the catalog and deletes it from disk.
+     * If the id does not exist it does nothing
+     * @param idOfAGame id of the game to remove
+     */
+    public synchronized void remove(int idOfAGame){
+        ArrayList<String> players = playersById.remove(idOfAGame);
+        if(players == null)
+            return;
+        for(String player : players)
+            gameIdByNickname.remove(player);
+        gameIdByUserMap.remove(players);
+        cachedGames.remove(idOfAGame);
+        lastAccessById.remove(idOfAGame);
+        savedFingerprintById.remove(idOfAGame);
+        File file = gameFile(idOfAGame);
+        if(file.exists() && !file.delete())
+            System.out.println("The file of the game " + idOfAGame + " could not be deleted");
+    }
+
+    /**
+     * This method is invoked periodically to expire the games that nobody has touched for too long
+     * @param now current time, in milliseconds
+     */
+    void expireAbandonedGames(long now){
+        ArrayList<Integer> expiredIds = new ArrayList<>();
+        synchronized (this) {
+            for (Integer idOfAGame : playersById.keySet()) {
+                long lastAccess = Math.max(lastAccessById.getOrDefault(idOfAGame, 0L), gameFile(idOfAGame).lastModified());
+                if (now - lastAccess > EXPIRATION_TIME)
+                    expiredIds.add(idOfAGame);
+            }
+        }
+        //the reconnection handler is called without holding this lock, it takes its own lock first
+        for(Integer idOfAGame : expiredIds)
+            expiredGames.accept(idOfAGame);
+    }
+
+    /**
+     * Helper method that returns the file in which a game is saved
+     * @param idOfAGame id of the game
+     * @return file associated with that game
+     */
+    private File gameFile(int idOfAGame){
+        return new File(directory, "SerializationGame" + idOfAGame + ".ser");
+    }
+
+    /**
+     * Helper method that serializes a game
+     * @param game game to be serialized
+     * @return bytes of the game, null if it cannot be serialized
+     */
+    private static byte[] serialize(Game game){
+        try{
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream o = new ObjectOutputStream(bytes);
+            o.writeObject(game);
+            o.close();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            System.out.println("Message: " +  e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Helper method that reads a game from its bytes
+     * @param bytes bytes of the game
+     * @return a new game, null if it cannot be read
+     */
+    private static Game deserialize(byte[] bytes){
+        try{
+            ObjectInputStream oi = new ObjectInputStream(new ByteArrayInputStream(bytes));
+            Game g = (Game) oi.readObject();
+            oi.close();
+            return g;
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * This method writes on disk a serialized game
+     * @param idOfAGame id of the game
+     * @param bytes serialized game
+     * @return true if the game has been written
+     */
+    private boolean writeGame(int idOfAGame, byte[] bytes){
+        try{
+            directory.mkdir();
+            Files.write(gameFile(idOfAGame).toPath(), bytes);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Message: " +  e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * This method is used to retrieve a serialized game back from disk
+     * @param idOfAGame id of the game
+     * @return bytes of the game, null if it cannot be read
+     */
+    private byte[] readGame(int idOfAGame) {
+        try {
+            return Files.readAllBytes(gameFile(idOfAGame).toPath());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package it.polimi.ingsw.network.server.answers;
 
+import it.polimi.ingsw.network.client.AnswerListener;
+
 import java.io.Serializable;
 
 /**
@@ -12,4 +14,10 @@ public interface Answer extends Serializable {
      * @return the message of the Answer
      */
     Object getMessage();
+
+    /**
+     * This method passes the answer to the typed handler of the listener, so an answer without a handler does not compile
+     * @param listener view that handles the answer
+     */
+    void accept(AnswerListener listener);
 }
@@ -2,6 +2,7 @@ package it.polimi.ingsw.network.server.answers;
 
 import it.polimi.ingsw.model.AssistantCard;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import java.util.ArrayList;
 
 /**
@@ -12,7 +13,7 @@ import java.util.ArrayList;
  * -The LAST played card
  * @author Lorenzo Corrado
  */
-public class AssistantCardPlayedAnswer implements Answer{
+public class AssistantCardPlayedAnswer extends VerifiableAnswer {
     private final String nickname;
     private final ArrayList<AssistantCard> hand;
     private final AssistantCard  playedCard;
@@ -39,4 +40,9 @@ public class AssistantCardPlayedAnswer implements Answer{
     public AssistantCard getCard() {
         return playedCard;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onAssistantCardPlayed(this);
+    }
 }
@@ -2,6 +2,7 @@ package it.polimi.ingsw.network.server.answers;
 
 import it.polimi.ingsw.model.CardBack;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import java.util.ArrayList;
 
 /**
@@ -17,7 +18,12 @@ public class CardBackChoiceAnswer implements Answer{
     }
 
     @Override
-    public Object getMessage() {
+    public ArrayList<CardBack> getMessage() {
         return cardBackChoices;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onCardBackChoice(this);
+    }
 }
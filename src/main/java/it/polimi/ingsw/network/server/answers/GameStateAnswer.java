@@ -1,5 +1,6 @@
 package it.polimi.ingsw.network.server.answers;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import it.polimi.ingsw.network.client.modelBean.GameBean;
 
 /**
@@ -7,14 +8,19 @@ import it.polimi.ingsw.network.client.modelBean.GameBean;
 
  * @author Dario d'Abate
  */
-public class GameStateAnswer implements Answer{
+public class GameStateAnswer extends VerifiableAnswer {
     GameBean game;
     public GameStateAnswer(GameBean game){
         this.game = game;
     }
 
     @Override
-    public Object getMessage() {
+    public GameBean getMessage() {
         return game;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onGameState(this);
+    }
 }
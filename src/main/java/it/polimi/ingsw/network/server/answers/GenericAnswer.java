@@ -1,4 +1,6 @@
 package it.polimi.ingsw.network.server.answers;
+
+import it.polimi.ingsw.network.client.AnswerListener;
 /**
  * This class represents a string sent from the server to the client, used for a generic message
  * @author Lorenzo Corrado
@@ -18,4 +20,9 @@ public class GenericAnswer implements Answer {
     public String getMessage() {
         return message;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onGenericAnswer(this);
+    }
 }
@@ -0,0 +1,63 @@
+package it.polimi.ingsw.network.server.answers;
+
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.moves.LegalActions;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * This class represents a prompt of the turn of a player, sent together with the legal actions of the player,
+ * so that the client can refuse an input that is not legal without waiting for the server
+ *
+ * @author Dario d'Abate
+ */
+public class LegalActionsAnswer extends PromptAnswer {
+    private static final GameState[] STATES = GameState.values();
+
+    private LegalActions legalActions;
+
+    /**
+     * Constructor used by the deserialization
+     */
+    public LegalActionsAnswer() {
+    }
+
+    /**
+     * @param legalActions legal actions of the player
+     * @param prompt prompt sent to the player
+     * @param params parameters of the prompt
+     */
+    public LegalActionsAnswer(LegalActions legalActions, Prompt prompt, int... params) {
+        super(prompt, params);
+        this.legalActions = legalActions;
+    }
+
+    public LegalActions getLegalActions() {
+        return legalActions;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+        out.writeByte(legalActions.state().ordinal());
+        out.writeShort(legalActions.priorities());
+        out.writeByte(legalActions.hallColors());
+        out.writeByte(legalActions.islandColors());
+        out.writeByte(legalActions.islands());
+        out.writeByte(legalActions.maxSteps());
+        out.writeByte(legalActions.clouds());
+        out.writeByte(legalActions.expertCards());
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        super.readExternal(in);
+        int state = in.readUnsignedByte();
+        if(state >= STATES.length)
+            throw new IOException("Unknown game state " + state);
+        legalActions = new LegalActions(STATES[state], in.readUnsignedShort(), in.readUnsignedByte(), in.readUnsignedByte(),
+                in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedByte());
+    }
+}
@@ -1,5 +1,7 @@
 package it.polimi.ingsw.network.server.answers;
 
+import it.polimi.ingsw.network.client.AnswerListener;
+
 /**
  * This class represent the answer given to the clients to associate their nickname with the UI.
 
@@ -13,8 +15,12 @@ public class NicknameAnswer implements Answer{
     }
 
     @Override
-    public Object getMessage() {
+    public String getMessage() {
         return nickname;
     } //used to associate the nickname to the cli or gui
 
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onNickname(this);
+    }
 }
@@ -1,5 +1,7 @@
 package it.polimi.ingsw.network.server.answers;
 
+import it.polimi.ingsw.network.client.AnswerListener;
+
 /**
  * This message is sent to the client while a game has not started. So if a client crashes, the server
  * can unregister it
@@ -9,4 +11,9 @@ public class Pong implements Answer{
     public Object getMessage() {
         return null;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onPong(this);
+    }
 }
@@ -0,0 +1,130 @@
+package it.polimi.ingsw.network.server.answers;
+
+/**
+ * This enum is the catalog of the prompts and of the errors that the server sends to the players during a game.
+ * The server sends only the code of a prompt and its parameters, the text is rendered by the client from its own table.
+ * The code of a prompt is its position, so the client and the server must share the same catalog:
+ * new prompts are added at the end.
+ *
+ * @author Dario d'Abate
+ */
+public enum Prompt {
+    //prompts
+    YOUR_TURN,
+    CHOOSE_CARD_PRIORITY,
+    CHOOSE_MOVEMENT,
+    CHOOSE_STUDENT_COLOR,
+    CHOOSE_STUDENT_ISLAND,
+    MOTHER_RANGE(Param.NUMBER),
+    CHOOSE_MOTHER_STEPS,
+    CHOOSE_CLOUD,
+    TIME_IS_UP,
+    CHOOSE_EXPERT_CARD,
+    CARD_ACTIVATED,
+    SWAP_STOP_HINT,
+    CHOOSE_ENTRANCE_TO_SWAP,
+    CHOOSE_HALL_TO_SWAP,
+    HALL_SWAPS_FINISHED,
+    CHOOSE_ENTRANCE_FOR_CARD,
+    CARD_SWAPS_FINISHED,
+    CHOOSE_CARD_STUDENT,
+    CHOOSE_STUDENT_TO_TAKE,
+    CHOOSE_ISLAND,
+    CHOOSE_COLOR_TO_HALL,
+    CHOOSE_COLOR_TO_BAG,
+    CHOOSE_BAN_ISLAND,
+    CHOOSE_INFLUENCE_ISLAND,
+    CHOOSE_COLOR_TO_IGNORE,
+    GAME_CLOSING,
+    LOGIN_AGAIN,
+    RECONNECT_TO_RESTART,
+
+    //errors
+    COMMAND_NOT_INSERTED(true),
+    WRONG_COMMAND(true),
+    TOWER_NOT_AVAILABLE(true),
+    CARD_BACK_NOT_AVAILABLE(true),
+    PRIORITY_NOT_VALID(true),
+    PRIORITY_ALREADY_PLAYED(true),
+    CARD_ALREADY_PLAYED(true),
+    NOT_EXPERT_GAME(true),
+    WRONG_MOVEMENT_COMMAND(true),
+    COLOR_NOT_AVAILABLE(true),
+    NO_COLOR_IN_ENTRANCE(true),
+    WRONG_COLOR_COMMAND(true),
+    ISLAND_NOT_EXISTS(true),
+    WRONG_ISLAND_COMMAND(true),
+    STEPS_NOT_VALID(true),
+    WRONG_STEPS_COMMAND(true),
+    CLOUD_NOT_VALID(true),
+    WRONG_CLOUD_COMMAND(true),
+    MOVES_LIMIT(true, Param.NUMBER),
+    MOVES_NOT_VALID(true),
+    NOT_ENOUGH_COINS(true),
+    HALL_EMPTY(true),
+    HALL_FULL(true, Param.COLOR),
+    NO_BAN_TOKENS(true),
+    CARD_NOT_VALID(true, Param.NUMBER),
+    WRONG_CARD_COMMAND(true),
+    MALICIOUS_CLIENT(true),
+    COLOR_NOT_SELECTED(true),
+    COLOR_NOT_ON_CARD(true),
+    SWAPS_NOT_VALID(true, Param.NUMBER),
+    NO_STUDENT_ON_CARD(true, Param.COLOR),
+    NO_STUDENT_IN_ENTRANCE(true, Param.COLOR),
+    NO_STUDENT_IN_HALL(true, Param.COLOR);
+
+    /**
+     * This enum contains the types of the parameters of a prompt. Every parameter is sent as an int:
+     * a color is sent as its ordinal
+     */
+    public enum Param {NUMBER, COLOR}
+
+    private static final Prompt[] VALUES = values();
+
+    private final boolean error;
+    private final Param[] params;
+
+    Prompt(Param... params) {
+        this(false, params);
+    }
+
+    Prompt(boolean error, Param... params) {
+        this.error = error;
+        this.params = params;
+    }
+
+    /**
+     * @return true if this prompt is the answer to a wrong command
+     */
+    public boolean isError() {
+        return error;
+    }
+
+    /**
+     * @return the number of parameters of this prompt
+     */
+    public int numParams() {
+        return params.length;
+    }
+
+    /**
+     * @param index index of the parameter
+     * @return the type of the parameter
+     */
+    public Param paramType(int index) {
+        return params[index];
+    }
+
+    /**
+     * This method finds the prompt of a code received from the server
+     * @param code code of the prompt
+     * @return the prompt with that code
+     * @throws IllegalArgumentException if no prompt has that code
+     */
+    public static Prompt of(int code) {
+        if(code < 0 || code >= VALUES.length)
+            throw new IllegalArgumentException("Unknown prompt code " + code);
+        return VALUES[code];
+    }
+}
@@ -0,0 +1,69 @@
+package it.polimi.ingsw.network.server.answers;
+
+import it.polimi.ingsw.network.client.AnswerListener;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * This class represents a prompt or an error sent from the server to the client.
+ * Only the code of the prompt and its int parameters are written on the stream, the client renders the text
+ *
+ * @author Dario d'Abate
+ */
+public class PromptAnswer implements Answer, Externalizable {
+    private Prompt prompt;
+    private int[] params;
+
+    /**
+     * Constructor used by the deserialization
+     */
+    public PromptAnswer() {
+    }
+
+    /**
+     * @param prompt prompt sent to the client
+     * @param params parameters of the prompt, a color is passed as its ordinal
+     * @throws IllegalArgumentException if the number of parameters is not the one of the prompt
+     */
+    public PromptAnswer(Prompt prompt, int... params) {
+        if(params.length != prompt.numParams())
+            throw new IllegalArgumentException(prompt + " needs " + prompt.numParams() + " parameters");
+        this.prompt = prompt;
+        this.params = params;
+    }
+
+    public int[] getParams() {
+        return params;
+    }
+
+    @Override
+    public Prompt getMessage() {
+        return prompt;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(prompt.ordinal());
+        for(int param : params)
+            out.writeInt(param);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        try {
+            prompt = Prompt.of(in.readUnsignedByte());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+        params = new int[prompt.numParams()];
+        for(int i = 0; i < params.length; i++)
+            params[i] = in.readInt();
+    }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onPrompt(this);
+    }
+}
@@ -1,5 +1,7 @@
 package it.polimi.ingsw.network.server.answers;
 
+import it.polimi.ingsw.network.client.AnswerListener;
+
 /**
  * This class represent the answer given to the clients to disconnect them from the server.
  *
@@ -16,4 +18,9 @@ public class Shutdown implements Answer{
     public String getMessage() {
         return message;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onShutdown(this);
+    }
 }
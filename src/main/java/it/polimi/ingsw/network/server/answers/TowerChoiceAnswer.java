@@ -2,6 +2,7 @@ package it.polimi.ingsw.network.server.answers;
 
 import it.polimi.ingsw.model.Tower;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import java.util.ArrayList;
 /**
  * This class represent the answer given to the clients that lets them choose their tower color
@@ -15,7 +16,12 @@ public class TowerChoiceAnswer implements Answer{
         this.towerChoices = new ArrayList<>(towerChoices);
     }
     @Override
-    public Object getMessage() {
+    public ArrayList<Tower> getMessage() {
         return towerChoices;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onTowerChoice(this);
+    }
 }
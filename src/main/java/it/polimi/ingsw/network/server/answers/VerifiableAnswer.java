@@ -0,0 +1,24 @@
+package it.polimi.ingsw.network.server.answers;
+
+/**
+ * This class represents an answer that changes the view of the game of the clients. It is sent with the fingerprint
+ * of the game on the server, so that a client can compare it with the fingerprint of its own view and ask
+ * for the whole game when they differ
+ *
+ * @author Dario d'Abate
+ * @see it.polimi.ingsw.model.Fingerprint
+ */
+public abstract class VerifiableAnswer implements Answer {
+    private long fingerprint;
+
+    /**
+     * @return the fingerprint of the game on the server when the answer was sent
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+}
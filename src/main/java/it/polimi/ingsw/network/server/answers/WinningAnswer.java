@@ -1,5 +1,7 @@
 package it.polimi.ingsw.network.server.answers;
 
+import it.polimi.ingsw.network.client.AnswerListener;
+
 public class WinningAnswer implements Answer{
     private final String winner;
 
@@ -16,4 +18,8 @@ public class WinningAnswer implements Answer{
         return winner;
     }
 
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onWinning(this);
+    }
 }
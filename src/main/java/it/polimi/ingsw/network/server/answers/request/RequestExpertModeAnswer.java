@@ -1,5 +1,6 @@
 package it.polimi.ingsw.network.server.answers.request;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import it.polimi.ingsw.network.server.answers.Answer;
 
 public class RequestExpertModeAnswer implements Answer {
@@ -10,7 +11,12 @@ public class RequestExpertModeAnswer implements Answer {
     }
 
     @Override
-    public Object getMessage() {
+    public String getMessage() {
         return message;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onRequestExpertMode(this);
+    }
 }
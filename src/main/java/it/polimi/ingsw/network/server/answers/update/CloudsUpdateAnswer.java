@@ -1,8 +1,9 @@
 package it.polimi.ingsw.network.server.answers.update;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import it.polimi.ingsw.network.client.modelBean.BoardBean;
 import it.polimi.ingsw.network.client.modelBean.CloudBean;
-import it.polimi.ingsw.network.server.answers.Answer;
+import it.polimi.ingsw.network.server.answers.VerifiableAnswer;
 
 import java.util.ArrayList;
 
@@ -14,7 +15,7 @@ import java.util.ArrayList;
  *
  * @author Dario d'Abate
  */
-public class CloudsUpdateAnswer implements Answer {
+public class CloudsUpdateAnswer extends VerifiableAnswer {
     ArrayList<BoardBean> updatedBoards;
     ArrayList<CloudBean> updateClouds;
 
@@ -35,4 +36,9 @@ public class CloudsUpdateAnswer implements Answer {
     public Object getMessage() {
         return null;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onCloudsUpdate(this);
+    }
 }
@@ -1,9 +1,10 @@
 package it.polimi.ingsw.network.server.answers.update;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import it.polimi.ingsw.network.client.modelBean.BoardBean;
 import it.polimi.ingsw.network.client.modelBean.ExpertCard.ExpertCardBean;
 import it.polimi.ingsw.network.client.modelBean.IslandBean;
-import it.polimi.ingsw.network.server.answers.Answer;
+import it.polimi.ingsw.network.server.answers.VerifiableAnswer;
 
 import java.util.ArrayList;
 
@@ -16,7 +17,7 @@ import java.util.ArrayList;
  *
  * @author Dario d'Abate
  */
-public class ExpertCardUpdateAnswer implements Answer {
+public class ExpertCardUpdateAnswer extends VerifiableAnswer {
     ArrayList<ExpertCardBean> updatedExpertCards = null;
     ArrayList<IslandBean> updatedArchipelago = null;
     ArrayList<BoardBean> updatedBoards = null;
@@ -49,4 +50,9 @@ public class ExpertCardUpdateAnswer implements Answer {
     public Object getMessage() {
         return null;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onExpertCardUpdate(this);
+    }
 }
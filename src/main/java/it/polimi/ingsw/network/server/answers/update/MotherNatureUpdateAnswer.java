@@ -1,8 +1,9 @@
 package it.polimi.ingsw.network.server.answers.update;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import it.polimi.ingsw.network.client.modelBean.BoardBean;
 import it.polimi.ingsw.network.client.modelBean.IslandBean;
-import it.polimi.ingsw.network.server.answers.Answer;
+import it.polimi.ingsw.network.server.answers.VerifiableAnswer;
 
 import java.util.ArrayList;
 
@@ -15,7 +16,7 @@ import java.util.ArrayList;
  *
  * @author Dario d'Abate
  */
-public class MotherNatureUpdateAnswer implements Answer {
+public class MotherNatureUpdateAnswer extends VerifiableAnswer {
     private final int updatedMotherNature ;
     ArrayList<BoardBean> updatedBoards;
     ArrayList<IslandBean> updatedArchipelago;
@@ -44,5 +45,8 @@ public class MotherNatureUpdateAnswer implements Answer {
         return null;
     }
 
-
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onMotherNatureUpdate(this);
+    }
 }
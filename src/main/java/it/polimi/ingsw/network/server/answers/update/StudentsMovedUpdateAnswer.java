@@ -0,0 +1,50 @@
+package it.polimi.ingsw.network.server.answers.update;
+
+import it.polimi.ingsw.network.client.AnswerListener;
+import it.polimi.ingsw.network.client.modelBean.BoardBean;
+import it.polimi.ingsw.network.client.modelBean.IslandBean;
+import it.polimi.ingsw.network.server.answers.VerifiableAnswer;
+
+import java.util.ArrayList;
+
+/**
+ * This class represent the answer given to the clients when one player moves some students at once.
+ * This class provides you with the following attributes:
+ * -The name of the player who made the action
+ * -The boards updated, because the professors may have changed
+ * -The archipelago updated
+ * @author Dario d'Abate
+ */
+public class StudentsMovedUpdateAnswer extends VerifiableAnswer {
+    String nickname;
+    ArrayList<BoardBean> updatedBoards;
+    ArrayList<IslandBean> updatedArchipelago;
+
+    public StudentsMovedUpdateAnswer(String nickname, ArrayList<BoardBean> updatedBoards, ArrayList<IslandBean> updatedArchipelago){
+        this.nickname = nickname;
+        this.updatedBoards = updatedBoards;
+        this.updatedArchipelago = updatedArchipelago;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public ArrayList<BoardBean> getUpdatedBoards() {
+        return updatedBoards;
+    }
+
+    public ArrayList<IslandBean> getUpdatedArchipelago() {
+        return updatedArchipelago;
+    }
+
+    @Override
+    public Object getMessage() {
+        return null;
+    }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onStudentsMovedUpdate(this);
+    }
+}
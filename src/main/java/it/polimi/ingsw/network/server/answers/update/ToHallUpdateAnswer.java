@@ -1,7 +1,8 @@
 package it.polimi.ingsw.network.server.answers.update;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import it.polimi.ingsw.network.client.modelBean.BoardBean;
-import it.polimi.ingsw.network.server.answers.Answer;
+import it.polimi.ingsw.network.server.answers.VerifiableAnswer;
 
 import java.util.ArrayList;
 
@@ -12,7 +13,7 @@ import java.util.ArrayList;
  * -The boards updated
  * @author Dario d'Abate
  */
-public class ToHallUpdateAnswer implements Answer {
+public class ToHallUpdateAnswer extends VerifiableAnswer {
     String nickname;
     ArrayList<BoardBean> updatedBoardList;
 
@@ -33,4 +34,9 @@ public class ToHallUpdateAnswer implements Answer {
     public Object getMessage() {
         return null;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onToHallUpdate(this);
+    }
 }
@@ -1,8 +1,9 @@
 package it.polimi.ingsw.network.server.answers.update;
 
+import it.polimi.ingsw.network.client.AnswerListener;
 import it.polimi.ingsw.network.client.modelBean.BoardBean;
 import it.polimi.ingsw.network.client.modelBean.IslandBean;
-import it.polimi.ingsw.network.server.answers.Answer;
+import it.polimi.ingsw.network.server.answers.VerifiableAnswer;
 
 import java.util.ArrayList;
 
@@ -14,7 +15,7 @@ import java.util.ArrayList;
  * -The archipelago updated
  * @author Dario d'Abate
  */
-public class ToIslandUpdateAnswer implements Answer {
+public class ToIslandUpdateAnswer extends VerifiableAnswer {
     String nickname;
     BoardBean updatedBoard;
     ArrayList<IslandBean> updatedArchipelago;
@@ -41,4 +42,9 @@ public class ToIslandUpdateAnswer implements Answer {
     public Object getMessage() {
         return null;
     }
+
+    @Override
+    public void accept(AnswerListener listener) {
+        listener.onToIslandUpdate(this);
+    }
 }
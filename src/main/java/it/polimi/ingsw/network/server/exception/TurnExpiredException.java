@@ -0,0 +1,15 @@
+package it.polimi.ingsw.network.server.exception;
+
+import java.io.IOException;
+
+/**
+ * This Exception is thrown when the server is waiting for a message of a player whose time to move is up.
+ * The connection of the player is still valid
+ *
+ * @author Dario d'Abate
+ */
+public class TurnExpiredException extends IOException {
+    public TurnExpiredException(){
+        super("Time is up");
+    }
+}
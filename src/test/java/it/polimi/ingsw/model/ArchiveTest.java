@@ -0,0 +1,123 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.history.ArchiveAnalytics;
+import it.polimi.ingsw.model.history.GameArchive;
+import it.polimi.ingsw.model.history.GameHistory;
+import it.polimi.ingsw.model.history.GameStatistics;
+import it.polimi.ingsw.model.history.GameSummary;
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.model.moves.MoveGenerator;
+import it.polimi.ingsw.model.moves.MoveList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the summaries of the games, the archive and its statistics
+ *
+ * @author Dario d'Abate
+ */
+class ArchiveTest {
+    @TempDir
+    File directory;
+
+    /**
+     * Helper method that creates the summary of a game between two players
+     */
+    private GameSummary summary(int rounds, String endReason, int winner, int cardsPlayedByFirst) {
+        return new GameSummary(rounds, rounds, endReason, List.of("Dario", "Luca"), List.of(Tower.WHITE, Tower.BLACK),
+                0, winner, List.of("Knight", "Herald"), new int[]{cardsPlayedByFirst, 0});
+    }
+
+    /**
+     * This method tests that the statistics of an archive with several segments count every game
+     */
+    @Test
+    @DisplayName("Archive statistics test")
+    void statistics() throws IOException {
+        GameArchive archive = new GameArchive(directory, 64);
+        for(int i = 0; i < 30; i++)
+            archive.append(summary(4, "emptyBagWinning", 0, 0b01));
+        for(int i = 0; i < 10; i++)
+            archive.append(summary(8, "instantWinning", 1, 0b10));
+        //the last segment is read while it is still open
+        assertTrue(GameArchive.segments(directory).size() > 1);
+
+        GameStatistics statistics = ArchiveAnalytics.analyze(directory);
+        assertEquals(40, statistics.getGames());
+        assertEquals(5, statistics.getAverageRounds(), 1e-9);
+        assertEquals(30, statistics.getEndReasonCount("emptyBagWinning"));
+        assertEquals(10, statistics.getEndReasonCount("instantWinning"));
+        assertEquals(0.75, statistics.getWinRate(Tower.WHITE), 1e-9);
+        assertEquals(0.25, statistics.getWinRate(Tower.BLACK), 1e-9);
+        assertEquals(0.75, statistics.getFirstPlayerWinRate(), 1e-9);
+        assertEquals(1, statistics.getWinRate("Knight"), 1e-9);
+        assertEquals(0, statistics.getWinRate("Herald"), 1e-9);
+
+        archive.close();
+        GameArchive reopened = new GameArchive(directory, 64);
+        int segments = GameArchive.segments(directory).size();
+        reopened.append(summary(4, "endRoundWinning", -1, 0));
+        reopened.close();
+        assertEquals(segments + 1, GameArchive.segments(directory).size());
+        assertEquals(41, ArchiveAnalytics.analyze(directory).getGames());
+    }
+
+    /**
+     * This method tests that a game followed until its end is summarized with its winner
+     */
+    @Test
+    @DisplayName("Game history test")
+    void history() {
+        Game g = new Game("Dario", 2, 5);
+        g.addPlayer("Luca");
+        g.startGame();
+        for(Player player : g.getPlayers()){
+            g.associatePlayerToCardsToBack(g.getAvailableCardsBack().get(0), player);
+            g.associatePlayerToTower(g.getAvailableTowerColor().get(0), player);
+        }
+        g.setGameState(GameState.PLANNING_STATE);
+        GameHistory history = new GameHistory(g, false);
+        assertEquals(GameHistory.UNFINISHED, history.summarize().getEndReason());
+        assertEquals(-1, history.summarize().getWinner());
+
+        Random random = new Random(3);
+        MoveList moves = new MoveList();
+        for(int i = 0; i < 2000 && history.summarize().getEndReason().equals(GameHistory.UNFINISHED); i++){
+            MoveGenerator.generate(g, moves, false);
+            if(moves.isEmpty()){
+                g.nextTurn();
+                continue;
+            }
+            int move = moves.get(random.nextInt(moves.size()));
+            switch (Move.type(move)) {
+                case Move.PLAY_CARD -> g.playCard(g.getCurrentPlayer().priorityToIndex(Move.value(move)));
+                case Move.TO_HALL -> g.entranceToHall(Move.color(move));
+                case Move.TO_ISLAND -> g.entranceToIsland(Move.value(move), Move.color(move));
+                case Move.MOVE_MOTHER -> g.motherMovement(Move.value(move));
+                case Move.TAKE_CLOUD -> g.cloudToBoard(Move.value(move));
+            }
+            if(Move.type(move) == Move.TO_HALL || Move.type(move) == Move.TO_ISLAND){
+                g.addActualNumStudMoves();
+                if(g.getActualNumStudMoves() >= 3){
+                    g.setActualNumStudMoves(0);
+                    g.setGameState(GameState.MOTHER_MOVEMENT_STATE);
+                }
+            }
+        }
+
+        GameSummary summary = history.summarize();
+        assertNotEquals(GameHistory.UNFINISHED, summary.getEndReason());
+        assertEquals(List.of("Dario", "Luca"), summary.getPlayers());
+        assertTrue(summary.getWinner() >= 0);
+        assertTrue(summary.getRounds() > 0);
+        assertNotNull(summary.getTowers().get(0));
+    }
+}
@@ -427,6 +427,35 @@ class BoardTest {
         putAndMoveStudent(Color.RED);
         assertEquals(2, b.getNumCoin());
     }
-}
 
+    /**
+     * Method that tests that the revision of the board changes with every change of the board,
+     * also when the students are changed through the entrance, and never goes back
+     */
+    @Test
+    @DisplayName("Revision test with changes of students, professors and coins")
+    void revision() {
+        int revision = b.getRevision();
+        assertEquals(revision, b.getRevision());
+
+        b.fillEntrance(Color.RED);
+        assertTrue(b.getRevision() > revision);
+        revision = b.getRevision();
+
+        b.entranceToHall(Color.RED);
+        assertTrue(b.getRevision() > revision);
+        revision = b.getRevision();
+
+        b.addProfessor(Color.RED);
+        assertTrue(b.getRevision() > revision);
+        revision = b.getRevision();
+
+        b.getEntrance().add(Color.BLUE);
+        assertTrue(b.getRevision() > revision);
+        revision = b.getRevision();
 
+        b.removeCoin(1);
+        assertTrue(b.getRevision() > revision);
+        assertEquals(0, new Board(b).getRevision());
+    }
+}
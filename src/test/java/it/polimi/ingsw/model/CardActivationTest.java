@@ -0,0 +1,85 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.expertGame.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the activation of the expert cards with all their parameters at once
+ *
+ * @author Dario d'Abate
+ */
+class CardActivationTest {
+    ExpertGame g;
+    Board board;
+
+    @BeforeEach
+    void setup() {
+        g = new ExpertGame("Dario", 2, 8);
+        g.addPlayer("Luca");
+        g.startGame();
+        board = g.getCurrentPlayer().getBoard();
+    }
+
+    /**
+     * Helper method that finds a color of which there is at least a student
+     */
+    private Color anyColor(StudentsHandler students, Color excluded) {
+        for(Color color : Color.values()){
+            if(color != excluded && students.numStudents(color) > 0)
+                return color;
+        }
+        throw new IllegalStateException("No students");
+    }
+
+    /**
+     * This method tests that all the swaps of the clown card are applied with a single activation
+     */
+    @DisplayName("Clown card activation")
+    @Test
+    void clownActivation() {
+        StudentsBufferCardsCluster card = new StudentsBufferCardsCluster(1, g);
+        g.getExpertCards().set(0, card);
+        Color fromCard = anyColor(card.getStudBuffer(), null);
+        Color fromEntrance = anyColor(board.getEntrance(), fromCard);
+        int onCard = card.getStudBuffer().numStudents(fromCard);
+        int inEntrance = board.entranceSize(fromEntrance);
+
+        CardActivation activation = new CardActivation(0, null, -1, List.of(new CardActivation.Swap(fromCard, fromEntrance)));
+        assertNull(activation.check(g));
+        activation.apply(g);
+        assertEquals(onCard - 1, card.getStudBuffer().numStudents(fromCard));
+        assertEquals(inEntrance - 1, board.entranceSize(fromEntrance));
+        assertEquals(0, board.getNumCoin());
+        assertTrue(g.isCardHasBeenPlayed());
+        assertEquals(CardActivation.Reason.CARD_ALREADY_PLAYED, activation.check(g).reason()); //only one card each turn
+    }
+
+    /**
+     * This method tests that an activation whose second swap is not possible does not change the game
+     */
+    @DisplayName("Invalid activation")
+    @Test
+    void invalidActivation() {
+        SwapStudentsCard card = new SwapStudentsCard(g);
+        g.getExpertCards().set(1, card);
+        board.fillHall(Color.RED);
+        Color fromEntrance = anyColor(board.getEntrance(), Color.RED);
+        int inEntrance = board.entranceSize(fromEntrance);
+
+        //after the first swap there are no red students left in the hall
+        CardActivation activation = new CardActivation(1, null, -1, List.of(
+                new CardActivation.Swap(fromEntrance, Color.RED), new CardActivation.Swap(fromEntrance, Color.RED)));
+        assertNotNull(activation.check(g));
+        assertThrows(IllegalArgumentException.class, () -> activation.apply(g));
+        assertEquals(1, board.hallSize(Color.RED));
+        assertEquals(inEntrance, board.entranceSize(fromEntrance));
+        assertEquals(1, board.getNumCoin());
+        assertFalse(g.isCardHasBeenPlayed());
+    }
+}
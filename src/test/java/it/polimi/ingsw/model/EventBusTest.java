@@ -0,0 +1,156 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.events.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the event bus of the game and its ring buffer
+ *
+ * @author Dario d'Abate
+ */
+class EventBusTest {
+
+    /**
+     * Helper method that creates a started game in the planning phase
+     */
+    private Game startedGame() {
+        Game g = new Game("Dario", 2, 11);
+        g.addPlayer("Luca");
+        g.startGame();
+        for(Player player : g.getPlayers()){
+            g.associatePlayerToCardsToBack(g.getAvailableCardsBack().get(0), player);
+            g.associatePlayerToTower(g.getAvailableTowerColor().get(0), player);
+        }
+        g.setGameState(GameState.PLANNING_STATE);
+        return g;
+    }
+
+    /**
+     * This method tests that the subscribers receive only the events of their type, in order of subscription
+     */
+    @Test
+    @DisplayName("Subscription test")
+    void subscription() {
+        EventBus bus = new EventBus();
+        List<String> received = new ArrayList<>();
+        assertFalse(bus.wants(GameEventType.GAME_WON));
+
+        bus.subscribe(GameWonEvent.class, e -> received.add("first " + e.winner()));
+        bus.subscribe(GameWonEvent.class, e -> received.add("second " + e.winner()));
+        bus.subscribe(CardPlayedEvent.class, e -> received.add("card " + e.priority()));
+        assertTrue(bus.wants(GameEventType.GAME_WON));
+        assertFalse(bus.wants(GameEventType.STUDENT_MOVED));
+
+        bus.publish(new GameWonEvent("Dario"));
+        bus.publish(new IslandsMergedEvent(0, 11));
+        assertEquals(List.of("first Dario", "second Dario"), received);
+
+        //a subscriber removes itself while the event is dispatched
+        received.clear();
+        List<Consumer<CardPlayedEvent>> once = new ArrayList<>();
+        once.add(e -> {
+            received.add("once");
+            bus.unsubscribe(CardPlayedEvent.class, once.get(0));
+        });
+        bus.subscribe(CardPlayedEvent.class, once.get(0));
+        bus.publish(new CardPlayedEvent("Luca", 3, 9));
+        bus.publish(new CardPlayedEvent("Luca", 4, 8));
+        assertEquals(List.of("card 3", "once", "card 4"), received);
+    }
+
+    /**
+     * This method tests the events fired by the moves of a game
+     */
+    @Test
+    @DisplayName("Game events test")
+    void gameEvents() {
+        Game g = startedGame();
+        List<GameEvent> received = new ArrayList<>();
+        g.getEvents().subscribe(CardPlayedEvent.class, received::add);
+        g.getEvents().subscribe(StudentMovedEvent.class, received::add);
+        g.getEvents().subscribe(ProfessorChangedEvent.class, received::add);
+
+        String first = g.getCurrentPlayer().getNickname();
+        int priority = g.getCurrentPlayer().getHand().get(0).getPriority();
+        g.playCard(0);
+        assertEquals(new CardPlayedEvent(first, priority, 9), received.get(0));
+        g.playCard(1);
+        received.clear();
+
+        Player player = g.getCurrentPlayer();
+        Color color = null;
+        for(Color c : Color.values()){
+            if(player.getBoard().studentInEntrance(c))
+                color = c;
+        }
+        g.entranceToHall(color);
+        assertEquals(new StudentMovedEvent(player.getNickname(), color, StudentMovedEvent.Place.ENTRANCE, StudentMovedEvent.Place.HALL, -1), received.get(0));
+        assertEquals(new ProfessorChangedEvent(color, null, player.getNickname()), received.get(1));
+    }
+
+    /**
+     * This method tests that a game restored from a save has a working event bus without the old subscribers
+     */
+    @Test
+    @DisplayName("Restored game test")
+    void restoredGame() throws IOException, ClassNotFoundException {
+        Game g = startedGame();
+        g.getEvents().subscribe(CardPlayedEvent.class, e -> fail("Subscribers are not saved"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(g);
+        }
+        Game restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (Game) in.readObject();
+        }
+        List<GameEvent> received = new ArrayList<>();
+        restored.getEvents().subscribe(CardPlayedEvent.class, received::add);
+        restored.playCard(0);
+        assertEquals(1, received.size());
+    }
+
+    /**
+     * This method tests that the ring buffer is off by default, that it keeps the last events
+     * and that a late reader skips the lost ones
+     */
+    @Test
+    @DisplayName("Ring buffer test")
+    void ring() {
+        EventBus bus = new EventBus();
+        assertFalse(bus.wants(GameEventType.ISLANDS_MERGED));
+        EventRing ring = new EventRing(6); //rounded to 8
+        bus.mirrorTo(ring);
+        assertTrue(bus.wants(GameEventType.ISLANDS_MERGED));
+
+        for(int i = 0; i < 5; i++)
+            bus.publish(new IslandsMergedEvent(i, 12 - i));
+        List<GameEvent> read = new ArrayList<>();
+        long cursor = ring.drain(0, read::add);
+        assertEquals(5, cursor);
+        assertEquals(new IslandsMergedEvent(4, 8), read.get(4));
+
+        for(int i = 5; i < 20; i++)
+            bus.publish(new IslandsMergedEvent(i, 12 - i));
+        read.clear();
+        cursor = ring.drain(cursor, read::add);
+        assertEquals(20, cursor);
+        assertTrue(read.size() < 15);
+        assertEquals(new IslandsMergedEvent(19, -7), read.get(read.size() - 1));
+        assertEquals(20, ring.head());
+
+        bus.mirrorTo(null);
+        assertFalse(bus.wants(GameEventType.ISLANDS_MERGED));
+        bus.publish(new IslandsMergedEvent(0, 1));
+        assertEquals(20, ring.head());
+    }
+}
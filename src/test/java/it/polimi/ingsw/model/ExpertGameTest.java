@@ -768,4 +768,22 @@ class ExpertGameTest {
         assertEquals(5, g.getMaxMovement());
     }
 
-}
\ No newline at end of file
+    /**
+     * This method tests that every type of the registry creates a card of that type, with the cost of the type
+     */
+    @DisplayName("Expert cards registry")
+    @Test
+    void cardsRegistry(){
+        setupFullPlayer();
+        g.startGame();
+        for(ExpertCardType type : ExpertCardType.values()){
+            ExpertCard card = type.create(g);
+            assertEquals(type, card.getType());
+            assertEquals(type.getCost(), card.getPrice());
+            assertEquals(type, card.copy(g.copy()).getType());
+        }
+        assertEquals(12, ExpertCardType.count());
+        for(ExpertCard card : g.getExpertCards())
+            assertEquals(1, g.getExpertCards().stream().filter(c -> c.getType() == card.getType()).count());
+    }
+}
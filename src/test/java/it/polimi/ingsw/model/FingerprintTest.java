@@ -0,0 +1,109 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.expertGame.ExpertGame;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the fingerprint of a game
+ *
+ * @author Dario d'Abate
+ */
+class FingerprintTest {
+
+    /**
+     * Helper method that creates a started game
+     * @param g game with its first player
+     * @return the started game
+     */
+    private Game startedGame(Game g) {
+        g.addPlayer("Luca");
+        g.startGame();
+        for(Player player : g.getPlayers()){
+            g.associatePlayerToCardsToBack(g.getAvailableCardsBack().get(0), player);
+            g.associatePlayerToTower(g.getAvailableTowerColor().get(0), player);
+        }
+        g.setGameState(GameState.PLANNING_STATE);
+        return g;
+    }
+
+    /**
+     * This method tests that the students updated one at a time have the fingerprint of the same students computed at once
+     */
+    @Test
+    @DisplayName("Incremental students test")
+    void incrementalStudents() {
+        StudentsHandler students = new StudentsHandler();
+        students.add(Color.RED, 3);
+        students.add(Color.BLUE);
+        students.remove(Color.RED);
+        students.remove(Color.GREEN);
+
+        Map<Color, Integer> counted = new EnumMap<>(Color.class);
+        for(Color color : Color.values())
+            counted.put(color, students.numStudents(color));
+        assertEquals(Fingerprint.students(counted), students.getFingerprint());
+
+        students.remove(Color.RED, 2);
+        students.remove(Color.BLUE);
+        assertEquals(new StudentsHandler().getFingerprint(), students.getFingerprint());
+    }
+
+    /**
+     * This method tests that a move changes the fingerprint and that a copy has the fingerprint of the original game
+     */
+    @Test
+    @DisplayName("Move and copy test")
+    void moveAndCopy() {
+        Game g = startedGame(new ExpertGame("Dario", 2));
+        long before = g.getFingerprint();
+        assertEquals(before, g.copy().getFingerprint());
+
+        g.playCard(0);
+        assertNotEquals(before, g.getFingerprint());
+        assertEquals(g.getFingerprint(), g.copy().getFingerprint());
+        assertEquals(g.getSnapshotFingerprint(), g.copy().getSnapshotFingerprint());
+    }
+
+    /**
+     * This method tests that the fingerprint of the turn changes when only the current player changes
+     */
+    @Test
+    @DisplayName("Snapshot test")
+    void snapshot() {
+        Game g = startedGame(new Game("Dario", 2));
+        long fingerprint = g.getFingerprint();
+        long snapshot = g.getSnapshotFingerprint();
+
+        g.setGameState(GameState.MOVING_STUDENT_STATE);
+        assertEquals(fingerprint, g.getFingerprint());
+        assertNotEquals(snapshot, g.getSnapshotFingerprint());
+    }
+
+    /**
+     * This method tests that a restored game has the fingerprint of the saved game, even if the fingerprint is not saved
+     */
+    @Test
+    @DisplayName("Restored game test")
+    void restoredGame() throws IOException, ClassNotFoundException {
+        Game g = startedGame(new ExpertGame("Dario", 2));
+        g.playCard(0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            out.writeObject(g);
+        }
+        Game restored;
+        try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))){
+            restored = (Game) in.readObject();
+        }
+        assertEquals(g.getFingerprint(), restored.getFingerprint());
+        assertEquals(g.getSnapshotFingerprint(), restored.getSnapshotFingerprint());
+    }
+}
@@ -0,0 +1,67 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.expertGame.ExpertGame;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares the copy of a game made by Game.copy() with a serialization round trip,
+ * that is the way a game is saved by the server.
+ * It is not a test: run its main method, after "mvn test-compile", with the test classpath
+ *
+ * @author Dario d'Abate
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameCopyBenchmark {
+    @Param({"false", "true"})
+    public boolean expert;
+
+    private Game game;
+
+    @Setup
+    public void setup() {
+        game = expert ? new ExpertGame("Dario", 3) : new Game("Dario", 3);
+        game.addPlayer("Luca");
+        game.addPlayer("Lorenzo");
+        game.startGame();
+        for(Player player : game.getPlayers()){
+            game.associatePlayerToCardsToBack(game.getAvailableCardsBack().get(0), player);
+            game.associatePlayerToTower(game.getAvailableTowerColor().get(0), player);
+        }
+        game.setGameState(GameState.PLANNING_STATE);
+    }
+
+    @Benchmark
+    public Game copy() {
+        return game.copy();
+    }
+
+    @Benchmark
+    public Game serialization() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(game);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (Game) in.readObject();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GameCopyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,138 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.expertGame.ExpertCard;
+import it.polimi.ingsw.model.expertGame.ExpertGame;
+import it.polimi.ingsw.model.expertGame.StudentsBufferCardsCluster;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the copy of a game
+ *
+ * @author Dario d'Abate
+ */
+class GameCopyTest {
+
+    /**
+     * Helper method that creates a started game
+     * @param g game with its first player
+     * @return the started game
+     */
+    private Game startedGame(Game g) {
+        g.addPlayer("Luca");
+        g.addPlayer("Lorenzo");
+        g.startGame();
+        for(Player player : g.getPlayers()){
+            g.associatePlayerToCardsToBack(g.getAvailableCardsBack().get(0), player);
+            g.associatePlayerToTower(g.getAvailableTowerColor().get(0), player);
+        }
+        g.setGameState(GameState.PLANNING_STATE);
+        return g;
+    }
+
+    /**
+     * This method tests that the copy has the same state of the original game, made of different objects
+     */
+    @Test
+    @DisplayName("Same state test")
+    void sameState() {
+        Game g = startedGame(new Game("Dario", 3));
+        Game copy = g.copy();
+
+        assertEquals(g.getGameState(), copy.getGameState());
+        assertEquals(g.getMotherNature(), copy.getMotherNature());
+        assertEquals(g.getArchipelago().size(), copy.getArchipelago().size());
+        for(int i = 0; i < g.getArchipelago().size(); i++){
+            assertNotSame(g.getArchipelago().get(i), copy.getArchipelago().get(i));
+            for(Color color : Color.values())
+                assertEquals(g.getArchipelago().get(i).getInfluenceColor(color), copy.getArchipelago().get(i).getInfluenceColor(color));
+        }
+        for(int i = 0; i < g.getPlayers().size(); i++){
+            Player player = g.getPlayers().get(i);
+            Player playerCopy = copy.getPlayers().get(i);
+            assertNotSame(player, playerCopy);
+            assertEquals(player.getNickname(), playerCopy.getNickname());
+            assertEquals(player.getBoard().getTowerColor(), playerCopy.getBoard().getTowerColor());
+            for(Color color : Color.values())
+                assertEquals(player.getBoard().entranceSize(color), playerCopy.getBoard().entranceSize(color));
+        }
+        for(int i = 0; i < g.getCloudTiles().size(); i++)
+            assertEquals(g.getCloudTiles().get(i).numStudOn(), copy.getCloudTiles().get(i).numStudOn());
+
+        //the round of the copy refers to the players of the copy
+        assertEquals(g.getCurrentPlayer().getNickname(), copy.getCurrentPlayer().getNickname());
+        assertTrue(copy.getPlayers().contains(copy.getCurrentPlayer()));
+    }
+
+    /**
+     * This method tests that playing on the copy does not change the original game
+     */
+    @Test
+    @DisplayName("Independent copy test")
+    void independentCopy() {
+        Game g = startedGame(new Game("Dario", 3));
+        Game copy = g.copy();
+
+        for(int i = 0; i < 3; i++)
+            copy.playCard(0);
+        assertEquals(GameState.MOVING_STUDENT_STATE, copy.getGameState());
+        Color color = copy.getCurrentPlayer().getBoard().getEntrance().colorsAvailable().get(0);
+        copy.entranceToHall(color);
+        copy.entranceToIsland(0, copy.getCurrentPlayer().getBoard().getEntrance().colorsAvailable().get(0));
+
+        assertEquals(GameState.PLANNING_STATE, g.getGameState());
+        for(Player player : g.getPlayers()){
+            assertEquals(10, player.getHand().size());
+            assertNull(player.viewLastCard());
+            assertEquals(0, player.getBoard().hallSize());
+            assertTrue(player.getBoard().getProfessors().isEmpty());
+        }
+        assertEquals(g.getArchipelago().get(0).getIslandStudents().numStudents() + 1,
+                copy.getArchipelago().get(0).getIslandStudents().numStudents());
+    }
+
+    /**
+     * This method tests that the assistant cards shared by a copy are not changed by the choice of the card back
+     */
+    @Test
+    @DisplayName("Shared cards test")
+    void sharedCards() {
+        Game g = new Game("Dario", 2);
+        g.addPlayer("Luca");
+        g.startGame();
+        Game copy = g.copy();
+
+        copy.associatePlayerToCardsToBack(CardBack.values()[0], copy.getPlayers().get(0));
+        assertEquals(CardBack.values()[0], copy.getPlayers().get(0).getHand().get(0).getCardBack());
+        assertNull(g.getPlayers().get(0).getHand().get(0).getCardBack());
+        assertEquals(CardBack.values().length, g.getAvailableCardsBack().size());
+    }
+
+    /**
+     * This method tests that the expert cards of the copy are copied without drawing students from the bag
+     */
+    @Test
+    @DisplayName("Expert game copy test")
+    void expertGameCopy() {
+        ExpertGame g = (ExpertGame) startedGame(new ExpertGame("Dario", 3));
+        ExpertGame copy = g.copy();
+
+        assertEquals(g.getCoinBank(), copy.getCoinBank());
+        assertEquals(g.getBanTile(), copy.getBanTile());
+        assertEquals(g.getExpertCards().size(), copy.getExpertCards().size());
+        for(int i = 0; i < g.getExpertCards().size(); i++){
+            ExpertCard card = g.getExpertCards().get(i);
+            ExpertCard cardCopy = copy.getExpertCards().get(i);
+            assertNotSame(card, cardCopy);
+            assertEquals(card.getClass(), cardCopy.getClass());
+            assertEquals(card.getPrice(), cardCopy.getPrice());
+            if(card instanceof StudentsBufferCardsCluster){
+                for(Color color : Color.values())
+                    assertEquals(((StudentsBufferCardsCluster) card).getStudBuffer().numStudents(color),
+                            ((StudentsBufferCardsCluster) cardCopy).getStudBuffer().numStudents(color));
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.ai.BotDifficulty;
+import it.polimi.ingsw.model.ai.GameSimulator;
+import it.polimi.ingsw.model.ai.MctsEngine;
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.model.moves.MoveList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the simulator and the search engine used by the bots
+ *
+ * @author Dario d'Abate
+ */
+class GameSimulatorTest {
+    Game g;
+
+    @BeforeEach
+    void setup() {
+        g = new Game("Dario", 2);
+        g.addPlayer("Luca");
+        g.startGame();
+        for(Player player : g.getPlayers()){
+            g.associatePlayerToCardsToBack(g.getAvailableCardsBack().get(0), player);
+            g.associatePlayerToTower(g.getAvailableTowerColor().get(0), player);
+        }
+        g.setGameState(GameState.PLANNING_STATE);
+    }
+
+    /**
+     * This method tests that in the planning phase a player can play each card of the hand,
+     * and that a card played by another player cannot be played again
+     */
+    @Test
+    @DisplayName("Card moves test")
+    void cardMoves() {
+        GameSimulator simulator = GameSimulator.of(g);
+        MoveList moves = new MoveList();
+        simulator.legalMoves(moves);
+        assertEquals(g.getCurrentPlayer().getHand().size(), moves.size());
+
+        simulator.apply(Move.playCard(5));
+        simulator.legalMoves(moves);
+        assertFalse(moves.contains(Move.playCard(5)));
+        assertEquals(g.getCurrentPlayer().getHand().size() - 1, moves.size());
+    }
+
+    /**
+     * This method tests that a simulation does not modify the original game and ends within the given number of moves
+     */
+    @Test
+    @DisplayName("Playout test")
+    void playout() {
+        GameSimulator simulator = GameSimulator.of(g);
+        simulator.playout(new Random(42), 500);
+
+        assertEquals(GameState.PLANNING_STATE, g.getGameState());
+        assertEquals(10, g.getCurrentPlayer().getHand().size());
+        MoveList moves = new MoveList();
+        simulator.legalMoves(moves);
+        assertTrue(simulator.isOver() || !moves.isEmpty());
+
+        double[] rewards = simulator.rewards();
+        assertEquals(2, rewards.length);
+        for(double reward : rewards)
+            assertTrue(reward >= 0 && reward <= 1);
+    }
+
+    /**
+     * This method tests that the engine chooses a legal move
+     */
+    @Test
+    @DisplayName("Engine move test")
+    void chooseMove() {
+        MctsEngine engine = new MctsEngine(BotDifficulty.EASY);
+        int move = engine.chooseMove(g);
+
+        MoveList moves = new MoveList();
+        GameSimulator.of(g).legalMoves(moves);
+        assertTrue(moves.contains(move));
+        assertTrue(engine.getLastSimulations() > 0);
+    }
+}
@@ -3,6 +3,7 @@ package it.polimi.ingsw.model;
 import it.polimi.ingsw.model.expertGame.ExpertGame;
 import it.polimi.ingsw.model.expertGame.InfluenceCardsCluster;
 import it.polimi.ingsw.model.statePattern.StandardCalculator;
+import it.polimi.ingsw.model.statePattern.TwoMoreCalculator;
 import it.polimi.ingsw.model.constantFactory.GameConstants;
 import it.polimi.ingsw.model.constantFactory.GameConstantsCreator;
 import it.polimi.ingsw.model.constantFactory.GameConstantsCreatorThreePlayers;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.*;
 import java.util.ArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,8 +20,8 @@ import static org.junit.jupiter.api.Assertions.*;
 //STUDENT 2 has PINK
 class IslandTileTest {
     ArrayList<Player> playerArrayList = new ArrayList<>();
-    StandardCalculator calc = new StandardCalculator();
-    IslandTile tempIsland = new IslandTile(calc);
+    StandardCalculator calc = StandardCalculator.INSTANCE;
+    IslandTile tempIsland = new IslandTile();
     GameConstantsCreator g;
 
     @BeforeEach
@@ -37,7 +39,6 @@ class IslandTileTest {
         playerArrayList.get(0).getBoard().chooseTower(Tower.WHITE);
         playerArrayList.get(1).getBoard().chooseTower(Tower.BLACK);
         playerArrayList.get(2).getBoard().chooseTower(Tower.GRAY);
-        calc.setContext(tempIsland);
     }
 
     /**
@@ -60,21 +61,21 @@ class IslandTileTest {
         assertEquals(0, tempIsland.checkInfluence(player1));
         //TEST PROFESSOR PLAYERS
         for (Player player: playerArrayList) {
-            assertEquals(1, calc.checkInfluence(player));
+            assertEquals(1, calc.checkInfluence(tempIsland, player, null));
         }
         tempIsland.add(Color.RED);
         tempIsland.add(Color.RED);
         tempIsland.add(Color.RED);
         //TEST MORE THAN ONE TOKEN PLAYER
-        assertEquals(4, calc.checkInfluence(playerArrayList.get(1)));
+        assertEquals(4, calc.checkInfluence(tempIsland, playerArrayList.get(1), null));
         tempIsland.addTower();
         tempIsland.changeTowerColor(Tower.WHITE);
         //TEST ADD TOWER
-        assertEquals(2,calc.checkInfluence(playerArrayList.get(0)));
+        assertEquals(2,calc.checkInfluence(tempIsland, playerArrayList.get(0), null));
         //TEST CHANGE TOWER
         tempIsland.changeTowerColor(Tower.BLACK);
-        assertEquals(1,calc.checkInfluence(playerArrayList.get(0)));
-        assertEquals(5,calc.checkInfluence(playerArrayList.get(1)));
+        assertEquals(1,calc.checkInfluence(tempIsland, playerArrayList.get(0), null));
+        assertEquals(5,calc.checkInfluence(tempIsland, playerArrayList.get(1), null));
     }
 
     /**
@@ -172,20 +173,34 @@ class IslandTileTest {
         assertEquals(4, tempIsland.checkInfluence(game.getPlayers().get(0)));
         //NO TOWER CALCULATOR
         card.effect();
-        game.getCurrentIsland().changeCalculator(game.calc);
-        assertEquals(3, tempIsland.checkInfluence(game.getPlayers().get(0)));
+        assertEquals(3, tempIsland.checkInfluence(game.getPlayers().get(0), game.calc, game));
         InfluenceCardsCluster card1 = new InfluenceCardsCluster(1,game);
         //TWO MORE CALCULATOR
         card1.effect();
-        game.getCurrentIsland().changeCalculator(game.calc);
-        assertEquals(6, tempIsland.checkInfluence(game.getPlayers().get(0)));
+        assertEquals(6, tempIsland.checkInfluence(game.getPlayers().get(0), game.calc, game));
         InfluenceCardsCluster card2 = new InfluenceCardsCluster(2,game);
         //COLOR EXCEPTION CALCULATOR
         assertThrows(IllegalStateException.class, card2::effect);
         card2.changeColor(Color.YELLOW);
         card2.effect();
-        game.getCurrentIsland().changeCalculator(game.calc);
-        assertEquals(2, tempIsland.checkInfluence(game.getPlayers().get(0)));
+        assertEquals(2, tempIsland.checkInfluence(game.getPlayers().get(0), game.calc, game));
     }
 
-}
\ No newline at end of file
+    /**
+     * This method tests that a saved game gets back the shared calculators, so that their identity
+     * can still be compared after a game is restored
+     */
+    @DisplayName("Test shared calculators after serialization")
+    @Test
+    public void sharedCalculators() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(StandardCalculator.INSTANCE);
+            out.writeObject(TwoMoreCalculator.INSTANCE);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(StandardCalculator.INSTANCE, in.readObject());
+            assertSame(TwoMoreCalculator.INSTANCE, in.readObject());
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.expertGame.*;
+import it.polimi.ingsw.model.moves.LegalActions;
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.model.moves.MoveGenerator;
+import it.polimi.ingsw.model.moves.MoveList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the encoding of the moves and the generation of the legal moves
+ *
+ * @author Dario d'Abate
+ */
+class MoveGeneratorTest {
+
+    /**
+     * Helper method that creates a started game in the planning phase
+     * @param g game with its first player
+     * @return the started game
+     */
+    private Game startedGame(Game g) {
+        g.addPlayer("Luca");
+        g.startGame();
+        for(Player player : g.getPlayers()){
+            g.associatePlayerToCardsToBack(g.getAvailableCardsBack().get(0), player);
+            g.associatePlayerToTower(g.getAvailableTowerColor().get(0), player);
+        }
+        g.setGameState(GameState.PLANNING_STATE);
+        return g;
+    }
+
+    /**
+     * Helper method that checks that every generated move is accepted by isLegal
+     */
+    private void assertAllLegal(Game g, MoveList moves) {
+        for(int i = 0; i < moves.size(); i++)
+            assertTrue(MoveGenerator.isLegal(g, moves.get(i)), Move.toString(moves.get(i)));
+    }
+
+    /**
+     * This method tests that the fields of a move are decoded as they were encoded
+     */
+    @Test
+    @DisplayName("Encoding test")
+    void encoding() {
+        int move = Move.toIsland(Color.PINK, 11);
+        assertEquals(Move.TO_ISLAND, Move.type(move));
+        assertEquals(Color.PINK, Move.color(move));
+        assertNull(Move.secondColor(move));
+        assertEquals(11, Move.value(move));
+
+        move = Move.expertCard(2, Color.YELLOW, Color.RED, 0);
+        assertEquals(Move.EXPERT_CARD, Move.type(move));
+        assertEquals(2, Move.card(move));
+        assertEquals(Color.YELLOW, Move.color(move));
+        assertEquals(Color.RED, Move.secondColor(move));
+
+        assertEquals(Move.NONE, Move.playCard(-1));
+        assertEquals(Move.NONE, Move.moveMother(256));
+        assertNotEquals(Move.NONE, Move.playCard(0));
+    }
+
+    /**
+     * This method tests that a card played by another player in the same planning phase cannot be played
+     */
+    @Test
+    @DisplayName("Planning moves test")
+    void planningMoves() {
+        Game g = startedGame(new Game("Dario", 2));
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(g, moves);
+        assertEquals(10, moves.size());
+        assertAllLegal(g, moves);
+        assertFalse(MoveGenerator.isLegal(g, Move.playCard(11)));
+        assertFalse(MoveGenerator.isLegal(g, Move.moveMother(1)));
+
+        g.playCard(g.getCurrentPlayer().priorityToIndex(5));
+        MoveGenerator.generate(g, moves);
+        assertEquals(9, moves.size());
+        assertFalse(moves.contains(Move.playCard(5)));
+        assertFalse(MoveGenerator.isLegal(g, Move.playCard(5)));
+    }
+
+    /**
+     * This method tests the moves of the action phase
+     */
+    @Test
+    @DisplayName("Action moves test")
+    void actionMoves() {
+        Game g = startedGame(new Game("Dario", 2));
+        g.playCard(g.getCurrentPlayer().priorityToIndex(1));
+        g.playCard(g.getCurrentPlayer().priorityToIndex(2));
+        assertEquals(GameState.MOVING_STUDENT_STATE, g.getGameState());
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(g, moves);
+        Board board = g.getCurrentPlayer().getBoard();
+        int colors = board.getEntrance().colorsAvailable().size();
+        assertEquals(colors * (g.getArchipelago().size() + 1), moves.size());
+        assertAllLegal(g, moves);
+        for(Color color : Color.values()){
+            if(board.entranceSize(color) == 0)
+                assertFalse(MoveGenerator.isLegal(g, Move.toHall(color)));
+        }
+        assertFalse(MoveGenerator.isLegal(g, Move.toIsland(board.getEntrance().colorsAvailable().get(0), g.getArchipelago().size())));
+
+        g.setGameState(GameState.MOTHER_MOVEMENT_STATE);
+        MoveGenerator.generate(g, moves);
+        assertEquals(g.getMaxMovement(), moves.size());
+        assertFalse(MoveGenerator.isLegal(g, Move.moveMother(0)));
+        assertFalse(MoveGenerator.isLegal(g, Move.moveMother(g.getMaxMovement() + 1)));
+
+        g.setGameState(GameState.CLOUD_TO_ENTRANCE_STATE);
+        MoveGenerator.generate(g, moves);
+        assertEquals(g.getCloudTiles().size(), moves.size());
+        assertAllLegal(g, moves);
+        assertFalse(MoveGenerator.isLegal(g, Move.takeCloud(g.getCloudTiles().size())));
+    }
+
+    /**
+     * This method tests that mother nature can go round an archipelago that is smaller than her movement,
+     * as the game allows, while only the movements that end on different islands are listed
+     */
+    @Test
+    @DisplayName("Movement round the archipelago test")
+    void motherRoundTheArchipelago() {
+        Game g = startedGame(new Game("Dario", 2, 1));
+        g.playCard(g.getCurrentPlayer().priorityToIndex(10));
+        g.playCard(g.getCurrentPlayer().priorityToIndex(9));
+        while(g.getArchipelago().size() > 3)
+            g.getArchipelago().remove(g.getArchipelago().size() - 1);
+        g.setGameState(GameState.MOTHER_MOVEMENT_STATE);
+        int steps = g.getMaxMovement();
+        assertTrue(steps > g.getArchipelago().size());
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(g, moves);
+        assertEquals(g.getArchipelago().size(), moves.size());
+        assertAllLegal(g, moves);
+        assertTrue(MoveGenerator.isLegal(g, Move.moveMother(steps)));
+        assertFalse(MoveGenerator.isLegal(g, Move.moveMother(steps + 1)));
+
+        int motherNature = g.getMotherNature() % g.getArchipelago().size();
+        g.motherMovement(steps);
+        assertEquals((motherNature + steps) % 3, g.getMotherNature());
+    }
+
+    /**
+     * This method tests the activations of the expert cards and of their parameters
+     */
+    @Test
+    @DisplayName("Expert card moves test")
+    void expertCardMoves() {
+        ExpertGame g = (ExpertGame) startedGame(new ExpertGame("Dario", 2));
+        g.getExpertCards().set(0, new IncrementMaxMovementCard(g));
+        g.getExpertCards().set(1, new SwapStudentsCard(g));
+        StudentsBufferCardsCluster manCard = new StudentsBufferCardsCluster(0, g);
+        g.getExpertCards().set(2, manCard);
+        g.playCard(g.getCurrentPlayer().priorityToIndex(1));
+        g.playCard(g.getCurrentPlayer().priorityToIndex(2));
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generate(g, moves);
+        assertAllLegal(g, moves);
+        int expertMoves = 0;
+        for(int i = 0; i < moves.size(); i++){
+            if(Move.type(moves.get(i)) == Move.EXPERT_CARD)
+                expertMoves++;
+        }
+        //the hall is empty, so the swap card cannot be played
+        int manMoves = manCard.getStudBuffer().colorsAvailable().size() * g.getArchipelago().size();
+        assertEquals(1 + manMoves, expertMoves);
+        assertTrue(moves.contains(Move.expertCard(0, null, null, 0)));
+        assertFalse(MoveGenerator.isLegal(g, Move.expertCard(0, Color.RED, null, 0)));
+        assertFalse(MoveGenerator.isLegal(g, Move.expertCard(2, manCard.getStudBuffer().colorsAvailable().get(0), null, g.getArchipelago().size())));
+
+        Color moved = g.getCurrentPlayer().getBoard().getEntrance().colorsAvailable().get(0);
+        g.entranceToHall(moved);
+        Color inEntrance = g.getCurrentPlayer().getBoard().getEntrance().colorsAvailable().get(0);
+        assertTrue(MoveGenerator.isLegal(g, Move.expertCard(1, moved, inEntrance, 0)));
+
+        g.playEffect(0);
+        MoveGenerator.generate(g, moves);
+        for(int i = 0; i < moves.size(); i++)
+            assertNotEquals(Move.EXPERT_CARD, Move.type(moves.get(i)));
+    }
+
+    /**
+     * This method tests that a sequence of student movements is checked in the position left by each movement,
+     * without changing the game
+     */
+    @Test
+    @DisplayName("Student movements sequence test")
+    void studentMovesSequence() {
+        Game g = startedGame(new Game("Dario", 2, 21));
+        g.playCard(g.getCurrentPlayer().priorityToIndex(1));
+        g.playCard(g.getCurrentPlayer().priorityToIndex(2));
+        Board board = g.getCurrentPlayer().getBoard();
+        Color color = board.getEntrance().colorsAvailable().get(0);
+        int students = board.entranceSize(color);
+
+        MoveList moves = new MoveList();
+        for(int i = 0; i < students; i++)
+            moves.add(i % 2 == 0 ? Move.toHall(color) : Move.toIsland(color, 0));
+        assertTrue(MoveGenerator.isLegalStudentMoves(g, moves));
+
+        moves.add(Move.toHall(color)); //no students of that color are left
+        assertFalse(MoveGenerator.isLegalStudentMoves(g, moves));
+        assertEquals(students, board.entranceSize(color));
+        assertEquals(0, board.hallSize(color));
+
+        moves.clear();
+        moves.add(Move.moveMother(1));
+        assertFalse(MoveGenerator.isLegalStudentMoves(g, moves));
+    }
+
+    /**
+     * This method tests that the legal actions sent to a client are the ones of the move generator
+     */
+    @Test
+    @DisplayName("Legal actions test")
+    void legalActions() {
+        Game g = startedGame(new Game("Dario", 2, 21));
+        LegalActions actions = LegalActions.of(g);
+        assertEquals(GameState.PLANNING_STATE, actions.state());
+        for(int priority = 1; priority <= 10; priority++)
+            assertTrue(actions.canPlayPriority(priority));
+        assertFalse(actions.canPlayPriority(11));
+        g.playCard(g.getCurrentPlayer().priorityToIndex(4));
+        assertFalse(LegalActions.of(g).canPlayPriority(4));
+
+        g.playCard(g.getCurrentPlayer().priorityToIndex(5));
+        actions = LegalActions.of(g);
+        Board board = g.getCurrentPlayer().getBoard();
+        for(Color color : Color.values()){
+            assertEquals(board.entranceSize(color) > 0, actions.canMoveToIsland(color));
+            assertEquals(MoveGenerator.isLegal(g, Move.toHall(color)), actions.canMoveToHall(color));
+        }
+        assertTrue(actions.isIsland(g.getArchipelago().size() - 1));
+        assertFalse(actions.isIsland(g.getArchipelago().size()));
+        assertFalse(actions.canMoveMother(1));
+        assertFalse(actions.canTakeCloud(0));
+    }
+}
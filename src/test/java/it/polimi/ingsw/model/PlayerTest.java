@@ -78,4 +78,17 @@ class PlayerTest {
         assertEquals("WITCH", p.playCard(4).getCardBack().toString());
     }
 
-}
\ No newline at end of file
+    /**
+     * This method tests that the played cards are shared and that the hand keeps the cards not played yet.
+     */
+    @Test
+    void playedCardsAreShared() {
+        p.chooseBack(CardBack.WITCH);
+        AssistantCard card = p.playCard(p.priorityToIndex(7));
+        assertSame(AssistantCard.of(7, CardBack.WITCH), card);
+        assertEquals(9, p.getHandSize());
+        assertFalse(p.isPriorityAvailable(7));
+        assertEquals(8, p.getHand().get(6).getPriority());
+    }
+
+}
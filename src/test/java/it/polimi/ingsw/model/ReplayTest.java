@@ -0,0 +1,178 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.model.moves.MoveGenerator;
+import it.polimi.ingsw.model.moves.MoveList;
+import it.polimi.ingsw.model.replay.ReplayPlayer;
+import it.polimi.ingsw.model.replay.ReplayRecorder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the seed of the games and the recording and playing of the replays
+ *
+ * @author Dario d'Abate
+ */
+class ReplayTest {
+    @TempDir
+    File directory;
+
+    /**
+     * Helper method that creates a started game in the planning phase
+     */
+    private Game startedGame(long seed) {
+        Game g = new Game("Dario", 3, seed);
+        g.addPlayer("Luca");
+        g.addPlayer("Lorenzo");
+        g.startGame();
+        for(Player player : g.getPlayers()){
+            g.associatePlayerToCardsToBack(g.getAvailableCardsBack().get(0), player);
+            g.associatePlayerToTower(g.getAvailableTowerColor().get(0), player);
+        }
+        g.setGameState(GameState.PLANNING_STATE);
+        return g;
+    }
+
+    /**
+     * Helper method that describes the position of a game
+     */
+    private String describe(Game g) {
+        StringBuilder description = new StringBuilder(g.getGameState() + " " + g.getCurrentPlayer().getNickname() + " " + g.getMotherNature());
+        for(Player player : g.getPlayers()){
+            Board board = player.getBoard();
+            description.append(" | ").append(player.getHand().size()).append(" ").append(board.getNumTower());
+            for(Color color : Color.values())
+                description.append(" ").append(board.entranceSize(color)).append(board.hallSize(color));
+        }
+        for(IslandTile island : g.getArchipelago()){
+            description.append(" |");
+            for(Color color : Color.values())
+                description.append(" ").append(island.getIslandStudents().numStudents(color));
+        }
+        for(CloudTile cloud : g.getCloudTiles()){
+            description.append(" |");
+            for(Color color : Color.values())
+                description.append(" ").append(cloud.numStudOn(color));
+        }
+        return description.toString();
+    }
+
+    /**
+     * Helper method that plays random moves as the GameHandler does, recording them
+     * @return the description of the game at the beginning of each turn
+     */
+    private ArrayList<String> playRecorded(Game g, ReplayRecorder recorder, int maxMoves) {
+        ArrayList<String> turns = new ArrayList<>();
+        turns.add(describe(g));
+        Player player = g.getCurrentPlayer();
+        GameState phase = g.getGameState();
+        Random random = new Random(7);
+        MoveList moves = new MoveList();
+        for(int i = 0; i < maxMoves; i++){
+            MoveGenerator.generate(g, moves, false);
+            if(moves.isEmpty()){
+                if(g.getGameState() != GameState.CLOUD_TO_ENTRANCE_STATE)
+                    break;
+                g.nextTurn();
+                recorder.nextTurn();
+            } else {
+                int move = moves.get(random.nextInt(moves.size()));
+                switch (Move.type(move)) {
+                    case Move.PLAY_CARD -> g.playCard(g.getCurrentPlayer().priorityToIndex(Move.value(move)));
+                    case Move.TO_HALL -> g.entranceToHall(Move.color(move));
+                    case Move.TO_ISLAND -> g.entranceToIsland(Move.value(move), Move.color(move));
+                    case Move.MOVE_MOTHER -> g.motherMovement(Move.value(move));
+                    case Move.TAKE_CLOUD -> g.cloudToBoard(Move.value(move));
+                }
+                recorder.record(move);
+                if(Move.type(move) == Move.TO_HALL || Move.type(move) == Move.TO_ISLAND){
+                    g.addActualNumStudMoves();
+                    if(g.getActualNumStudMoves() >= 4){
+                        g.setActualNumStudMoves(0);
+                        g.setGameState(GameState.MOTHER_MOVEMENT_STATE);
+                    }
+                }
+            }
+            boolean planning = g.getGameState() == GameState.PLANNING_STATE;
+            if(g.getCurrentPlayer() != player || planning != (phase == GameState.PLANNING_STATE))
+                turns.add(describe(g));
+            player = g.getCurrentPlayer();
+            phase = g.getGameState();
+        }
+        recorder.close();
+        return turns;
+    }
+
+    /**
+     * This method tests that two games with the same seed start in the same position
+     */
+    @Test
+    @DisplayName("Seed test")
+    void seed() {
+        Game g = startedGame(42);
+        assertEquals(42, g.getSeed());
+        assertEquals(describe(g), describe(startedGame(42)));
+    }
+
+    /**
+     * This method tests that every turn of a recorded game is rebuilt by the player, in any order
+     */
+    @Test
+    @DisplayName("Record and seek test")
+    void recordAndSeek() throws IOException {
+        Game g = startedGame(1234);
+        File file = new File(directory, "game" + ReplayRecorder.EXTENSION);
+        ArrayList<String> turns = playRecorded(g, new ReplayRecorder(g, file), 120);
+        assertTrue(turns.size() > 8); //more than one keyframe
+
+        try (ReplayPlayer player = new ReplayPlayer(file)) {
+            assertEquals(1234, player.getSeed());
+            assertEquals(3, player.getNicknames().size());
+            assertEquals(turns.size(), player.getTurns());
+            for(int turn = turns.size() - 1; turn >= 0; turn -= 3)
+                assertEquals(turns.get(turn), describe(player.seek(turn)), "turn " + turn);
+
+            player.seek(0);
+            for(int turn = 1; turn < turns.size(); turn++){
+                while(player.getTurn() < turn)
+                    assertTrue(player.next());
+                assertEquals(turns.get(turn), describe(player.getGame()), "turn " + turn);
+            }
+        }
+    }
+
+    /**
+     * This method tests that a recording that has not been closed can be played anyway
+     */
+    @Test
+    @DisplayName("Unclosed replay test")
+    void unclosedReplay() throws IOException {
+        Game g = startedGame(99);
+        File file = new File(directory, "closed" + ReplayRecorder.EXTENSION);
+        ArrayList<String> turns = playRecorded(g, new ReplayRecorder(g, file), 60);
+
+        //the recording is cut after the end record, as if the index had never been written
+        File cut = new File(directory, "cut" + ReplayRecorder.EXTENSION);
+        try (RandomAccessFile original = new RandomAccessFile(file, "r");
+             RandomAccessFile copy = new RandomAccessFile(cut, "rw")) {
+            byte[] bytes = new byte[(int) original.length()];
+            original.readFully(bytes);
+            copy.write(bytes, 0, bytes.length - 20);
+        }
+
+        try (ReplayPlayer player = new ReplayPlayer(cut)) {
+            int last = player.getTurns() - 1;
+            assertTrue(last > 0);
+            assertEquals(turns.get(last), describe(player.seek(last)));
+        }
+    }
+}
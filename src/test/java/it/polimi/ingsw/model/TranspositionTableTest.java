@@ -0,0 +1,92 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.ai.TranspositionTable;
+import it.polimi.ingsw.model.moves.Move;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the transposition table of the bots
+ *
+ * @author Dario d'Abate
+ */
+class TranspositionTableTest {
+    private static final int SIZE_BITS = 4;
+    private static final long KEY = 3;
+    private static final long SAME_SLOT_KEY = KEY + (1 << SIZE_BITS); //a different position in the slot of KEY
+
+    /**
+     * This method tests that an entry is read back with its fields
+     */
+    @Test
+    @DisplayName("Store and probe test")
+    void storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(SIZE_BITS, TranspositionTable.Replacement.ALWAYS_REPLACE);
+        assertEquals(TranspositionTable.MISS, table.probe(KEY));
+
+        int move = Move.toIsland(Color.PINK, 7);
+        assertTrue(table.store(KEY, move, 0.75, 42, 5));
+        long entry = table.probe(KEY);
+        assertEquals(move, TranspositionTable.bestMove(entry));
+        assertEquals(0.75, TranspositionTable.eval(entry), 1e-4);
+        assertEquals(42, TranspositionTable.visits(entry));
+        assertEquals(5, TranspositionTable.depth(entry));
+        assertEquals(0.5, table.getHitRate());
+    }
+
+    /**
+     * This method tests that a deeper entry is kept by the depth-preferred table and replaced by the other one
+     */
+    @Test
+    @DisplayName("Replacement test")
+    void replacement() {
+        TranspositionTable preferred = new TranspositionTable(SIZE_BITS, TranspositionTable.Replacement.DEPTH_PREFERRED);
+        preferred.store(KEY, Move.NONE, 0.5, 100, 7);
+        assertFalse(preferred.store(SAME_SLOT_KEY, Move.NONE, 0.5, 1, 1));
+        assertEquals(100, TranspositionTable.visits(preferred.probe(KEY)));
+        assertEquals(TranspositionTable.MISS, preferred.probe(SAME_SLOT_KEY));
+        assertEquals(1, preferred.getCollisions());
+
+        TranspositionTable always = new TranspositionTable(SIZE_BITS, TranspositionTable.Replacement.ALWAYS_REPLACE);
+        always.store(KEY, Move.NONE, 0.5, 100, 7);
+        assertTrue(always.store(SAME_SLOT_KEY, Move.NONE, 0.5, 1, 1));
+        assertEquals(1, TranspositionTable.visits(always.probe(SAME_SLOT_KEY)));
+        assertEquals(TranspositionTable.MISS, always.probe(KEY));
+        assertEquals(1, always.getReplaced());
+    }
+
+    /**
+     * This method tests that threads writing the same slot never make a position read the entry of another one
+     */
+    @Test
+    @DisplayName("Concurrent threads test")
+    void concurrentThreads() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(SIZE_BITS, TranspositionTable.Replacement.ALWAYS_REPLACE);
+        AtomicBoolean wrong = new AtomicBoolean(false);
+        List<Thread> threads = new ArrayList<>();
+        for(int t = 0; t < 4; t++){
+            long key = t % 2 == 0 ? KEY : SAME_SLOT_KEY;
+            int visits = (int) key; //each position is stored with its own visits
+            threads.add(new Thread(() -> {
+                for(int i = 0; i < 20000; i++){
+                    table.store(key, Move.NONE, 0.5, visits, 1);
+                    long entry = table.probe(key);
+                    if(entry != TranspositionTable.MISS && TranspositionTable.visits(entry) != visits)
+                        wrong.set(true);
+                }
+            }));
+        }
+        for(Thread thread : threads)
+            thread.start();
+        for(Thread thread : threads)
+            thread.join();
+        assertFalse(wrong.get());
+        assertEquals(80000, table.getProbes());
+    }
+}
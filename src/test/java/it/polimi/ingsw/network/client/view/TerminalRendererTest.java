@@ -0,0 +1,115 @@
+package it.polimi.ingsw.network.client.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the renderer of the frames of the CLI with a frame taller than the terminal
+ *
+ * @author Dario d'Abate
+ */
+class TerminalRendererTest {
+    private static final int ROWS = 10;
+    private static final int FRAME_LINES = 25; //the last 9 lines are on the screen, from row 1 to row 9
+
+    private ByteArrayOutputStream bytes;
+    private AtomicInteger rows;
+    private TerminalRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        bytes = new ByteArrayOutputStream();
+        rows = new AtomicInteger(ROWS);
+        renderer = new TerminalRenderer(new PrintStream(bytes), rows::get);
+    }
+
+    /**
+     * Helper method that renders a frame with a line for each text and returns what has been written
+     */
+    private String render(String... lines) {
+        bytes.reset();
+        renderer.beginFrame();
+        for(String line : lines)
+            renderer.println(line);
+        renderer.render();
+        return bytes.toString();
+    }
+
+    /**
+     * Helper method that gives the lines of a frame taller than the terminal
+     */
+    private String[] tallFrame() {
+        String[] lines = new String[FRAME_LINES];
+        for(int i = 0; i < FRAME_LINES; i++)
+            lines[i] = "line " + i;
+        return lines;
+    }
+
+    /**
+     * This method tests that only the changed line on the screen is rewritten, at its row
+     */
+    @Test
+    @DisplayName("Changed line on the screen test")
+    void changedLineOnScreen() {
+        String[] lines = tallFrame();
+        assertTrue(render(lines).startsWith(ANSIConstants.CLEAR));
+
+        lines[20] = "changed";
+        String output = render(lines);
+        assertFalse(output.contains(ANSIConstants.CLEAR));
+        assertTrue(output.contains("\033[5;1Hchanged"));
+        assertFalse(output.contains("line"));
+    }
+
+    /**
+     * This method tests that a changed line in the scrollback is not written, and an unchanged frame writes no line
+     */
+    @Test
+    @DisplayName("Changed line in the scrollback test")
+    void changedLineInScrollback() {
+        String[] lines = tallFrame();
+        render(lines);
+        assertFalse(render(lines).contains("line"));
+
+        lines[0] = "changed";
+        String output = render(lines);
+        assertFalse(output.contains(ANSIConstants.CLEAR));
+        assertFalse(output.contains("changed"));
+    }
+
+    /**
+     * This method tests that the lines scrolled up by other output are written again at their new rows
+     */
+    @Test
+    @DisplayName("Scrolled frame test")
+    void scrolledFrame() {
+        String[] lines = tallFrame();
+        render(lines);
+        renderer.linesPrinted(2);
+
+        String output = render(lines);
+        assertFalse(output.contains(ANSIConstants.CLEAR));
+        assertTrue(output.contains("\033[1;1Hline 16"));
+        assertTrue(output.contains("\033[9;1Hline 24"));
+    }
+
+    /**
+     * This method tests that the frame is redrawn when the terminal is resized
+     */
+    @Test
+    @DisplayName("Resized terminal test")
+    void resizedTerminal() {
+        String[] lines = tallFrame();
+        render(lines);
+        rows.set(ROWS + 5);
+        assertTrue(render(lines).startsWith(ANSIConstants.CLEAR));
+        assertFalse(render(lines).contains("line"));
+    }
+}
@@ -0,0 +1,90 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.CloudTile;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.ai.BotDifficulty;
+import it.polimi.ingsw.network.client.messages.IntegerMessage;
+import it.polimi.ingsw.network.server.exception.TurnExpiredException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that a bot gives up its turn when it cannot move, and the report of its search
+ *
+ * @author Dario d'Abate
+ */
+class BotClientHandlerTest {
+
+    /**
+     * Helper method that creates a started game in the planning phase, with a bot that plays it
+     * @param game game with its first player
+     * @return the bot of the game
+     */
+    private BotClientHandler botOf(Game game) {
+        game.addPlayer("Bot");
+        game.startGame();
+        for(Player player : game.getPlayers()){
+            game.associatePlayerToCardsToBack(game.getAvailableCardsBack().get(0), player);
+            game.associatePlayerToTower(game.getAvailableTowerColor().get(0), player);
+        }
+        game.setGameState(GameState.PLANNING_STATE);
+        BotClientHandler bot = new BotClientHandler(null, "Bot", BotDifficulty.EASY);
+        bot.setGame(game);
+        return bot;
+    }
+
+    /**
+     * This method tests that a bot that has no legal move lets the server play the default move,
+     * instead of sending a choice that would be refused
+     */
+    @Test
+    @DisplayName("No legal move test")
+    void noLegalMove() {
+        Game game = new Game("Dario", 2, 1);
+        BotClientHandler bot = botOf(game);
+        for(CloudTile cloud : game.getCloudTiles()){
+            if(!cloud.isEmpty())
+                cloud.getTile();
+        }
+        game.setGameState(GameState.CLOUD_TO_ENTRANCE_STATE);
+
+        assertThrows(TurnExpiredException.class, bot::readMessageFromClient);
+    }
+
+    /**
+     * This method tests that a bot whose moves are refused, so the position does not change,
+     * gives up its turn after a limited number of attempts
+     */
+    @Test
+    @DisplayName("Refused moves test")
+    void refusedMoves() throws TurnExpiredException {
+        Game game = new Game("Dario", 2, 1);
+        BotClientHandler bot = botOf(game);
+
+        for(int i = 0; i < BotClientHandler.MAX_RETRIES; i++)
+            assertInstanceOf(IntegerMessage.class, bot.readMessageFromClient());
+        assertThrows(TurnExpiredException.class, bot::readMessageFromClient);
+
+        //after the default move the bot plans again
+        assertInstanceOf(IntegerMessage.class, bot.readMessageFromClient());
+    }
+
+    /**
+     * This method tests that the report of a bot counts the simulations of its search
+     */
+    @Test
+    @DisplayName("Search report test")
+    void searchReport() throws TurnExpiredException {
+        BotClientHandler bot = botOf(new Game("Dario", 2, 1));
+        assertTrue(bot.searchReport().startsWith("Bot Bot: 0 simulations"));
+
+        bot.readMessageFromClient();
+        String report = bot.searchReport();
+        assertFalse(report.startsWith("Bot Bot: 0 simulations"), report);
+        assertTrue(report.contains("simulations/s") && report.contains("hit rate") && report.contains("collisions"), report);
+    }
+}
@@ -0,0 +1,115 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.ai.BotDifficulty;
+import it.polimi.ingsw.model.moves.Move;
+import it.polimi.ingsw.network.server.exception.TurnExpiredException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the expiration of the time of the players
+ *
+ * @author Dario d'Abate
+ */
+class MoveClockTest {
+    private static final long WAIT_MILLIS = 5000; //maximum wait for an expiration of one second
+
+    /**
+     * Helper method that creates a client handler without connection
+     * @param nickname nickname of the player
+     * @return the client handler
+     */
+    private ServerClientHandler client(String nickname) {
+        ServerClientHandler client = new ServerClientHandler(null, null);
+        client.setNickname(nickname);
+        return client;
+    }
+
+    /**
+     * Helper method that waits until the time of a client is up
+     * @param client client whose time is running
+     * @return true if the time expired before the maximum wait
+     */
+    private boolean awaitExpiration(ServerClientHandler client) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while(!client.isTurnExpired() && System.currentTimeMillis() < deadline)
+            Thread.sleep(20);
+        return client.isTurnExpired();
+    }
+
+    /**
+     * This method tests that when the time of a turn is up the client is marked as expired,
+     * so the GameHandler stops waiting for it and plays the default move in its place
+     */
+    @Test
+    @DisplayName("Turn limit test")
+    void turnLimit() throws InterruptedException {
+        Game game = new Game("Dario", 2, 1);
+        game.addPlayer("Luca");
+        game.startGame();
+        for(Player player : game.getPlayers()){
+            game.associatePlayerToCardsToBack(game.getAvailableCardsBack().get(0), player);
+            game.associatePlayerToTower(game.getAvailableTowerColor().get(0), player);
+        }
+        game.setGameState(GameState.PLANNING_STATE);
+
+        MoveClock clock = new MoveClock(1, 0);
+        assertTrue(clock.isEnabled());
+        ServerClientHandler client = client("Dario");
+        clock.startTurn(client);
+        assertFalse(client.isTurnExpired());
+
+        assertTrue(awaitExpiration(client));
+        assertThrows(TurnExpiredException.class, client::readMessageFromClient);
+        assertEquals(Move.playCard(1), GameHandler.defaultMove(game));
+
+        clock.endTurn();
+        assertFalse(client.isTurnExpired());
+    }
+
+    /**
+     * This method tests that a player who has used the whole time of the game expires as soon as the next turn starts
+     */
+    @Test
+    @DisplayName("Game limit test")
+    void gameLimit() throws InterruptedException {
+        MoveClock clock = new MoveClock(0, 1);
+        ServerClientHandler client = client("Dario");
+        ServerClientHandler other = client("Luca");
+        clock.startTurn(client);
+        assertTrue(awaitExpiration(client));
+
+        clock.startTurn(other);
+        assertFalse(client.isTurnExpired());
+        assertFalse(other.isTurnExpired());
+
+        clock.startTurn(client);
+        assertTrue(client.isTurnExpired());
+        clock.endTurn();
+    }
+
+    /**
+     * This method tests that a limit of 0 disables the clock, and that bots are never timed
+     */
+    @Test
+    @DisplayName("Disabled clock test")
+    void disabled() throws InterruptedException {
+        MoveClock clock = new MoveClock(MoveClock.DEFAULT_TURN_SECONDS, MoveClock.DEFAULT_GAME_SECONDS);
+        assertFalse(clock.isEnabled());
+        ServerClientHandler client = client("Dario");
+        clock.startTurn(client);
+        Thread.sleep(100);
+        assertFalse(client.isTurnExpired());
+
+        MoveClock botClock = new MoveClock(1, 1);
+        BotClientHandler bot = new BotClientHandler(null, "Bot", BotDifficulty.EASY);
+        botClock.startTurn(bot);
+        Thread.sleep(1500);
+        assertFalse(bot.isTurnExpired());
+    }
+}
@@ -0,0 +1,54 @@
+package it.polimi.ingsw.network.server;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the registry of the nicknames and its log
+ *
+ * @author Dario d'Abate
+ */
+class NicknameRegistryTest {
+    @TempDir
+    File directory;
+
+    /**
+     * This method tests that the nicknames are rebuilt from the appended changes, before and after a compaction
+     */
+    @Test
+    @DisplayName("Log replay test")
+    void replay() throws IOException {
+        File log = new File(directory, "loggedPlayers.log");
+        NicknameRegistry registry = new NicknameRegistry(log);
+        assertTrue(registry.reserve("Dario"));
+        assertTrue(registry.reserve("Luca"));
+        assertTrue(registry.reserve("Lorenzo"));
+        assertFalse(registry.reserve("Luca"));
+        registry.release("Luca");
+        assertFalse(registry.reserve("Lu\nca"));
+        assertEquals(List.of("+Dario", "+Luca", "+Lorenzo", "-Luca"), Files.readAllLines(log.toPath(), StandardCharsets.UTF_8));
+
+        registry.compact();
+        List<String> compacted = Files.readAllLines(log.toPath(), StandardCharsets.UTF_8);
+        assertEquals(Set.of("+Dario", "+Lorenzo"), Set.copyOf(compacted));
+        assertEquals(2, compacted.size());
+        assertFalse(new File(directory, "loggedPlayers.log.tmp").exists());
+
+        //the changes after the compaction are appended, the last record was cut while it was written
+        registry.reserve("Sara");
+        registry.release("Dario");
+        Files.writeString(log.toPath(), "+", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        assertEquals(Set.of("Lorenzo", "Sara"), new NicknameRegistry(log).getNicknames());
+    }
+}
@@ -0,0 +1,94 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.network.server.answers.Answer;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * This class is a client handler without connection, used by the tests of the spectators.
+ * It keeps the answers written on its socket, and it can hold the first write until it is released
+ *
+ * @author Dario d'Abate
+ */
+class RecordingClient extends ServerClientHandler {
+    private final List<byte[]> written = new ArrayList<>();
+    private final CountDownLatch writing = new CountDownLatch(1); //counted down when the first write starts
+    private final CountDownLatch released; //the first write waits for it
+
+    /**
+     * @param holdFirstWrite true if the first write has to wait until the client is released
+     */
+    RecordingClient(boolean holdFirstWrite) {
+        super(null, null);
+        released = new CountDownLatch(holdFirstWrite ? 1 : 0);
+    }
+
+    @Override
+    public void sendEncodedToClient(byte[] encoded) {
+        writing.countDown();
+        try {
+            released.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (written) {
+            written.add(encoded);
+        }
+    }
+
+    @Override
+    public void discardInput() {
+    }
+
+    @Override
+    public void closeClientHandler() {
+    }
+
+    /**
+     * This method waits until the first write has started
+     */
+    void awaitFirstWrite() throws InterruptedException {
+        writing.await();
+    }
+
+    /**
+     * This method lets the held write go on
+     */
+    void release() {
+        released.countDown();
+    }
+
+    /**
+     * @return the bytes written on the socket, one array for each write
+     */
+    List<byte[]> written() {
+        synchronized (written) {
+            return new ArrayList<>(written);
+        }
+    }
+
+    /**
+     * @return the answers written on the socket, in order
+     */
+    List<Answer> answers() throws IOException, ClassNotFoundException {
+        List<Answer> answers = new ArrayList<>();
+        for(byte[] encoded : written())
+            answers.add(decode(encoded));
+        return answers;
+    }
+
+    /**
+     * Helper method that reads an encoded answer, as a client does on its stream
+     */
+    private static Answer decode(byte[] encoded) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new ObjectOutputStream(stream).flush(); //header of the stream, received by the client when it connected
+        stream.write(encoded);
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(stream.toByteArray()))) {
+            return (Answer) in.readObject();
+        }
+    }
+}
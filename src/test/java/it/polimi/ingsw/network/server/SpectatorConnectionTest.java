@@ -0,0 +1,69 @@
+package it.polimi.ingsw.network.server;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the outbound queue of a spectator
+ *
+ * @author Dario d'Abate
+ */
+class SpectatorConnectionTest {
+
+    /**
+     * This method tests that when the queue is full the updates are refused, and that the resync
+     * drops the pending updates and leaves only the snapshot of the game
+     */
+    @Test
+    @DisplayName("Full queue test")
+    void fullQueue() {
+        RecordingClient client = new RecordingClient(false);
+        SpectatorConnection connection = new SpectatorConnection(client);
+        assertTrue(connection.needsSnapshot());
+
+        byte[] firstSnapshot = {1};
+        connection.resync(firstSnapshot);
+        assertFalse(connection.needsSnapshot());
+        for(int i = 1; i < SpectatorConnection.MAX_PENDING; i++)
+            assertTrue(connection.offer(new byte[]{2, (byte) i}));
+        assertFalse(connection.offer(new byte[]{3}));
+
+        byte[] snapshot = {4};
+        connection.resync(snapshot);
+        byte[] update = {5};
+        assertTrue(connection.offer(update));
+        byte[] last = {6};
+        connection.close(last);
+
+        connection.run();
+        List<byte[]> written = client.written();
+        assertEquals(3, written.size());
+        assertSame(snapshot, written.get(0));
+        assertSame(update, written.get(1));
+        assertSame(last, written.get(2));
+    }
+
+    /**
+     * This method tests that the last answer is sent even when the queue is full
+     */
+    @Test
+    @DisplayName("Close on a full queue test")
+    void closeFullQueue() {
+        RecordingClient client = new RecordingClient(false);
+        SpectatorConnection connection = new SpectatorConnection(client);
+        connection.resync(new byte[]{1});
+        while(connection.offer(new byte[]{2}))
+            ;
+
+        byte[] last = {3};
+        connection.close(last);
+        connection.run();
+        List<byte[]> written = client.written();
+        assertEquals(1, written.size());
+        assertSame(last, written.get(0));
+    }
+}
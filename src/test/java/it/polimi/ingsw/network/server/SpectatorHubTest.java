@@ -0,0 +1,140 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.AssistantCard;
+import it.polimi.ingsw.model.CardBack;
+import it.polimi.ingsw.network.client.modelBean.GameBean;
+import it.polimi.ingsw.network.client.modelBean.PlayerBean;
+import it.polimi.ingsw.network.server.answers.Answer;
+import it.polimi.ingsw.network.server.answers.AssistantCardPlayedAnswer;
+import it.polimi.ingsw.network.server.answers.GameStateAnswer;
+import it.polimi.ingsw.network.server.answers.Shutdown;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the updates sent to the spectators of a game
+ *
+ * @author Dario d'Abate
+ */
+class SpectatorHubTest {
+
+    /**
+     * Helper method that creates a hand of cards
+     * @param back back of the cards
+     * @param priorities priorities of the cards
+     * @return the hand
+     */
+    private ArrayList<AssistantCard> hand(CardBack back, int... priorities) {
+        ArrayList<AssistantCard> hand = new ArrayList<>();
+        for(int priority : priorities)
+            hand.add(AssistantCard.of(priority, back));
+        return hand;
+    }
+
+    /**
+     * Helper method that creates the whole game, with the hands of two players
+     */
+    private GameStateAnswer gameState() {
+        GameBean game = new GameBean();
+        ArrayList<PlayerBean> players = new ArrayList<>();
+        PlayerBean dario = new PlayerBean();
+        dario.setNickname("Dario");
+        dario.setHand(hand(CardBack.WITCH, 1, 5, 9));
+        players.add(dario);
+        PlayerBean luca = new PlayerBean();
+        luca.setNickname("Luca");
+        luca.setHand(hand(CardBack.KING, 2, 7));
+        players.add(luca);
+        game.setPlayers(players);
+        return new GameStateAnswer(game);
+    }
+
+    /**
+     * Helper method that starts a spectator on its own thread and waits until it is watching
+     */
+    private Thread watch(SpectatorHub hub, RecordingClient client) throws InterruptedException {
+        Thread thread = new Thread(() -> hub.watch(client));
+        thread.start();
+        while(hub.size() == 0)
+            Thread.sleep(5);
+        return thread;
+    }
+
+    /**
+     * Helper method that checks that a hand shows only the backs of its cards
+     */
+    private void assertHidden(CardBack back, int size, List<AssistantCard> hand) {
+        assertEquals(size, hand.size());
+        for(AssistantCard card : hand){
+            assertEquals(0, card.getPriority());
+            assertEquals(back, card.getCardBack());
+        }
+    }
+
+    /**
+     * This method tests that the spectators receive the whole game and the played cards with the hands hidden
+     */
+    @Test
+    @DisplayName("Hand redaction test")
+    void redaction() throws Exception {
+        SpectatorHub hub = new SpectatorHub(this::gameState);
+        RecordingClient client = new RecordingClient(false);
+        Thread spectator = watch(hub, client);
+
+        AssistantCard played = AssistantCard.of(5, CardBack.WITCH);
+        hub.publish(new AssistantCardPlayedAnswer("Dario", hand(CardBack.WITCH, 1, 9), played));
+        hub.publish(new AssistantCardPlayedAnswer("Luca", hand(CardBack.KING, 2), AssistantCard.of(7, CardBack.KING)));
+        hub.close();
+        spectator.join(5000);
+
+        List<Answer> answers = client.answers();
+        assertEquals(3, answers.size());
+        //the spectator has just joined, so it receives the whole game in place of the first update
+        GameBean game = ((GameStateAnswer) answers.get(0)).getMessage();
+        assertEquals("Dario", game.getPlayers().get(0).getNickname());
+        assertHidden(CardBack.WITCH, 3, game.getPlayers().get(0).getHand());
+        assertHidden(CardBack.KING, 2, game.getPlayers().get(1).getHand());
+
+        AssistantCardPlayedAnswer update = (AssistantCardPlayedAnswer) answers.get(1);
+        assertEquals("Luca", update.getNickname());
+        assertHidden(CardBack.KING, 1, update.getHand());
+        assertEquals(7, update.getCard().getPriority()); //the played card is public
+        assertInstanceOf(Shutdown.class, answers.get(2));
+
+        //the players still see their own hand
+        assertEquals(5, gameState().getMessage().getPlayers().get(0).getHand().get(1).getPriority());
+    }
+
+    /**
+     * This method tests that a spectator that does not keep up skips the updates it has missed
+     * and receives the whole game in their place
+     */
+    @Test
+    @DisplayName("Slow spectator test")
+    void slowSpectator() throws Exception {
+        SpectatorHub hub = new SpectatorHub(this::gameState);
+        RecordingClient client = new RecordingClient(true);
+        Thread spectator = watch(hub, client);
+
+        hub.publish(new AssistantCardPlayedAnswer("first", hand(CardBack.WITCH), AssistantCard.of(1, CardBack.WITCH)));
+        client.awaitFirstWrite(); //the snapshot is being written and the queue is empty
+        for(int i = 0; i <= SpectatorConnection.MAX_PENDING; i++)
+            hub.publish(new AssistantCardPlayedAnswer("update " + i, hand(CardBack.WITCH), AssistantCard.of(1, CardBack.WITCH)));
+        hub.publish(new AssistantCardPlayedAnswer("after", hand(CardBack.WITCH), AssistantCard.of(1, CardBack.WITCH)));
+        client.release();
+        hub.close();
+        spectator.join(5000);
+
+        List<Answer> answers = client.answers();
+        assertEquals(4, answers.size());
+        assertInstanceOf(GameStateAnswer.class, answers.get(0));
+        assertInstanceOf(GameStateAnswer.class, answers.get(1));
+        assertEquals("after", ((AssistantCardPlayedAnswer) answers.get(2)).getNickname());
+        assertInstanceOf(Shutdown.class, answers.get(3));
+    }
+}
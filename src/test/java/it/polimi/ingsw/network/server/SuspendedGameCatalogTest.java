@@ -0,0 +1,144 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the catalog of the suspended games
+ *
+ * @author Dario d'Abate
+ */
+class SuspendedGameCatalogTest {
+    @TempDir
+    File directory;
+
+    private List<Integer> expired;
+    private SuspendedGameCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        expired = new ArrayList<>();
+        catalog = new SuspendedGameCatalog(expired::add, new HashMap<>(), directory);
+    }
+
+    /**
+     * Helper method that creates a started game in the planning phase
+     */
+    private Game startedGame() {
+        Game g = new Game("Dario", 2);
+        g.addPlayer("Luca");
+        g.startGame();
+        for(Player player : g.getPlayers()){
+            g.associatePlayerToCardsToBack(g.getAvailableCardsBack().get(0), player);
+            g.associatePlayerToTower(g.getAvailableTowerColor().get(0), player);
+        }
+        g.setGameState(GameState.PLANNING_STATE);
+        return g;
+    }
+
+    /**
+     * Helper method that gives the players of a game
+     */
+    private ArrayList<String> players(int idOfAGame) {
+        return new ArrayList<>(List.of("first" + idOfAGame, "second" + idOfAGame));
+    }
+
+    /**
+     * This method tests that the catalog returns the saved game, not the running one, and that a new catalog reads it from disk
+     */
+    @Test
+    @DisplayName("Persistence test")
+    void persistence() {
+        Game g = startedGame();
+        assertTrue(catalog.put(0, g, players(0)));
+        long saved = g.getSnapshotFingerprint();
+        g.playCard(0); //the running game changes after it has been saved
+
+        Game restored = catalog.get(0);
+        assertNotSame(g, restored);
+        assertNotSame(restored, catalog.get(0));
+        assertEquals(saved, restored.getSnapshotFingerprint());
+
+        SuspendedGameCatalog reloaded = new SuspendedGameCatalog(expired::add, catalog.getGameIdByUserMap(), directory);
+        assertEquals(0, reloaded.getId("second0"));
+        assertFalse(reloaded.isCached(0));
+        assertEquals(saved, reloaded.get(0).getSnapshotFingerprint());
+        assertTrue(reloaded.isCached(0));
+    }
+
+    /**
+     * This method tests that a game is written again only when its fingerprint changes
+     */
+    @Test
+    @DisplayName("Skipped write test")
+    void skippedWrite() {
+        Game g = startedGame();
+        assertTrue(catalog.put(0, g, players(0)));
+        assertFalse(catalog.put(0, g, players(0)));
+        assertFalse(catalog.put(0, g.copy(), players(0)));
+
+        g.playCard(0);
+        assertTrue(catalog.put(0, g, players(0)));
+        assertEquals(g.getSnapshotFingerprint(), catalog.get(0).getSnapshotFingerprint());
+    }
+
+    /**
+     * This method tests that the least recently used game leaves the cache and is read again from disk
+     */
+    @Test
+    @DisplayName("LRU eviction test")
+    void eviction() {
+        Game g = startedGame();
+        for(int id = 0; id <= SuspendedGameCatalog.MAX_CACHED_GAMES; id++)
+            catalog.put(id, g, players(id));
+        assertFalse(catalog.isCached(0));
+        assertTrue(catalog.isCached(SuspendedGameCatalog.MAX_CACHED_GAMES));
+
+        assertNotNull(catalog.get(0));
+        assertTrue(catalog.isCached(0));
+        assertFalse(catalog.isCached(1));
+    }
+
+    /**
+     * This method tests that only the games untouched for the expiration time are expired
+     */
+    @Test
+    @DisplayName("Expiration test")
+    void expiration() {
+        catalog.put(0, startedGame(), players(0));
+        long now = System.currentTimeMillis();
+        catalog.expireAbandonedGames(now);
+        assertTrue(expired.isEmpty());
+
+        catalog.expireAbandonedGames(now + SuspendedGameCatalog.EXPIRATION_TIME + 1000);
+        assertEquals(List.of(0), expired);
+    }
+
+    /**
+     * This method tests that a removed game leaves the index and the disk
+     */
+    @Test
+    @DisplayName("Remove test")
+    void remove() {
+        catalog.put(0, startedGame(), players(0));
+        catalog.remove(0);
+        assertNull(catalog.getId("first0"));
+        assertNull(catalog.getPlayers(0));
+        assertTrue(catalog.getGameIdByUserMap().isEmpty());
+        assertFalse(catalog.isCached(0));
+        assertEquals(0, directory.listFiles().length);
+        catalog.remove(0); //nothing happens
+    }
+}
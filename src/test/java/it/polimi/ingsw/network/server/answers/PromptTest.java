@@ -0,0 +1,88 @@
+package it.polimi.ingsw.network.server.answers;
+
+import it.polimi.ingsw.model.Color;
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.moves.LegalActions;
+import it.polimi.ingsw.network.client.InputValidator;
+import it.polimi.ingsw.network.client.PromptCatalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the catalog of the prompts sent by the server and their rendering on the client
+ *
+ * @author Dario d'Abate
+ */
+class PromptTest {
+
+    /**
+     * This method tests that every prompt of the catalog has its text in the table of the client
+     */
+    @Test
+    @DisplayName("Prompts table test")
+    void table() {
+        for(Prompt prompt : Prompt.values())
+            assertTrue(PromptCatalog.hasText(prompt), prompt + " has no text");
+        assertEquals("It's your turn!", PromptCatalog.render(new PromptAnswer(Prompt.YOUR_TURN)));
+        assertEquals("Move mother nature. You can travel 3 islands.", PromptCatalog.render(new PromptAnswer(Prompt.MOTHER_RANGE, 3)));
+        assertEquals("You can't add more RED students in your hall", PromptCatalog.render(new PromptAnswer(Prompt.HALL_FULL, Color.RED.ordinal())));
+        assertThrows(IllegalArgumentException.class, () -> new PromptAnswer(Prompt.MOTHER_RANGE));
+    }
+
+    /**
+     * This method tests that a prompt is read back from its code and its parameters
+     */
+    @Test
+    @DisplayName("Prompt serialization test")
+    void serialization() throws IOException, ClassNotFoundException {
+        PromptAnswer answer = new PromptAnswer(Prompt.MOVES_LIMIT, 2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(answer);
+        }
+        PromptAnswer read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (PromptAnswer) in.readObject();
+        }
+        assertEquals(Prompt.MOVES_LIMIT, read.getMessage());
+        assertArrayEquals(new int[]{2}, read.getParams());
+        assertTrue(read.getMessage().isError());
+    }
+
+    /**
+     * This method tests that the legal actions are sent with a prompt and that the client refuses the inputs
+     * that are not legal only as the answer to that prompt
+     */
+    @Test
+    @DisplayName("Legal actions prompt test")
+    void legalActions() throws IOException, ClassNotFoundException {
+        LegalActions actions = new LegalActions(GameState.CLOUD_TO_ENTRANCE_STATE, 0, 0, 0, 0, 0, 0b10, 0b100);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new LegalActionsAnswer(actions, Prompt.CHOOSE_CLOUD));
+        }
+        LegalActionsAnswer read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (LegalActionsAnswer) in.readObject();
+        }
+        assertEquals(Prompt.CHOOSE_CLOUD, read.getMessage());
+        assertEquals(actions, read.getLegalActions());
+
+        InputValidator validator = new InputValidator();
+        assertNull(validator.check(1, 3)); //nothing to check against
+        validator.update(read);
+        assertEquals(Prompt.CLOUD_NOT_VALID, validator.check(1, 3).getMessage());
+        assertNull(validator.check(2, 3));
+        assertNull(validator.checkExpertCard(2));
+        assertEquals(Prompt.NOT_ENOUGH_COINS, validator.checkExpertCard(0).getMessage());
+
+        validator.update(new PromptAnswer(Prompt.CLOUD_NOT_VALID)); //an error does not change the question
+        assertNotNull(validator.check(1, 3));
+        validator.sent(false);
+        assertNull(validator.check(1, 3));
+    }
+}